@@ -0,0 +1,57 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two range queries every timeline refresh and conflict check goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssignmentRepositoryBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public BenchmarkDataset.Shape shape;
+
+    @Param({"MEMORY", "FILE"})
+    public BenchmarkDataset.Storage storage;
+
+    private BenchmarkDataset dataset;
+    private AssignmentRepository repository;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(shape, storage, 10);
+        repository = new AssignmentRepository(dataset.getDataSource());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<Assignment> findByDateRangeMonth() {
+        LocalDate start = BenchmarkDataset.RANGE_START.plusDays(random.nextInt(700));
+        return repository.findByDateRange(start, start.plusDays(30));
+    }
+
+    @Benchmark
+    public List<Assignment> findOverlappingAssignments() {
+        List<Long> resourceIds = dataset.getResourceIds();
+        LocalDate start = BenchmarkDataset.RANGE_START.plusDays(random.nextInt(700));
+        return repository.findOverlappingAssignments(resourceIds.get(random.nextInt(resourceIds.size())),
+            start, start.plusDays(14));
+    }
+}
@@ -0,0 +1,358 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.FinancialService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic scheduler database for the benchmarks, shaped like the DemoDataGenerator output:
+ * garden / doghouse / cathouse projects of 3-20 days spread over two years, a handful of
+ * technicians per project, SHOP and TRAINING fill-in time, one project with a deep chain of
+ * finish-to-start task dependencies and one project with financial records.
+ *
+ * The data is always generated into a file through DatabaseConfig so the real schema and
+ * migrations apply. For {@link Storage#MEMORY} that file is then restored into a shared-cache
+ * in-memory database and the file is removed.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+
+    public enum Shape {
+        SMALL(1_000, 50),
+        MEDIUM(10_000, 200),
+        LARGE(100_000, 1_000);
+
+        final int assignments;
+        final int resources;
+
+        Shape(int assignments, int resources) {
+            this.assignments = assignments;
+            this.resources = resources;
+        }
+    }
+
+    public enum Storage { MEMORY, FILE }
+
+    public static final LocalDate RANGE_START = LocalDate.of(2024, 1, 1);
+    public static final LocalDate RANGE_END = LocalDate.of(2025, 12, 31);
+
+    private static final String[] PROJECT_TYPES = { "GARDEN", "DOGHOUSE", "CATHOUSE" };
+    private static final int AVERAGE_TEAM_SIZE = 4;
+    private static final AtomicInteger MEMORY_DB_COUNTER = new AtomicInteger();
+
+    // Project columns added by the AddClientContactsSchema / AddBudgetFieldsToDatabase utilities
+    // rather than by DatabaseConfig, but read by ProjectRepository
+    private static final String[][] PROJECT_MIGRATION_COLUMNS = {
+        { "contact_name", "TEXT" }, { "contact_email", "TEXT" }, { "contact_phone", "TEXT" },
+        { "contact_company", "TEXT" }, { "contact_role", "TEXT" }, { "send_reports", "BOOLEAN DEFAULT 1" },
+        { "report_frequency", "TEXT DEFAULT 'WEEKLY'" }, { "last_report_sent", "TEXT" },
+        { "budget_amount", "REAL" }, { "actual_cost", "REAL" }, { "revenue_amount", "REAL" },
+        { "currency_code", "TEXT DEFAULT 'USD'" }, { "labor_cost", "REAL" }, { "material_cost", "REAL" },
+        { "travel_cost", "REAL" }, { "other_cost", "REAL" }, { "cost_notes", "TEXT" }
+    };
+
+    private final Path directory;
+    private final DatabaseConfig databaseConfig;
+    private final HikariDataSource dataSource;
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> resourceIds = new ArrayList<>();
+    private long chainProjectId;
+    private long financialProjectId;
+
+    private BenchmarkDataset(Shape shape, Storage storage, int chainDepth) throws Exception {
+        directory = Files.createTempDirectory("spm-benchmark");
+        DatabaseConfig fileConfig = new DatabaseConfig(directory + "/");
+        // Creates the purchase order, actual cost and change order tables
+        new FinancialService(fileConfig.getDataSource(), new ProjectRepository(fileConfig.getDataSource()));
+        try (Connection conn = fileConfig.getDataSource().getConnection()) {
+            populate(conn, shape, chainDepth);
+        }
+
+        if (storage == Storage.FILE) {
+            databaseConfig = fileConfig;
+            dataSource = fileConfig.getDataSource();
+        } else {
+            fileConfig.shutdown();
+            databaseConfig = null;
+            dataSource = openInMemoryCopy(fileConfig.getDatabasePath());
+            deleteDirectory();
+        }
+    }
+
+    public static BenchmarkDataset create(Shape shape, Storage storage, int chainDepth) {
+        try {
+            return new BenchmarkDataset(shape, storage, chainDepth);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create benchmark dataset", e);
+        }
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    public List<Long> getResourceIds() {
+        return resourceIds;
+    }
+
+    public long getChainProjectId() {
+        return chainProjectId;
+    }
+
+    public long getFinancialProjectId() {
+        return financialProjectId;
+    }
+
+    @Override
+    public void close() {
+        if (databaseConfig != null) {
+            databaseConfig.shutdown();
+        } else {
+            dataSource.close();
+        }
+        deleteDirectory();
+    }
+
+    private void populate(Connection conn, Shape shape, int chainDepth) throws SQLException {
+        Random random = new Random(42);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            addMissingProjectColumns(conn);
+            insertResources(conn, shape.resources);
+            insertProjectsAndAssignments(conn, shape, random);
+            insertTaskChain(conn, chainDepth);
+            insertFinancials(conn, random);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void addMissingProjectColumns(Connection conn) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(projects)")) {
+            while (rs.next()) {
+                existing.add(rs.getString("name"));
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String[] column : PROJECT_MIGRATION_COLUMNS) {
+                if (!existing.contains(column[0])) {
+                    stmt.execute("ALTER TABLE projects ADD COLUMN " + column[0] + " " + column[1]);
+                }
+            }
+        }
+    }
+
+    private void insertResources(Connection conn, int count) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO resources (name, email, is_active) VALUES (?, ?, 1)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 1; i <= count; i++) {
+                stmt.setString(1, "Technician " + i);
+                stmt.setString(2, "tech" + i + "@example.com");
+                stmt.executeUpdate();
+                resourceIds.add(generatedKey(stmt));
+            }
+        }
+    }
+
+    private void insertProjectsAndAssignments(Connection conn, Shape shape, Random random) throws SQLException {
+        long totalDays = ChronoUnit.DAYS.between(RANGE_START, RANGE_END);
+        long shopId = insertProject(conn, "SHOP", "Shop Time", RANGE_START, RANGE_END);
+        long trainingId = insertProject(conn, "TRAINING", "Training", RANGE_START, RANGE_END);
+
+        String sql = "INSERT INTO assignments (project_id, resource_id, start_date, end_date, travel_out_days, " +
+            "travel_back_days, is_override, notes, location, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, '2025-01-01 00:00:00', '2025-01-01 00:00:00')";
+        int created = 0;
+        int sequence = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            while (created < shape.assignments) {
+                LocalDate start = RANGE_START.plusDays(random.nextInt((int) totalDays - 20));
+                LocalDate end = start.plusDays(2 + random.nextInt(18));
+                String type = PROJECT_TYPES[random.nextInt(PROJECT_TYPES.length)];
+                sequence++;
+                String code = String.format("%s-%d-%02d-%03d", type.substring(0, 3), start.getYear(),
+                    start.getMonthValue(), sequence % 1000);
+                long projectId = insertProject(conn, code + "-" + sequence,
+                    "Benchmark " + type.toLowerCase() + " build " + sequence, start, end);
+
+                // One in ten slots is SHOP or TRAINING fill-in time instead of project work
+                int teamSize = 1 + random.nextInt(AVERAGE_TEAM_SIZE * 2 - 1);
+                for (int i = 0; i < teamSize && created < shape.assignments; i++, created++) {
+                    long assignedProject = random.nextInt(10) == 0 ? (random.nextBoolean() ? shopId : trainingId) : projectId;
+                    stmt.setLong(1, assignedProject);
+                    stmt.setLong(2, resourceIds.get(random.nextInt(resourceIds.size())));
+                    stmt.setString(3, start.toString());
+                    stmt.setString(4, end.toString());
+                    stmt.setInt(5, random.nextInt(2));
+                    stmt.setInt(6, random.nextInt(2));
+                    stmt.setString(7, "Generated");
+                    stmt.setString(8, "Site " + random.nextInt(200));
+                    stmt.addBatch();
+                }
+                if (sequence % 500 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private long insertProject(Connection conn, String projectId, String description,
+                               LocalDate start, LocalDate end) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO projects (project_id, description, start_date, end_date, status, budget_amount, " +
+                "labor_cost, material_cost, travel_cost, other_cost) VALUES (?, ?, ?, ?, 'ACTIVE', 50000, 20000, 20000, 5000, 5000)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, projectId);
+            stmt.setString(2, description);
+            stmt.setString(3, start.toString());
+            stmt.setString(4, end.toString());
+            stmt.executeUpdate();
+            long id = generatedKey(stmt);
+            projectIds.add(id);
+            return id;
+        }
+    }
+
+    // A finish-to-start chain with a short side branch every tenth task
+    private void insertTaskChain(Connection conn, int chainDepth) throws SQLException {
+        chainProjectId = insertProject(conn, "CHAIN-" + chainDepth, "Dependency chain of " + chainDepth + " tasks",
+            RANGE_START, RANGE_START.plusDays(chainDepth * 3L));
+        String taskSql = "INSERT INTO tasks (project_id, task_code, title, status, planned_start, planned_end) " +
+            "VALUES (?, ?, ?, 'NOT_STARTED', ?, ?)";
+        String dependencySql = "INSERT INTO task_dependencies (predecessor_id, successor_id, dependency_type, lag_days) " +
+            "VALUES (?, ?, 'FINISH_TO_START', 0)";
+        try (PreparedStatement taskStmt = conn.prepareStatement(taskSql, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement depStmt = conn.prepareStatement(dependencySql)) {
+            Long previous = null;
+            LocalDate start = RANGE_START;
+            for (int i = 0; i < chainDepth; i++) {
+                long taskId = insertTask(taskStmt, "T-" + chainDepth + "-" + i, start, start.plusDays(1));
+                if (previous != null) {
+                    depStmt.setLong(1, previous);
+                    depStmt.setLong(2, taskId);
+                    depStmt.addBatch();
+                }
+                if (i % 10 == 5) {
+                    long branchId = insertTask(taskStmt, "B-" + chainDepth + "-" + i, start, start);
+                    depStmt.setLong(1, taskId);
+                    depStmt.setLong(2, branchId);
+                    depStmt.addBatch();
+                }
+                previous = taskId;
+                start = start.plusDays(2);
+            }
+            depStmt.executeBatch();
+        }
+    }
+
+    private long insertTask(PreparedStatement stmt, String code, LocalDate start, LocalDate end) throws SQLException {
+        stmt.setLong(1, chainProjectId);
+        stmt.setString(2, code);
+        stmt.setString(3, "Task " + code);
+        stmt.setString(4, start.toString());
+        stmt.setString(5, end.toString());
+        stmt.executeUpdate();
+        return generatedKey(stmt);
+    }
+
+    private void insertFinancials(Connection conn, Random random) throws SQLException {
+        financialProjectId = projectIds.get(2);
+        String[] categories = { "LABOR", "MATERIALS", "TRAVEL", "EQUIPMENT", "SUBCONTRACTOR", "OTHER" };
+        String[] costStatuses = { "PENDING", "VERIFIED", "APPROVED" };
+        String[] poStatuses = { "DRAFT", "PENDING", "APPROVED", "ORDERED", "RECEIVED" };
+        try (PreparedStatement cost = conn.prepareStatement(
+                "INSERT INTO actual_costs (project_id, cost_date, category, description, amount, status) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement po = conn.prepareStatement(
+                "INSERT INTO purchase_orders (project_id, po_number, vendor, amount, status, order_date) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement change = conn.prepareStatement(
+                "INSERT INTO change_orders (project_id, change_order_number, additional_cost, reason, status, request_date) " +
+                "VALUES (?, ?, ?, 'CLIENT_REQUEST', ?, ?)")) {
+            for (int i = 0; i < 500; i++) {
+                cost.setLong(1, financialProjectId);
+                cost.setString(2, RANGE_START.plusDays(i % 365).toString());
+                cost.setString(3, categories[random.nextInt(categories.length)]);
+                cost.setString(4, "Cost " + i);
+                cost.setDouble(5, 50 + random.nextInt(5000));
+                cost.setString(6, costStatuses[random.nextInt(costStatuses.length)]);
+                cost.addBatch();
+            }
+            for (int i = 0; i < 100; i++) {
+                po.setLong(1, financialProjectId);
+                po.setString(2, "PO-" + i);
+                po.setString(3, "Vendor " + random.nextInt(20));
+                po.setDouble(4, 100 + random.nextInt(20000));
+                po.setString(5, poStatuses[random.nextInt(poStatuses.length)]);
+                po.setString(6, RANGE_START.plusDays(i).toString());
+                po.addBatch();
+            }
+            for (int i = 0; i < 20; i++) {
+                change.setLong(1, financialProjectId);
+                change.setString(2, "CO-" + i);
+                change.setDouble(3, 500 + random.nextInt(10000));
+                change.setString(4, random.nextBoolean() ? "APPROVED" : "SUBMITTED");
+                change.setString(5, RANGE_START.plusDays(i * 7L).toString());
+                change.addBatch();
+            }
+            cost.executeBatch();
+            po.executeBatch();
+            change.executeBatch();
+        }
+    }
+
+    private static long generatedKey(PreparedStatement stmt) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    private static HikariDataSource openInMemoryCopy(String databaseFile) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:file:spm-benchmark-" + MEMORY_DB_COUNTER.incrementAndGet() + "?mode=memory&cache=shared");
+        config.setDriverClassName("org.sqlite.JDBC");
+        // Keep every connection open; the in-memory database lives only as long as one of them does
+        config.setMaximumPoolSize(4);
+        config.setMinimumIdle(4);
+        config.setMaxLifetime(0);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("restore from " + databaseFile);
+        }
+        return dataSource;
+    }
+
+    private void deleteDirectory() {
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (Exception e) {
+            // Best effort, the directory lives under the system temp folder
+        }
+    }
+}
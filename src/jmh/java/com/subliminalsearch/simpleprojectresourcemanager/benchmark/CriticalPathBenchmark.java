@@ -0,0 +1,48 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskDependencyRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.TaskDependencyService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Critical path over a deep finish-to-start chain. The assignment volume doesn't matter here,
+ * so the dataset is always the small shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CriticalPathBenchmark {
+
+    @Param({"100", "1000"})
+    public int chainDepth;
+
+    @Param({"MEMORY", "FILE"})
+    public BenchmarkDataset.Storage storage;
+
+    private BenchmarkDataset dataset;
+    private TaskDependencyService dependencyService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(BenchmarkDataset.Shape.SMALL, storage, chainDepth);
+        var ds = dataset.getDataSource();
+        dependencyService = new TaskDependencyService(new TaskRepository(ds), new TaskDependencyRepository(ds));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<Long> findCriticalPath() {
+        return dependencyService.findCriticalPath(dataset.getChainProjectId());
+    }
+}
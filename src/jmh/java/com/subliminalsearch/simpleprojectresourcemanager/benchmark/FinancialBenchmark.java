@@ -0,0 +1,65 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.ActualCost;
+import com.subliminalsearch.simpleprojectresourcemanager.model.ChangeOrder;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.model.PurchaseOrder;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.FinancialService;
+import com.subliminalsearch.simpleprojectresourcemanager.util.FinancialCalculator;
+import com.subliminalsearch.simpleprojectresourcemanager.util.FinancialCalculator.FinancialSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project financial summary: the full service call (project lookup plus three queries) against
+ * the pure calculation on lists that are already loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FinancialBenchmark {
+
+    @Param({"MEMORY", "FILE"})
+    public BenchmarkDataset.Storage storage;
+
+    private BenchmarkDataset dataset;
+    private FinancialService financialService;
+    private Project project;
+    private List<ActualCost> actualCosts;
+    private List<PurchaseOrder> purchaseOrders;
+    private List<ChangeOrder> changeOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(BenchmarkDataset.Shape.SMALL, storage, 10);
+        ProjectRepository projectRepository = new ProjectRepository(dataset.getDataSource());
+        financialService = new FinancialService(dataset.getDataSource(), projectRepository);
+
+        long projectId = dataset.getFinancialProjectId();
+        project = projectRepository.findById(projectId).orElseThrow();
+        actualCosts = financialService.getActualCostsForProject(projectId);
+        purchaseOrders = financialService.getPurchaseOrdersForProject(projectId);
+        changeOrders = financialService.getChangeOrdersForProject(projectId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public FinancialSummary serviceSummary() {
+        return financialService.getProjectFinancialSummary(dataset.getFinancialProjectId());
+    }
+
+    @Benchmark
+    public FinancialSummary calculatorOnly() {
+        return FinancialCalculator.calculateProjectFinancials(project, actualCosts, purchaseOrders, changeOrders);
+    }
+}
@@ -0,0 +1,65 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectManagerRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict detection over a quarter and over the whole generated range. The cold variants drop
+ * the in-memory conflict index first so they include the reload from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulingBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public BenchmarkDataset.Shape shape;
+
+    @Param({"MEMORY", "FILE"})
+    public BenchmarkDataset.Storage storage;
+
+    private BenchmarkDataset dataset;
+    private SchedulingService schedulingService;
+    private final LocalDate quarterStart = LocalDate.of(2025, 4, 1);
+    private final LocalDate quarterEnd = LocalDate.of(2025, 6, 30);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(shape, storage, 10);
+        var ds = dataset.getDataSource();
+        schedulingService = new SchedulingService(new ProjectRepository(ds), new ResourceRepository(ds),
+            new AssignmentRepository(ds), new ProjectManagerRepository(ds), ds);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Set<Long> detectConflictsQuarter() {
+        return schedulingService.detectAllConflicts(quarterStart, quarterEnd);
+    }
+
+    @Benchmark
+    public Set<Long> detectConflictsFullRange() {
+        return schedulingService.detectAllConflicts(BenchmarkDataset.RANGE_START, BenchmarkDataset.RANGE_END);
+    }
+
+    @Benchmark
+    public Set<Long> detectConflictsQuarterCold() {
+        schedulingService.invalidateConflictIndex();
+        return schedulingService.detectAllConflicts(quarterStart, quarterEnd);
+    }
+}
@@ -0,0 +1,78 @@
+package com.subliminalsearch.simpleprojectresourcemanager.benchmark;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.UtilizationEngine;
+import com.subliminalsearch.simpleprojectresourcemanager.service.WorkingCalendar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The timeline's per-resource utilization column for one quarter, for every resource, from
+ * preloaded data. The cold variant loads the engine first, which is what a timeline refresh
+ * after a full data reload costs; the warm variant is every refresh after that.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilizationEngineBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public BenchmarkDataset.Shape shape;
+
+    private final LocalDate start = LocalDate.of(2025, 4, 1);
+    private final LocalDate end = LocalDate.of(2025, 6, 30);
+    private List<Resource> resources;
+    private List<Assignment> assignments;
+    private Map<Long, String> projectCodes;
+    private UtilizationSettings settings;
+    private WorkingCalendar calendar;
+    private UtilizationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Only the loaded lists are used, so the storage mode is irrelevant
+        try (BenchmarkDataset dataset = BenchmarkDataset.create(shape, BenchmarkDataset.Storage.MEMORY, 10)) {
+            var ds = dataset.getDataSource();
+            resources = new ResourceRepository(ds).findAll();
+            assignments = new AssignmentRepository(ds).findByDateRange(start, end);
+            projectCodes = new ProjectRepository(ds).findAll().stream()
+                .collect(Collectors.toMap(Project::getId, Project::getProjectId));
+        }
+        settings = new UtilizationSettings();
+        calendar = new WorkingCalendar();
+        calendar.setHolidays(List.of(LocalDate.of(2025, 5, 26), LocalDate.of(2025, 7, 4)));
+        engine = new UtilizationEngine(calendar, projectCodes::get);
+        engine.load(assignments);
+    }
+
+    @Benchmark
+    public void utilizationWarm(Blackhole blackhole) {
+        for (Resource resource : resources) {
+            blackhole.consume(engine.getUtilization(resource.getId(), start, end, settings));
+        }
+    }
+
+    @Benchmark
+    public void utilizationCold(Blackhole blackhole) {
+        UtilizationEngine cold = new UtilizationEngine(calendar, projectCodes::get);
+        cold.load(assignments);
+        for (Resource resource : resources) {
+            blackhole.consume(cold.getUtilization(resource.getId(), start, end, settings));
+        }
+    }
+}
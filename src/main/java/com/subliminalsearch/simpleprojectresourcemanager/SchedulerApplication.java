@@ -7,6 +7,7 @@ import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRe
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectManagerRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -83,6 +84,8 @@ public class SchedulerApplication extends Application {
         stage.setOnCloseRequest(event -> {
             logger.info("User requested application closure");
             try {
+                // Let background work finish with the database before the pool closes
+                BackgroundTasks.getInstance().shutdown();
                 if (databaseConfig != null) {
                     databaseConfig.shutdown();
                 }
@@ -105,6 +108,8 @@ public class SchedulerApplication extends Application {
     public void stop() throws Exception {
         logger.info("Shutting down application...");
         
+        BackgroundTasks.getInstance().shutdown();
+        
         try {
             if (databaseConfig != null) {
                 databaseConfig.shutdown();
@@ -0,0 +1,337 @@
+package com.subliminalsearch.simpleprojectresourcemanager.component;
+
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
+import com.subliminalsearch.simpleprojectresourcemanager.service.ReportCache;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Scrollable preview of every page of a report PDF.
+ *
+ * The document is opened once and only touched by this preview's render queue, which runs one job
+ * at a time on the shared CPU pool, as PDFBox documents are not thread-safe. Pages are rendered when they scroll into view: first a low-resolution
+ * thumbnail, then the full preview resolution. Only the visible pages and a couple either side
+ * keep their images, so memory does not grow with the length of the report. Full-resolution pages
+ * are also handed to the report cache, so reopening a recent report shows them straight away.
+ *
+ * Call {@link #dispose()} when the preview is no longer shown to close the document. The report
+ * stays pinned in the cache until then, so its file is not deleted while it is open.
+ */
+public class PdfPagePreview extends ScrollPane {
+    private static final Logger logger = LoggerFactory.getLogger(PdfPagePreview.class);
+
+    private static final double PAGE_WIDTH = 800;
+    private static final float THUMBNAIL_DPI = 24;
+    private static final int NEARBY_PAGES = 2;
+
+    private static final int NONE = 0;
+    private static final int THUMBNAIL = 1;
+    private static final int FULL = 2;
+
+    private final ReportCache.Entry report;
+    private final List<PageSlot> slots = new ArrayList<>();
+    private final VBox pages = new VBox(10);
+    private final ReadOnlyIntegerWrapper currentPage = new ReadOnlyIntegerWrapper(0);
+
+    // Render jobs, run one at a time in submission order
+    private final Deque<Runnable> renderQueue = new ArrayDeque<>();
+    private boolean rendering = false;
+
+    // Only touched by render jobs
+    private PDDocument document;
+    private PDFRenderer renderer;
+
+    // Pages worth rendering, written on the FX thread and read by render jobs
+    private volatile int keepFrom = 0;
+    private volatile int keepTo = -1;
+    private volatile boolean disposed = false;
+
+    public PdfPagePreview(ReportCache.Entry report) {
+        this.report = report;
+        report.pin();
+
+        pages.setAlignment(Pos.TOP_CENTER);
+        pages.setPadding(new Insets(10));
+        for (int i = 0; i < report.getPageCount(); i++) {
+            PageSlot slot = new PageSlot(i);
+            slots.add(slot);
+            pages.getChildren().add(slot);
+        }
+        setContent(pages);
+        setFitToWidth(true);
+        setPannable(true);
+
+        vvalueProperty().addListener((obs, oldValue, newValue) -> updateVisiblePages());
+        viewportBoundsProperty().addListener((obs, oldValue, newValue) -> updateVisiblePages());
+        pages.heightProperty().addListener((obs, oldValue, newValue) -> updateVisiblePages());
+
+        queueRender(this::openDocument);
+    }
+
+    /**
+     * Index of the first page in view.
+     */
+    public ReadOnlyIntegerProperty currentPageProperty() {
+        return currentPage.getReadOnlyProperty();
+    }
+
+    public int getPageCount() {
+        return slots.size();
+    }
+
+    public void showPage(int pageIndex) {
+        if (pageIndex < 0 || pageIndex >= slots.size()) {
+            return;
+        }
+        double scrollable = pages.getHeight() - getViewportBounds().getHeight();
+        if (scrollable > 0) {
+            setVvalue(Math.min(1.0, slots.get(pageIndex).getBoundsInParent().getMinY() / scrollable));
+        }
+    }
+
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        // Queued renders see the flag and return; the document is closed after them
+        queueRender(() -> {
+            if (document != null) {
+                try {
+                    document.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close preview document {}", report.getFile(), e);
+                }
+                document = null;
+            }
+            report.release();
+        });
+        slots.forEach(PageSlot::release);
+    }
+
+    private void queueRender(Runnable job) {
+        synchronized (renderQueue) {
+            renderQueue.add(job);
+            if (rendering) {
+                return;
+            }
+            rendering = true;
+        }
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.CPU, "pdf-preview", this::runNextRender);
+    }
+
+    /**
+     * Runs one job and hands the pool thread back, so a long report does not hold it for every page.
+     */
+    private void runNextRender() {
+        Runnable job;
+        synchronized (renderQueue) {
+            job = renderQueue.poll();
+            if (job == null) {
+                rendering = false;
+                return;
+            }
+        }
+        try {
+            job.run();
+        } finally {
+            boolean more;
+            synchronized (renderQueue) {
+                more = !renderQueue.isEmpty();
+                rendering = more;
+            }
+            if (more) {
+                BackgroundTasks.getInstance().run(BackgroundTasks.Pool.CPU, "pdf-preview", this::runNextRender);
+            }
+        }
+    }
+
+    private void openDocument() {
+        if (disposed) {
+            return;
+        }
+        try {
+            document = Loader.loadPDF(report.getFile());
+            renderer = new PDFRenderer(document);
+
+            // Size the placeholders to the real pages, so the scroll range is right before rendering
+            List<Double> heights = new ArrayList<>(document.getNumberOfPages());
+            for (PDPage page : document.getPages()) {
+                PDRectangle box = page.getCropBox();
+                boolean sideways = page.getRotation() % 180 != 0;
+                double width = sideways ? box.getHeight() : box.getWidth();
+                double height = sideways ? box.getWidth() : box.getHeight();
+                heights.add(PAGE_WIDTH * height / width);
+            }
+            Platform.runLater(() -> {
+                for (int i = 0; i < heights.size() && i < slots.size(); i++) {
+                    slots.get(i).setPageHeight(heights.get(i));
+                }
+                updateVisiblePages();
+            });
+        } catch (Exception e) {
+            logger.error("Failed to open report for preview: {}", report.getFile(), e);
+            Platform.runLater(() -> slots.forEach(slot -> slot.placeholder.setText("Preview unavailable: " + e.getMessage())));
+        }
+    }
+
+    private void updateVisiblePages() {
+        if (disposed || slots.isEmpty()) {
+            return;
+        }
+        Bounds viewport = getViewportBounds();
+        double scrollable = Math.max(0, pages.getHeight() - viewport.getHeight());
+        double top = scrollable * getVvalue();
+        double bottom = top + viewport.getHeight();
+
+        int first = -1;
+        int last = -1;
+        for (PageSlot slot : slots) {
+            Bounds bounds = slot.getBoundsInParent();
+            if (bounds.getMaxY() >= top && bounds.getMinY() <= bottom) {
+                if (first < 0) {
+                    first = slot.index;
+                }
+                last = slot.index;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        currentPage.set(first);
+        keepFrom = Math.max(0, first - NEARBY_PAGES);
+        keepTo = Math.min(slots.size() - 1, last + NEARBY_PAGES);
+
+        for (PageSlot slot : slots) {
+            if (slot.index < keepFrom || slot.index > keepTo) {
+                slot.release();
+            }
+        }
+        // The render queue works in submission order: thumbnails of what is on screen come first,
+        // then their refinement, then the pages either side at full resolution
+        for (int i = first; i <= last; i++) {
+            request(slots.get(i), THUMBNAIL);
+        }
+        for (int i = first; i <= last; i++) {
+            request(slots.get(i), FULL);
+        }
+        for (int i = keepFrom; i <= keepTo; i++) {
+            request(slots.get(i), FULL);
+        }
+    }
+
+    private void request(PageSlot slot, int quality) {
+        if (slot.quality >= quality || slot.requested >= quality) {
+            return;
+        }
+        slot.requested = quality;
+        queueRender(() -> {
+            Image image = render(slot.index, quality);
+            Platform.runLater(() -> slot.deliver(quality, image));
+        });
+    }
+
+    /**
+     * Runs as a render job. Returns null when the page is no longer wanted.
+     */
+    private Image render(int pageIndex, int quality) {
+        if (disposed || renderer == null || pageIndex < keepFrom || pageIndex > keepTo) {
+            return null;
+        }
+        try {
+            BufferedImage image = quality == FULL ? report.getRenderedPage(pageIndex) : null;
+            if (image == null) {
+                float dpi = quality == FULL ? ReportCache.PREVIEW_DPI : THUMBNAIL_DPI;
+                image = renderer.renderImageWithDPI(pageIndex, dpi);
+                if (quality == FULL) {
+                    report.putRenderedPage(pageIndex, image);
+                }
+            }
+            return toFxImage(image);
+        } catch (Exception e) {
+            logger.error("Failed to render page {} of {}", pageIndex + 1, report.getFile(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies the pixels straight into a JavaFX image, without encoding and decoding a PNG.
+     */
+    static WritableImage toFxImage(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        WritableImage fxImage = new WritableImage(width, height);
+        fxImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return fxImage;
+    }
+
+    private final class PageSlot extends StackPane {
+        private final int index;
+        private final ImageView view = new ImageView();
+        private final Label placeholder;
+        // Both only touched on the FX thread
+        private int quality = NONE;
+        private int requested = NONE;
+
+        private PageSlot(int index) {
+            this.index = index;
+            placeholder = new Label("Page " + (index + 1));
+            placeholder.setStyle("-fx-text-fill: #999999;");
+            view.setPreserveRatio(true);
+            view.setFitWidth(PAGE_WIDTH);
+            setStyle("-fx-background-color: white; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 6, 0, 0, 1);");
+            setMaxWidth(PAGE_WIDTH);
+            setPageHeight(PAGE_WIDTH * 11 / 8.5);
+            getChildren().addAll(placeholder, view);
+        }
+
+        private void setPageHeight(double height) {
+            setMinSize(PAGE_WIDTH, height);
+            setPrefSize(PAGE_WIDTH, height);
+        }
+
+        private void deliver(int deliveredQuality, Image image) {
+            if (requested == deliveredQuality) {
+                requested = quality;
+            }
+            if (image == null || disposed || index < keepFrom || index > keepTo || deliveredQuality <= quality) {
+                return;
+            }
+            view.setImage(image);
+            quality = deliveredQuality;
+            placeholder.setVisible(false);
+        }
+
+        private void release() {
+            view.setImage(null);
+            quality = NONE;
+            placeholder.setVisible(true);
+        }
+    }
+}
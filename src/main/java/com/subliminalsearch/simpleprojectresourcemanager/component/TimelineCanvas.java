@@ -0,0 +1,768 @@
+package com.subliminalsearch.simpleprojectresourcemanager.component;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TechnicianUnavailability;
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Canvas based renderer for the resource timeline.
+ *
+ * Instead of one styled node per resource per day, the whole grid is painted onto a single
+ * viewport-sized {@link Canvas}. Only the rows and day columns currently visible in the
+ * surrounding {@link ScrollPane} are drawn; the host pane keeps the full content size so the
+ * scroll bars behave exactly as they do for the node based grid.
+ *
+ * Context menus, edge resizing and drag-to-move are implemented by hit-testing canvas
+ * coordinates against the row model supplied by {@link TimelineView}.
+ */
+class TimelineCanvas extends Pane {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineCanvas.class);
+
+    private static final double EDGE_GRAB_WIDTH = 10.0;
+    private static final double DRAG_THRESHOLD = 4.0;
+
+    private static final Color GRID_LINE = Color.web("#d0d0d0");
+    private static final Color ROW_EVEN = Color.web("#f8f9fa");
+    private static final Color ROW_ODD = Color.WHITE;
+    private static final Color WEEKEND = Color.web("#e6f3ff");
+    private static final Color HOLIDAY = Color.web("#ffe0e6");
+    private static final Color UNASSIGNED_DAY = Color.web("#fffbf0");
+    private static final Color UNASSIGNED_WEEKEND = Color.web("#fff8e1");
+    private static final Color UNASSIGNED_HOLIDAY = Color.web("#ffe8ec");
+    private static final Color UNASSIGNED_TODAY = Color.web("#d4d4d4");
+    private static final Color UNASSIGNED_LINE = Color.web("#e0e0e0");
+
+    /** Visual category of an assignment bar; mirrors the inline styles used by the node renderer. */
+    enum BarStyle {
+        STANDARD(Color.web("#87CEEB"), Color.BLACK, null, null),
+        TRAVEL(Color.web("#28a745"), Color.WHITE, null, null),
+        SHOP_TRAINING(Color.web("#F0D000"), Color.BLACK, null, null),
+        CONFLICT(Color.web("#dc3545"), Color.WHITE, Color.web("#ff6b6b"), Color.web("#721c24")),
+        UNAVAILABILITY_CONFLICT(Color.web("#9b59b6"), Color.WHITE, Color.web("#c39bd3"), Color.web("#6c3483"));
+
+        final Color fill;
+        final Color text;
+        final Color stripe;
+        final Color border;
+
+        BarStyle(Color fill, Color text, Color stripe, Color border) {
+            this.fill = fill;
+            this.text = text;
+            this.stripe = stripe;
+            this.border = border;
+        }
+    }
+
+    enum BarKind { ASSIGNMENT, UNAVAILABILITY, UNASSIGNED_PROJECT }
+
+    /** A bar positioned in day units relative to the timeline start. */
+    static final class Bar {
+        final BarKind kind;
+        final int startDay;
+        final int days;
+        final String text;
+        final BarStyle style;
+        final Assignment assignment;
+        final Project project;
+        final TechnicianUnavailability unavailability;
+        final Color fill;
+        final Color border;
+
+        private Bar(BarKind kind, int startDay, int days, String text, BarStyle style, Assignment assignment,
+                    Project project, TechnicianUnavailability unavailability, Color fill, Color border) {
+            this.kind = kind;
+            this.startDay = startDay;
+            this.days = days;
+            this.text = text;
+            this.style = style;
+            this.assignment = assignment;
+            this.project = project;
+            this.unavailability = unavailability;
+            this.fill = fill;
+            this.border = border;
+        }
+
+        static Bar assignment(Assignment assignment, Project project, int startDay, int days, String text, BarStyle style) {
+            return new Bar(BarKind.ASSIGNMENT, startDay, days, text, style, assignment, project, null, style.fill, style.border);
+        }
+
+        static Bar unavailability(TechnicianUnavailability unavailability, int startDay, int days, String text,
+                                  Color fill, Color border) {
+            return new Bar(BarKind.UNAVAILABILITY, startDay, days, text, null, null, null, unavailability, fill, border);
+        }
+
+        static Bar unassignedProject(Project project, int startDay, int days, String text) {
+            return new Bar(BarKind.UNASSIGNED_PROJECT, startDay, days, text, null, null, project, null,
+                Color.rgb(255, 193, 7, 0.3), Color.web("#ff9800"));
+        }
+    }
+
+    /** One timeline row: either a resource row or an unassigned project row. */
+    static final class Row {
+        final Resource resource;
+        final Project unassignedProject;
+        final List<Bar> bars;
+
+        Row(Resource resource, Project unassignedProject, List<Bar> bars) {
+            this.resource = resource;
+            this.unassignedProject = unassignedProject;
+            this.bars = bars;
+        }
+
+        boolean isResourceRow() {
+            return resource != null;
+        }
+    }
+
+    private enum DragMode { NONE, PENDING_MOVE, MOVING, RESIZE_LEFT, RESIZE_RIGHT }
+
+    private final TimelineView owner;
+    private final ScrollPane scrollPane;
+    private final double headerHeight;
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+
+    private List<Row> rows = Collections.emptyList();
+    private LocalDate timelineStart;
+    private int dayCount;
+    private Predicate<LocalDate> holidays = date -> false;
+    private double dayWidth;
+    private double rowHeight;
+    private double barHeight;
+    private double zoomLevel = 1.0;
+
+    // Visible window in content coordinates
+    private double viewX;
+    private double viewY;
+
+    // Hover and drag state
+    private Bar hoveredBar;
+    private boolean tooltipInstalled;
+    private DragMode dragMode = DragMode.NONE;
+    private Bar dragBar;
+    private int dragRowIndex;
+    private double pressX;
+    private double pressY;
+    private double grabOffsetX;
+    private int previewStartDay;
+    private int previewDays;
+    private int previewRowIndex;
+    private boolean previewConflict;
+
+    TimelineCanvas(TimelineView owner, ScrollPane scrollPane, double headerHeight) {
+        this.owner = owner;
+        this.scrollPane = scrollPane;
+        this.headerHeight = headerHeight;
+
+        getStyleClass().add("timeline-canvas-host");
+        getChildren().add(canvas);
+        canvas.setManaged(false);
+
+        tooltip.setShowDelay(javafx.util.Duration.millis(500));
+        tooltip.setHideDelay(javafx.util.Duration.millis(100));
+        tooltip.setShowDuration(javafx.util.Duration.seconds(3600));
+        tooltip.setStyle("-fx-font-size: 11px;");
+
+        scrollPane.hvalueProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        scrollPane.vvalueProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        scrollPane.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+
+        canvas.setOnMouseMoved(this::handleMouseMoved);
+        canvas.setOnMouseExited(e -> {
+            hoveredBar = null;
+            updateTooltip(null);
+            canvas.setCursor(Cursor.DEFAULT);
+        });
+        canvas.setOnMousePressed(this::handleMousePressed);
+        canvas.setOnMouseDragged(this::handleMouseDragged);
+        canvas.setOnMouseReleased(this::handleMouseReleased);
+        canvas.setOnMouseClicked(this::handleMouseClicked);
+    }
+
+    /**
+     * Replaces the row model and geometry, then repaints the visible window.
+     */
+    void setModel(List<Row> rows, LocalDate timelineStart, int dayCount, Predicate<LocalDate> holidays,
+                  double dayWidth, double rowHeight, double barHeight, double zoomLevel) {
+        this.rows = rows;
+        this.timelineStart = timelineStart;
+        this.dayCount = dayCount;
+        this.holidays = holidays;
+        this.dayWidth = dayWidth;
+        this.rowHeight = rowHeight;
+        this.barHeight = barHeight;
+        this.zoomLevel = zoomLevel;
+        this.hoveredBar = null;
+        this.dragMode = DragMode.NONE;
+        this.dragBar = null;
+        updateTooltip(null);
+
+        double width = dayCount * dayWidth;
+        double height = Math.max(rows.size(), 1) * rowHeight;
+        setMinSize(width, height);
+        setPrefSize(width, height);
+        setMaxSize(width, height);
+
+        updateViewport();
+    }
+
+    List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Moves the viewport-sized canvas to the scrolled window and repaints it.
+     */
+    void updateViewport() {
+        Bounds viewport = scrollPane.getViewportBounds();
+        if (viewport == null || scrollPane.getContent() == null) {
+            return;
+        }
+        Bounds content = scrollPane.getContent().getLayoutBounds();
+        double scrollX = Math.max(0, content.getWidth() - viewport.getWidth()) * scrollPane.getHvalue();
+        double scrollY = Math.max(0, content.getHeight() - viewport.getHeight()) * scrollPane.getVvalue();
+
+        double maxWidth = Math.max(0, dayCount * dayWidth);
+        double maxHeight = Math.max(0, rows.size() * rowHeight);
+
+        viewX = Math.min(scrollX, maxWidth);
+        // The date header sits above this pane inside the scrolled content
+        viewY = Math.min(Math.max(0, scrollY - headerHeight), maxHeight);
+        double visibleWidth = Math.min(viewport.getWidth(), maxWidth - viewX);
+        double visibleHeight = Math.min(viewport.getHeight(), maxHeight - viewY);
+
+        canvas.setLayoutX(viewX);
+        canvas.setLayoutY(viewY);
+        canvas.setWidth(Math.max(0, Math.ceil(visibleWidth)));
+        canvas.setHeight(Math.max(0, Math.ceil(visibleHeight)));
+        redraw();
+    }
+
+    // ------------------------------------------------------------------
+    // Painting
+    // ------------------------------------------------------------------
+
+    void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.clearRect(0, 0, width, height);
+        if (timelineStart == null || dayCount <= 0 || width <= 0 || height <= 0) {
+            return;
+        }
+
+        int firstRow = (int) Math.floor(viewY / rowHeight);
+        int lastRow = Math.min(rows.size() - 1, (int) Math.floor((viewY + height) / rowHeight));
+        int firstDay = (int) Math.floor(viewX / dayWidth);
+        int lastDay = Math.min(dayCount - 1, (int) Math.floor((viewX + width) / dayWidth));
+
+        gc.save();
+        gc.translate(-viewX, -viewY);
+
+        for (int rowIndex = firstRow; rowIndex <= lastRow; rowIndex++) {
+            Row row = rows.get(rowIndex);
+            double rowTop = rowIndex * rowHeight;
+            paintRowBackground(gc, row, rowIndex, rowTop, firstDay, lastDay);
+
+            // Assignment and unassigned project bars first, unavailability on top
+            for (Bar bar : row.bars) {
+                if (bar.kind != BarKind.UNAVAILABILITY && isVisible(bar, firstDay, lastDay)) {
+                    paintBar(gc, bar, rowTop);
+                }
+            }
+            for (Bar bar : row.bars) {
+                if (bar.kind == BarKind.UNAVAILABILITY && isVisible(bar, firstDay, lastDay)) {
+                    paintBar(gc, bar, rowTop);
+                }
+            }
+        }
+
+        paintDragPreview(gc);
+        gc.restore();
+    }
+
+    private boolean isVisible(Bar bar, int firstDay, int lastDay) {
+        return bar.startDay <= lastDay && bar.startDay + bar.days - 1 >= firstDay;
+    }
+
+    private void paintRowBackground(GraphicsContext gc, Row row, int rowIndex, double rowTop, int firstDay, int lastDay) {
+        LocalDate today = LocalDate.now();
+        for (int day = firstDay; day <= lastDay; day++) {
+            LocalDate date = timelineStart.plusDays(day);
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean holiday = holidays.test(date);
+
+            Color fill;
+            if (row.isResourceRow()) {
+                if (holiday) {
+                    fill = HOLIDAY;
+                } else if (weekend) {
+                    fill = WEEKEND;
+                } else {
+                    fill = rowIndex % 2 == 0 ? ROW_EVEN : ROW_ODD;
+                }
+            } else if (date.equals(today)) {
+                fill = UNASSIGNED_TODAY;
+            } else if (holiday) {
+                fill = UNASSIGNED_HOLIDAY;
+            } else if (weekend) {
+                fill = UNASSIGNED_WEEKEND;
+            } else {
+                fill = UNASSIGNED_DAY;
+            }
+            gc.setFill(fill);
+            gc.fillRect(day * dayWidth, rowTop, dayWidth, rowHeight);
+        }
+
+        // Bottom border only, matching the node renderer
+        gc.setStroke(row.isResourceRow() ? GRID_LINE : UNASSIGNED_LINE);
+        gc.setLineWidth(1);
+        double y = rowTop + rowHeight - 0.5;
+        gc.strokeLine(firstDay * dayWidth, y, (lastDay + 1) * dayWidth, y);
+    }
+
+    private void paintBar(GraphicsContext gc, Bar bar, double rowTop) {
+        int startDay = bar.startDay;
+        int days = bar.days;
+        if (dragBar == bar && (dragMode == DragMode.RESIZE_LEFT || dragMode == DragMode.RESIZE_RIGHT)) {
+            startDay = previewStartDay;
+            days = previewDays;
+        }
+
+        double x = startDay * dayWidth;
+        double w = days * dayWidth;
+        double y;
+        double h;
+
+        switch (bar.kind) {
+            case UNAVAILABILITY:
+                y = rowTop + 2;
+                h = rowHeight - 4;
+                gc.setGlobalAlpha(0.75);
+                gc.setFill(bar.fill);
+                gc.fillRect(x, y, w, h);
+                gc.setGlobalAlpha(1.0);
+                gc.setStroke(bar.border);
+                gc.setLineWidth(2);
+                gc.strokeRect(x + 1, y + 1, w - 2, h - 2);
+                paintText(gc, bar.text, x, y, w, h, Color.web("#4A148C"),
+                    Font.font("System", FontWeight.BOLD, 11 * zoomLevel));
+                break;
+
+            case UNASSIGNED_PROJECT:
+                x += 2;
+                w -= 4;
+                y = rowTop + (rowHeight - barHeight) / 2;
+                h = barHeight;
+                gc.setFill(bar.fill);
+                gc.fillRect(x, y, w, h);
+                gc.setStroke(bar.border);
+                gc.setLineWidth(2);
+                gc.setLineDashes(6, 4);
+                gc.strokeRect(x + 1, y + 1, w - 2, h - 2);
+                gc.setLineDashes((double[]) null);
+                paintText(gc, bar.text, x + 6, y, w - 12, h, Color.web("#856404"),
+                    Font.font("System", FontWeight.BOLD, 11), TextAlignment.LEFT);
+                break;
+
+            default:
+                y = rowTop + (rowHeight - barHeight) / 2;
+                h = barHeight;
+                boolean dimmed = dragBar == bar && dragMode == DragMode.MOVING;
+                if (dimmed) {
+                    gc.setGlobalAlpha(0.3);
+                }
+                paintAssignmentBody(gc, bar.style, x, y, w, h);
+                boolean bold = bar.style == BarStyle.CONFLICT || bar.style == BarStyle.UNAVAILABILITY_CONFLICT;
+                paintText(gc, bar.text, x + 4, y, w - 8, h, bar.style.text,
+                    Font.font("System", bold ? FontWeight.BOLD : FontWeight.NORMAL, 10 * zoomLevel));
+                gc.setGlobalAlpha(1.0);
+                break;
+        }
+    }
+
+    private void paintAssignmentBody(GraphicsContext gc, BarStyle style, double x, double y, double w, double h) {
+        gc.setFill(style.fill);
+        gc.fillRect(x, y, w, h);
+
+        if (style.stripe != null) {
+            // Diagonal stripes clipped to the bar, like the repeating-linear-gradient in CSS
+            gc.save();
+            gc.beginPath();
+            gc.rect(x, y, w, h);
+            gc.closePath();
+            gc.clip();
+            gc.setStroke(style.stripe);
+            gc.setLineWidth(5);
+            for (double sx = x - h; sx < x + w; sx += 10) {
+                gc.strokeLine(sx, y + h, sx + h, y);
+            }
+            gc.restore();
+        }
+
+        if (style.border != null) {
+            gc.setStroke(style.border);
+            gc.setLineWidth(2);
+            gc.strokeRect(x + 1, y + 1, w - 2, h - 2);
+        }
+    }
+
+    private void paintText(GraphicsContext gc, String text, double x, double y, double w, double h,
+                           Color color, Font font) {
+        paintText(gc, text, x, y, w, h, color, font, TextAlignment.CENTER);
+    }
+
+    private void paintText(GraphicsContext gc, String text, double x, double y, double w, double h,
+                           Color color, Font font, TextAlignment alignment) {
+        if (text == null || text.isEmpty() || w <= 0) {
+            return;
+        }
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, w, h);
+        gc.closePath();
+        gc.clip();
+        gc.setFill(color);
+        gc.setFont(font);
+        gc.setTextAlign(alignment);
+        gc.setTextBaseline(VPos.CENTER);
+        double textX = alignment == TextAlignment.CENTER ? x + w / 2 : x;
+        gc.fillText(text, textX, y + h / 2);
+        gc.restore();
+    }
+
+    private void paintDragPreview(GraphicsContext gc) {
+        if (dragMode != DragMode.MOVING || dragBar == null || previewRowIndex < 0) {
+            return;
+        }
+        double x = previewStartDay * dayWidth;
+        double w = previewDays * dayWidth;
+        double y = previewRowIndex * rowHeight + (rowHeight - barHeight) / 2;
+
+        // Highlight the target row
+        gc.setFill(Color.rgb(40, 167, 69, 0.10));
+        gc.fillRect(0, previewRowIndex * rowHeight, dayCount * dayWidth, rowHeight);
+
+        Color fill = previewConflict ? Color.rgb(220, 53, 69, 0.3) : Color.rgb(40, 167, 69, 0.3);
+        Color border = previewConflict ? Color.web("#dc3545") : Color.web("#28a745");
+        Color textColor = previewConflict ? Color.web("#721c24") : Color.web("#155724");
+
+        gc.setFill(fill);
+        gc.fillRect(x, y, w, barHeight);
+        gc.setStroke(border);
+        gc.setLineWidth(2);
+        gc.setLineDashes(6, 4);
+        gc.strokeRect(x + 1, y + 1, w - 2, barHeight - 2);
+        gc.setLineDashes((double[]) null);
+
+        String text = previewConflict ? "⚠ " + dragBar.text + " (CONFLICT!)" : dragBar.text;
+        paintText(gc, text, x + 4, y, w - 8, barHeight, textColor, Font.font("System", FontWeight.BOLD, 10 * zoomLevel));
+    }
+
+    // ------------------------------------------------------------------
+    // Hit testing
+    // ------------------------------------------------------------------
+
+    private int rowAt(double contentY) {
+        int rowIndex = (int) Math.floor(contentY / rowHeight);
+        return rowIndex >= 0 && rowIndex < rows.size() ? rowIndex : -1;
+    }
+
+    /**
+     * Returns the top-most bar under the given content coordinates, or null.
+     * Unavailability bars are painted on top, so they win the hit test.
+     */
+    private Bar barAt(double contentX, double contentY) {
+        int rowIndex = rowAt(contentY);
+        if (rowIndex < 0) {
+            return null;
+        }
+        Row row = rows.get(rowIndex);
+        double rowTop = rowIndex * rowHeight;
+        double barTop = rowTop + (rowHeight - barHeight) / 2;
+
+        Bar hit = null;
+        for (Bar bar : row.bars) {
+            double x = bar.startDay * dayWidth;
+            double w = bar.days * dayWidth;
+            if (contentX < x || contentX >= x + w) {
+                continue;
+            }
+            if (bar.kind == BarKind.UNAVAILABILITY) {
+                if (contentY >= rowTop + 2 && contentY <= rowTop + rowHeight - 2) {
+                    return bar;
+                }
+            } else if (hit == null && contentY >= barTop && contentY <= barTop + barHeight) {
+                hit = bar;
+            }
+        }
+        return hit;
+    }
+
+    private double toContentX(MouseEvent event) {
+        return event.getX() + viewX;
+    }
+
+    private double toContentY(MouseEvent event) {
+        return event.getY() + viewY;
+    }
+
+    // ------------------------------------------------------------------
+    // Mouse handling
+    // ------------------------------------------------------------------
+
+    private void handleMouseMoved(MouseEvent event) {
+        double cx = toContentX(event);
+        double cy = toContentY(event);
+        Bar bar = barAt(cx, cy);
+
+        Cursor cursor = Cursor.DEFAULT;
+        if (bar != null && bar.kind == BarKind.ASSIGNMENT) {
+            double left = bar.startDay * dayWidth;
+            double right = left + bar.days * dayWidth;
+            if (cx - left <= EDGE_GRAB_WIDTH) {
+                cursor = Cursor.W_RESIZE;
+            } else if (right - cx <= EDGE_GRAB_WIDTH) {
+                cursor = Cursor.E_RESIZE;
+            } else {
+                cursor = Cursor.HAND;
+            }
+        } else if (bar != null && bar.kind == BarKind.UNASSIGNED_PROJECT) {
+            cursor = Cursor.HAND;
+        }
+        canvas.setCursor(cursor);
+
+        if (bar != hoveredBar) {
+            hoveredBar = bar;
+            updateTooltip(bar);
+        }
+    }
+
+    private void updateTooltip(Bar bar) {
+        if (bar == null) {
+            tooltip.hide();
+            if (tooltipInstalled) {
+                Tooltip.uninstall(canvas, tooltip);
+                tooltipInstalled = false;
+            }
+            return;
+        }
+
+        // Tooltip text is built lazily on hover rather than for every bar up front
+        String text;
+        switch (bar.kind) {
+            case UNAVAILABILITY:
+                text = owner.buildUnavailabilityTooltipText(bar.unavailability);
+                break;
+            case UNASSIGNED_PROJECT:
+                text = owner.buildUnassignedProjectTooltipText(bar.project);
+                break;
+            default:
+                text = owner.buildAssignmentTooltipText(bar.assignment, bar.project);
+                break;
+        }
+        tooltip.setText(text);
+        if (bar.kind == BarKind.ASSIGNMENT && owner.isConflicted(bar.assignment.getId())) {
+            tooltip.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #c62828; -fx-font-size: 11px;");
+        } else {
+            tooltip.setStyle("-fx-font-size: 11px;");
+        }
+        if (!tooltipInstalled) {
+            Tooltip.install(canvas, tooltip);
+            tooltipInstalled = true;
+        }
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        double cx = toContentX(event);
+        double cy = toContentY(event);
+        Bar bar = barAt(cx, cy);
+        if (bar == null || bar.kind != BarKind.ASSIGNMENT) {
+            dragMode = DragMode.NONE;
+            return;
+        }
+
+        dragBar = bar;
+        dragRowIndex = rowAt(cy);
+        pressX = cx;
+        pressY = cy;
+        double left = bar.startDay * dayWidth;
+        double right = left + bar.days * dayWidth;
+        grabOffsetX = cx - left;
+        previewStartDay = bar.startDay;
+        previewDays = bar.days;
+        previewRowIndex = dragRowIndex;
+
+        if (cx - left <= EDGE_GRAB_WIDTH) {
+            dragMode = DragMode.RESIZE_LEFT;
+        } else if (right - cx <= EDGE_GRAB_WIDTH) {
+            dragMode = DragMode.RESIZE_RIGHT;
+        } else {
+            dragMode = DragMode.PENDING_MOVE;
+        }
+        tooltip.hide();
+        event.consume();
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        if (dragMode == DragMode.NONE || dragBar == null) {
+            return;
+        }
+        double cx = toContentX(event);
+        double cy = toContentY(event);
+
+        switch (dragMode) {
+            case RESIZE_LEFT: {
+                // Right edge stays fixed; snap the left edge to the nearest day boundary
+                int rightEdgeDay = dragBar.startDay + dragBar.days;
+                int newStart = (int) Math.round(Math.max(0, cx) / dayWidth);
+                newStart = Math.min(newStart, rightEdgeDay - 1);
+                previewStartDay = Math.max(0, newStart);
+                previewDays = rightEdgeDay - previewStartDay;
+                break;
+            }
+            case RESIZE_RIGHT: {
+                int newRightEdge = (int) Math.round(cx / dayWidth);
+                newRightEdge = Math.max(dragBar.startDay + 1, Math.min(dayCount, newRightEdge));
+                previewStartDay = dragBar.startDay;
+                previewDays = newRightEdge - dragBar.startDay;
+                break;
+            }
+            case PENDING_MOVE:
+                if (Math.abs(cx - pressX) < DRAG_THRESHOLD && Math.abs(cy - pressY) < DRAG_THRESHOLD) {
+                    return;
+                }
+                dragMode = DragMode.MOVING;
+                updateMovePreview(cx, cy);
+                break;
+            case MOVING:
+                updateMovePreview(cx, cy);
+                break;
+            default:
+                break;
+        }
+        redraw();
+        event.consume();
+    }
+
+    private void updateMovePreview(double cx, double cy) {
+        int rowIndex = rowAt(cy);
+        if (rowIndex < 0 || !rows.get(rowIndex).isResourceRow()) {
+            previewRowIndex = -1;
+            return;
+        }
+        int duration = (int) (java.time.temporal.ChronoUnit.DAYS.between(
+            dragBar.assignment.getStartDate(), dragBar.assignment.getEndDate()) + 1);
+        int dayOffset = Math.max(0, (int) Math.round((cx - grabOffsetX) / dayWidth));
+
+        previewRowIndex = rowIndex;
+        previewStartDay = dayOffset;
+        previewDays = Math.max(1, Math.min(duration, dayCount - dayOffset));
+
+        LocalDate start = timelineStart.plusDays(dayOffset);
+        previewConflict = owner.checkForConflictAtPosition(rows.get(rowIndex).resource, start,
+            start.plusDays(duration - 1), dragBar.assignment.getId());
+    }
+
+    private void handleMouseReleased(MouseEvent event) {
+        if (dragMode == DragMode.NONE || dragBar == null) {
+            return;
+        }
+        DragMode mode = dragMode;
+        Bar bar = dragBar;
+        dragMode = DragMode.NONE;
+        dragBar = null;
+
+        Assignment original = bar.assignment;
+        Assignment updated = null;
+
+        switch (mode) {
+            case RESIZE_LEFT: {
+                LocalDate newStart = timelineStart.plusDays(previewStartDay);
+                if (!newStart.equals(original.getStartDate()) && !newStart.isAfter(original.getEndDate())) {
+                    updated = TimelineView.copyAssignment(original, original.getResourceId(), newStart, original.getEndDate());
+                }
+                break;
+            }
+            case RESIZE_RIGHT: {
+                LocalDate newEnd = timelineStart.plusDays(previewStartDay + previewDays - 1L);
+                if (!newEnd.equals(original.getEndDate()) && !newEnd.isBefore(original.getStartDate())) {
+                    updated = TimelineView.copyAssignment(original, original.getResourceId(), original.getStartDate(), newEnd);
+                }
+                break;
+            }
+            case MOVING:
+                if (previewRowIndex >= 0) {
+                    long duration = java.time.temporal.ChronoUnit.DAYS.between(original.getStartDate(), original.getEndDate());
+                    LocalDate newStart = timelineStart.plusDays(previewStartDay);
+                    Resource target = rows.get(previewRowIndex).resource;
+                    boolean moved = !newStart.equals(original.getStartDate()) || !target.getId().equals(original.getResourceId());
+                    if (moved) {
+                        updated = TimelineView.copyAssignment(original, target.getId(), newStart, newStart.plusDays(duration));
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        redraw();
+        event.consume();
+
+        if (updated != null) {
+            logger.info("Canvas edit of assignment {}: {} to {} -> {} to {} (resource {})", original.getId(),
+                original.getStartDate(), original.getEndDate(), updated.getStartDate(), updated.getEndDate(),
+                updated.getResourceId());
+            owner.fireAssignmentEdited(updated);
+        }
+    }
+
+    private void handleMouseClicked(MouseEvent event) {
+        if (!event.isStillSincePress()) {
+            return;
+        }
+        Bar bar = barAt(toContentX(event), toContentY(event));
+        if (bar == null) {
+            return;
+        }
+
+        if (event.getButton() == MouseButton.SECONDARY) {
+            if (bar.kind == BarKind.ASSIGNMENT) {
+                owner.showAssignmentContextMenu(bar.assignment, bar.project, canvas, event.getScreenX(), event.getScreenY());
+            } else if (bar.kind == BarKind.UNASSIGNED_PROJECT) {
+                owner.createUnassignedProjectContextMenu(bar.project).show(canvas, event.getScreenX(), event.getScreenY());
+            }
+            event.consume();
+        } else if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2
+                && bar.kind == BarKind.UNASSIGNED_PROJECT) {
+            owner.openAssignmentDialogForProject(bar.project);
+            event.consume();
+        }
+    }
+}
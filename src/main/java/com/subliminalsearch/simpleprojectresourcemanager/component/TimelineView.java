@@ -8,8 +8,11 @@ import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
 import com.subliminalsearch.simpleprojectresourcemanager.model.TechnicianUnavailability;
 import com.subliminalsearch.simpleprojectresourcemanager.model.UnavailabilityType;
 import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+import com.subliminalsearch.simpleprojectresourcemanager.service.AssignmentConflictIndex;
 import com.subliminalsearch.simpleprojectresourcemanager.service.FinancialService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.OpenItemService;
+import com.subliminalsearch.simpleprojectresourcemanager.service.UtilizationEngine;
+import com.subliminalsearch.simpleprojectresourcemanager.service.WorkingCalendar;
 import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
 import com.subliminalsearch.simpleprojectresourcemanager.util.HelpButton;
 import com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils;
@@ -41,10 +44,10 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -75,6 +78,24 @@ public class TimelineView extends VBox {
     }
     private ViewMode currentViewMode = ViewMode.MONTH;
     
+    // Rendering strategy for the timeline grid
+    public enum RenderMode {
+        NODES,   // One node per day cell and bar (original renderer)
+        CANVAS   // Single virtualized canvas painting only the visible window
+    }
+    private RenderMode renderMode = RenderMode.NODES;
+    
+    // Node indexes for incremental row updates - rebuilt by refreshTimeline()
+    private final Map<Long, Pane> rowContainersByResource = new HashMap<>();
+    private final Map<Long, Label> resourceLabels = new HashMap<>();
+    private final Map<Long, Integer> resourceRowIndexes = new HashMap<>();
+    private boolean applyingIncrementalUpdate = false;
+    
+    // Rebuild batching - see requestRefresh()
+    private boolean refreshPending = false;
+    private long rebuildsRequested = 0;
+    private long rebuildsPerformed = 0;
+    
     // Computed dimensions based on zoom
     private double dayWidth = BASE_DAY_WIDTH;
     private double rowHeight = BASE_ROW_HEIGHT;
@@ -94,9 +115,16 @@ public class TimelineView extends VBox {
     
     // Conflict detection
     private Set<Long> conflictedAssignmentIds = new HashSet<>();
+    // Interval index over the assignments list, kept in step by onAssignmentsChanged()
+    private final AssignmentConflictIndex assignmentIndex = new AssignmentConflictIndex();
     
     // Utilization Settings
     private UtilizationSettings utilizationSettings = new UtilizationSettings();
+    // Built from companyHolidays; answers holiday checks and working-day counts in constant time
+    private final WorkingCalendar workingCalendar = new WorkingCalendar();
+    // Occupancy of the assignments list for the utilization column, kept in step by onAssignmentsChanged()
+    private final UtilizationEngine utilizationEngine = new UtilizationEngine(workingCalendar, this::projectCodeFor);
+    private Map<Long, String> projectCodes;
     
     // Display Settings
     private boolean showUnavailability = true;
@@ -117,6 +145,10 @@ public class TimelineView extends VBox {
     private HBox mainContainer;
     private ScrollPane fixedColumnScrollPane;
     
+    // Canvas renderer and the row model it paints
+    private TimelineCanvas timelineCanvas;
+    private List<TimelineCanvas.Row> canvasRows = new ArrayList<>();
+    
     // Zoom property
     private final DoubleProperty zoomLevelProperty = new SimpleDoubleProperty(1.0);
     
@@ -250,6 +282,9 @@ public class TimelineView extends VBox {
             }
         });
         
+        // Canvas renderer shares the scroll pane; it is swapped in for the grid when enabled
+        timelineCanvas = new TimelineCanvas(this, scrollPane, HEADER_HEIGHT);
+        
         // Add fixed column and scrollable timeline to main container
         mainContainer.getChildren().addAll(fixedResourceColumn, scrollPane);
         HBox.setHgrow(scrollPane, Priority.ALWAYS);
@@ -272,18 +307,35 @@ public class TimelineView extends VBox {
     
     private void setupEventHandlers() {
         // Listen for data changes
-        projects.addListener((ListChangeListener<Project>) c -> Platform.runLater(this::refreshTimeline));
-        resources.addListener((ListChangeListener<Resource>) c -> Platform.runLater(this::refreshTimeline));
-        assignments.addListener((ListChangeListener<Assignment>) c -> Platform.runLater(this::refreshTimeline));
+        // All model changes funnel into requestRefresh so a burst of updates rebuilds the grid once
+        projects.addListener((ListChangeListener<Project>) c -> {
+            // Project IDs decide which assignments count as SHOP / TRAINING
+            projectCodes = null;
+            utilizationEngine.clear();
+            onModelChanged();
+        });
+        resources.addListener((ListChangeListener<Resource>) c -> onModelChanged());
+        assignments.addListener((ListChangeListener<Assignment>) c -> {
+            onAssignmentsChanged(c);
+            onModelChanged();
+        });
+        unavailabilities.addListener((ListChangeListener<TechnicianUnavailability>) c -> onModelChanged());
+        companyHolidays.addListener((ListChangeListener<CompanyHoliday>) c -> {
+            workingCalendar.setHolidays(companyHolidays.stream()
+                .filter(CompanyHoliday::isActive)
+                .map(CompanyHoliday::getDate)
+                .toList());
+            onModelChanged();
+        });
         
         // Listen for date range changes
-        startDate.addListener((obs, oldVal, newVal) -> Platform.runLater(this::refreshTimeline));
-        endDate.addListener((obs, oldVal, newVal) -> Platform.runLater(this::refreshTimeline));
+        startDate.addListener((obs, oldVal, newVal) -> requestRefresh());
+        endDate.addListener((obs, oldVal, newVal) -> requestRefresh());
         
         // Listen for zoom changes
         zoomLevelProperty.addListener((obs, oldVal, newVal) -> {
             setZoomLevel(newVal.doubleValue());
-            Platform.runLater(this::refreshTimeline);
+            requestRefresh();
         });
     }
     
@@ -309,7 +361,247 @@ public class TimelineView extends VBox {
     
     public void setViewMode(ViewMode mode) {
         this.currentViewMode = mode;
+        requestRefresh();
+    }
+    
+    private void onAssignmentsChanged(ListChangeListener.Change<? extends Assignment> change) {
+        while (change.next()) {
+            // Bulk replacements (setAll on every data load) are cheaper to rebuild than to patch
+            if (!assignmentIndex.isLoaded() || change.getRemovedSize() + change.getAddedSize() > 32) {
+                assignmentIndex.load(assignments);
+                utilizationEngine.clear();
+                return;
+            }
+            for (Assignment removed : change.getRemoved()) {
+                assignmentIndex.remove(removed.getId());
+                utilizationEngine.remove(removed.getId());
+            }
+            for (Assignment added : change.getAddedSubList()) {
+                assignmentIndex.put(added);
+                utilizationEngine.put(added);
+            }
+        }
+    }
+    
+    private void onModelChanged() {
+        // Incremental updates patch the affected rows themselves
+        if (!applyingIncrementalUpdate) {
+            requestRefresh();
+        }
+    }
+    
+    /**
+     * Marks the timeline dirty and schedules a single rebuild on the FX thread. Any further
+     * requests made before that rebuild runs (e.g. setDateRange followed by several setAll calls)
+     * are merged into it.
+     */
+    public void requestRefresh() {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(this::requestRefresh);
+            return;
+        }
+        rebuildsRequested++;
+        if (!refreshPending) {
+            refreshPending = true;
+            Platform.runLater(this::performPendingRefresh);
+        }
+    }
+    
+    private void performPendingRefresh() {
+        if (!refreshPending) {
+            return;
+        }
+        refreshPending = false;
+        rebuildsPerformed++;
         refreshTimeline();
+        logger.debug("Timeline rebuild {} of {} requested", rebuildsPerformed, rebuildsRequested);
+    }
+    
+    public long getRebuildsRequested() {
+        return rebuildsRequested;
+    }
+    
+    public long getRebuildsPerformed() {
+        return rebuildsPerformed;
+    }
+
+    // Incremental updates
+    
+    /**
+     * Applies a created or updated assignment by re-laying out only the affected resource row(s).
+     * Returns false when the change cannot be applied in place (the resource has no row in the
+     * current view, or the project moves in or out of the unassigned rows); the caller should then
+     * reload the timeline.
+     */
+    public boolean applyAssignmentChange(Assignment changed) {
+        if (changed == null || changed.getId() == null || !resourceRowIndexes.containsKey(changed.getResourceId())) {
+            return false;
+        }
+        Assignment previous = assignments.stream()
+            .filter(a -> a.getId().equals(changed.getId()))
+            .findFirst()
+            .orElse(null);
+        if (previous == null && !hasOtherAssignments(changed.getProjectId(), changed.getId())) {
+            return false; // project leaves the unassigned rows
+        }
+        if (previous != null && !previous.getProjectId().equals(changed.getProjectId())) {
+            return false;
+        }
+        if (previous != null && !resourceRowIndexes.containsKey(previous.getResourceId())) {
+            return false;
+        }
+        
+        applyingIncrementalUpdate = true;
+        try {
+            if (previous != null) {
+                assignments.set(assignments.indexOf(previous), changed);
+            } else {
+                assignments.add(changed);
+            }
+        } finally {
+            applyingIncrementalUpdate = false;
+        }
+        
+        refreshResourceRow(changed.getResourceId());
+        if (previous != null && !previous.getResourceId().equals(changed.getResourceId())) {
+            refreshResourceRow(previous.getResourceId());
+        }
+        return true;
+    }
+    
+    /**
+     * Removes an assignment and re-lays out its resource row. Returns false if a full reload is needed.
+     */
+    public boolean applyAssignmentRemoval(Long assignmentId) {
+        Assignment previous = assignments.stream()
+            .filter(a -> a.getId().equals(assignmentId))
+            .findFirst()
+            .orElse(null);
+        if (previous == null) {
+            return true; // not on screen
+        }
+        if (!resourceRowIndexes.containsKey(previous.getResourceId())
+                || !hasOtherAssignments(previous.getProjectId(), assignmentId)) {
+            return false; // project becomes unassigned
+        }
+        
+        applyingIncrementalUpdate = true;
+        try {
+            assignments.remove(previous);
+        } finally {
+            applyingIncrementalUpdate = false;
+        }
+        refreshResourceRow(previous.getResourceId());
+        return true;
+    }
+    
+    /**
+     * Applies a created or updated unavailability to its resource row. Returns false if a full reload is needed.
+     */
+    public boolean applyUnavailabilityChange(TechnicianUnavailability changed) {
+        if (changed == null || changed.getId() == null || !resourceRowIndexes.containsKey(changed.getResourceId())) {
+            return false;
+        }
+        TechnicianUnavailability previous = unavailabilities.stream()
+            .filter(u -> changed.getId().equals(u.getId()))
+            .findFirst()
+            .orElse(null);
+        if (previous != null && !resourceRowIndexes.containsKey(previous.getResourceId())) {
+            return false;
+        }
+        
+        applyingIncrementalUpdate = true;
+        try {
+            if (previous != null) {
+                unavailabilities.set(unavailabilities.indexOf(previous), changed);
+            } else {
+                unavailabilities.add(changed);
+            }
+        } finally {
+            applyingIncrementalUpdate = false;
+        }
+        
+        refreshResourceRow(changed.getResourceId());
+        if (previous != null && !previous.getResourceId().equals(changed.getResourceId())) {
+            refreshResourceRow(previous.getResourceId());
+        }
+        return true;
+    }
+    
+    /**
+     * Removes an unavailability and re-lays out its resource row. Returns false if a full reload is needed.
+     */
+    public boolean applyUnavailabilityRemoval(Long unavailabilityId) {
+        TechnicianUnavailability previous = unavailabilities.stream()
+            .filter(u -> unavailabilityId.equals(u.getId()))
+            .findFirst()
+            .orElse(null);
+        if (previous == null) {
+            return true;
+        }
+        if (!resourceRowIndexes.containsKey(previous.getResourceId())) {
+            return false;
+        }
+        
+        applyingIncrementalUpdate = true;
+        try {
+            unavailabilities.remove(previous);
+        } finally {
+            applyingIncrementalUpdate = false;
+        }
+        refreshResourceRow(previous.getResourceId());
+        return true;
+    }
+    
+    private boolean hasOtherAssignments(Long projectId, Long excludeAssignmentId) {
+        return assignments.stream()
+            .anyMatch(a -> a.getProjectId().equals(projectId) && !a.getId().equals(excludeAssignmentId));
+    }
+    
+    /**
+     * Rebuilds the bars, conflict flags and utilization label of a single resource row,
+     * leaving every other row untouched.
+     */
+    private void refreshResourceRow(Long resourceId) {
+        Integer rowIndex = resourceRowIndexes.get(resourceId);
+        Resource resource = resources.stream()
+            .filter(r -> r.getId().equals(resourceId))
+            .findFirst()
+            .orElse(null);
+        LocalDate start = startDate.get();
+        LocalDate end = endDate.get();
+        if (rowIndex == null || resource == null || start == null || end == null) {
+            return;
+        }
+        
+        List<Assignment> resourceAssignments = findResourceAssignments(resourceId, start, end);
+        List<TechnicianUnavailability> resourceUnavailabilities = findResourceUnavailabilities(resourceId, start, end);
+        
+        // Conflicts are per resource, so only this row's flags can change
+        Set<Long> rowAssignmentIds = assignments.stream()
+            .filter(a -> a.getResourceId().equals(resourceId))
+            .map(Assignment::getId)
+            .collect(Collectors.toSet());
+        conflictedAssignmentIds.removeAll(rowAssignmentIds);
+        conflictedAssignmentIds.addAll(AssignmentConflictIndex.findOverlaps(resourceAssignments));
+        
+        if (renderMode == RenderMode.CANVAS && rowIndex < canvasRows.size()) {
+            canvasRows.set(rowIndex, buildCanvasRow(resource, resourceAssignments, resourceUnavailabilities, start, end));
+            timelineCanvas.redraw();
+        } else {
+            Pane rowContainer = rowContainersByResource.get(resourceId);
+            if (rowContainer == null) {
+                return;
+            }
+            rowContainer.getChildren().clear();
+            populateRowBars(rowContainer, rowIndex, start, end, resourceAssignments, resourceUnavailabilities);
+        }
+        
+        Label resourceLabel = resourceLabels.get(resourceId);
+        if (resourceLabel != null) {
+            styleResourceLabel(resourceLabel, resource, start, end);
+        }
+        logger.debug("Incrementally refreshed timeline row for resource {}", resourceId);
     }
     
     private void refreshTimeline() {
@@ -335,6 +627,11 @@ public class TimelineView extends VBox {
         timelineGrid.getChildren().clear();
         dateColumnCache.clear();
         
+        canvasRows = new ArrayList<>();
+        rowContainersByResource.clear();
+        resourceLabels.clear();
+        resourceRowIndexes.clear();
+        
         // Clear and rebuild fixed resource content
         if (fixedResourceContent != null) {
             fixedResourceContent.getChildren().clear();
@@ -345,6 +642,31 @@ public class TimelineView extends VBox {
         
         // Build timeline content (including fixed resource labels)
         buildTimelineContent(start, end);
+        
+        // Canvas mode paints the collected row model; fall back to the grid for the empty message
+        boolean useCanvas = renderMode == RenderMode.CANVAS && !canvasRows.isEmpty();
+        Node surface = useCanvas ? timelineCanvas : timelineGrid;
+        if (contentContainer.getChildren().get(1) != surface) {
+            contentContainer.getChildren().set(1, surface);
+        }
+        if (useCanvas) {
+            int dayCount = (int) (ChronoUnit.DAYS.between(start, end) + 1);
+            timelineCanvas.setModel(canvasRows, start, dayCount, workingCalendar::isHoliday,
+                dayWidth, rowHeight, projectBarHeight, zoomLevel);
+        }
+    }
+    
+    public void setRenderMode(RenderMode mode) {
+        if (mode == null || mode == renderMode) {
+            return;
+        }
+        this.renderMode = mode;
+        logger.info("Timeline render mode set to {}", mode);
+        requestRefresh();
+    }
+    
+    public RenderMode getRenderMode() {
+        return renderMode;
     }
     
     private void buildDateHeader(LocalDate start, LocalDate end) {
@@ -372,8 +694,7 @@ public class TimelineView extends VBox {
             // Check if this is a weekend, holiday, or today
             boolean isWeekend = date.getDayOfWeek() == java.time.DayOfWeek.SATURDAY || 
                                date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY;
-            boolean isHoliday = companyHolidays != null && companyHolidays.stream()
-                .anyMatch(h -> h.getDate().equals(date));
+            boolean isHoliday = workingCalendar.isHoliday(date);
             boolean isToday = date.equals(LocalDate.now());
             
             // Add visible border for day separation and ensure full height
@@ -466,10 +787,6 @@ public class TimelineView extends VBox {
             }
         }
         for (Resource resource : resources) {
-            // Calculate resource metrics (utilization and billable)
-            ResourceMetrics metrics = calculateResourceMetrics(resource, start, end);
-            double utilizationPercentage = metrics.utilizationPercent;
-            
             // Create container using StackPane to layer elements without spacing issues
             StackPane resourceContainer = new StackPane();
             resourceContainer.setPrefWidth(resourceLabelWidth);
@@ -491,12 +808,7 @@ public class TimelineView extends VBox {
                 resourceContainer.setStyle("-fx-background-color: white; -fx-border-color: #cccccc; -fx-border-width: 0 0 1 0;");
             }
             
-            // Create a single label with both utilization and billable percentages
-            String resourceText = String.format("%s\nUtil: %.0f%% | Bill: %.0f%%", 
-                resource.getName(), 
-                metrics.utilizationPercent,
-                metrics.billablePercent);
-            Label resourceLabel = new Label(resourceText);
+            Label resourceLabel = new Label();
             resourceLabel.setAlignment(Pos.CENTER_LEFT);
             resourceLabel.setPrefWidth(resourceLabelWidth - 10);
             resourceLabel.setMaxWidth(resourceLabelWidth - 10);
@@ -506,51 +818,8 @@ public class TimelineView extends VBox {
             resourceLabel.setPadding(new Insets(5, 5, 5, 5));
             resourceLabel.setTextOverrun(OverrunStyle.ELLIPSIS);
             
-            // Determine bar color based on utilization and billable percentage
-            String barColor;
-            String barColorHex;
-            if (utilizationPercentage > 100) {
-                barColorHex = "#dc3545"; // Red for overallocated
-                barColor = "rgba(220, 53, 69, 0.3)";
-            } else if (utilizationPercentage > 80) {
-                // High utilization - check if it's mostly billable
-                if (metrics.billablePercent > 60) {
-                    barColorHex = "#28a745"; // Green for high billable utilization
-                    barColor = "rgba(40, 167, 69, 0.3)";
-                } else {
-                    barColorHex = "#ffc107"; // Yellow for high utilization but low billable
-                    barColor = "rgba(255, 193, 7, 0.3)";
-                }
-            } else if (utilizationPercentage > 50) {
-                // Medium utilization
-                if (metrics.billablePercent > 60) {
-                    barColorHex = "#28a745"; // Green for good billable utilization
-                    barColor = "rgba(40, 167, 69, 0.3)";
-                } else {
-                    barColorHex = "#17a2b8"; // Blue for medium utilization, low billable
-                    barColor = "rgba(23, 162, 184, 0.3)";
-                }
-            } else {
-                barColorHex = "#6c757d"; // Gray for low utilization
-                barColor = "rgba(108, 117, 125, 0.3)";
-            }
-            
-            // Calculate progress width (cap at 100% for display)
-            double progressWidth = Math.min(utilizationPercentage, 100);
-            
-            // Apply style with integrated progress bar as background
-            double fontSize = 11 * Math.min(zoomLevel, 1.5);
-            String style = String.format(
-                "-fx-font-size: %spx; " +
-                "-fx-font-weight: bold; " +
-                "-fx-background-color: linear-gradient(to right, %s 0%%, %s %s%%, transparent %s%%, transparent 100%%); " +
-                "-fx-border-color: %s; " +
-                "-fx-border-width: 0 0 2 0; " +
-                "-fx-border-radius: 2; " +
-                "-fx-background-radius: 2;",
-                fontSize, barColor, barColor, progressWidth, progressWidth, barColorHex
-            );
-            resourceLabel.setStyle(style);
+            styleResourceLabel(resourceLabel, resource, start, end);
+            resourceLabels.put(resource.getId(), resourceLabel);
             
             // Add the label directly to the container
             resourceContainer.getChildren().add(resourceLabel);
@@ -576,10 +845,71 @@ public class TimelineView extends VBox {
         setupDropTargets();
     }
     
-    private void createTimelineRow(Resource resource, LocalDate start, LocalDate end, int rowIndex) {
-        // Get assignments for this resource
-        List<Assignment> resourceAssignments = assignments.stream()
-            .filter(a -> a.getResourceId().equals(resource.getId()))
+    /**
+     * Sets the name/utilization text and the utilization gradient on a resource label.
+     */
+    private void styleResourceLabel(Label resourceLabel, Resource resource, LocalDate start, LocalDate end) {
+        // Calculate resource metrics (utilization and billable)
+        UtilizationEngine.Utilization metrics = calculateResourceMetrics(resource, start, end);
+        double utilizationPercentage = metrics.utilizationPercent();
+        
+        // Create a single label with both utilization and billable percentages
+        String resourceText = String.format("%s\nUtil: %.0f%% | Bill: %.0f%%", 
+            resource.getName(), 
+            metrics.utilizationPercent(),
+            metrics.billablePercent());
+        resourceLabel.setText(resourceText);
+        
+        // Determine bar color based on utilization and billable percentage
+        String barColor;
+        String barColorHex;
+        if (utilizationPercentage > 100) {
+            barColorHex = "#dc3545"; // Red for overallocated
+            barColor = "rgba(220, 53, 69, 0.3)";
+        } else if (utilizationPercentage > 80) {
+            // High utilization - check if it's mostly billable
+            if (metrics.billablePercent() > 60) {
+                barColorHex = "#28a745"; // Green for high billable utilization
+                barColor = "rgba(40, 167, 69, 0.3)";
+            } else {
+                barColorHex = "#ffc107"; // Yellow for high utilization but low billable
+                barColor = "rgba(255, 193, 7, 0.3)";
+            }
+        } else if (utilizationPercentage > 50) {
+            // Medium utilization
+            if (metrics.billablePercent() > 60) {
+                barColorHex = "#28a745"; // Green for good billable utilization
+                barColor = "rgba(40, 167, 69, 0.3)";
+            } else {
+                barColorHex = "#17a2b8"; // Blue for medium utilization, low billable
+                barColor = "rgba(23, 162, 184, 0.3)";
+            }
+        } else {
+            barColorHex = "#6c757d"; // Gray for low utilization
+            barColor = "rgba(108, 117, 125, 0.3)";
+        }
+        
+        // Calculate progress width (cap at 100% for display)
+        double progressWidth = Math.min(utilizationPercentage, 100);
+        
+        // Apply style with integrated progress bar as background
+        double fontSize = 11 * Math.min(zoomLevel, 1.5);
+        String style = String.format(
+            "-fx-font-size: %spx; " +
+            "-fx-font-weight: bold; " +
+            "-fx-background-color: linear-gradient(to right, %s 0%%, %s %s%%, transparent %s%%, transparent 100%%); " +
+            "-fx-border-color: %s; " +
+            "-fx-border-width: 0 0 2 0; " +
+            "-fx-border-radius: 2; " +
+            "-fx-background-radius: 2;",
+            fontSize, barColor, barColor, progressWidth, progressWidth, barColorHex
+        );
+        resourceLabel.setStyle(style);
+    }
+    
+    private List<Assignment> findResourceAssignments(Long resourceId, LocalDate start, LocalDate end) {
+        return assignments.stream()
+            .filter(a -> a.getResourceId().equals(resourceId))
             .filter(a -> {
                 // Check if assignment overlaps with timeline range
                 LocalDate assignStart = a.getStartDate();
@@ -587,10 +917,11 @@ public class TimelineView extends VBox {
                 return !(assignEnd.isBefore(start) || assignStart.isAfter(end));
             })
             .toList();
-        
-        // Get unavailabilities for this resource
-        List<TechnicianUnavailability> resourceUnavailabilities = unavailabilities.stream()
-            .filter(u -> u.getResourceId().equals(resource.getId()))
+    }
+    
+    private List<TechnicianUnavailability> findResourceUnavailabilities(Long resourceId, LocalDate start, LocalDate end) {
+        return unavailabilities.stream()
+            .filter(u -> u.getResourceId().equals(resourceId))
             .filter(u -> {
                 // Check if unavailability overlaps with timeline range
                 LocalDate unavailStart = u.getStartDate();
@@ -598,6 +929,17 @@ public class TimelineView extends VBox {
                 return !(unavailEnd.isBefore(start) || unavailStart.isAfter(end));
             })
             .toList();
+    }
+    
+    private void createTimelineRow(Resource resource, LocalDate start, LocalDate end, int rowIndex) {
+        List<Assignment> resourceAssignments = findResourceAssignments(resource.getId(), start, end);
+        List<TechnicianUnavailability> resourceUnavailabilities = findResourceUnavailabilities(resource.getId(), start, end);
+        resourceRowIndexes.put(resource.getId(), rowIndex);
+        
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRows.add(buildCanvasRow(resource, resourceAssignments, resourceUnavailabilities, start, end));
+            return;
+        }
         
         // Create background for the entire row
         long dayCount = ChronoUnit.DAYS.between(start, end) + 1;
@@ -611,22 +953,9 @@ public class TimelineView extends VBox {
         
         // Make row container transparent so day cell borders show through
         rowContainer.setStyle("-fx-background-color: transparent;");
+        rowContainersByResource.put(resource.getId(), rowContainer);
         
-        // Add assignment bars first (they appear behind)
-        for (Assignment assignment : resourceAssignments) {
-            // Check if assignment should be shown based on unavailability settings
-            if (shouldShowAssignment(assignment, resourceUnavailabilities)) {
-                boolean hasConflict = showUnavailability && hasUnavailabilityConflict(assignment, resourceUnavailabilities);
-                createAssignmentBar(assignment, start, end, rowContainer, rowIndex, hasConflict);
-            }
-        }
-        
-        // Add unavailability bars on top (they appear in front) - only if toggle is on
-        if (showUnavailability) {
-            for (TechnicianUnavailability unavailability : resourceUnavailabilities) {
-                createUnavailabilityBar(unavailability, start, end, rowContainer, rowIndex);
-            }
-        }
+        populateRowBars(rowContainer, rowIndex, start, end, resourceAssignments, resourceUnavailabilities);
         
         // Add individual day cells with borders for grid visibility
         for (int dayIndex = 0; dayIndex < dayCount; dayIndex++) {
@@ -646,8 +975,7 @@ public class TimelineView extends VBox {
             // Check if this is a weekend or holiday
             boolean isWeekend = cellDate.getDayOfWeek() == java.time.DayOfWeek.SATURDAY || 
                                cellDate.getDayOfWeek() == java.time.DayOfWeek.SUNDAY;
-            boolean isHoliday = companyHolidays != null && companyHolidays.stream()
-                .anyMatch(h -> h.getDate().equals(cellDate));
+            boolean isHoliday = workingCalendar.isHoliday(cellDate);
             
             if (isHoliday) {
                 // Light pastel pink/coral for holidays
@@ -670,6 +998,26 @@ public class TimelineView extends VBox {
         timelineGrid.add(rowContainer, 0, rowIndex, (int)dayCount, 1);
     }
     
+    private void populateRowBars(Pane rowContainer, int rowIndex, LocalDate start, LocalDate end,
+                                 List<Assignment> resourceAssignments,
+                                 List<TechnicianUnavailability> resourceUnavailabilities) {
+        // Add assignment bars first (they appear behind)
+        for (Assignment assignment : resourceAssignments) {
+            // Check if assignment should be shown based on unavailability settings
+            if (shouldShowAssignment(assignment, resourceUnavailabilities)) {
+                boolean hasConflict = showUnavailability && hasUnavailabilityConflict(assignment, resourceUnavailabilities);
+                createAssignmentBar(assignment, start, end, rowContainer, rowIndex, hasConflict);
+            }
+        }
+        
+        // Add unavailability bars on top (they appear in front) - only if toggle is on
+        if (showUnavailability) {
+            for (TechnicianUnavailability unavailability : resourceUnavailabilities) {
+                createUnavailabilityBar(unavailability, start, end, rowContainer, rowIndex);
+            }
+        }
+    }
+    
     private void createAssignmentBar(Assignment assignment, LocalDate timelineStart, LocalDate timelineEnd, 
                                    Pane rowContainer, int rowIndex) {
         createAssignmentBar(assignment, timelineStart, timelineEnd, rowContainer, rowIndex, false);
@@ -726,36 +1074,12 @@ public class TimelineView extends VBox {
         
         // Create assignment bar
         Label assignmentBar = new Label();
-        // Combine project ID, description, location, and address with line breaks
         String projectId = project != null ? project.getProjectId() : "Unknown";
         String description = project != null && project.getDescription() != null ? project.getDescription() : "";
-        String location = assignment.getLocation() != null && !assignment.getLocation().isEmpty() ? 
-                         " @ " + assignment.getLocation() : "";
         String address = project != null && project.getContactAddress() != null ? project.getContactAddress() : "";
-        
-        // Create multi-line text with project ID (+ location) on first line, description on second, address on third
-        String displayText;
-        boolean hasDescription = !description.isEmpty() && barDuration >= 3; // Only show description if bar is wide enough
-        boolean hasAddress = !address.isEmpty() && barDuration >= 4; // Show address if bar is 4+ days wide
-        
-        // Special handling for SHOP projects - only show description
-        if ("SHOP".equalsIgnoreCase(projectId) || "TRAINING".equalsIgnoreCase(projectId)) {
-            displayText = description.isEmpty() ? projectId : description;
-        } else {
-            // Determine display text first for logging
-            if (hasDescription && hasAddress) {
-                // Truncate description and address if they're too long
-                String truncatedDesc = description.length() > 30 ? description.substring(0, 27) + "..." : description;
-                String truncatedAddr = address.length() > 30 ? address.substring(0, 27) + "..." : address;
-                displayText = projectId + location + "\n" + truncatedDesc + "\n" + truncatedAddr;
-            } else if (hasDescription) {
-                // Truncate description if it's too long
-                String truncatedDesc = description.length() > 30 ? description.substring(0, 27) + "..." : description;
-                displayText = projectId + location + "\n" + truncatedDesc;
-            } else {
-                displayText = projectId + location;
-            }
-        }
+        boolean hasDescription = !description.isEmpty() && barDuration >= 3;
+        boolean hasAddress = !address.isEmpty() && barDuration >= 4;
+        String displayText = buildAssignmentDisplayText(assignment, project, barDuration);
         
         // Enhanced debug logging for CH-PBLD-2025-097
         if (projectId.equals("CH-PBLD-2025-097")) {
@@ -795,22 +1119,7 @@ public class TimelineView extends VBox {
         double fontSize = 10 * zoomLevel; // Consistent 10px base font size
         
         // Adjust display text based on bar width - but preserve multi-line format
-        String finalDisplayText = displayText;
-        if (barWidth < 80) {
-            // Show only project ID or abbreviated version
-            finalDisplayText = projectId;
-            if (projectId.length() > 10 && barWidth < 60) {
-                // Show even shorter version for very narrow bars
-                String[] parts = projectId.split("-");
-                if (parts.length >= 3) {
-                    finalDisplayText = parts[0] + "-" + parts[parts.length - 1]; // e.g., "CH-093"
-                }
-            }
-        } else if (barWidth < 120) {
-            // Show only project ID for medium bars
-            finalDisplayText = projectId;
-        }
-        // For wider bars (>= 120 pixels), keep the full multi-line text as already set
+        String finalDisplayText = abbreviateForWidth(displayText, projectId, barWidth);
         
         // Debug log final text
         if (!finalDisplayText.equals(displayText)) {
@@ -926,6 +1235,97 @@ public class TimelineView extends VBox {
         }
         
         // Add comprehensive tooltip with all assignment and project details
+        javafx.scene.control.Tooltip tooltip = new javafx.scene.control.Tooltip(buildAssignmentTooltipText(assignment, project));
+        // Configure tooltip to stay visible while hovering but hide when mouse leaves
+        tooltip.setShowDelay(javafx.util.Duration.millis(500)); // Show after 500ms hover
+        tooltip.setHideDelay(javafx.util.Duration.millis(100)); // Hide quickly after mouse leaves
+        tooltip.setShowDuration(javafx.util.Duration.seconds(3600)); // Stay visible for 1 hour while hovering
+        
+        if (isConflicted(assignment.getId())) {
+            tooltip.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #c62828; -fx-font-size: 11px;");
+        } else {
+            tooltip.setStyle("-fx-font-size: 11px;"); // Slightly larger font for readability
+        }
+        assignmentBar.setTooltip(tooltip);
+        
+        // Setup edge resize handlers
+        setupEdgeResize(leftHandle, rightHandle, barContainer, assignment, assignmentBar, timelineStart);
+        
+        // Store assignment data that may be updated by edge drags
+        barContainer.setUserData(assignment);
+        
+        // Add right-click context menu for assignment
+        assignmentBar.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.SECONDARY) {
+                // Get the potentially updated assignment from the container
+                Assignment currentAssignment = (Assignment) barContainer.getUserData();
+                showAssignmentContextMenu(currentAssignment, project, assignmentBar, event.getScreenX(), event.getScreenY());
+                event.consume();
+            }
+        });
+        
+        // Enable drag and drop for rescheduling
+        setupDragAndDrop(assignmentBar, assignment);
+        
+        // Position the bar at the correct horizontal offset
+        barContainer.setLayoutX(startDayOffset * dayWidth);
+        barContainer.setLayoutY((rowHeight - projectBarHeight) / 2); // Center vertically in row
+        
+        rowContainer.getChildren().add(barContainer);
+    }
+    
+    /**
+     * Builds the (up to three line) label for an assignment bar: project ID and location,
+     * then description and address when the bar is wide enough. SHOP/TRAINING show the description only.
+     */
+    String buildAssignmentDisplayText(Assignment assignment, Project project, long barDuration) {
+        String projectId = project != null ? project.getProjectId() : "Unknown";
+        String description = project != null && project.getDescription() != null ? project.getDescription() : "";
+        String location = assignment.getLocation() != null && !assignment.getLocation().isEmpty() ? 
+                         " @ " + assignment.getLocation() : "";
+        String address = project != null && project.getContactAddress() != null ? project.getContactAddress() : "";
+        
+        boolean hasDescription = !description.isEmpty() && barDuration >= 3; // Only show description if bar is wide enough
+        boolean hasAddress = !address.isEmpty() && barDuration >= 4; // Show address if bar is 4+ days wide
+        
+        // Special handling for SHOP projects - only show description
+        if ("SHOP".equalsIgnoreCase(projectId) || "TRAINING".equalsIgnoreCase(projectId)) {
+            return description.isEmpty() ? projectId : description;
+        }
+        if (hasDescription && hasAddress) {
+            // Truncate description and address if they're too long
+            String truncatedDesc = description.length() > 30 ? description.substring(0, 27) + "..." : description;
+            String truncatedAddr = address.length() > 30 ? address.substring(0, 27) + "..." : address;
+            return projectId + location + "\n" + truncatedDesc + "\n" + truncatedAddr;
+        } else if (hasDescription) {
+            String truncatedDesc = description.length() > 30 ? description.substring(0, 27) + "..." : description;
+            return projectId + location + "\n" + truncatedDesc;
+        }
+        return projectId + location;
+    }
+    
+    /**
+     * Shortens bar text for narrow bars; bars of 120px or more keep the full multi-line text.
+     */
+    static String abbreviateForWidth(String displayText, String projectId, double barWidth) {
+        if (barWidth < 80) {
+            // Show only project ID or abbreviated version
+            if (projectId.length() > 10 && barWidth < 60) {
+                // Show even shorter version for very narrow bars
+                String[] parts = projectId.split("-");
+                if (parts.length >= 3) {
+                    return parts[0] + "-" + parts[parts.length - 1]; // e.g., "CH-093"
+                }
+            }
+            return projectId;
+        } else if (barWidth < 120) {
+            // Show only project ID for medium bars
+            return projectId;
+        }
+        return displayText;
+    }
+    
+    String buildAssignmentTooltipText(Assignment assignment, Project project) {
         StringBuilder tooltipBuilder = new StringBuilder();
         
         if (isConflicted(assignment.getId())) {
@@ -1025,43 +1425,7 @@ public class TimelineView extends VBox {
             tooltipBuilder.append("\nNotes: ").append(assignment.getNotes());
         }
         
-        javafx.scene.control.Tooltip tooltip = new javafx.scene.control.Tooltip(tooltipBuilder.toString());
-        // Configure tooltip to stay visible while hovering but hide when mouse leaves
-        tooltip.setShowDelay(javafx.util.Duration.millis(500)); // Show after 500ms hover
-        tooltip.setHideDelay(javafx.util.Duration.millis(100)); // Hide quickly after mouse leaves
-        tooltip.setShowDuration(javafx.util.Duration.seconds(3600)); // Stay visible for 1 hour while hovering
-        
-        if (isConflicted(assignment.getId())) {
-            tooltip.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #c62828; -fx-font-size: 11px;");
-        } else {
-            tooltip.setStyle("-fx-font-size: 11px;"); // Slightly larger font for readability
-        }
-        assignmentBar.setTooltip(tooltip);
-        
-        // Setup edge resize handlers
-        setupEdgeResize(leftHandle, rightHandle, barContainer, assignment, assignmentBar, timelineStart);
-        
-        // Store assignment data that may be updated by edge drags
-        barContainer.setUserData(assignment);
-        
-        // Add right-click context menu for assignment
-        assignmentBar.setOnMouseClicked(event -> {
-            if (event.getButton() == MouseButton.SECONDARY) {
-                // Get the potentially updated assignment from the container
-                Assignment currentAssignment = (Assignment) barContainer.getUserData();
-                showAssignmentContextMenu(currentAssignment, project, assignmentBar, event.getScreenX(), event.getScreenY());
-                event.consume();
-            }
-        });
-        
-        // Enable drag and drop for rescheduling
-        setupDragAndDrop(assignmentBar, assignment);
-        
-        // Position the bar at the correct horizontal offset
-        barContainer.setLayoutX(startDayOffset * dayWidth);
-        barContainer.setLayoutY((rowHeight - projectBarHeight) / 2); // Center vertically in row
-        
-        rowContainer.getChildren().add(barContainer);
+        return tooltipBuilder.toString();
     }
     
     private boolean shouldShowAssignment(Assignment assignment, List<TechnicianUnavailability> unavailabilities) {
@@ -1129,12 +1493,7 @@ public class TimelineView extends VBox {
         unavailabilityBar.setMinHeight(rowHeight - 4);
         
         // Set text based on unavailability type
-        String typeText = unavailability.getType().getDisplayName();
-        String reasonText = unavailability.getReason() != null ? unavailability.getReason() : "";
-        String displayText = typeText;
-        if (!reasonText.isEmpty() && barDuration >= 3) { // Show reason if bar is wide enough
-            displayText = typeText + ": " + (reasonText.length() > 20 ? reasonText.substring(0, 17) + "..." : reasonText);
-        }
+        String displayText = buildUnavailabilityDisplayText(unavailability, barDuration);
         unavailabilityBar.setText(displayText);
         unavailabilityBar.setAlignment(Pos.CENTER);
         unavailabilityBar.setTextAlignment(TextAlignment.CENTER);
@@ -1144,46 +1503,11 @@ public class TimelineView extends VBox {
                           "-fx-font-weight: bold; ";
         
         // Light violet color scheme for all unavailability types
-        String backgroundColor = "#E6D5FF";  // Light violet/lavender
-        String borderColor = "#B794F4";      // Slightly darker violet for border
+        String[] colors = unavailabilityColors(unavailability.getType());
+        String backgroundColor = colors[0];
+        String borderColor = colors[1];
         String textColor = "#4A148C";        // Dark purple for text contrast
         
-        // Optional: Keep different shades of violet for different types
-        switch (unavailability.getType()) {
-            case VACATION:
-                backgroundColor = "#E6D5FF";  // Light violet
-                borderColor = "#B794F4";
-                break;
-            case SICK_LEAVE:
-                backgroundColor = "#EDE7F6";  // Very light violet
-                borderColor = "#B39DDB";
-                break;
-            case TRAINING:
-                backgroundColor = "#F3E5F5";  // Ultra light violet
-                borderColor = "#CE93D8";
-                break;
-            case PERSONAL_TIME:
-                backgroundColor = "#E1BEE7";  // Light purple-violet
-                borderColor = "#BA68C8";
-                break;
-            case OTHER_ASSIGNMENT:
-                backgroundColor = "#DDD6FE";  // Light indigo-violet
-                borderColor = "#A78BFA";
-                break;
-            case RECURRING:
-                backgroundColor = "#E9D5FF";  // Light lavender
-                borderColor = "#C084FC";
-                break;
-            case EMERGENCY:
-                backgroundColor = "#FCE4EC";  // Light pink-violet
-                borderColor = "#F48FB1";
-                break;
-            default:
-                backgroundColor = "#E6D5FF";  // Default light violet
-                borderColor = "#B794F4";
-                break;
-        }
-        
         // Apply styling with semi-transparent background to see conflicts underneath
         unavailabilityBar.setStyle(baseStyle + 
             "-fx-background-color: " + backgroundColor + "; " +
@@ -1196,6 +1520,54 @@ public class TimelineView extends VBox {
         );
         
         // Add tooltip with unavailability details
+        Tooltip tooltip = new Tooltip(buildUnavailabilityTooltipText(unavailability));
+        // Configure tooltip to stay visible while hovering but hide when mouse leaves
+        tooltip.setShowDelay(javafx.util.Duration.millis(500)); // Show after 500ms hover
+        tooltip.setHideDelay(javafx.util.Duration.millis(100)); // Hide quickly after mouse leaves
+        tooltip.setShowDuration(javafx.util.Duration.seconds(3600)); // Stay visible for 1 hour while hovering
+        tooltip.setStyle("-fx-font-size: 11px;"); // Slightly larger font for readability
+        unavailabilityBar.setTooltip(tooltip);
+        
+        // Position the unavailability bar at the correct horizontal offset
+        unavailabilityBar.setLayoutX(startDayOffset * dayWidth);
+        unavailabilityBar.setLayoutY(2); // Small margin from top
+        
+        rowContainer.getChildren().add(unavailabilityBar);
+    }
+    
+    String buildUnavailabilityDisplayText(TechnicianUnavailability unavailability, long barDuration) {
+        String typeText = unavailability.getType().getDisplayName();
+        String reasonText = unavailability.getReason() != null ? unavailability.getReason() : "";
+        if (!reasonText.isEmpty() && barDuration >= 3) { // Show reason if bar is wide enough
+            return typeText + ": " + (reasonText.length() > 20 ? reasonText.substring(0, 17) + "..." : reasonText);
+        }
+        return typeText;
+    }
+    
+    /**
+     * Background and border colors for an unavailability type - different shades of light violet.
+     */
+    static String[] unavailabilityColors(UnavailabilityType type) {
+        switch (type) {
+            case SICK_LEAVE:
+                return new String[] {"#EDE7F6", "#B39DDB"};  // Very light violet
+            case TRAINING:
+                return new String[] {"#F3E5F5", "#CE93D8"};  // Ultra light violet
+            case PERSONAL_TIME:
+                return new String[] {"#E1BEE7", "#BA68C8"};  // Light purple-violet
+            case OTHER_ASSIGNMENT:
+                return new String[] {"#DDD6FE", "#A78BFA"};  // Light indigo-violet
+            case RECURRING:
+                return new String[] {"#E9D5FF", "#C084FC"};  // Light lavender
+            case EMERGENCY:
+                return new String[] {"#FCE4EC", "#F48FB1"};  // Light pink-violet
+            case VACATION:
+            default:
+                return new String[] {"#E6D5FF", "#B794F4"};  // Light violet
+        }
+    }
+    
+    String buildUnavailabilityTooltipText(TechnicianUnavailability unavailability) {
         StringBuilder tooltipBuilder = new StringBuilder();
         tooltipBuilder.append("Unavailability: ").append(unavailability.getType().getDisplayName()).append("\n");
         tooltipBuilder.append("Dates: ").append(
@@ -1213,19 +1585,7 @@ public class TimelineView extends VBox {
             }
         }
         
-        Tooltip tooltip = new Tooltip(tooltipBuilder.toString());
-        // Configure tooltip to stay visible while hovering but hide when mouse leaves
-        tooltip.setShowDelay(javafx.util.Duration.millis(500)); // Show after 500ms hover
-        tooltip.setHideDelay(javafx.util.Duration.millis(100)); // Hide quickly after mouse leaves
-        tooltip.setShowDuration(javafx.util.Duration.seconds(3600)); // Stay visible for 1 hour while hovering
-        tooltip.setStyle("-fx-font-size: 11px;"); // Slightly larger font for readability
-        unavailabilityBar.setTooltip(tooltip);
-        
-        // Position the unavailability bar at the correct horizontal offset
-        unavailabilityBar.setLayoutX(startDayOffset * dayWidth);
-        unavailabilityBar.setLayoutY(2); // Small margin from top
-        
-        rowContainer.getChildren().add(unavailabilityBar);
+        return tooltipBuilder.toString();
     }
     
     // Context menu methods
@@ -1298,7 +1658,7 @@ public class TimelineView extends VBox {
         contextMenu.show(resourceLabel, screenX, screenY);
     }
     
-    private void showAssignmentContextMenu(Assignment assignment, Project project, Label assignmentBar, double screenX, double screenY) {
+    void showAssignmentContextMenu(Assignment assignment, Project project, Node assignmentBar, double screenX, double screenY) {
         ContextMenu contextMenu = new ContextMenu();
         
         // Project details menu item
@@ -1470,7 +1830,7 @@ public class TimelineView extends VBox {
                         onEditAssignment.accept(assignment);
                     }
                     // Refresh the timeline to show the extended assignment
-                    refreshTimeline();
+                    requestRefresh();
                 });
                 contextMenu.getItems().add(extendItem);
             }
@@ -1553,7 +1913,7 @@ public class TimelineView extends VBox {
     
     public void setUtilizationSettings(UtilizationSettings settings) {
         this.utilizationSettings = settings;
-        refreshTimeline(); // Refresh to apply new settings
+        requestRefresh(); // Refresh to apply new settings
     }
     
     public UtilizationSettings getUtilizationSettings() {
@@ -1562,7 +1922,7 @@ public class TimelineView extends VBox {
     
     public void setShowUnavailability(boolean showUnavailability) {
         this.showUnavailability = showUnavailability;
-        refreshTimeline(); // Refresh to apply visibility change
+        requestRefresh(); // Refresh to apply visibility change
     }
     
     public boolean isShowUnavailability() {
@@ -1638,7 +1998,7 @@ public class TimelineView extends VBox {
     public void updateConflicts(Set<Long> conflictedIds) {
         this.conflictedAssignmentIds = conflictedIds != null ? conflictedIds : new HashSet<>();
         // Refresh timeline to apply conflict highlighting
-        Platform.runLater(this::refreshTimeline);
+        requestRefresh();
     }
     
     public boolean isConflicted(Long assignmentId) {
@@ -1650,21 +2010,9 @@ public class TimelineView extends VBox {
     }
     
     // Check if placing an assignment at this position would create a conflict
-    private boolean checkForConflictAtPosition(Resource resource, LocalDate startDate, LocalDate endDate, Long excludeAssignmentId) {
-        // Get all assignments for this resource
-        List<Assignment> resourceAssignments = assignments.stream()
-            .filter(a -> a.getResourceId().equals(resource.getId()))
-            .filter(a -> !a.getId().equals(excludeAssignmentId)) // Exclude the assignment being moved
-            .collect(Collectors.toList());
-        
-        // Check for overlaps with the proposed dates
-        for (Assignment existing : resourceAssignments) {
-            if (datesOverlap(startDate, endDate, existing.getStartDate(), existing.getEndDate())) {
-                return true; // Conflict found
-            }
-        }
-        
-        return false; // No conflicts
+    boolean checkForConflictAtPosition(Resource resource, LocalDate startDate, LocalDate endDate, Long excludeAssignmentId) {
+        // Exclude the assignment being moved
+        return assignmentIndex.hasOverlap(resource.getId(), startDate, endDate, excludeAssignmentId);
     }
     
     private boolean datesOverlap(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
@@ -1694,135 +2042,22 @@ public class TimelineView extends VBox {
     }
     
     // Calculate both utilization and billable percentages
-    private ResourceMetrics calculateResourceMetrics(Resource resource, LocalDate start, LocalDate end) {
-        // Calculate available days based on utilization settings
-        long availableDays = calculateAvailableDays(start, end);
-        
-        // Get all assignments for this resource in the timeline period
-        List<Assignment> resourceAssignments = assignments.stream()
-            .filter(a -> a.getResourceId().equals(resource.getId()))
-            .filter(a -> datesOverlap(a.getStartDate(), a.getEndDate(), start, end))
-            .toList();
-        
-        // Calculate total assigned days and billable days
-        long totalAssignedDays = 0;
-        long billableDays = 0;
-        long shopDays = 0;
-        long trainingDays = 0;
-        
-        for (Assignment assignment : resourceAssignments) {
-            LocalDate assignStart = assignment.getStartDate().isBefore(start) ? start : assignment.getStartDate();
-            LocalDate assignEnd = assignment.getEndDate().isAfter(end) ? end : assignment.getEndDate();
-            
-            // Count only working days if configured
-            long days = 0;
-            if (utilizationSettings.getCalculationMethod() == UtilizationSettings.CalculationMethod.WORKING_DAYS) {
-                days = calculateWorkingDays(assignStart, assignEnd);
-            } else {
-                days = ChronoUnit.DAYS.between(assignStart, assignEnd) + 1;
-            }
-            
-            // Check if this is a SHOP/TRAINING assignment
-            Project project = projects.stream()
-                .filter(p -> p.getId().equals(assignment.getProjectId()))
-                .findFirst()
-                .orElse(null);
-                
-            if (project != null) {
-                String projectId = project.getProjectId();
-                if ("SHOP".equalsIgnoreCase(projectId)) {
-                    shopDays += days;
-                    // Count SHOP as utilized based on settings
-                    if (utilizationSettings.isCountShopAsUtilized()) {
-                        totalAssignedDays += days;
-                    }
-                } else if ("TRAINING".equalsIgnoreCase(projectId)) {
-                    trainingDays += days;
-                    // Count TRAINING as utilized based on settings
-                    if (utilizationSettings.isCountTrainingAsUtilized()) {
-                        totalAssignedDays += days;
-                    }
-                } else {
-                    // Regular project - always counts as utilized and billable
-                    totalAssignedDays += days;
-                    billableDays += days;
-                }
-            } else {
-                // If project not found, assume it's billable
-                totalAssignedDays += days;
-                billableDays += days;
-            }
+    private UtilizationEngine.Utilization calculateResourceMetrics(Resource resource, LocalDate start, LocalDate end) {
+        if (!utilizationEngine.isLoaded()) {
+            utilizationEngine.load(assignments);
         }
-        
-        // Calculate percentages
-        double utilizationPercent = availableDays > 0 ? (totalAssignedDays * 100.0) / availableDays : 0;
-        double billablePercent = totalAssignedDays > 0 ? (billableDays * 100.0) / totalAssignedDays : 0;
-        
-        return new ResourceMetrics(utilizationPercent, billablePercent, totalAssignedDays, billableDays, shopDays);
+        return utilizationEngine.getUtilization(resource.getId(), start, end, utilizationSettings);
     }
     
-    // Calculate available days based on utilization settings
-    private long calculateAvailableDays(LocalDate start, LocalDate end) {
-        if (utilizationSettings.getCalculationMethod() == UtilizationSettings.CalculationMethod.CALENDAR_DAYS) {
-            // All calendar days
-            return ChronoUnit.DAYS.between(start, end) + 1;
-        } else {
-            // Working days only
-            return calculateWorkingDays(start, end);
-        }
-    }
-    
-    // Calculate working days (excluding weekends and optionally holidays)
-    private long calculateWorkingDays(LocalDate start, LocalDate end) {
-        long workingDays = 0;
-        LocalDate current = start;
-        
-        while (!current.isAfter(end)) {
-            boolean isWorkingDay = true;
-            
-            // Check weekends
-            if (current.getDayOfWeek() == DayOfWeek.SATURDAY) {
-                isWorkingDay = utilizationSettings.isIncludeSaturdays();
-            } else if (current.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                isWorkingDay = utilizationSettings.isIncludeWeekends();
-            }
-            
-            // Check holidays
-            if (isWorkingDay && !utilizationSettings.isIncludeHolidays()) {
-                LocalDate currentDate = current;
-                boolean isHoliday = companyHolidays.stream()
-                    .anyMatch(h -> h.getDate().equals(currentDate) && h.isActive());
-                if (isHoliday) {
-                    isWorkingDay = false;
-                }
-            }
-            
-            if (isWorkingDay) {
-                workingDays++;
+    private String projectCodeFor(Long projectId) {
+        if (projectCodes == null) {
+            Map<Long, String> codes = new HashMap<>();
+            for (Project project : projects) {
+                codes.put(project.getId(), project.getProjectId());
             }
-            
-            current = current.plusDays(1);
-        }
-        
-        return workingDays;
-    }
-    
-    // Inner class to hold resource metrics
-    private static class ResourceMetrics {
-        final double utilizationPercent;
-        final double billablePercent;
-        final long totalAssignedDays;
-        final long billableDays;
-        final long shopDays;
-        
-        ResourceMetrics(double utilizationPercent, double billablePercent, 
-                       long totalAssignedDays, long billableDays, long shopDays) {
-            this.utilizationPercent = utilizationPercent;
-            this.billablePercent = billablePercent;
-            this.totalAssignedDays = totalAssignedDays;
-            this.billableDays = billableDays;
-            this.shopDays = shopDays;
+            projectCodes = codes;
         }
+        return projectCodes.get(projectId);
     }
     
     // Context menu callback setters
@@ -2197,6 +2432,118 @@ public class TimelineView extends VBox {
         });
     }
     
+    // Canvas row model builders - same filtering and text rules as the node renderer
+    private TimelineCanvas.Row buildCanvasRow(Resource resource, List<Assignment> resourceAssignments,
+                                              List<TechnicianUnavailability> resourceUnavailabilities,
+                                              LocalDate start, LocalDate end) {
+        List<TimelineCanvas.Bar> bars = new ArrayList<>();
+        long maxDaysInView = ChronoUnit.DAYS.between(start, end) + 1;
+        
+        for (Assignment assignment : resourceAssignments) {
+            if (!shouldShowAssignment(assignment, resourceUnavailabilities)) {
+                continue;
+            }
+            LocalDate barStart = assignment.getStartDate().isBefore(start) ? start : assignment.getStartDate();
+            LocalDate barEnd = assignment.getEndDate().isAfter(end) ? end : assignment.getEndDate();
+            long startDayOffset = ChronoUnit.DAYS.between(start, barStart);
+            long barDuration = Math.min(ChronoUnit.DAYS.between(barStart, barEnd) + 1, maxDaysInView - startDayOffset);
+            if (barDuration <= 0) {
+                continue;
+            }
+            
+            Project project = findProject(assignment.getProjectId());
+            String projectId = project != null ? project.getProjectId() : "Unknown";
+            boolean shopOrTraining = "SHOP".equalsIgnoreCase(projectId) || "TRAINING".equalsIgnoreCase(projectId);
+            String displayText = buildAssignmentDisplayText(assignment, project, barDuration);
+            String text = abbreviateForWidth(displayText, projectId, barDuration * dayWidth);
+            
+            TimelineCanvas.BarStyle style;
+            if (showUnavailability && !shopOrTraining && hasUnavailabilityConflict(assignment, resourceUnavailabilities)) {
+                style = TimelineCanvas.BarStyle.UNAVAILABILITY_CONFLICT;
+                text = "🚫 " + displayText;
+            } else if (isConflicted(assignment.getId())) {
+                style = TimelineCanvas.BarStyle.CONFLICT;
+                text = "⚠ " + displayText;
+            } else if (shopOrTraining) {
+                style = TimelineCanvas.BarStyle.SHOP_TRAINING;
+            } else if (project != null && project.isTravel()) {
+                style = TimelineCanvas.BarStyle.TRAVEL;
+            } else {
+                style = TimelineCanvas.BarStyle.STANDARD;
+            }
+            bars.add(TimelineCanvas.Bar.assignment(assignment, project, (int) startDayOffset, (int) barDuration,
+                text, style));
+        }
+        
+        if (showUnavailability) {
+            for (TechnicianUnavailability unavailability : resourceUnavailabilities) {
+                LocalDate barStart = unavailability.getStartDate().isBefore(start) ? start : unavailability.getStartDate();
+                LocalDate barEnd = unavailability.getEndDate().isAfter(end) ? end : unavailability.getEndDate();
+                long startDayOffset = ChronoUnit.DAYS.between(start, barStart);
+                long barDuration = ChronoUnit.DAYS.between(barStart, barEnd) + 1;
+                if (barDuration <= 0) {
+                    continue;
+                }
+                String[] colors = unavailabilityColors(unavailability.getType());
+                bars.add(TimelineCanvas.Bar.unavailability(unavailability, (int) startDayOffset, (int) barDuration,
+                    buildUnavailabilityDisplayText(unavailability, barDuration),
+                    Color.web(colors[0]), Color.web(colors[1])));
+            }
+        }
+        return new TimelineCanvas.Row(resource, null, bars);
+    }
+    
+    private TimelineCanvas.Row buildUnassignedCanvasRow(Project project, LocalDate start, LocalDate end) {
+        List<TimelineCanvas.Bar> bars = new ArrayList<>();
+        if (project.getStartDate() != null && project.getEndDate() != null) {
+            LocalDate visibleStart = project.getStartDate().isBefore(start) ? start : project.getStartDate();
+            LocalDate visibleEnd = project.getEndDate().isAfter(end) ? end : project.getEndDate();
+            long dayOffset = ChronoUnit.DAYS.between(start, visibleStart);
+            long duration = ChronoUnit.DAYS.between(visibleStart, visibleEnd) + 1;
+            if (dayOffset >= 0 && duration > 0) {
+                String displayText = project.getProjectId() + " - Needs Resources";
+                if (project.getDescription() != null && !project.getDescription().isEmpty()) {
+                    displayText = project.getProjectId() + " | " + project.getDescription() + " (Unassigned)";
+                }
+                bars.add(TimelineCanvas.Bar.unassignedProject(project, (int) dayOffset, (int) duration, displayText));
+            }
+        }
+        return new TimelineCanvas.Row(null, project, bars);
+    }
+    
+    private Project findProject(Long projectId) {
+        return projects.stream()
+            .filter(p -> p.getId().equals(projectId))
+            .findFirst()
+            .orElse(null);
+    }
+    
+    /**
+     * Copies an assignment with new resource and dates, as edge resize and drag-move do before firing onEditAssignment.
+     */
+    static Assignment copyAssignment(Assignment source, Long resourceId, LocalDate start, LocalDate end) {
+        Assignment copy = new Assignment(
+            source.getProjectId(),
+            resourceId,
+            start,
+            end,
+            source.getTravelOutDays(),
+            source.getTravelBackDays()
+        );
+        copy.setId(source.getId());
+        copy.setOverride(source.isOverride());
+        copy.setOverrideReason(source.getOverrideReason());
+        copy.setNotes(source.getNotes());
+        copy.setLocation(source.getLocation());
+        return copy;
+    }
+    
+    void fireAssignmentEdited(Assignment assignment) {
+        if (onEditAssignment != null) {
+            onEditAssignment.accept(assignment);
+        }
+    }
+    
     private List<Project> findUnassignedProjects(LocalDate start, LocalDate end) {
         // Get all project IDs that have assignments
         Set<Long> assignedProjectIds = assignments.stream()
@@ -2289,6 +2636,11 @@ public class TimelineView extends VBox {
         labelContainer.getChildren().add(unassignedLabel);
         fixedResourceContent.getChildren().add(labelContainer);
         
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRows.add(buildUnassignedCanvasRow(unassignedProject, start, end));
+            return;
+        }
+        
         // Create timeline row cells
         long dayCount = ChronoUnit.DAYS.between(start, end) + 1;
         for (long i = 0; i < dayCount; i++) {
@@ -2304,8 +2656,7 @@ public class TimelineView extends VBox {
             // Light yellow background for unassigned project row
             boolean isWeekend = date.getDayOfWeek() == java.time.DayOfWeek.SATURDAY || 
                                date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY;
-            boolean isHoliday = companyHolidays != null && companyHolidays.stream()
-                .anyMatch(h -> h.getDate().equals(date));
+            boolean isHoliday = workingCalendar.isHoliday(date);
             boolean isToday = date.equals(LocalDate.now());
             
             String bgColor;
@@ -2390,12 +2741,7 @@ public class TimelineView extends VBox {
         projectBar.setLayoutY((rowHeight - projectBarHeight) / 2);
         
         // Add tooltip
-        Tooltip tooltip = new Tooltip(
-            "Project: " + project.getProjectId() + "\n" +
-            "Description: " + (project.getDescription() != null ? project.getDescription() : "N/A") + "\n" +
-            "Duration: " + project.getStartDate() + " to " + project.getEndDate() + "\n" +
-            "Status: UNASSIGNED - Click to assign resources"
-        );
+        Tooltip tooltip = new Tooltip(buildUnassignedProjectTooltipText(project));
         Tooltip.install(projectBar, tooltip);
         
         // Make it clickable to open assignment dialog
@@ -2403,30 +2749,41 @@ public class TimelineView extends VBox {
         projectBar.setOnMouseClicked(event -> {
             if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2) {
                 // Double-click to open assignment dialog
-                if (onEditAssignment != null) {
-                    // Create a dummy assignment to trigger the assignment dialog
-                    Assignment dummyAssignment = new Assignment();
-                    dummyAssignment.setProjectId(project.getId());
-                    dummyAssignment.setStartDate(project.getStartDate());
-                    dummyAssignment.setEndDate(project.getEndDate());
-                    onEditAssignment.accept(dummyAssignment);
-                }
+                openAssignmentDialogForProject(project);
             }
         });
         
         // Add context menu
+        ContextMenu contextMenu = createUnassignedProjectContextMenu(project);
+        projectBar.setOnContextMenuRequested(e -> contextMenu.show(projectBar, e.getScreenX(), e.getScreenY()));
+        
+        // Add the project bar to the row container
+        rowContainer.getChildren().add(projectBar);
+    }
+    
+    String buildUnassignedProjectTooltipText(Project project) {
+        return "Project: " + project.getProjectId() + "\n" +
+            "Description: " + (project.getDescription() != null ? project.getDescription() : "N/A") + "\n" +
+            "Duration: " + project.getStartDate() + " to " + project.getEndDate() + "\n" +
+            "Status: UNASSIGNED - Click to assign resources";
+    }
+    
+    void openAssignmentDialogForProject(Project project) {
+        if (onEditAssignment != null) {
+            // Create a dummy assignment to trigger the assignment dialog
+            Assignment dummyAssignment = new Assignment();
+            dummyAssignment.setProjectId(project.getId());
+            dummyAssignment.setStartDate(project.getStartDate());
+            dummyAssignment.setEndDate(project.getEndDate());
+            onEditAssignment.accept(dummyAssignment);
+        }
+    }
+    
+    ContextMenu createUnassignedProjectContextMenu(Project project) {
         ContextMenu contextMenu = new ContextMenu();
         
         MenuItem assignResources = new MenuItem("Assign Resources...");
-        assignResources.setOnAction(e -> {
-            if (onEditAssignment != null) {
-                Assignment dummyAssignment = new Assignment();
-                dummyAssignment.setProjectId(project.getId());
-                dummyAssignment.setStartDate(project.getStartDate());
-                dummyAssignment.setEndDate(project.getEndDate());
-                onEditAssignment.accept(dummyAssignment);
-            }
-        });
+        assignResources.setOnAction(e -> openAssignmentDialogForProject(project));
         
         MenuItem editProject = new MenuItem("Edit Project...");
         editProject.setOnAction(e -> {
@@ -2482,10 +2839,7 @@ public class TimelineView extends VBox {
         filterMenu.getItems().addAll(new SeparatorMenuItem(), clearFilters);
         
         contextMenu.getItems().addAll(assignResources, new SeparatorMenuItem(), editProject, openItems, new SeparatorMenuItem(), filterMenu);
-        projectBar.setOnContextMenuRequested(e -> contextMenu.show(projectBar, e.getScreenX(), e.getScreenY()));
-        
-        // Add the project bar to the row container
-        rowContainer.getChildren().add(projectBar);
+        return contextMenu;
     }
     
     private void setupDropTargets() {
@@ -2847,7 +3201,7 @@ public class TimelineView extends VBox {
                 projectRepository.update(project);
                 
                 // Refresh the timeline to show the updated information
-                refreshTimeline();
+                requestRefresh();
                 
                 // Show success message
                 Alert alert = com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils.createScreenAwareAlert(Alert.AlertType.INFORMATION, owner);
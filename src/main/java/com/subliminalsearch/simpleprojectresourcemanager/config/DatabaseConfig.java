@@ -1,7 +1,10 @@
 package com.subliminalsearch.simpleprojectresourcemanager.config;
 
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.EntityCache;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.sql.ResultSet;
@@ -23,15 +26,36 @@ public class DatabaseConfig {
     private static final String DB_NAME = "scheduler.db";
     private static final String DEFAULT_DB_PATH = System.getProperty("user.home") + "/.SimpleProjectResourceManager/";
     
+    /**
+     * How connections to the SQLite file are set up.
+     * LEGACY is the original plain pool with SQLite defaults. TUNED (the default) runs in WAL mode
+     * with tuned pragmas, caches prepared statements and serializes writers, see TunedSQLiteDataSource.
+     * Select with -Dspm.db.accessMode=legacy|tuned.
+     */
+    public enum AccessMode {
+        LEGACY, TUNED;
+        
+        public static AccessMode fromSystemProperty() {
+            String value = System.getProperty("spm.db.accessMode", "tuned");
+            return "legacy".equalsIgnoreCase(value.trim()) ? LEGACY : TUNED;
+        }
+    }
+    
     private final HikariDataSource dataSource;
     private final String dbPath;
+    private final AccessMode accessMode;
 
     public DatabaseConfig() {
         this(DEFAULT_DB_PATH);
     }
 
     public DatabaseConfig(String customPath) {
+        this(customPath, AccessMode.fromSystemProperty());
+    }
+
+    public DatabaseConfig(String customPath, AccessMode accessMode) {
         this.dbPath = customPath;
+        this.accessMode = accessMode;
         this.dataSource = initializeDataSource();
         initializeDatabase();
     }
@@ -54,8 +78,22 @@ public class DatabaseConfig {
             config.setMaxLifetime(1800000);
             config.setConnectionTestQuery("SELECT 1");
 
-            logger.info("Initialized SQLite database at: {}", dbPath + DB_NAME);
-            return new HikariDataSource(config);
+            if (accessMode == AccessMode.LEGACY) {
+                logger.info("Initialized SQLite database at: {} (legacy access mode)", dbPath + DB_NAME);
+                DataVersion.untracked();
+                return new HikariDataSource(config);
+            }
+            
+            // Applied by the SQLite driver to every new connection
+            config.addDataSourceProperty("journal_mode", "WAL");
+            config.addDataSourceProperty("synchronous", "NORMAL");   // Durable at checkpoints; safe with WAL
+            config.addDataSourceProperty("busy_timeout", "5000");    // Other processes (utilities) may hold the file
+            config.addDataSourceProperty("cache_size", "-16000");    // 16 MB page cache per connection
+            config.addDataSourceProperty("mmap_size", "268435456");  // 256 MB memory-mapped reads
+            config.addDataSourceProperty("temp_store", "MEMORY");
+            
+            logger.info("Initialized SQLite database at: {} (WAL, statement cache, single writer)", dbPath + DB_NAME);
+            return new TunedSQLiteDataSource(config);
             
         } catch (IOException e) {
             logger.error("Failed to create database directory", e);
@@ -83,6 +121,28 @@ public class DatabaseConfig {
                 logger.info("Task management migration completed successfully");
             }
             
+            // Check for and add the client contact columns (db/add_client_contacts.sql) if missing
+            String[][] contactColumns = {
+                {"contact_name", "TEXT"},
+                {"contact_email", "TEXT"},
+                {"contact_phone", "TEXT"},
+                {"contact_company", "TEXT"},
+                {"contact_role", "TEXT"},
+                {"send_reports", "BOOLEAN DEFAULT 1"},
+                {"report_frequency", "TEXT DEFAULT 'WEEKLY'"},
+                {"last_report_sent", "TEXT"}
+            };
+            for (String[] column : contactColumns) {
+                if (!columnExists(conn, "projects", column[0])) {
+                    logger.info("Adding {} column to projects table...", column[0]);
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.executeUpdate("ALTER TABLE projects ADD COLUMN " + column[0] + " " + column[1]);
+                    } catch (SQLException e) {
+                        logger.warn("Could not add " + column[0] + " column: " + e.getMessage());
+                    }
+                }
+            }
+
             // Check for and add contact_address column if missing
             if (!columnExists(conn, "projects", "contact_address")) {
                 logger.info("Adding contact_address column to projects table...");
@@ -138,6 +198,11 @@ public class DatabaseConfig {
                     logger.warn("Could not add client_project_description column: " + e.getMessage());
                 }
             }
+            
+            // Keep date columns in the canonical yyyy-MM-dd form so range queries can use the indexes
+            normalizeDateColumns(conn);
+            
+            createTaskIndexes(conn);
         } catch (SQLException e) {
             logger.error("Failed to initialize database", e);
             throw new RuntimeException("Database initialization failed", e);
@@ -239,6 +304,52 @@ public class DatabaseConfig {
         }
     }
     
+    /**
+     * Rewrites start_date/end_date values into plain ISO "yyyy-MM-dd" text and makes sure the
+     * composite date indexes exist. Older rows hold a mix of "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss.SSS"
+     * and epoch-millisecond timestamps (BUG-2341); only a single encoding compares correctly as text,
+     * which lets repositories filter with "start_date <= ?" instead of wrapping the column in date().
+     * Safe to run on every startup: rows already in canonical form are left alone.
+     */
+    private void normalizeDateColumns(Connection conn) throws SQLException {
+        for (String table : new String[] {"assignments", "projects", "resource_unavailability"}) {
+            if (!tableExists(conn, table)) {
+                continue;
+            }
+            for (String column : new String[] {"start_date", "end_date"}) {
+                // Timestamps were written from local midnight, so convert them back in local time
+                String sql = "UPDATE " + table + " SET " + column + " = CASE " +
+                    "WHEN typeof(" + column + ") IN ('integer', 'real') " +
+                    "THEN date(" + column + " / 1000, 'unixepoch', 'localtime') " +
+                    "ELSE substr(" + column + ", 1, 10) END " +
+                    "WHERE typeof(" + column + ") IN ('integer', 'real') OR length(" + column + ") <> 10";
+                try (Statement stmt = conn.createStatement()) {
+                    int updated = stmt.executeUpdate(sql);
+                    if (updated > 0) {
+                        logger.info("Normalized {} {}.{} values to yyyy-MM-dd", updated, table, column);
+                    }
+                }
+            }
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_assignments_dates ON assignments(start_date, end_date)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_assignments_resource_dates ON assignments(resource_id, start_date, end_date)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_projects_dates ON projects(start_date, end_date)");
+        }
+    }
+    
+    /**
+     * Indexes behind TaskRepository.findByProjectId: one matching its ORDER BY so a project's tasks
+     * come back in display order without a sort, and a covering one for the per-parent subtask rollup.
+     */
+    private void createTaskIndexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_tasks_project_order ON tasks(project_id, phase_id, parent_task_id, planned_start)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_tasks_project_parent_status ON tasks(project_id, parent_task_id, status)");
+        }
+    }
+    
     private boolean isDatabaseEmpty(Connection conn) throws SQLException {
         try (Statement stmt = conn.createStatement()) {
             var rs = stmt.executeQuery("SELECT count(*) FROM sqlite_master WHERE type='table' AND name NOT LIKE 'sqlite_%'");
@@ -302,8 +413,27 @@ public class DatabaseConfig {
         return dbPath + DB_NAME;
     }
 
+    public AccessMode getAccessMode() {
+        return accessMode;
+    }
+
+    public DatabaseMetrics getMetrics() {
+        if (dataSource instanceof TunedSQLiteDataSource tuned) {
+            return tuned.getMetrics();
+        }
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new DatabaseMetrics("legacy",
+            pool != null ? pool.getActiveConnections() : 0,
+            pool != null ? pool.getIdleConnections() : 0,
+            pool != null ? pool.getThreadsAwaitingConnection() : 0,
+            0, 0, 0, 0, 0, 0);
+    }
+
     public void shutdown() {
         if (dataSource != null && !dataSource.isClosed()) {
+            logger.info("Database metrics at shutdown: {}", getMetrics().getSummary());
+            EntityCache.statistics(dataSource).forEach(stats ->
+                logger.info("Entity cache at shutdown: {}", stats.getSummary()));
             dataSource.close();
             logger.info("Database connection pool shutdown completed");
         }
@@ -0,0 +1,34 @@
+package com.subliminalsearch.simpleprojectresourcemanager.config;
+
+/**
+ * Point-in-time view of the connection pool, the prepared statement cache and the writer gate.
+ * The statement and writer numbers are cumulative since the pool was created; they stay zero in
+ * the legacy access mode, which has neither.
+ */
+public record DatabaseMetrics(String accessMode,
+                              int activeConnections,
+                              int idleConnections,
+                              int threadsAwaitingConnection,
+                              long statementCacheHits,
+                              long statementCacheMisses,
+                              long statementCacheEvictions,
+                              long writerAcquisitions,
+                              long writerWaitNanos,
+                              long writerMaxWaitNanos) {
+
+    public double statementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    public String getSummary() {
+        return String.format(
+            "mode=%s, connections: active=%d idle=%d waiting=%d, statements: hits=%d misses=%d evictions=%d (%.0f%% hit), " +
+            "writer: acquisitions=%d avgWait=%.2fms maxWait=%.2fms",
+            accessMode, activeConnections, idleConnections, threadsAwaitingConnection,
+            statementCacheHits, statementCacheMisses, statementCacheEvictions, statementCacheHitRate() * 100,
+            writerAcquisitions,
+            writerAcquisitions == 0 ? 0.0 : writerWaitNanos / 1e6 / writerAcquisitions,
+            writerMaxWaitNanos / 1e6);
+    }
+}
@@ -0,0 +1,640 @@
+package com.subliminalsearch.simpleprojectresourcemanager.config;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hikari pool for SQLite that caches prepared statements per physical connection and lets only
+ * one connection write at a time.
+ *
+ * Repositories keep calling getConnection() / prepareStatement() / close() as before. Behind the
+ * scenes a closed PreparedStatement goes back to a small LRU cache of the physical connection it
+ * was prepared on, so the next borrower of that connection skips SQLite's parse and plan step.
+ *
+ * Reads never wait for anything: the pool runs in WAL mode, where readers and the writer do not
+ * block each other. A statement that writes, and every statement of a transaction started with
+ * setAutoCommit(false) or BEGIN, first takes the writer gate for the database file. The gate is
+ * held until the statement finishes in autocommit mode, or until the transaction is committed or
+ * rolled back, so a connection kept open afterwards does not keep other writers waiting. The gate
+ * is shared by every pool in the process that opens the same file (several views create their
+ * own DatabaseConfig), so concurrent saves queue up instead of failing with SQLITE_BUSY.
+ * Finishing a write bumps the {@link DataVersion}, so result caches notice every change, and
+ * counts it against the tables named by its INSERT, UPDATE, DELETE or REPLACE statements (upserts
+ * included). A write whose table the SQL does not name up front, such as one behind a WITH clause,
+ * counts against every table.
+ *
+ * Writes are recognised from the SQL (leading comments and WITH clauses included) and, whatever
+ * the SQL, from executeUpdate() and executeBatch(), so a statement the parser misjudges still
+ * takes the gate when it is run that way. Transactions opened in SQL are followed one level deep
+ * only (BEGIN or SAVEPOINT up to COMMIT, END or ROLLBACK); RELEASE and nested savepoints are not,
+ * which is why the repositories open theirs with setAutoCommit(false).
+ */
+public class TunedSQLiteDataSource extends HikariDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(TunedSQLiteDataSource.class);
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final Map<String, WriterGate> WRITER_GATES = new ConcurrentHashMap<>();
+
+    private final WriterGate writerGate;
+    private final long writerTimeoutMs;
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong cacheEvictions = new AtomicLong();
+
+    public TunedSQLiteDataSource(HikariConfig config) {
+        super(config);
+        this.writerGate = WRITER_GATES.computeIfAbsent(config.getJdbcUrl(), k -> new WriterGate());
+        this.writerTimeoutMs = config.getConnectionTimeout();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    public DatabaseMetrics getMetrics() {
+        HikariPoolMXBean pool = getHikariPoolMXBean();
+        return new DatabaseMetrics(
+            "tuned",
+            pool != null ? pool.getActiveConnections() : 0,
+            pool != null ? pool.getIdleConnections() : 0,
+            pool != null ? pool.getThreadsAwaitingConnection() : 0,
+            cacheHits.get(), cacheMisses.get(), cacheEvictions.get(),
+            writerGate.acquisitions.get(), writerGate.totalWaitNanos.get(), writerGate.maxWaitNanos.get());
+    }
+
+    private Connection wrap(Connection pooled) throws SQLException {
+        Connection physical = pooled.unwrap(Connection.class);
+        ConnectionHandler handler = new ConnectionHandler(pooled, physical);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, handler);
+    }
+
+    private StatementCache cacheFor(Connection physical) throws SQLException {
+        synchronized (statementCaches) {
+            StatementCache cache = statementCaches.get(physical);
+            if (cache == null) {
+                // A new physical connection usually means Hikari retired an old one; drop caches of closed ones
+                Iterator<Connection> iterator = statementCaches.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isClosed()) {
+                        iterator.remove();
+                    }
+                }
+                cache = new StatementCache();
+                statementCaches.put(physical, cache);
+            }
+            return cache;
+        }
+    }
+
+    static boolean isWriteSql(String sql) {
+        int start = nextWord(sql, 0);
+        String keyword = wordAt(sql, start);
+        return switch (keyword) {
+            case "INSERT", "UPDATE", "DELETE", "REPLACE", "CREATE", "DROP", "ALTER",
+                 "BEGIN", "SAVEPOINT", "VACUUM", "REINDEX", "ANALYZE" -> true;
+            // Common table expressions end in the statement that does the work
+            case "WITH" -> containsWord(sql, start + keyword.length(), "INSERT", "UPDATE", "DELETE", "REPLACE");
+            // PRAGMA name = value sets something; PRAGMA name and PRAGMA name(arg) only read
+            case "PRAGMA" -> sql.indexOf('=', start) >= 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Lower-case name of the table an INSERT, UPDATE, DELETE or REPLACE statement changes, or null
+     * when the SQL does not say (schema changes, WITH clauses, anything else).
+     */
+    static String writtenTable(String sql) {
+        int position = nextWord(sql, 0);
+        String keyword = wordAt(sql, position);
+        Set<String> skipped = switch (keyword) {
+            case "INSERT", "REPLACE" -> Set.of("OR", "REPLACE", "ROLLBACK", "ABORT", "FAIL", "IGNORE", "INTO");
+            case "UPDATE" -> Set.of("OR", "REPLACE", "ROLLBACK", "ABORT", "FAIL", "IGNORE");
+            case "DELETE" -> Set.of("FROM");
+            default -> null;
+        };
+        if (skipped == null) {
+            return null;
+        }
+        position += keyword.length();
+        while (true) {
+            position = skipBlank(sql, position);
+            int end = nameEnd(sql, position);
+            if (end == position) {
+                return null;
+            }
+            String name = sql.substring(position, end);
+            position = end;
+            if (skipped.contains(name.toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            // main.assignments: the table is the part after the schema
+            position = skipBlank(sql, position);
+            if (position < sql.length() && sql.charAt(position) == '.') {
+                position = skipBlank(sql, position + 1);
+                end = nameEnd(sql, position);
+                if (end == position) {
+                    return null;
+                }
+                name = sql.substring(position, end);
+            }
+            if (name.length() >= 2 && "\"'`[".indexOf(name.charAt(0)) >= 0) {
+                name = name.substring(1, name.length() - 1);
+            }
+            return name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static int skipBlank(String sql, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    // End of the identifier (plain or quoted) starting at from; from itself if there is none
+    private static int nameEnd(String sql, int from) {
+        if (from >= sql.length()) {
+            return from;
+        }
+        char c = sql.charAt(from);
+        if (c == '"' || c == '`' || c == '[' || c == '\'') {
+            int end = sql.indexOf(c == '[' ? ']' : c, from + 1);
+            return end < 0 ? from : end + 1;
+        }
+        int end = from;
+        while (end < sql.length() && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_')) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * +1 for SQL that opens a transaction, -1 for SQL that ends it, 0 otherwise (RELEASE and
+     * ROLLBACK TO included, as savepoints are not tracked).
+     */
+    static int transactionChange(String sql) {
+        int start = nextWord(sql, 0);
+        String keyword = wordAt(sql, start);
+        return switch (keyword) {
+            case "BEGIN", "SAVEPOINT" -> 1;
+            case "COMMIT", "END" -> -1;
+            case "ROLLBACK" -> containsWord(sql, start + keyword.length(), "TO") ? 0 : -1;
+            default -> 0;
+        };
+    }
+
+    private static boolean containsWord(String sql, int from, String... words) {
+        int position = nextWord(sql, from);
+        while (position < sql.length()) {
+            String word = wordAt(sql, position);
+            for (String candidate : words) {
+                if (candidate.equals(word)) {
+                    return true;
+                }
+            }
+            position = nextWord(sql, position + word.length());
+        }
+        return false;
+    }
+
+    /**
+     * Index of the next SQL keyword or identifier at or after from, skipping whitespace,
+     * punctuation, comments and quoted strings or names; sql.length() if there is none.
+     */
+    private static int nextWord(String sql, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isLetter(c) || c == '_') {
+                return i;
+            }
+            if (c == '-' && sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                int end = sql.indexOf(c == '[' ? ']' : c, i + 1);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (Character.isDigit(c)) {
+                // Skip numbers whole, so 1e5 is not read as a word
+                while (i < sql.length() && Character.isLetterOrDigit(sql.charAt(i))) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    private static String wordAt(String sql, int start) {
+        int end = start;
+        while (end < sql.length() && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_')) {
+            end++;
+        }
+        return sql.substring(start, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Borrowed connection: routes prepareStatement through the statement cache and holds the
+     * writer gate while a write or a transaction is in progress.
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection pooled;
+        private final Connection physical;
+        private boolean holdsWriter = false;
+        private boolean wrote = false;
+        // Tables changed since the writer gate was taken; untargeted if some write did not say which
+        private final Set<String> writtenTables = new HashSet<>();
+        private boolean untargetedWrite = false;
+        private boolean explicitTransaction = false;
+        private boolean closed = false;
+
+        ConnectionHandler(Connection pooled, Connection physical) {
+            this.pooled = pooled;
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    if (args.length <= 2 && args[0] instanceof String sql
+                            && (args.length == 1 || args[1] instanceof Integer)) {
+                        return prepareCached(sql, args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS);
+                    }
+                    PreparedStatement prepared = (PreparedStatement) TunedSQLiteDataSource.invoke(method, pooled, args);
+                    return wrapStatement(prepared, PreparedStatement.class, (String) args[0]);
+                case "createStatement":
+                    Statement statement = (Statement) TunedSQLiteDataSource.invoke(method, pooled, args);
+                    return wrapStatement(statement, Statement.class, null);
+                case "setAutoCommit":
+                    if (Boolean.FALSE.equals(args[0])) {
+                        // Taken before the transaction reads anything, so read-modify-write is serialized
+                        acquireWriter();
+                        return TunedSQLiteDataSource.invoke(method, pooled, args);
+                    }
+                    try {
+                        // Switching autocommit back on commits the open transaction
+                        return TunedSQLiteDataSource.invoke(method, pooled, args);
+                    } finally {
+                        explicitTransaction = false;
+                        finishWrite();
+                    }
+                case "commit":
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        try {
+                            return TunedSQLiteDataSource.invoke(method, pooled, args);
+                        } finally {
+                            explicitTransaction = false;
+                            finishWrite();
+                        }
+                    }
+                    break;
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || pooled.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return TunedSQLiteDataSource.invoke(method, pooled, args);
+        }
+
+        private PreparedStatement prepareCached(String sql, int autoGeneratedKeys) throws SQLException {
+            StatementCache cache = cacheFor(physical);
+            String key = autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = cache.get(key);
+            if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+                cacheHits.incrementAndGet();
+                cached.inUse = true;
+                cached.owner = this;
+                return cached.proxy;
+            }
+            cacheMisses.incrementAndGet();
+            PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+            if (cached != null && cached.inUse) {
+                // Same SQL is already open on this connection (nested use); hand out an uncached one
+                return wrapStatement(statement, PreparedStatement.class, sql);
+            }
+            CachedStatement entry = new CachedStatement(statement, this, sql);
+            if (cache.put(key, entry)) {
+                cacheEvictions.incrementAndGet();
+            }
+            return entry.proxy;
+        }
+
+        private <T extends Statement> T wrapStatement(T statement, Class<T> type, String preparedSql) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new StatementHandler(statement, this, preparedSql)));
+        }
+
+        /**
+         * Runs one of the statement's execute methods with the writer gate held when needed.
+         * preparedSql is the SQL the statement was prepared with, null for a plain Statement.
+         */
+        Object execute(Method method, Statement statement, Object[] args, String preparedSql,
+                       boolean preparedWrite) throws Throwable {
+            String name = method.getName();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            boolean write = preparedWrite || name.contains("Update") || name.contains("Batch")
+                || (sql != null && isWriteSql(sql));
+            if (write || !pooled.getAutoCommit()) {
+                acquireWriter();
+            }
+            Object result = null;
+            try {
+                result = TunedSQLiteDataSource.invoke(method, statement, args);
+                return result;
+            } finally {
+                // execute() returning false means the statement produced an update count, not rows
+                if (write || (name.equals("execute") && Boolean.FALSE.equals(result))) {
+                    noteWrite(sql != null ? sql : preparedSql);
+                }
+                if (sql != null) {
+                    int change = transactionChange(sql);
+                    if (change != 0) {
+                        explicitTransaction = change > 0;
+                    }
+                }
+                if (!explicitTransaction && !pooled.isClosed() && pooled.getAutoCommit()) {
+                    finishWrite();
+                }
+            }
+        }
+
+        private void noteWrite(String sql) {
+            wrote = true;
+            if (sql == null) {
+                // A batch of plain statements, whose SQL is not seen here
+                untargetedWrite = true;
+            } else if (transactionChange(sql) == 0) {
+                String table = writtenTable(sql);
+                if (table != null) {
+                    writtenTables.add(table);
+                } else {
+                    untargetedWrite = true;
+                }
+            }
+        }
+
+        void acquireWriter() throws SQLException {
+            if (!holdsWriter) {
+                writerGate.acquire(writerTimeoutMs);
+                holdsWriter = true;
+            }
+        }
+
+        private void finishWrite() {
+            if (holdsWriter) {
+                holdsWriter = false;
+                writerGate.release();
+            }
+            if (wrote) {
+                wrote = false;
+                DataVersion.written(writtenTables, untargetedWrite);
+                writtenTables.clear();
+                untargetedWrite = false;
+            }
+        }
+
+        private void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // Statements prepared on the physical connection are invisible to Hikari, so an
+                // unfinished transaction has to be rolled back here rather than by the pool
+                if (!pooled.isClosed() && !pooled.getAutoCommit()) {
+                    pooled.rollback();
+                } else if (!pooled.isClosed() && explicitTransaction) {
+                    try (Statement rollback = physical.createStatement()) {
+                        rollback.execute("ROLLBACK");
+                    }
+                }
+            } finally {
+                try {
+                    pooled.close();
+                } finally {
+                    explicitTransaction = false;
+                    finishWrite();
+                }
+            }
+        }
+    }
+
+    /**
+     * Statement handed out uncached (createStatement(), or SQL already open on the connection):
+     * runs its execute methods through the connection, so writes take the writer gate.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final ConnectionHandler connection;
+        private final String preparedSql;
+        private final boolean preparedWrite;
+
+        StatementHandler(Statement statement, ConnectionHandler connection, String preparedSql) {
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+            this.preparedWrite = preparedSql != null && isWriteSql(preparedSql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                return connection.execute(method, statement, args, preparedSql, preparedWrite);
+            }
+            return TunedSQLiteDataSource.invoke(method, statement, args);
+        }
+    }
+
+    /**
+     * Prepared statement kept open across borrowers; close() only returns it to the cache.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        final PreparedStatement statement;
+        final PreparedStatement proxy;
+        final String sql;
+        final boolean write;
+        volatile boolean inUse = true;
+        // The connection of the current borrower
+        volatile ConnectionHandler owner;
+        private ResultSet lastResultSet;
+
+        CachedStatement(PreparedStatement statement, ConnectionHandler owner, String sql) {
+            this.statement = statement;
+            this.owner = owner;
+            this.sql = sql;
+            this.write = isWriteSql(sql);
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "executeQuery":
+                    lastResultSet = (ResultSet) owner.execute(method, statement, args, sql, write);
+                    return lastResultSet;
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return owner.execute(method, statement, args, sql, write);
+                case "close":
+                    if (inUse) {
+                        inUse = false;
+                        // An unclosed result set keeps the statement's read transaction open
+                        if (lastResultSet != null && !lastResultSet.isClosed()) {
+                            lastResultSet.close();
+                        }
+                        lastResultSet = null;
+                        if (!statement.isClosed()) {
+                            statement.clearParameters();
+                            statement.clearBatch();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return TunedSQLiteDataSource.invoke(method, statement, args);
+            }
+        }
+    }
+
+    private static class StatementCache {
+        private final LinkedHashMap<String, CachedStatement> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        synchronized CachedStatement get(String key) {
+            return entries.get(key);
+        }
+
+        // Returns true if the least recently used statement had to be evicted
+        synchronized boolean put(String key, CachedStatement entry) {
+            entries.put(key, entry);
+            if (entries.size() <= STATEMENT_CACHE_SIZE) {
+                return false;
+            }
+            Iterator<CachedStatement> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedStatement eldest = iterator.next();
+                if (!eldest.inUse) {
+                    iterator.remove();
+                    try {
+                        eldest.statement.close();
+                    } catch (SQLException e) {
+                        logger.debug("Failed to close evicted statement: {}", e.getMessage());
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Process-wide write lock for one database file, held by one connection at a time. It is not
+     * reentrant: a thread that holds it and opens a second connection to write would wait on
+     * SQLite's lock for its own open transaction, so that fails at once with an error instead. It
+     * may be released from another thread in case a connection is closed elsewhere.
+     */
+    private static class WriterGate {
+        private Thread owner;
+        private final AtomicLong acquisitions = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        synchronized void acquire(long timeoutMs) throws SQLException {
+            Thread current = Thread.currentThread();
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            if (owner == current) {
+                throw new SQLException("This thread already holds the database writer on another connection; "
+                    + "write through that connection instead of opening a second one");
+            }
+            try {
+                while (owner != null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timed out after " + timeoutMs + " ms waiting for the database writer");
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                current.interrupt();
+                throw new SQLException("Interrupted while waiting for the database writer", e);
+            }
+            owner = current;
+            long waited = System.nanoTime() - start;
+            acquisitions.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+
+        synchronized void release() {
+            owner = null;
+            notifyAll();
+        }
+    }
+}
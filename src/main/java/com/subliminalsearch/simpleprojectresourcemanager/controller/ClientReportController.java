@@ -1,6 +1,7 @@
 package com.subliminalsearch.simpleprojectresourcemanager.controller;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.ClientReportService;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
@@ -170,9 +171,7 @@ public class ClientReportController {
         
         statusLabel.textProperty().bind(task.messageProperty());
         
-        Thread thread = new Thread(task);
-        thread.setDaemon(true);
-        thread.start();
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "client-report", task);
     }
     
     @FXML
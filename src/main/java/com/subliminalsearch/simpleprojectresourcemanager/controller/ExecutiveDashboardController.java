@@ -24,6 +24,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.prefs.Preferences;
 
 public class ExecutiveDashboardController {
@@ -57,7 +58,11 @@ public class ExecutiveDashboardController {
     @FXML private Label refreshIntervalLabel;
     
     private SchedulingService schedulingService;
+    private UtilizationService utilizationService;
     private Timeline autoRefreshTimeline;
+    private final Consumer<ExecutiveMetricsService.ExecutiveMetrics> metricsListener = this::applyExecutiveMetrics;
+    // Last data shown, so pushed executive metrics can be merged into it
+    private DashboardData currentData;
     private Preferences prefs = Preferences.userNodeForPackage(ExecutiveDashboardController.class);
     
     // Settings from preferences
@@ -83,9 +88,47 @@ public class ExecutiveDashboardController {
         }
     }
     
+    private synchronized UtilizationService getUtilizationService() {
+        if (utilizationService == null) {
+            utilizationService = new UtilizationService(schedulingService.getDataSource());
+        }
+        return utilizationService;
+    }
+    
     public void setSchedulingService(SchedulingService service) {
         this.schedulingService = service;
         refreshDashboard();
+        // Active projects, conflicts and risks follow the shared background refresh
+        service.getExecutiveMetricsService().subscribe(metricsListener);
+    }
+    
+    /**
+     * Stops the auto-refresh and leaves the executive metrics refresh; call when the window closes.
+     */
+    public void shutdown() {
+        if (autoRefreshTimeline != null) {
+            autoRefreshTimeline.stop();
+        }
+        if (schedulingService != null) {
+            schedulingService.getExecutiveMetricsService().unsubscribe(metricsListener);
+        }
+    }
+    
+    private void applyExecutiveMetrics(ExecutiveMetricsService.ExecutiveMetrics metrics) {
+        if (currentData == null) {
+            return;
+        }
+        applyExecutiveMetrics(currentData, metrics);
+        generateAlerts(currentData);
+        updateKPICards(currentData);
+        updateAlerts(currentData);
+    }
+    
+    private static void applyExecutiveMetrics(DashboardData data, ExecutiveMetricsService.ExecutiveMetrics metrics) {
+        data.activeProjects = metrics.activeProjects();
+        data.totalResources = metrics.activeResources();
+        data.conflictedAssignments = metrics.conflictedAssignments();
+        data.projectsAtRisk = metrics.projectsAtRisk().size();
     }
     
     private void loadPreferences() {
@@ -147,7 +190,7 @@ public class ExecutiveDashboardController {
             statusLabel.setText("Refreshing dashboard...");
         }
         
-        new Thread(() -> {
+        BackgroundTasks.getInstance().runOnce(BackgroundTasks.Pool.IO, "executive-dashboard-refresh", () -> {
             try {
                 // Calculate date range
                 LocalDate endDate = LocalDate.now();
@@ -159,6 +202,7 @@ public class ExecutiveDashboardController {
                 
                 // Update UI on JavaFX thread
                 Platform.runLater(() -> {
+                    currentData = data;
                     updateKPICards(data);
                     updateCharts(data);
                     updateAlerts(data);
@@ -181,7 +225,7 @@ public class ExecutiveDashboardController {
                     showAlert("Refresh Error", "Failed to refresh dashboard: " + e.getMessage());
                 });
             }
-        }).start();
+        });
     }
     
     private LocalDate calculateStartDate(String range) {
@@ -223,31 +267,35 @@ public class ExecutiveDashboardController {
         Statement stmt = conn.createStatement();
         PreparedStatement pstmt;
         
-        // Active projects
-        ResultSet rs = stmt.executeQuery("""
-            SELECT COUNT(*) as active_count 
-            FROM projects 
-            WHERE status = 'ACTIVE'
-        """);
-        if (rs.next()) {
-            data.activeProjects = rs.getInt("active_count");
+        // Active projects, conflicts and risks from the shared executive metrics once they have been
+        // computed; until then count active projects here
+        ExecutiveMetricsService.ExecutiveMetrics metrics = schedulingService != null
+            ? schedulingService.getExecutiveMetricsService().getLatest() : null;
+        ResultSet rs;
+        if (metrics != null) {
+            applyExecutiveMetrics(data, metrics);
+        } else {
+            rs = stmt.executeQuery("""
+                SELECT COUNT(*) as active_count 
+                FROM projects 
+                WHERE status = 'ACTIVE'
+            """);
+            if (rs.next()) {
+                data.activeProjects = rs.getInt("active_count");
+            }
         }
         
-        // Resource utilization
-        rs = stmt.executeQuery("""
-            SELECT 
-                COUNT(DISTINCT r.id) as total_resources,
-                COUNT(DISTINCT a.resource_id) as assigned_resources
-            FROM resources r
-            LEFT JOIN assignments a ON r.id = a.resource_id 
-                AND date(a.start_date) <= date('now') 
-                AND date(a.end_date) >= date('now')
-            WHERE r.is_active = 1
-        """);
-        if (rs.next()) {
-            int total = rs.getInt("total_resources");
-            int assigned = rs.getInt("assigned_resources");
-            data.resourceUtilization = total > 0 ? (assigned * 100.0 / total) : 0;
+        // Resource utilization: average over the active resources for the selected period, from the
+        // same engine as the timeline and the utilization report. Filled in once the service is set.
+        if (schedulingService != null) {
+            List<Resource> activeResources = schedulingService.getActiveResources();
+            UtilizationSettings settings = getUtilizationService().getSettings();
+            double totalUtilization = 0;
+            for (Resource resource : activeResources) {
+                totalUtilization += schedulingService.getResourceUtilization(resource.getId(), startDate, endDate, settings)
+                    .utilizationPercent();
+            }
+            data.resourceUtilization = activeResources.isEmpty() ? 0 : totalUtilization / activeResources.size();
         }
         
         // On-time delivery
@@ -342,6 +390,15 @@ public class ExecutiveDashboardController {
                 data.onTimeDelivery, onTimeTarget));
         }
         
+        if (data.conflictedAssignments > 0) {
+            data.alerts.add(String.format("⚠ %d conflicting assignments in the next %d days",
+                data.conflictedAssignments, ExecutiveMetricsService.LOOKAHEAD_DAYS));
+        }
+        
+        if (data.projectsAtRisk > 0) {
+            data.alerts.add(String.format("⚠ %d projects showing risk indicators", data.projectsAtRisk));
+        }
+        
         // Check for upcoming deadlines
         if (data.activeProjects > 10) {
             data.alerts.add(String.format("ℹ High number of active projects: %d", 
@@ -431,9 +488,7 @@ public class ExecutiveDashboardController {
     }
     
     @FXML private void closeDashboard() {
-        if (autoRefreshTimeline != null) {
-            autoRefreshTimeline.stop();
-        }
+        shutdown();
         // Close the dashboard window
     }
     
@@ -493,6 +548,8 @@ public class ExecutiveDashboardController {
         int completedProjects;
         int totalResources = 31; // From our data
         double resourceUtilization;
+        int conflictedAssignments;
+        int projectsAtRisk;
         double onTimeDelivery;
         double completionRate;
         Map<String, Integer> volumeTrend = new LinkedHashMap<>();
@@ -30,12 +30,14 @@ import com.subliminalsearch.simpleprojectresourcemanager.model.ProjectStatus;
 import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
 import com.subliminalsearch.simpleprojectresourcemanager.model.TechnicianUnavailability;
 import com.subliminalsearch.simpleprojectresourcemanager.model.UnavailabilityType;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.FinancialService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.POSpreadsheetImportService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SoftDeleteService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.UndoManager;
 import com.subliminalsearch.simpleprojectresourcemanager.service.UtilizationService;
+import com.subliminalsearch.simpleprojectresourcemanager.service.WorkingCalendar;
 import com.subliminalsearch.simpleprojectresourcemanager.util.DatabaseMonitor;
 import com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils;
 import com.subliminalsearch.simpleprojectresourcemanager.view.ExecutiveCommandCenter;
@@ -50,6 +52,7 @@ import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskReposito
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -85,6 +88,9 @@ public class MainController implements Initializable {
     private final DatabaseConfig databaseConfig;
     private UtilizationService utilizationService;
     private com.subliminalsearch.simpleprojectresourcemanager.service.SharePointSyncService sharePointSyncService;
+    
+    // Background timeline loading; a newer load cancels the one before it (runLatest "timeline-refresh")
+    private Task<TimelineSnapshot> currentRefreshTask;
 
     // FXML Components - Main Layout
     @FXML private BorderPane mainBorderPane;
@@ -93,6 +99,7 @@ public class MainController implements Initializable {
     @FXML private VBox filterPanel;
     @FXML private BorderPane timelineContainer;
     @FXML private Label statusLabel;
+    @FXML private Label backgroundTasksLabel;
     
     // FXML Components - Menu Items
     @FXML private MenuItem menuNewProject;
@@ -176,6 +183,7 @@ public class MainController implements Initializable {
     @FXML private RadioMenuItem menuWeekView;
     @FXML private RadioMenuItem menuDayView;
     @FXML private CheckMenuItem menuShowAllResources;
+    @FXML private CheckMenuItem menuFastTimelineRendering;
     @FXML private MenuItem menuRefresh;
     @FXML private MenuItem menuQuickRevenueBudget;
     @FXML private MenuItem menuQuickResourceUtil;
@@ -260,7 +268,11 @@ public class MainController implements Initializable {
         // Temporarily disabled auto-start due to Azure module access issues
         // sharePointSyncService.startSync();
         logger.info("SharePoint sync service initialized (auto-start disabled)");
-        
+
+        // Deliver queued email in the background, including anything left from the last session
+        com.subliminalsearch.simpleprojectresourcemanager.service.EmailOutbox
+            .getInstance(schedulingService.getDataSource()).start();
+
         // Initialize method binding
         initialize();
         
@@ -271,6 +283,7 @@ public class MainController implements Initializable {
         
         refreshData();
         updateStatusLabel();
+        setupBackgroundTasksIndicator();
         
         // Add keyboard shortcut for SharePoint sync (Ctrl+Shift+S)
         setupKeyboardShortcuts();
@@ -561,6 +574,11 @@ public class MainController implements Initializable {
             // Toggle changed - refresh timeline with all resources or filtered resources
             refreshData();
         });
+        menuFastTimelineRendering.setOnAction(e -> {
+            // Canvas renderer paints only the visible rows and days
+            timelineView.setRenderMode(menuFastTimelineRendering.isSelected()
+                ? TimelineView.RenderMode.CANVAS : TimelineView.RenderMode.NODES);
+        });
         menuNewAssignment.setOnAction(e -> createNewAssignment());
         menuMultiAssignment.setOnAction(e -> createMultiResourceAssignment());
         menuProjectManagers.setOnAction(e -> manageProjectManagers());
@@ -913,13 +931,13 @@ public class MainController implements Initializable {
             DialogUtils.initializeDialog(dialog, timelineView.getScene() != null ? timelineView.getScene().getWindow() : null);
             
             logger.info("Showing SHOP auto-assign dialog");
-            Optional<Integer> result = dialog.showAndWait();
+            Optional<SchedulingService.ShopAutoAssignResult> result = dialog.showAndWait();
             
-            if (result.isPresent() && result.get() > 0) {
-                int count = result.get();
+            if (result.isPresent() && result.get().getAssignmentsCreated() > 0) {
+                int count = result.get().getAssignmentsCreated();
                 logger.info("SHOP auto-assign completed with {} assignments", count);
                 refreshData();
-                showInfoAlert("Success", String.format("Created %d SHOP assignments successfully.", count));
+                showInfoAlert("Success", result.get().getSummary());
             } else {
                 logger.info("SHOP auto-assign cancelled or no assignments created");
             }
@@ -1427,7 +1445,7 @@ public class MainController implements Initializable {
         if (result.isPresent()) {
             try {
                 TechnicianUnavailability unavailability = result.get();
-                schedulingService.createUnavailability(
+                TechnicianUnavailability created = schedulingService.createUnavailability(
                     unavailability.getResourceId(),
                     unavailability.getType(),
                     unavailability.getStartDate(),
@@ -1439,7 +1457,9 @@ public class MainController implements Initializable {
                     "Resource marked as unavailable from " + unavailability.getStartDate() + 
                     " to " + unavailability.getEndDate());
                 
-                refreshData();
+                if (!timelineView.applyUnavailabilityChange(created)) {
+                    refreshData();
+                }
             } catch (Exception e) {
                 logger.error("Failed to create resource unavailability", e);
                 showErrorAlert("Failed to mark resource as unavailable", e.getMessage());
@@ -1569,7 +1589,12 @@ public class MainController implements Initializable {
                     // This is an update to an existing assignment
                     schedulingService.updateAssignment(resultAssignment);
                     logger.info("Updated assignment: {}", assignment.getId());
-                    refreshData();
+                    // Re-layout only the affected row(s) when the change fits the current view
+                    if (timelineView.applyAssignmentChange(resultAssignment)) {
+                        updateStatusLabel();
+                    } else {
+                        refreshData();
+                    }
                     showInfoAlert("Success", "Assignment updated successfully.");
                 }
                 
@@ -1605,7 +1630,11 @@ public class MainController implements Initializable {
                 System.out.println("\n*** AFTER ASSIGNMENT DELETE ***");
                 DatabaseMonitor.printDatabaseStats();
                 
-                refreshData();
+                if (timelineView.applyAssignmentRemoval(assignment.getId())) {
+                    updateStatusLabel();
+                } else {
+                    refreshData();
+                }
                 
                 // Show toast notification with undo option
                 String description = String.format("%s → %s", 
@@ -2073,6 +2102,7 @@ public class MainController implements Initializable {
                         }
                     }
                     logger.info("Successfully saved holiday to database: {} on {}", holiday.getName(), holiday.getDate());
+                    WorkingCalendar.getInstance().invalidate();
                     
                     // Verify it was saved
                     String verifySql = "SELECT COUNT(*) FROM company_holidays WHERE id = ?";
@@ -2115,6 +2145,7 @@ public class MainController implements Initializable {
                 int rows = stmt.executeUpdate();
                 if (rows > 0) {
                     logger.info("Updated holiday in database: {} on {}", holiday.getName(), holiday.getDate());
+                    WorkingCalendar.getInstance().invalidate();
                     return true;
                 }
             }
@@ -2136,6 +2167,7 @@ public class MainController implements Initializable {
                 int rows = stmt.executeUpdate();
                 if (rows > 0) {
                     logger.info("Deleted holiday from database: {} on {}", holiday.getName(), holiday.getDate());
+                    WorkingCalendar.getInstance().invalidate();
                     return true;
                 }
             }
@@ -2377,210 +2409,270 @@ public class MainController implements Initializable {
     }
 
     // Data Methods
+    
+    /**
+     * Reloads the timeline. The filter values and date range are captured on the FX thread, the
+     * database queries run on the refresh executor, and the result is published to the timeline as
+     * one snapshot. A newer refresh cancels any load still in flight so rapid navigation only
+     * applies the last requested range.
+     */
     private void refreshData() {
-        try {
-            // Don't update filters here - they should be updated separately to avoid circular calls
-            
-            // Get date range based on view mode
-            LocalDate startDate;
-            LocalDate endDate;
-            
-            String viewMode = viewModeCombo.getValue();
-            switch (viewMode) {
-                case "Week":
-                    // Show the week containing the current display date
-                    startDate = currentDisplayDate.minusDays(currentDisplayDate.getDayOfWeek().getValue() - 1);
-                    endDate = startDate.plusDays(6);
-                    break;
-                case "Month":
-                    // Show 6 weeks (42 days) starting from the beginning of the month
-                    // This provides visibility into the next month for assignments that span boundaries
-                    startDate = currentDisplayDate.withDayOfMonth(1);
-                    // Always show 42 days (6 weeks) to maintain consistent grid size
-                    endDate = startDate.plusDays(41);  // 42 days total (6 weeks)
-                    break;
-                case "Quarter":
-                    // Show the quarter containing the current display date
-                    int quarter = (currentDisplayDate.getMonthValue() - 1) / 3;
-                    startDate = currentDisplayDate.withMonth(quarter * 3 + 1).withDayOfMonth(1);
-                    endDate = startDate.plusMonths(3).minusDays(1);
-                    break;
-                default:
-                    // Default to month view
-                    startDate = currentDisplayDate.withDayOfMonth(1);
-                    endDate = startDate.plusMonths(1).minusDays(1);
-                    break;
+        // Don't update filters here - they should be updated separately to avoid circular calls
+        
+        // Get date range based on view mode
+        LocalDate startDate;
+        LocalDate endDate;
+        
+        String viewMode = viewModeCombo.getValue();
+        switch (viewMode) {
+            case "Week":
+                // Show the week containing the current display date
+                startDate = currentDisplayDate.minusDays(currentDisplayDate.getDayOfWeek().getValue() - 1);
+                endDate = startDate.plusDays(6);
+                break;
+            case "Month":
+                // Show 6 weeks (42 days) starting from the beginning of the month
+                // This provides visibility into the next month for assignments that span boundaries
+                startDate = currentDisplayDate.withDayOfMonth(1);
+                // Always show 42 days (6 weeks) to maintain consistent grid size
+                endDate = startDate.plusDays(41);  // 42 days total (6 weeks)
+                break;
+            case "Quarter":
+                // Show the quarter containing the current display date
+                int quarter = (currentDisplayDate.getMonthValue() - 1) / 3;
+                startDate = currentDisplayDate.withMonth(quarter * 3 + 1).withDayOfMonth(1);
+                endDate = startDate.plusMonths(3).minusDays(1);
+                break;
+            default:
+                // Default to month view
+                startDate = currentDisplayDate.withDayOfMonth(1);
+                endDate = startDate.plusMonths(1).minusDays(1);
+                break;
+        }
+        
+        TimelineLoadRequest request = new TimelineLoadRequest(startDate, endDate,
+            projectManagerFilter.getValue(), projectFilter.getValue(), statusFilter.getValue(),
+            resourceFilter.getValue(), menuShowAllResources.isSelected());
+        
+        Task<TimelineSnapshot> task = new Task<>() {
+            @Override
+            protected TimelineSnapshot call() {
+                return loadTimelineSnapshot(request, this::isCancelled);
             }
-            
-            // Update timeline date range
-            timelineView.setDateRange(startDate, endDate);
-            
-            // Get all data for the timeline
-            // Get ALL projects (not just those in date range) so we have project info for all assignments
-            List<Project> allProjects = schedulingService.getAllProjects();
-            List<Project> projects = schedulingService.getProjectsByDateRange(startDate, endDate);
-            List<Resource> resources = schedulingService.getAllResources();
-            // Get assignments by date range - these should be shown regardless of project dates
-            List<Assignment> assignments = schedulingService.getAssignmentsByDateRange(startDate, endDate);
-            
-            logger.info("Data loaded - Projects: {}, Resources: {}, Assignments: {} for dates {} to {}", 
-                projects.size(), resources.size(), assignments.size(), startDate, endDate);
-            
-            // Apply filters
-            // Filter by Project Manager
-            String selectedManager = projectManagerFilter.getValue();
-            if (selectedManager != null && !selectedManager.equals("All Managers")) {
-                // Get the selected project manager
-                ProjectManager selectedPM = schedulingService.getAllProjectManagers().stream()
-                    .filter(pm -> pm.getName().equals(selectedManager))
-                    .findFirst()
-                    .orElse(null);
-                
-                if (selectedPM != null) {
-                    projects = projects.stream()
-                        .filter(p -> p.getProjectManagerId() != null && 
-                                    p.getProjectManagerId().equals(selectedPM.getId()))
-                        .toList();
-                } else {
-                    // Handle unassigned case
-                    projects = projects.stream()
-                        .filter(p -> p.getProjectManagerId() == null)
-                        .toList();
-                }
+        };
+        task.setOnSucceeded(e -> {
+            if (task == currentRefreshTask) {
+                applyTimelineSnapshot(task.getValue());
             }
-            
-            // Filter by specific project
-            String selectedProject = projectFilter.getValue();
-            if (selectedProject != null && !selectedProject.equals("All Projects")) {
-                projects = projects.stream()
-                    .filter(p -> p.getProjectId().equals(selectedProject))
-                    .toList();
+        });
+        task.setOnFailed(e -> {
+            if (task == currentRefreshTask) {
+                Throwable error = task.getException();
+                logger.error("Error refreshing data", error);
+                showErrorAlert("Data Error", "Failed to refresh data: " + (error != null ? error.getMessage() : "unknown error"));
             }
+        });
+        currentRefreshTask = task;
+        statusLabel.setText("Loading timeline...");
+        // Supersedes any load that has not been published yet
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "timeline-refresh", task);
+    }
+    
+    /**
+     * Runs every timeline query for one refresh. Called on the background pool; must not touch UI controls.
+     */
+    private TimelineSnapshot loadTimelineSnapshot(TimelineLoadRequest request, java.util.function.BooleanSupplier cancelled) {
+        long startTime = System.currentTimeMillis();
+        
+        // Get all data for the timeline
+        // Get ALL projects (not just those in date range) so we have project info for all assignments
+        List<Project> allProjects = schedulingService.getAllProjects();
+        List<Project> projects = schedulingService.getProjectsByDateRange(request.startDate, request.endDate);
+        List<Resource> resources = schedulingService.getAllResources();
+        // Get assignments by date range - these should be shown regardless of project dates
+        List<Assignment> assignments = schedulingService.getAssignmentsByDateRange(request.startDate, request.endDate);
+        // Project managers are needed by the manager filter and the timeline; load them once
+        List<ProjectManager> projectManagers = schedulingService.getAllProjectManagers();
+        checkCancelled(cancelled);
+        
+        logger.info("Data loaded - Projects: {}, Resources: {}, Assignments: {} for dates {} to {}", 
+            projects.size(), resources.size(), assignments.size(), request.startDate, request.endDate);
+        
+        // Apply filters
+        // Filter by Project Manager
+        String selectedManager = request.selectedManager;
+        if (selectedManager != null && !selectedManager.equals("All Managers")) {
+            // Get the selected project manager
+            ProjectManager selectedPM = projectManagers.stream()
+                .filter(pm -> pm.getName().equals(selectedManager))
+                .findFirst()
+                .orElse(null);
             
-            // Filter by status
-            ProjectStatus statusFilterValue = statusFilter.getValue();
-            if (statusFilterValue != null) {
+            if (selectedPM != null) {
                 projects = projects.stream()
-                    .filter(p -> p.getStatus() == statusFilterValue)
-                    .toList();
-            }
-            
-            // Filter assignments based on filters, but include ALL assignments in date range
-            // Only filter by project if a specific project or manager filter is applied
-            boolean hasProjectFilter = selectedProject != null && !selectedProject.equals("All Projects");
-            boolean hasManagerFilter = selectedManager != null && !selectedManager.equals("All Managers");
-            boolean hasStatusFilter = statusFilterValue != null;
-            
-            if (hasProjectFilter || hasManagerFilter || hasStatusFilter) {
-                // Only filter assignments if specific project filters are applied
-                List<Long> filteredProjectIds = projects.stream().map(Project::getId).toList();
-                logger.info("Filtering assignments by project IDs: {}", filteredProjectIds);
-                int originalAssignmentCount = assignments.size();
-                assignments = assignments.stream()
-                    .filter(a -> filteredProjectIds.contains(a.getProjectId()))
+                    .filter(p -> p.getProjectManagerId() != null && 
+                                p.getProjectManagerId().equals(selectedPM.getId()))
                     .toList();
-                logger.info("Filtered assignments from {} to {} based on project filters", originalAssignmentCount, assignments.size());
             } else {
-                // No project filters applied - show ALL assignments in date range
-                // But we need all projects for display purposes
-                projects = allProjects;
-                logger.info("No project filters applied - showing all {} assignments in date range", assignments.size());
-            }
-            
-            // Filter resources to only show those with assignments in filtered projects
-            String selectedResource = resourceFilter.getValue();
-            if (selectedResource != null && !selectedResource.equals("All Resources")) {
-                resources = resources.stream()
-                    .filter(r -> r.getName().equals(selectedResource))
-                    .toList();
-                
-                // Further filter assignments by selected resource
-                List<Long> resourceIds = resources.stream().map(Resource::getId).toList();
-                assignments = assignments.stream()
-                    .filter(a -> resourceIds.contains(a.getResourceId()))
+                // Handle unassigned case
+                projects = projects.stream()
+                    .filter(p -> p.getProjectManagerId() == null)
                     .toList();
-            } else {
-                // Check if we should show all resources or only those with assignments
-                if (!menuShowAllResources.isSelected()) {
-                    // Show only resources that have assignments in the filtered projects
-                    Set<Long> resourceIdsWithAssignments = assignments.stream()
-                        .map(Assignment::getResourceId)
-                        .collect(java.util.stream.Collectors.toSet());
-                    logger.info("Resource IDs with assignments: {}", resourceIdsWithAssignments);
-                    int originalResourceCount = resources.size();
-                    resources = resources.stream()
-                        .filter(r -> resourceIdsWithAssignments.contains(r.getId()))
-                        .toList();
-                    logger.info("Filtered resources from {} to {} based on assignments", originalResourceCount, resources.size());
-                } else {
-                    // Show all active resources (including internal full-time employees without assignments)
-                    resources = resources.stream()
-                        .filter(Resource::isActive)
-                        .toList();
-                    logger.info("Showing all {} active resources (Show All Resources enabled)", resources.size());
-                }
             }
-            
-            // Update timeline data
-            // Fetch unavailabilities for the date range
-            List<TechnicianUnavailability> unavailabilities = schedulingService.getUnavailabilitiesInDateRange(startDate, endDate);
-            
-            // Fetch company holidays from database
-            List<CompanyHoliday> holidays = loadCompanyHolidaysFromDatabase(startDate, endDate);
-            
-            // Fetch project managers
-            List<ProjectManager> projectManagers = schedulingService.getAllProjectManagers();
-            
-            // When filtering, use the already filtered projects list
-            // If project filters are applied, use the filtered list, otherwise use all projects
-            List<Project> projectsToDisplay;
-            if (hasProjectFilter || hasManagerFilter || hasStatusFilter) {
-                // Use the filtered projects when project-based filters are active
-                projectsToDisplay = projects;
-                logger.info("Using filtered projects list ({} projects) due to active filters", projectsToDisplay.size());
-            } else if (selectedResource != null && !selectedResource.equals("All Resources")) {
-                // When filtering by a specific resource only, show projects that have assignments for that resource
-                Set<Long> projectIdsWithAssignments = assignments.stream()
-                    .map(Assignment::getProjectId)
+        }
+        
+        // Filter by specific project
+        String selectedProject = request.selectedProject;
+        if (selectedProject != null && !selectedProject.equals("All Projects")) {
+            projects = projects.stream()
+                .filter(p -> p.getProjectId().equals(selectedProject))
+                .toList();
+        }
+        
+        // Filter by status
+        ProjectStatus statusFilterValue = request.statusFilter;
+        if (statusFilterValue != null) {
+            projects = projects.stream()
+                .filter(p -> p.getStatus() == statusFilterValue)
+                .toList();
+        }
+        
+        // Filter assignments based on filters, but include ALL assignments in date range
+        // Only filter by project if a specific project or manager filter is applied
+        boolean hasProjectFilter = selectedProject != null && !selectedProject.equals("All Projects");
+        boolean hasManagerFilter = selectedManager != null && !selectedManager.equals("All Managers");
+        boolean hasStatusFilter = statusFilterValue != null;
+        
+        if (hasProjectFilter || hasManagerFilter || hasStatusFilter) {
+            // Only filter assignments if specific project filters are applied
+            List<Long> filteredProjectIds = projects.stream().map(Project::getId).toList();
+            logger.info("Filtering assignments by project IDs: {}", filteredProjectIds);
+            int originalAssignmentCount = assignments.size();
+            assignments = assignments.stream()
+                .filter(a -> filteredProjectIds.contains(a.getProjectId()))
+                .toList();
+            logger.info("Filtered assignments from {} to {} based on project filters", originalAssignmentCount, assignments.size());
+        } else {
+            // No project filters applied - show ALL assignments in date range
+            // But we need all projects for display purposes
+            projects = allProjects;
+            logger.info("No project filters applied - showing all {} assignments in date range", assignments.size());
+        }
+        
+        // Filter resources to only show those with assignments in filtered projects
+        String selectedResource = request.selectedResource;
+        if (selectedResource != null && !selectedResource.equals("All Resources")) {
+            resources = resources.stream()
+                .filter(r -> r.getName().equals(selectedResource))
+                .toList();
+            
+            // Further filter assignments by selected resource
+            List<Long> resourceIds = resources.stream().map(Resource::getId).toList();
+            assignments = assignments.stream()
+                .filter(a -> resourceIds.contains(a.getResourceId()))
+                .toList();
+        } else {
+            // Check if we should show all resources or only those with assignments
+            if (!request.showAllResources) {
+                // Show only resources that have assignments in the filtered projects
+                Set<Long> resourceIdsWithAssignments = assignments.stream()
+                    .map(Assignment::getResourceId)
                     .collect(java.util.stream.Collectors.toSet());
-                
-                projectsToDisplay = allProjects.stream()
-                    .filter(p -> projectIdsWithAssignments.contains(p.getId()))
+                logger.info("Resource IDs with assignments: {}", resourceIdsWithAssignments);
+                int originalResourceCount = resources.size();
+                resources = resources.stream()
+                    .filter(r -> resourceIdsWithAssignments.contains(r.getId()))
                     .toList();
-                logger.info("Filtered projects for resource '{}': {} projects with assignments", 
-                    selectedResource, projectsToDisplay.size());
+                logger.info("Filtered resources from {} to {} based on assignments", originalResourceCount, resources.size());
             } else {
-                // No filters - show all projects
-                projectsToDisplay = allProjects;
-                logger.info("No filters applied - showing all {} projects", projectsToDisplay.size());
+                // Show all active resources (including internal full-time employees without assignments)
+                resources = resources.stream()
+                    .filter(Resource::isActive)
+                    .toList();
+                logger.info("Showing all {} active resources (Show All Resources enabled)", resources.size());
             }
+        }
+        
+        checkCancelled(cancelled);
+        
+        // Update timeline data
+        // Fetch unavailabilities for the date range
+        List<TechnicianUnavailability> unavailabilities = schedulingService.getUnavailabilitiesInDateRange(request.startDate, request.endDate);
+        
+        // Fetch company holidays from database
+        List<CompanyHoliday> holidays = loadCompanyHolidaysFromDatabase(request.startDate, request.endDate);
+        
+        checkCancelled(cancelled);
+        
+        // When filtering, use the already filtered projects list
+        // If project filters are applied, use the filtered list, otherwise use all projects
+        List<Project> projectsToDisplay;
+        if (hasProjectFilter || hasManagerFilter || hasStatusFilter) {
+            // Use the filtered projects when project-based filters are active
+            projectsToDisplay = projects;
+            logger.info("Using filtered projects list ({} projects) due to active filters", projectsToDisplay.size());
+        } else if (selectedResource != null && !selectedResource.equals("All Resources")) {
+            // When filtering by a specific resource only, show projects that have assignments for that resource
+            Set<Long> projectIdsWithAssignments = assignments.stream()
+                .map(Assignment::getProjectId)
+                .collect(java.util.stream.Collectors.toSet());
             
-            logger.info("Setting timeline data - Projects: {}, Resources: {}, Assignments: {}, Unavailabilities: {}, Holidays: {}", 
-                projectsToDisplay.size(), resources.size(), assignments.size(), unavailabilities.size(), holidays.size());
-            timelineView.getProjects().setAll(projectsToDisplay);
-            timelineView.getResources().setAll(resources);
-            timelineView.getAssignments().setAll(assignments);
-            timelineView.getUnavailabilities().setAll(unavailabilities);
-            timelineView.getCompanyHolidays().setAll(holidays);
-            timelineView.setProjectManagers(projectManagers);
-            
-            // Detect and highlight conflicts
-            Set<Long> conflicts = schedulingService.detectAllConflicts(startDate, endDate);
-            timelineView.updateConflicts(conflicts);
-            
-            updateStatusLabel();
-            
-        } catch (Exception e) {
-            logger.error("Error refreshing data", e);
-            showErrorAlert("Data Error", "Failed to refresh data: " + e.getMessage());
+            projectsToDisplay = allProjects.stream()
+                .filter(p -> projectIdsWithAssignments.contains(p.getId()))
+                .toList();
+            logger.info("Filtered projects for resource '{}': {} projects with assignments", 
+                selectedResource, projectsToDisplay.size());
+        } else {
+            // No filters - show all projects
+            projectsToDisplay = allProjects;
+            logger.info("No filters applied - showing all {} projects", projectsToDisplay.size());
         }
+        
+        checkCancelled(cancelled);
+        
+        // Detect conflicts in the same pass
+        Set<Long> conflicts = schedulingService.detectAllConflicts(request.startDate, request.endDate);
+        
+        TimelineSnapshot snapshot = new TimelineSnapshot(request.startDate, request.endDate, projectsToDisplay,
+            resources, assignments, unavailabilities, holidays, projectManagers, conflicts,
+            schedulingService.getProjectCount(), schedulingService.getResourceCount(), schedulingService.getAssignmentCount());
+        
+        logger.info("Timeline data loaded in {} ms - Projects: {}, Resources: {}, Assignments: {}, Unavailabilities: {}, Holidays: {}",
+            System.currentTimeMillis() - startTime, projectsToDisplay.size(), resources.size(), assignments.size(),
+            unavailabilities.size(), holidays.size());
+        return snapshot;
     }
-
-    private void updateStatusLabel() {
-        int projectCount = schedulingService.getProjectCount();
-        int resourceCount = schedulingService.getResourceCount();
-        int assignmentCount = schedulingService.getAssignmentCount();
+    
+    private static void checkCancelled(java.util.function.BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new java.util.concurrent.CancellationException("Timeline load superseded");
+        }
+    }
+    
+    /**
+     * Publishes a loaded snapshot to the timeline. FX thread only.
+     */
+    private void applyTimelineSnapshot(TimelineSnapshot snapshot) {
+        timelineView.setDateRange(snapshot.startDate, snapshot.endDate);
+        timelineView.getProjects().setAll(snapshot.projects);
+        timelineView.getResources().setAll(snapshot.resources);
+        timelineView.getAssignments().setAll(snapshot.assignments);
+        timelineView.getUnavailabilities().setAll(snapshot.unavailabilities);
+        timelineView.getCompanyHolidays().setAll(snapshot.holidays);
+        timelineView.setProjectManagers(snapshot.projectManagers);
         
+        // Highlight conflicts
+        timelineView.updateConflicts(new java.util.HashSet<>(snapshot.conflicts));
+        
+        updateStatusLabel(snapshot.projectCount, snapshot.resourceCount, snapshot.assignmentCount);
+    }
+    
+    private void updateStatusLabel() {
+        updateStatusLabel(schedulingService.getProjectCount(), schedulingService.getResourceCount(),
+            schedulingService.getAssignmentCount());
+    }
+    
+    private void updateStatusLabel(int projectCount, int resourceCount, int assignmentCount) {
         int displayingProjects = timelineView != null ? timelineView.getProjects().size() : 0;
         int displayingResources = timelineView != null ? timelineView.getResources().size() : 0;
         int conflictCount = timelineView != null ? timelineView.getConflictedAssignmentIds().size() : 0;
@@ -2603,6 +2695,45 @@ public class MainController implements Initializable {
         }
     }
 
+    private void setupBackgroundTasksIndicator() {
+        if (backgroundTasksLabel == null) {
+            return;
+        }
+        Tooltip tooltip = new Tooltip();
+        backgroundTasksLabel.setTooltip(tooltip);
+        
+        // Polled rather than pushed, so busy pools never flood the FX thread with updates
+        javafx.animation.Timeline poll = new javafx.animation.Timeline(
+            new javafx.animation.KeyFrame(javafx.util.Duration.seconds(1), e -> updateBackgroundTasksIndicator(tooltip)));
+        poll.setCycleCount(javafx.animation.Animation.INDEFINITE);
+        poll.play();
+    }
+    
+    private void updateBackgroundTasksIndicator(Tooltip tooltip) {
+        BackgroundTasks backgroundTasks = BackgroundTasks.getInstance();
+        List<BackgroundTasks.RunningTask> runningTasks = backgroundTasks.getRunningTasks();
+        List<BackgroundTasks.PoolStatus> pools = backgroundTasks.getStatus();
+        int queued = pools.stream().mapToInt(BackgroundTasks.PoolStatus::queued).sum();
+        
+        if (runningTasks.isEmpty() && queued == 0) {
+            backgroundTasksLabel.setText("");
+            backgroundTasksLabel.setStyle("");
+        } else {
+            backgroundTasksLabel.setText(String.format("⏳ %d running, %d queued", runningTasks.size(), queued));
+            boolean slow = !runningTasks.isEmpty() && runningTasks.get(0).elapsedMillis() > 10_000;
+            backgroundTasksLabel.setStyle(slow ? "-fx-text-fill: #e65100;" : "");
+        }
+        
+        StringBuilder details = new StringBuilder();
+        for (BackgroundTasks.RunningTask task : runningTasks) {
+            details.append(String.format("%s (%s) - %.1f s%n", task.name(), task.pool(), task.elapsedMillis() / 1000.0));
+        }
+        for (BackgroundTasks.PoolStatus pool : pools) {
+            details.append(pool.getSummary()).append(System.lineSeparator());
+        }
+        tooltip.setText(details.toString().trim());
+    }
+
     // Utility Methods
     private void showInfoAlert(String title, String message) {
         javafx.stage.Window owner = timelineView != null && timelineView.getScene() != null ? 
@@ -2826,9 +2957,11 @@ public class MainController implements Initializable {
                     loading.show();
                     
                     // Run in background thread
-                    new Thread(() -> {
+                    BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "load-garden-data", () -> {
                         try {
                             com.subliminalsearch.simpleprojectresourcemanager.util.DataManager.clearAndLoadGardenData();
+                            // The loader writes through its own connection pool
+                            schedulingService.invalidateCaches();
                             
                             Platform.runLater(() -> {
                                 loading.close();
@@ -2847,7 +2980,7 @@ public class MainController implements Initializable {
                                 showErrorAlert("Error", "Failed to load demo data: " + ex.getMessage());
                             });
                         }
-                    }).start();
+                    });
                     
                 } catch (Exception e) {
                     showErrorAlert("Error", "Failed to load demo data: " + e.getMessage());
@@ -2925,6 +3058,7 @@ public class MainController implements Initializable {
             dashboardStage.getScene().getStylesheets().add(
                 getClass().getResource("/css/executive-dashboard.css").toExternalForm());
             
+            dashboardStage.setOnHidden(e -> dashboardController.shutdown());
             dashboardStage.show();
             logger.info("Opened Executive Dashboard");
         } catch (Exception e) {
@@ -2951,7 +3085,7 @@ public class MainController implements Initializable {
         try {
             javafx.stage.Window owner = timelineView.getScene() != null ? timelineView.getScene().getWindow() : null;
             com.subliminalsearch.simpleprojectresourcemanager.dialog.DomainLoginConfigDialog dialog = 
-                new com.subliminalsearch.simpleprojectresourcemanager.dialog.DomainLoginConfigDialog(owner, schedulingService.getDataSource());
+                new com.subliminalsearch.simpleprojectresourcemanager.dialog.DomainLoginConfigDialog(owner, schedulingService);
             dialog.showAndWait();
             // Refresh resources after configuration
             refreshData();
@@ -3021,7 +3155,7 @@ public class MainController implements Initializable {
                 }
                 
                 // Run sync in background
-                new Thread(() -> {
+                BackgroundTasks.getInstance().runOnce(BackgroundTasks.Pool.IO, "sharepoint-sync", () -> {
                     try {
                         System.out.println("Sync thread started, creating SimpleSharePointSync with DataSource: " + ds);
                         com.subliminalsearch.simpleprojectresourcemanager.integration.sharepoint.SimpleSharePointSync sync = 
@@ -3044,8 +3178,8 @@ public class MainController implements Initializable {
                             showErrorAlert("Sync Failed", "SharePoint sync failed: " + e.getMessage());
                         });
                     }
-                }).start();
-                System.out.println("Thread.start() called");
+                });
+                System.out.println("Sync task submitted");
             } else {
                 System.out.println("User did NOT click OK. Result was: " + result);
             }
@@ -3116,4 +3250,60 @@ public class MainController implements Initializable {
     public TimelineView getTimelineView() {
         return timelineView;
     }
-}
\ No newline at end of file
+    
+    // Filter values captured on the FX thread for one background load
+    private static final class TimelineLoadRequest {
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final String selectedManager;
+        final String selectedProject;
+        final ProjectStatus statusFilter;
+        final String selectedResource;
+        final boolean showAllResources;
+        
+        TimelineLoadRequest(LocalDate startDate, LocalDate endDate, String selectedManager, String selectedProject,
+                            ProjectStatus statusFilter, String selectedResource, boolean showAllResources) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.selectedManager = selectedManager;
+            this.selectedProject = selectedProject;
+            this.statusFilter = statusFilter;
+            this.selectedResource = selectedResource;
+            this.showAllResources = showAllResources;
+        }
+    }
+    
+    // Immutable result of one background load, handed to the FX thread as a unit
+    private static final class TimelineSnapshot {
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final List<Project> projects;
+        final List<Resource> resources;
+        final List<Assignment> assignments;
+        final List<TechnicianUnavailability> unavailabilities;
+        final List<CompanyHoliday> holidays;
+        final List<ProjectManager> projectManagers;
+        final Set<Long> conflicts;
+        final int projectCount;
+        final int resourceCount;
+        final int assignmentCount;
+        
+        TimelineSnapshot(LocalDate startDate, LocalDate endDate, List<Project> projects, List<Resource> resources,
+                         List<Assignment> assignments, List<TechnicianUnavailability> unavailabilities,
+                         List<CompanyHoliday> holidays, List<ProjectManager> projectManagers, Set<Long> conflicts,
+                         int projectCount, int resourceCount, int assignmentCount) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.projects = List.copyOf(projects);
+            this.resources = List.copyOf(resources);
+            this.assignments = List.copyOf(assignments);
+            this.unavailabilities = List.copyOf(unavailabilities);
+            this.holidays = List.copyOf(holidays);
+            this.projectManagers = List.copyOf(projectManagers);
+            this.conflicts = Set.copyOf(conflicts);
+            this.projectCount = projectCount;
+            this.resourceCount = resourceCount;
+            this.assignmentCount = assignmentCount;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -21,6 +22,7 @@ import java.util.logging.Logger;
 public class DomainLoginConfigDialog extends Dialog<Void> {
     private static final Logger logger = Logger.getLogger(DomainLoginConfigDialog.class.getName());
     
+    private final SchedulingService schedulingService;
     private final ResourceRepository resourceRepository;
     private TableView<Resource> tableView;
     private ObservableList<Resource> resources;
@@ -28,8 +30,9 @@ public class DomainLoginConfigDialog extends Dialog<Void> {
     private Label statusLabel;
     private int modifiedCount = 0;
     
-    public DomainLoginConfigDialog(Window owner, javax.sql.DataSource dataSource) {
-        this.resourceRepository = new ResourceRepository(dataSource);
+    public DomainLoginConfigDialog(Window owner, SchedulingService schedulingService) {
+        this.schedulingService = schedulingService;
+        this.resourceRepository = schedulingService.getResourceRepository();
         
         setTitle("Configure Domain Logins for SharePoint Integration");
         setHeaderText("Map resources to their Active Directory domain logins for SharePoint synchronization");
@@ -348,6 +351,8 @@ public class DomainLoginConfigDialog extends Dialog<Void> {
             try {
                 // Delete from database
                 resourceRepository.delete(resource.getId());
+                // Bypasses the service's checks on purpose, so its indexes must reload
+                schedulingService.invalidateConflictIndex();
                 
                 // Remove from list
                 resources.remove(resource);
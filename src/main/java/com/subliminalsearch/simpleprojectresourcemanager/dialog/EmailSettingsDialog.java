@@ -1,6 +1,7 @@
 package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.EmailConfiguration;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.EmailService;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -307,7 +308,7 @@ public class EmailSettingsDialog extends Dialog<EmailConfiguration> {
                 testButton.setDisable(false);
             });
             
-            new Thread(testTask).start();
+            BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "email-connection-test", testTask);
         });
     }
 }
\ No newline at end of file
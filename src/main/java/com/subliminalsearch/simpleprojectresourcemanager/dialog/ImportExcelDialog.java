@@ -1,5 +1,6 @@
 package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
 import com.subliminalsearch.simpleprojectresourcemanager.util.TechScheduleImporter;
 import javafx.application.Platform;
@@ -193,7 +194,11 @@ public class ImportExcelDialog extends Dialog<ButtonType> {
                 updateMessage("Reading Excel file...");
                 
                 TechScheduleImporter importer = new TechScheduleImporter(schedulingService);
-                TechScheduleImporter.ImportResult result = importer.importExcelFile(filePath);
+                TechScheduleImporter.ImportResult result = importer.importExcelFile(filePath,
+                    TechScheduleImporter.ImportMode.STREAMING, (message, done, total) -> {
+                        updateMessage(message);
+                        updateProgress(done, total);
+                    });
                 
                 return result;
             }
@@ -202,6 +207,8 @@ public class ImportExcelDialog extends Dialog<ButtonType> {
         importTask.messageProperty().addListener((obs, oldMsg, newMsg) -> {
             Platform.runLater(() -> statusLabel.setText(newMsg));
         });
+        importTask.progressProperty().addListener((obs, oldProgress, newProgress) ->
+            progressBar.setProgress(newProgress.doubleValue()));
         
         importTask.setOnSucceeded(e -> {
             TechScheduleImporter.ImportResult result = importTask.getValue();
@@ -239,9 +246,7 @@ public class ImportExcelDialog extends Dialog<ButtonType> {
         });
         
         // Start import
-        Thread importThread = new Thread(importTask);
-        importThread.setDaemon(true);
-        importThread.start();
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "excel-schedule-import", importTask);
     }
     
     private void showAlert(String title, String content) {
@@ -1,5 +1,6 @@
 package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.POSpreadsheetImportService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.POSpreadsheetImportService.PORecord;
 import com.subliminalsearch.simpleprojectresourcemanager.service.POSpreadsheetImportService.ImportResult;
@@ -335,9 +336,7 @@ public class POImportDialog extends Stage {
             statusLabel.setTextFill(Color.RED);
         });
         
-        Thread importThread = new Thread(importTask);
-        importThread.setDaemon(true);
-        importThread.start();
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "po-import", importTask);
     }
     
     private void importFromFile() {
@@ -1,6 +1,7 @@
 package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
 import com.subliminalsearch.simpleprojectresourcemanager.integration.sharepoint.SharePointConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
@@ -227,7 +228,7 @@ public class SharePointConfigDialog extends Dialog<SharePointConfig> {
         
         // In a real implementation, this would test the SharePoint connection
         // For now, we'll simulate a test
-        new Thread(() -> {
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "sharepoint-connection-test", () -> {
             try {
                 Thread.sleep(2000); // Simulate connection test
                 
@@ -254,7 +255,7 @@ public class SharePointConfigDialog extends Dialog<SharePointConfig> {
                     testConnectionButton.setDisable(false);
                 });
             }
-        }).start();
+        });
     }
     
     private void createSharePointLists() {
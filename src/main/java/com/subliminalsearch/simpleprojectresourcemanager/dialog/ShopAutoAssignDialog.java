@@ -2,8 +2,13 @@ package com.subliminalsearch.simpleprojectresourcemanager.dialog;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
 import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
+import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService.ShopAutoAssignResult;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -19,7 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ShopAutoAssignDialog extends Dialog<Integer> {
+public class ShopAutoAssignDialog extends Dialog<ShopAutoAssignResult> {
     private static final Logger logger = LoggerFactory.getLogger(ShopAutoAssignDialog.class);
     
     private final ComboBox<Project> shopProjectCombo;
@@ -32,6 +37,8 @@ public class ShopAutoAssignDialog extends Dialog<Integer> {
     private final CheckBox deleteExistingCheckBox;
     private final Button previewButton;
     private final Label previewLabel;
+    private final ProgressBar progressBar;
+    private final Label statusLabel;
     
     private final SchedulingService schedulingService;
     private final List<Project> shopProjects;
@@ -128,6 +135,12 @@ public class ShopAutoAssignDialog extends Dialog<Integer> {
         previewLabel = new Label("");
         previewLabel.setStyle("-fx-font-weight: bold;");
         
+        // Progress of a running auto-assignment
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(400);
+        progressBar.setVisible(false);
+        statusLabel = new Label("");
+        
         // Create layout
         GridPane grid = new GridPane();
         grid.setHgap(10);
@@ -177,6 +190,12 @@ public class ShopAutoAssignDialog extends Dialog<Integer> {
         infoLabel.setWrapText(true);
         infoLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 11px;");
         grid.add(infoLabel, 0, row, 2, 1);
+        row++;
+        
+        // Progress
+        VBox progressBox = new VBox(5);
+        progressBox.getChildren().addAll(progressBar, statusLabel);
+        grid.add(progressBox, 0, row, 2, 1);
         
         // Set up dialog
         getDialogPane().setContent(grid);
@@ -195,47 +214,14 @@ public class ShopAutoAssignDialog extends Dialog<Integer> {
             (javafx.collections.ListChangeListener<Resource>) c -> validateInputs()
         );
         
-        // Result converter
-        setResultConverter(dialogButton -> {
-            if (dialogButton == ButtonType.OK) {
-                Project shopProject = shopProjectCombo.getValue();
-                List<Resource> selectedResources = new ArrayList<>(resourceListView.getSelectionModel().getSelectedItems());
-                
-                logger.info("Dialog OK pressed - Project: {}, Start: {}, End: {}, Resources selected: {}, Delete existing: {}, Skip holidays: {}, Exclude weekends: {}", 
-                    shopProject != null ? shopProject.getProjectId() : "null",
-                    startDatePicker.getValue(),
-                    endDatePicker.getValue(),
-                    selectedResources.size(),
-                    deleteExistingCheckBox.isSelected(),
-                    skipHolidaysCheckBox.isSelected(),
-                    excludeWeekendsCheckBox.isSelected());
-                
-                try {
-                    // Delete existing SHOP assignments if requested
-                    if (deleteExistingCheckBox.isSelected()) {
-                        int deletedCount = schedulingService.deleteShopAssignments(shopProject, selectedResources);
-                        logger.info("Deleted {} existing SHOP assignments", deletedCount);
-                    }
-                    
-                    int count = schedulingService.autoAssignShopTime(
-                        shopProject,
-                        startDatePicker.getValue(),
-                        endDatePicker.getValue(),
-                        selectedResources,
-                        skipHolidaysCheckBox.isSelected(),
-                        excludeWeekendsCheckBox.isSelected()
-                    );
-                    logger.info("Auto-assign completed with {} assignments created", count);
-                    return count;
-                } catch (Exception e) {
-                    logger.error("Failed to auto-assign SHOP time", e);
-                    showError("Failed to create assignments: " + e.getMessage());
-                    return 0;
-                }
-            }
-            return null;
+        // Run the assignment in the background and keep the dialog open to show progress
+        okButton.addEventFilter(ActionEvent.ACTION, event -> {
+            event.consume();
+            runAutoAssign();
         });
         
+        setResultConverter(dialogButton -> null);
+        
         // Select first SHOP project if available
         if (!shopProjects.isEmpty()) {
             shopProjectCombo.setValue(shopProjects.get(0));
@@ -249,6 +235,65 @@ public class ShopAutoAssignDialog extends Dialog<Integer> {
         }
     }
     
+    private void runAutoAssign() {
+        Project shopProject = shopProjectCombo.getValue();
+        List<Resource> selectedResources = new ArrayList<>(resourceListView.getSelectionModel().getSelectedItems());
+        LocalDate startDate = startDatePicker.getValue();
+        LocalDate endDate = endDatePicker.getValue();
+        boolean deleteExisting = deleteExistingCheckBox.isSelected();
+        boolean skipHolidays = skipHolidaysCheckBox.isSelected();
+        boolean excludeWeekends = excludeWeekendsCheckBox.isSelected();
+        
+        logger.info("Dialog OK pressed - Project: {}, Start: {}, End: {}, Resources selected: {}, Delete existing: {}, Skip holidays: {}, Exclude weekends: {}", 
+            shopProject != null ? shopProject.getProjectId() : "null",
+            startDate, endDate, selectedResources.size(), deleteExisting, skipHolidays, excludeWeekends);
+        
+        Task<ShopAutoAssignResult> assignTask = new Task<>() {
+            @Override
+            protected ShopAutoAssignResult call() throws Exception {
+                // Delete existing SHOP assignments if requested
+                if (deleteExisting) {
+                    updateMessage("Deleting existing SHOP assignments...");
+                    int deletedCount = schedulingService.deleteShopAssignments(shopProject, selectedResources);
+                    logger.info("Deleted {} existing SHOP assignments", deletedCount);
+                }
+                
+                return schedulingService.autoAssignShopTime(shopProject, startDate, endDate, selectedResources,
+                    skipHolidays, excludeWeekends, (message, done, total) -> {
+                        updateMessage(message);
+                        updateProgress(done, total);
+                    });
+            }
+        };
+        
+        statusLabel.textProperty().bind(assignTask.messageProperty());
+        progressBar.progressProperty().bind(assignTask.progressProperty());
+        progressBar.setVisible(true);
+        getDialogPane().lookupButton(ButtonType.OK).setDisable(true);
+        getDialogPane().lookupButton(ButtonType.CANCEL).setDisable(true);
+        
+        assignTask.setOnSucceeded(e -> {
+            ShopAutoAssignResult result = assignTask.getValue();
+            logger.info("Auto-assign completed with {} assignments created", result.getAssignmentsCreated());
+            setResult(result);
+            close();
+        });
+        
+        assignTask.setOnFailed(e -> {
+            Throwable error = assignTask.getException();
+            logger.error("Failed to auto-assign SHOP time", error);
+            statusLabel.textProperty().unbind();
+            progressBar.progressProperty().unbind();
+            statusLabel.setText("");
+            progressBar.setVisible(false);
+            getDialogPane().lookupButton(ButtonType.CANCEL).setDisable(false);
+            validateInputs();
+            Platform.runLater(() -> showError("Failed to create assignments: " + error.getMessage()));
+        });
+        
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "shop-auto-assign", assignTask);
+    }
+    
     private void validateInputs() {
         Button okButton = (Button) getDialogPane().lookupButton(ButtonType.OK);
         boolean valid = shopProjectCombo.getValue() != null &&
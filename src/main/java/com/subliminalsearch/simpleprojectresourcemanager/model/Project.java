@@ -54,6 +54,40 @@ public class Project {
         this.endDate = endDate;
     }
 
+    // Copy constructor for handing out cached projects
+    public Project(Project other) {
+        this.id = other.id;
+        this.projectId = other.projectId;
+        this.description = other.description;
+        this.projectManagerId = other.projectManagerId;
+        this.startDate = other.startDate;
+        this.endDate = other.endDate;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.contactName = other.contactName;
+        this.contactEmail = other.contactEmail;
+        this.contactPhone = other.contactPhone;
+        this.contactCompany = other.contactCompany;
+        this.contactRole = other.contactRole;
+        this.contactAddress = other.contactAddress;
+        this.clientProjectId = other.clientProjectId;
+        this.clientProjectDescription = other.clientProjectDescription;
+        this.sendReports = other.sendReports;
+        this.reportFrequency = other.reportFrequency;
+        this.lastReportSent = other.lastReportSent;
+        this.budgetAmount = other.budgetAmount;
+        this.actualCost = other.actualCost;
+        this.revenueAmount = other.revenueAmount;
+        this.currencyCode = other.currencyCode;
+        this.laborCost = other.laborCost;
+        this.materialCost = other.materialCost;
+        this.travelCost = other.travelCost;
+        this.otherCost = other.otherCost;
+        this.costNotes = other.costNotes;
+        this.isTravel = other.isTravel;
+    }
+
     public Long getId() {
         return id;
     }
@@ -27,6 +27,18 @@ public class ProjectManager {
         this.department = department;
     }
 
+    // Copy constructor for handing out cached managers
+    public ProjectManager(ProjectManager other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.department = other.department;
+        this.active = other.active;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
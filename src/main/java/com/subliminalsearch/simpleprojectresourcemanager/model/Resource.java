@@ -29,6 +29,20 @@ public class Resource {
         this.resourceType = resourceType;
     }
 
+    // Copy constructor; the resource type is shared, it is reference data that is never edited through a resource
+    public Resource(Resource other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.resourceType = other.resourceType;
+        this.isActive = other.isActive;
+        this.createdAt = other.createdAt;
+        this.ldapUsername = other.ldapUsername;
+        this.department = other.department;
+        this.skillLevel = other.skillLevel;
+    }
+
     public Long getId() {
         return id;
     }
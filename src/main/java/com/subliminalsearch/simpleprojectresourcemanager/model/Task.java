@@ -161,6 +161,51 @@ public class Task {
         this.projectId = projectId;
     }
     
+    // Copy constructor; every field is immutable, so a field-by-field copy is independent of the original
+    public Task(Task other) {
+        this.id = other.id;
+        this.projectId = other.projectId;
+        this.phaseId = other.phaseId;
+        this.parentTaskId = other.parentTaskId;
+        this.taskCode = other.taskCode;
+        this.title = other.title;
+        this.description = other.description;
+        this.taskType = other.taskType;
+        this.priority = other.priority;
+        this.status = other.status;
+        this.progressPercentage = other.progressPercentage;
+        this.plannedStart = other.plannedStart;
+        this.plannedEnd = other.plannedEnd;
+        this.actualStart = other.actualStart;
+        this.actualEnd = other.actualEnd;
+        this.estimatedHours = other.estimatedHours;
+        this.actualHours = other.actualHours;
+        this.assignedTo = other.assignedTo;
+        this.assignedBy = other.assignedBy;
+        this.reviewerId = other.reviewerId;
+        this.location = other.location;
+        this.equipmentRequired = other.equipmentRequired;
+        this.safetyRequirements = other.safetyRequirements;
+        this.siteAccessNotes = other.siteAccessNotes;
+        this.riskLevel = other.riskLevel;
+        this.riskNotes = other.riskNotes;
+        this.ms365TaskId = other.ms365TaskId;
+        this.ms365SyncStatus = other.ms365SyncStatus;
+        this.ms365LastSync = other.ms365LastSync;
+        this.createdBy = other.createdBy;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.completedAt = other.completedAt;
+        this.completedBy = other.completedBy;
+        this.assignedToName = other.assignedToName;
+        this.projectName = other.projectName;
+        this.phaseName = other.phaseName;
+        this.subtaskCount = other.subtaskCount;
+        this.completedSubtaskCount = other.completedSubtaskCount;
+        this.hasBlockers = other.hasBlockers;
+        this.isOnCriticalPath = other.isOnCriticalPath;
+    }
+    
     // Helper methods
     public boolean isOverdue() {
         if (status == TaskStatus.COMPLETED || status == TaskStatus.CANCELLED) {
@@ -9,6 +9,7 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,8 +35,8 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
             
             stmt.setLong(1, assignment.getProjectId());
             stmt.setLong(2, assignment.getResourceId());
-            stmt.setString(3, assignment.getStartDate().toString() + " 00:00:00.000");
-            stmt.setString(4, assignment.getEndDate().toString() + " 00:00:00.000");
+            stmt.setString(3, assignment.getStartDate().toString());
+            stmt.setString(4, assignment.getEndDate().toString());
             stmt.setInt(5, assignment.getTravelOutDays());
             stmt.setInt(6, assignment.getTravelBackDays());
             stmt.setBoolean(7, assignment.isOverride());
@@ -69,6 +70,94 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
         }
     }
 
+    /**
+     * Inserts all assignments inside a single transaction and fills in their IDs, which each
+     * insert returns. Either every row is written or, on failure, none are.
+     */
+    public List<Assignment> saveAll(List<Assignment> assignments) {
+        if (assignments.isEmpty()) {
+            return assignments;
+        }
+        
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                long[] ids = insertAll(conn, assignments);
+                conn.commit();
+                
+                for (int i = 0; i < assignments.size(); i++) {
+                    assignments.get(i).setId(ids[i]);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            
+            logger.info("Created {} assignments in one transaction", assignments.size());
+            return assignments;
+            
+        } catch (SQLException e) {
+            logger.error("Failed to save {} assignments in batch", assignments.size(), e);
+            throw new RuntimeException("Failed to save assignments", e);
+        }
+    }
+
+    /**
+     * Inserts the assignments on the caller's connection, as part of its transaction, and returns
+     * their new IDs in list order for the caller to fill in once the transaction has committed.
+     */
+    public long[] insertAll(Connection conn, List<Assignment> assignments) throws SQLException {
+        String sql = """
+            INSERT INTO assignments (project_id, resource_id, start_date, end_date, 
+                                   travel_out_days, travel_back_days, is_override, 
+                                   override_reason, notes, location, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            RETURNING id
+            """;
+        
+        long[] ids = new long[assignments.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < assignments.size(); i++) {
+                Assignment assignment = assignments.get(i);
+                stmt.setLong(1, assignment.getProjectId());
+                stmt.setLong(2, assignment.getResourceId());
+                stmt.setString(3, assignment.getStartDate().toString());
+                stmt.setString(4, assignment.getEndDate().toString());
+                stmt.setInt(5, assignment.getTravelOutDays());
+                stmt.setInt(6, assignment.getTravelBackDays());
+                stmt.setBoolean(7, assignment.isOverride());
+                stmt.setString(8, assignment.getOverrideReason());
+                stmt.setString(9, assignment.getNotes());
+                stmt.setString(10, assignment.getLocation());
+                stmt.setTimestamp(11, Timestamp.valueOf(assignment.getCreatedAt()));
+                stmt.setTimestamp(12, Timestamp.valueOf(assignment.getUpdatedAt()));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Creating assignments failed, no ID obtained.");
+                    }
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Deletes the assignments on the caller's connection, as part of its transaction. IDs that
+     * are already gone are skipped.
+     */
+    public void deleteAll(Connection conn, Collection<Long> ids) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM assignments WHERE id = ?")) {
+            for (Long id : ids) {
+                stmt.setLong(1, id);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
     @Override
     public void update(Assignment assignment) {
         String sql = """
@@ -86,8 +175,8 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
             
             stmt.setLong(1, assignment.getProjectId());
             stmt.setLong(2, assignment.getResourceId());
-            stmt.setString(3, assignment.getStartDate().toString() + " 00:00:00.000");
-            stmt.setString(4, assignment.getEndDate().toString() + " 00:00:00.000");
+            stmt.setString(3, assignment.getStartDate().toString());
+            stmt.setString(4, assignment.getEndDate().toString());
             stmt.setInt(5, assignment.getTravelOutDays());
             stmt.setInt(6, assignment.getTravelBackDays());
             stmt.setBoolean(7, assignment.isOverride());
@@ -193,7 +282,7 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
     public List<Assignment> findByDateRange(LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT * FROM assignments 
-            WHERE date(start_date) <= date(?) AND date(end_date) >= date(?)
+            WHERE start_date <= ? AND end_date >= ?
             ORDER BY start_date ASC
             """;
         
@@ -214,9 +303,7 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
         String sql = """
             SELECT * FROM assignments 
             WHERE resource_id = ? 
-            AND ((date(start_date) <= date(?) AND date(end_date) >= date(?)) 
-                 OR (date(start_date) <= date(?) AND date(end_date) >= date(?))
-                 OR (date(start_date) >= date(?) AND date(start_date) <= date(?)))
+            AND start_date <= ? AND end_date >= ?
             ORDER BY start_date ASC
             """;
         
@@ -226,10 +313,6 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
             stmt.setLong(1, resourceId);
             stmt.setString(2, endDate.toString());
             stmt.setString(3, startDate.toString());
-            stmt.setString(4, startDate.toString());
-            stmt.setString(5, startDate.toString());
-            stmt.setString(6, startDate.toString());
-            stmt.setString(7, endDate.toString());
             return executeQuery(stmt);
             
         } catch (SQLException e) {
@@ -308,8 +391,8 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
         assignment.setId(rs.getLong("id"));
         assignment.setProjectId(rs.getLong("project_id"));
         assignment.setResourceId(rs.getLong("resource_id"));
-        assignment.setStartDate(rs.getDate("start_date").toLocalDate());
-        assignment.setEndDate(rs.getDate("end_date").toLocalDate());
+        assignment.setStartDate(parseDate(rs.getString("start_date")));
+        assignment.setEndDate(parseDate(rs.getString("end_date")));
         assignment.setTravelOutDays(rs.getInt("travel_out_days"));
         assignment.setTravelBackDays(rs.getInt("travel_back_days"));
         assignment.setOverride(rs.getBoolean("is_override"));
@@ -327,4 +410,10 @@ public class AssignmentRepository implements BaseRepository<Assignment, Long> {
         assignment.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
         return assignment;
     }
+    
+    // Dates are stored as "yyyy-MM-dd"; rows written before the format was normalized may
+    // still carry a " 00:00:00.000" suffix until DatabaseConfig rewrites them on startup
+    private static LocalDate parseDate(String value) {
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
 }
\ No newline at end of file
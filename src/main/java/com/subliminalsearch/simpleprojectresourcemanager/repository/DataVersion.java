@@ -0,0 +1,88 @@
+package com.subliminalsearch.simpleprojectresourcemanager.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide stamp that changes whenever the database may have changed, for caches of results
+ * computed from many tables (reports). Two reads that return the same value saw the same data.
+ *
+ * Bumped by the tuned data source whenever a write is committed, which covers every repository
+ * and service on any pool, and by {@link EntityCache#invalidate()} for writes the
+ * repositories report themselves. A plain (legacy) pool cannot see its writes, so
+ * {@link #untracked()} makes every read return a new value and such caches never hit.
+ *
+ * Writes are also counted per table, for caches of a few tables ({@link #current(Collection)}).
+ * A write whose table could not be told from its SQL counts against every table. Writes that only
+ * touch bookkeeping tables (the mail queue, import run history, sync log) leave {@link #current()}
+ * alone, so queueing or sending a report by mail does not invalidate the cached reports.
+ */
+public final class DataVersion {
+
+    private static final AtomicLong version = new AtomicLong();
+    private static final Map<String, AtomicLong> tableWrites = new ConcurrentHashMap<>();
+    private static final AtomicLong untargetedWrites = new AtomicLong();
+    private static final Set<String> BOOKKEEPING_TABLES = Set.of("email_outbox", "po_import_runs", "sharepoint_sync_log");
+    private static volatile boolean tracked = true;
+
+    private DataVersion() {
+    }
+
+    public static long current() {
+        return tracked ? version.get() : version.incrementAndGet();
+    }
+
+    /**
+     * Number of writes so far that may have changed one of the tables (lower-case names).
+     */
+    public static long current(Collection<String> tables) {
+        if (!tracked) {
+            return version.incrementAndGet();
+        }
+        long count = untargetedWrites.get();
+        for (String table : tables) {
+            AtomicLong writes = tableWrites.get(table);
+            if (writes != null) {
+                count += writes.get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A write that may have changed any table.
+     */
+    public static void bump() {
+        written(List.of(), true);
+    }
+
+    public static void bump(String table) {
+        written(List.of(table), false);
+    }
+
+    /**
+     * Records a finished write to the given tables, plus every other table if untargeted.
+     */
+    public static void written(Collection<String> tables, boolean untargeted) {
+        for (String table : tables) {
+            tableWrites.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+        }
+        if (untargeted) {
+            untargetedWrites.incrementAndGet();
+        }
+        if (untargeted || !BOOKKEEPING_TABLES.containsAll(tables)) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called when a pool that does not report its writes is in use.
+     */
+    public static void untracked() {
+        tracked = false;
+    }
+}
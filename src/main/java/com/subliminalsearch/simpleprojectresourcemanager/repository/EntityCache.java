@@ -0,0 +1,197 @@
+package com.subliminalsearch.simpleprojectresourcemanager.repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of a whole reference table (projects, resources, project managers).
+ *
+ * The first lookup loads every row in the repository's findAll order; id and business-key lookups
+ * are then answered from maps built alongside the list. A snapshot remembers the
+ * {@link DataVersion} of the tables it was read from, so a write through any pool (views with a
+ * DatabaseConfig of their own, services running raw SQL) makes the next lookup reload. The
+ * repository's write methods also call {@link #invalidate()}. On a legacy pool, whose writes are
+ * not counted, every lookup reloads. Callers always get copies, so editing a returned object
+ * never changes the cached one.
+ *
+ * One cache exists per data source and table, so every repository instance on the same pool
+ * shares it. Keyed by the pool itself, so a database recreated at the same path starts empty.
+ */
+public class EntityCache<T> {
+
+    private static final Map<DataSource, Map<String, EntityCache<?>>> CACHES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String name;
+    private final List<String> tables;
+    private final Function<T, Long> idOf;
+    private final Function<T, String> businessKeyOf;
+    private final UnaryOperator<T> copier;
+
+    private volatile Snapshot<T> snapshot;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private EntityCache(String name, List<String> tables, Function<T, Long> idOf, Function<T, String> businessKeyOf,
+                        UnaryOperator<T> copier) {
+        this.name = name;
+        this.tables = List.copyOf(tables);
+        this.idOf = idOf;
+        this.businessKeyOf = businessKeyOf;
+        this.copier = copier;
+    }
+
+    /**
+     * The cache of the named table on a data source. tables lists every table the rows are read
+     * from (the named one and any it joins); a write to one of them makes the cache reload.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> EntityCache<T> forDataSource(DataSource dataSource, String name, List<String> tables,
+                                            Function<T, Long> idOf, Function<T, String> businessKeyOf,
+                                            UnaryOperator<T> copier) {
+        Map<String, EntityCache<?>> caches = CACHES.computeIfAbsent(dataSource, k -> new ConcurrentHashMap<>());
+        return (EntityCache<T>) caches.computeIfAbsent(name,
+            k -> new EntityCache<>(name, tables, idOf, businessKeyOf, copier));
+    }
+
+    /**
+     * Counters of every cache on a data source, for logging.
+     */
+    public static List<Statistics> statistics(DataSource dataSource) {
+        Map<String, EntityCache<?>> caches = CACHES.get(dataSource);
+        List<Statistics> result = new ArrayList<>();
+        if (caches != null) {
+            caches.values().forEach(cache -> result.add(cache.getStatistics()));
+        }
+        return result;
+    }
+
+    /**
+     * Drop every cache on a data source, for code that writes these tables without going through
+     * the repositories.
+     */
+    public static void invalidateAll(DataSource dataSource) {
+        Map<String, EntityCache<?>> caches = CACHES.get(dataSource);
+        if (caches != null) {
+            caches.values().forEach(EntityCache::invalidate);
+        }
+    }
+
+    public List<T> getAll(Supplier<List<T>> loader) {
+        List<T> rows = snapshot(loader).rows;
+        List<T> copies = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            copies.add(copier.apply(row));
+        }
+        return copies;
+    }
+
+    public List<T> filter(Supplier<List<T>> loader, Predicate<T> predicate) {
+        List<T> matches = new ArrayList<>();
+        for (T row : snapshot(loader).rows) {
+            if (predicate.test(row)) {
+                matches.add(copier.apply(row));
+            }
+        }
+        return matches;
+    }
+
+    public Optional<T> findById(Supplier<List<T>> loader, Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot(loader).byId.get(id)).map(copier);
+    }
+
+    public Optional<T> findByBusinessKey(Supplier<List<T>> loader, String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot(loader).byBusinessKey.get(key)).map(copier);
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+        invalidations.incrementAndGet();
+        DataVersion.bump(name);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(name, hits.get(), misses.get(), loads.get(), invalidations.get());
+    }
+
+    private Snapshot<T> snapshot(Supplier<List<T>> loader) {
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version == DataVersion.current(tables)) {
+            hits.incrementAndGet();
+            return current;
+        }
+        synchronized (this) {
+            // Read before loading, so a write committed during the load makes the next lookup reload
+            long version = DataVersion.current(tables);
+            // Another thread may have loaded while this one waited
+            if (snapshot == null || snapshot.version != version) {
+                misses.incrementAndGet();
+                loads.incrementAndGet();
+                snapshot = new Snapshot<>(loader.get(), version, idOf, businessKeyOf);
+            } else {
+                hits.incrementAndGet();
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Snapshot<T> {
+        private final List<T> rows;
+        private final long version;
+        private final Map<Long, T> byId;
+        private final Map<String, T> byBusinessKey;
+
+        private Snapshot(List<T> rows, long version, Function<T, Long> idOf, Function<T, String> businessKeyOf) {
+            this.rows = List.copyOf(rows);
+            this.version = version;
+            this.byId = new HashMap<>(rows.size() * 2);
+            this.byBusinessKey = new HashMap<>(rows.size() * 2);
+            for (T row : rows) {
+                byId.put(idOf.apply(row), row);
+                String key = businessKeyOf.apply(row);
+                // Keys are not unique in every schema; keep the lowest id, which is what the
+                // "WHERE key = ?" index lookup this replaces returned first
+                if (key != null) {
+                    byBusinessKey.merge(key, row, (a, b) -> idOf.apply(a) <= idOf.apply(b) ? a : b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cumulative counters since the cache was created. A miss is a lookup that had to load the table.
+     */
+    public record Statistics(String name, long hits, long misses, long loads, long invalidations) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        public String getSummary() {
+            return String.format("%s: hits=%d misses=%d (%.0f%% hit), loads=%d, invalidations=%d",
+                name, hits, misses, hitRate() * 100, loads, invalidations);
+        }
+    }
+}
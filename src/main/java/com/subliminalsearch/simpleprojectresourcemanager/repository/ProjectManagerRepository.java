@@ -14,9 +14,12 @@ import java.util.Optional;
 public class ProjectManagerRepository {
     private static final Logger logger = LoggerFactory.getLogger(ProjectManagerRepository.class);
     private final DataSource dataSource;
+    private final EntityCache<ProjectManager> cache;
 
     public ProjectManagerRepository(DataSource dataSource) {
         this.dataSource = dataSource;
+        this.cache = EntityCache.forDataSource(dataSource, "project_managers", List.of("project_managers"),
+            ProjectManager::getId, ProjectManager::getName, ProjectManager::new);
     }
 
     public ProjectManager create(ProjectManager projectManager) {
@@ -45,6 +48,7 @@ public class ProjectManagerRepository {
                 }
             }
             
+            cache.invalidate();
             logger.debug("Created project manager: {}", projectManager);
             return projectManager;
             
@@ -54,84 +58,38 @@ public class ProjectManagerRepository {
         }
     }
 
+    // Load failures are logged by loadAll; readers keep returning empty results as before
+
     public Optional<ProjectManager> findById(Long id) {
-        String sql = "SELECT * FROM project_managers WHERE id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToProjectManager(rs));
-                }
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Error finding project manager by id: {}", id, e);
+        try {
+            return cache.findById(this::loadAll, id);
+        } catch (RuntimeException e) {
+            return Optional.empty();
         }
-        
-        return Optional.empty();
     }
 
     public Optional<ProjectManager> findByName(String name) {
-        String sql = "SELECT * FROM project_managers WHERE name = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, name);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToProjectManager(rs));
-                }
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Error finding project manager by name: {}", name, e);
+        try {
+            return cache.findByBusinessKey(this::loadAll, name);
+        } catch (RuntimeException e) {
+            return Optional.empty();
         }
-        
-        return Optional.empty();
     }
 
     public List<ProjectManager> findAll() {
-        List<ProjectManager> managers = new ArrayList<>();
-        String sql = "SELECT * FROM project_managers ORDER BY name";
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                managers.add(mapResultSetToProjectManager(rs));
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Error finding all project managers", e);
+        try {
+            return cache.getAll(this::loadAll);
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
         }
-        
-        return managers;
     }
 
     public List<ProjectManager> findAllActive() {
-        List<ProjectManager> managers = new ArrayList<>();
-        String sql = "SELECT * FROM project_managers WHERE active = 1 ORDER BY name";
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                managers.add(mapResultSetToProjectManager(rs));
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Error finding active project managers", e);
+        try {
+            return cache.filter(this::loadAll, ProjectManager::isActive);
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
         }
-        
-        return managers;
     }
 
     public ProjectManager update(ProjectManager projectManager) {
@@ -153,6 +111,7 @@ public class ProjectManagerRepository {
                 throw new SQLException("Updating project manager failed, no rows affected.");
             }
             
+            cache.invalidate();
             logger.debug("Updated project manager: {}", projectManager);
             return projectManager;
             
@@ -181,6 +140,7 @@ public class ProjectManagerRepository {
             if (affectedRows == 0) {
                 logger.warn("No project manager found with id: {}", id);
             } else {
+                cache.invalidate();
                 logger.debug("Deleted project manager with id: {}", id);
             }
             
@@ -190,6 +150,29 @@ public class ProjectManagerRepository {
         }
     }
 
+    public EntityCache.Statistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    private List<ProjectManager> loadAll() {
+        List<ProjectManager> managers = new ArrayList<>();
+        String sql = "SELECT * FROM project_managers ORDER BY name";
+        
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                managers.add(mapResultSetToProjectManager(rs));
+            }
+            return managers;
+            
+        } catch (SQLException e) {
+            logger.error("Error finding all project managers", e);
+            throw new RuntimeException("Failed to load project managers", e);
+        }
+    }
+
     private ProjectManager mapResultSetToProjectManager(ResultSet rs) throws SQLException {
         ProjectManager pm = new ProjectManager();
         pm.setId(rs.getLong("id"));
@@ -18,49 +18,27 @@ import java.util.Optional;
 public class ProjectRepository implements BaseRepository<Project, Long> {
     private static final Logger logger = LoggerFactory.getLogger(ProjectRepository.class);
     private final DataSource dataSource;
+    private final EntityCache<Project> cache;
 
     public ProjectRepository(DataSource dataSource) {
         this.dataSource = dataSource;
+        this.cache = EntityCache.forDataSource(dataSource, "projects", List.of("projects"),
+            Project::getId, Project::getProjectId, Project::new);
     }
 
+    private static final String INSERT_SQL = """
+        INSERT INTO projects (project_id, description, project_manager_id, start_date, end_date, status,
+                            contact_name, contact_email, contact_phone, contact_company, contact_role,
+                            contact_address, send_reports, report_frequency, is_travel, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
     @Override
     public Project save(Project project) {
-        String sql = """
-            INSERT INTO projects (project_id, description, project_manager_id, start_date, end_date, status,
-                                contact_name, contact_email, contact_phone, contact_company, contact_role,
-                                contact_address, send_reports, report_frequency, is_travel, created_at, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-        
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, project.getProjectId());
-            stmt.setString(2, project.getDescription());
-            if (project.getProjectManagerId() != null) {
-                stmt.setLong(3, project.getProjectManagerId());
-            } else {
-                stmt.setNull(3, Types.INTEGER);
-            }
-            stmt.setString(4, project.getStartDate().toString());
-            stmt.setString(5, project.getEndDate().toString());
-            stmt.setString(6, project.getStatus().name());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            // Client contact fields
-            stmt.setString(7, project.getContactName());
-            stmt.setString(8, project.getContactEmail());
-            stmt.setString(9, project.getContactPhone());
-            stmt.setString(10, project.getContactCompany());
-            stmt.setString(11, project.getContactRole());
-            stmt.setString(12, project.getContactAddress());
-            stmt.setInt(13, project.isSendReports() ? 1 : 0);
-            stmt.setString(14, project.getReportFrequency());
-            int travelValue = project.isTravel() ? 1 : 0;
-            logger.info("Creating project {} with travel={}", project.getProjectId(), travelValue);
-            stmt.setInt(15, travelValue);
-            
-            stmt.setTimestamp(16, Timestamp.valueOf(project.getCreatedAt()));
-            stmt.setTimestamp(17, Timestamp.valueOf(project.getUpdatedAt()));
+            bindInsert(stmt, project);
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -75,6 +53,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
                 }
             }
             
+            cache.invalidate();
             logger.info("Created project: {}", project.getProjectId());
             return project;
             
@@ -84,6 +63,92 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
         }
     }
 
+    /**
+     * Inserts all projects inside a single transaction and fills in their IDs, which each insert
+     * returns. Either every row is written or, on failure, none are.
+     */
+    public List<Project> saveAll(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return projects;
+        }
+        
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                long[] ids = insertAll(conn, projects);
+                conn.commit();
+                
+                for (int i = 0; i < projects.size(); i++) {
+                    projects.get(i).setId(ids[i]);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                cache.invalidate();
+            }
+            
+            logger.info("Created {} projects in one transaction", projects.size());
+            return projects;
+            
+        } catch (SQLException e) {
+            logger.error("Failed to save {} projects in batch", projects.size(), e);
+            throw new RuntimeException("Failed to save projects", e);
+        }
+    }
+
+    /**
+     * Inserts the projects on the caller's connection, as part of its transaction, and returns
+     * their new IDs in list order. The caller fills them in once the transaction has committed,
+     * then calls {@link #invalidateCache()}.
+     */
+    public long[] insertAll(Connection conn, List<Project> projects) throws SQLException {
+        long[] ids = new long[projects.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL + "RETURNING id")) {
+            for (int i = 0; i < projects.size(); i++) {
+                bindInsert(stmt, projects.get(i));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Creating projects failed, no ID obtained.");
+                    }
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void bindInsert(PreparedStatement stmt, Project project) throws SQLException {
+        stmt.setString(1, project.getProjectId());
+        stmt.setString(2, project.getDescription());
+        if (project.getProjectManagerId() != null) {
+            stmt.setLong(3, project.getProjectManagerId());
+        } else {
+            stmt.setNull(3, Types.INTEGER);
+        }
+        stmt.setString(4, project.getStartDate().toString());
+        stmt.setString(5, project.getEndDate().toString());
+        stmt.setString(6, project.getStatus().name());
+        
+        // Client contact fields
+        stmt.setString(7, project.getContactName());
+        stmt.setString(8, project.getContactEmail());
+        stmt.setString(9, project.getContactPhone());
+        stmt.setString(10, project.getContactCompany());
+        stmt.setString(11, project.getContactRole());
+        stmt.setString(12, project.getContactAddress());
+        stmt.setInt(13, project.isSendReports() ? 1 : 0);
+        stmt.setString(14, project.getReportFrequency());
+        int travelValue = project.isTravel() ? 1 : 0;
+        logger.info("Creating project {} with travel={}", project.getProjectId(), travelValue);
+        stmt.setInt(15, travelValue);
+        
+        stmt.setTimestamp(16, Timestamp.valueOf(project.getCreatedAt()));
+        stmt.setTimestamp(17, Timestamp.valueOf(project.getUpdatedAt()));
+    }
+
     @Override
     public void update(Project project) {
         // Check if optional columns exist
@@ -185,6 +250,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
                 throw new SQLException("Updating project failed, project not found: " + project.getId());
             }
             
+            cache.invalidate();
             logger.info("Updated project: {} - {} rows affected", project.getProjectId(), affectedRows);
             
             // Immediately verify what was saved
@@ -239,6 +305,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
                 throw new SQLException("Updating project financials failed, project not found: " + project.getId());
             }
             
+            cache.invalidate();
             logger.info("Updated project financials for: {}", project.getProjectId());
             
         } catch (SQLException e) {
@@ -261,6 +328,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
                 throw new SQLException("Deleting project failed, project not found: " + id);
             }
             
+            cache.invalidate();
             logger.info("Deleted project with ID: {}", id);
             
         } catch (SQLException e) {
@@ -271,82 +339,26 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
 
     @Override
     public Optional<Project> findById(Long id) {
-        String sql = "SELECT * FROM projects WHERE id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    // Debug: Check raw travel value before mapping
-                    try {
-                        int rawTravel = rs.getInt("is_travel");
-                        logger.info("findById({}): Raw is_travel value from DB: {}", id, rawTravel);
-                    } catch (Exception e) {
-                        logger.error("findById({}): Error reading is_travel: {}", id, e.getMessage());
-                    }
-                    
-                    Project project = mapResultSetToProject(rs);
-                    logger.info("findById({}): Mapped project travel value: {}", id, project.isTravel());
-                    return Optional.of(project);
-                }
-                return Optional.empty();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find project by ID: {}", id, e);
-            throw new RuntimeException("Failed to find project", e);
-        }
+        return cache.findById(this::loadAll, id);
     }
 
     public Optional<Project> findByProjectId(String projectId) {
-        String sql = "SELECT * FROM projects WHERE project_id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, projectId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToProject(rs));
-                }
-                return Optional.empty();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find project by project ID: {}", projectId, e);
-            throw new RuntimeException("Failed to find project", e);
-        }
+        return cache.findByBusinessKey(this::loadAll, projectId);
     }
 
     @Override
     public List<Project> findAll() {
-        String sql = "SELECT * FROM projects ORDER BY start_date DESC";
-        return executeQuery(sql);
+        return cache.getAll(this::loadAll);
     }
 
     public List<Project> findByStatus(ProjectStatus status) {
-        String sql = "SELECT * FROM projects WHERE status = ? ORDER BY start_date DESC";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, status.name());
-            return executeQuery(stmt);
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find projects by status: {}", status, e);
-            throw new RuntimeException("Failed to find projects", e);
-        }
+        return cache.filter(this::loadAll, project -> project.getStatus() == status);
     }
 
     public List<Project> findByDateRange(LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT * FROM projects 
-            WHERE date(start_date) <= date(?) AND date(end_date) >= date(?)
+            WHERE start_date <= ? AND end_date >= ?
             ORDER BY start_date ASC
             """;
         
@@ -365,39 +377,11 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
 
     @Override
     public boolean existsById(Long id) {
-        String sql = "SELECT 1 FROM projects WHERE id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to check if project exists: {}", id, e);
-            throw new RuntimeException("Failed to check project existence", e);
-        }
+        return cache.findById(this::loadAll, id).isPresent();
     }
 
     public boolean existsByProjectId(String projectId) {
-        String sql = "SELECT 1 FROM projects WHERE project_id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, projectId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to check if project exists: {}", projectId, e);
-            throw new RuntimeException("Failed to check project existence", e);
-        }
+        return cache.findByBusinessKey(this::loadAll, projectId).isPresent();
     }
 
     @Override
@@ -439,6 +423,22 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
         }
     }
 
+    /**
+     * Drop the cached projects, for code that writes the projects table directly.
+     */
+    public void invalidateCache() {
+        cache.invalidate();
+    }
+
+    public EntityCache.Statistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    private List<Project> loadAll() {
+        String sql = "SELECT * FROM projects ORDER BY start_date DESC";
+        return executeQuery(sql);
+    }
+
     private List<Project> executeQuery(String sql) {
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
@@ -539,7 +539,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
             int travelInt = rs.getInt("is_travel");
             boolean travelValue = (travelInt == 1);
             project.setTravel(travelValue);
-            logger.info("Read travel field for project {} (ID: {}): {} (raw: {})", 
+            logger.debug("Read travel field for project {} (ID: {}): {} (raw: {})", 
                 project.getProjectId(), project.getId(), travelValue, travelInt);
             
             // Double-check the value was actually set
@@ -549,7 +549,7 @@ public class ProjectRepository implements BaseRepository<Project, Long> {
             }
         } catch (SQLException e) {
             // Column might not exist in older schemas, default to false
-            logger.info("Could not read is_travel field for project {} - defaulting to false", project.getProjectId());
+            logger.debug("Could not read is_travel field for project {} - defaulting to false", project.getProjectId());
             project.setTravel(false);
         }
         
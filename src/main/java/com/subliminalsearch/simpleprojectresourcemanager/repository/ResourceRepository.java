@@ -16,9 +16,12 @@ import java.util.Optional;
 public class ResourceRepository implements BaseRepository<Resource, Long> {
     private static final Logger logger = LoggerFactory.getLogger(ResourceRepository.class);
     private final DataSource dataSource;
+    private final EntityCache<Resource> cache;
 
     public ResourceRepository(DataSource dataSource) {
         this.dataSource = dataSource;
+        this.cache = EntityCache.forDataSource(dataSource, "resources", List.of("resources", "resource_types"),
+            Resource::getId, Resource::getEmail, Resource::new);
     }
 
     @Override
@@ -51,6 +54,7 @@ public class ResourceRepository implements BaseRepository<Resource, Long> {
                 }
             }
             
+            cache.invalidate();
             logger.info("Created resource: {}", resource.getName());
             return resource;
             
@@ -84,7 +88,10 @@ public class ResourceRepository implements BaseRepository<Resource, Long> {
                 throw new SQLException("Updating resource failed, resource not found: " + resource.getId());
             }
             
+            cache.invalidate();
             logger.info("Updated resource: {}", resource.getName());
+            // Cached task lists carry the assignee name
+            TaskRepository.projectTasksChanged(dataSource, null);
             
         } catch (SQLException e) {
             logger.error("Failed to update resource: {}", resource.getId(), e);
@@ -106,7 +113,9 @@ public class ResourceRepository implements BaseRepository<Resource, Long> {
                 throw new SQLException("Deleting resource failed, resource not found: " + id);
             }
             
+            cache.invalidate();
             logger.info("Deleted resource with ID: {}", id);
+            TaskRepository.projectTasksChanged(dataSource, null);
             
         } catch (SQLException e) {
             logger.error("Failed to delete resource: {}", id, e);
@@ -116,152 +125,30 @@ public class ResourceRepository implements BaseRepository<Resource, Long> {
 
     @Override
     public Optional<Resource> findById(Long id) {
-        String sql = """
-            SELECT r.*, rt.name as type_name, rt.category as type_category
-            FROM resources r
-            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
-            WHERE r.id = ?
-            """;
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToResource(rs));
-                }
-                return Optional.empty();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find resource by ID: {}", id, e);
-            throw new RuntimeException("Failed to find resource", e);
-        }
+        return cache.findById(this::loadAll, id);
     }
 
     @Override
     public List<Resource> findAll() {
-        String sql = """
-            SELECT r.*, rt.name as type_name, rt.category as type_category
-            FROM resources r
-            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
-            ORDER BY r.name ASC
-            """;
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            List<Resource> resources = new ArrayList<>();
-            while (rs.next()) {
-                resources.add(mapResultSetToResource(rs));
-            }
-            return resources;
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find all resources", e);
-            throw new RuntimeException("Failed to find resources", e);
-        }
+        return cache.getAll(this::loadAll);
     }
 
     public List<Resource> findByCategory(ResourceCategory category) {
-        String sql = """
-            SELECT r.*, rt.name as type_name, rt.category as type_category
-            FROM resources r
-            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
-            WHERE rt.category = ?
-            ORDER BY r.name ASC
-            """;
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, category.name());
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                List<Resource> resources = new ArrayList<>();
-                while (rs.next()) {
-                    resources.add(mapResultSetToResource(rs));
-                }
-                return resources;
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find resources by category: {}", category, e);
-            throw new RuntimeException("Failed to find resources", e);
-        }
+        return cache.filter(this::loadAll, resource ->
+            resource.getResourceType() != null && resource.getResourceType().getCategory() == category);
     }
 
     public List<Resource> findActiveResources() {
-        String sql = """
-            SELECT r.*, rt.name as type_name, rt.category as type_category
-            FROM resources r
-            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
-            WHERE r.is_active = true
-            ORDER BY r.name ASC
-            """;
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            List<Resource> resources = new ArrayList<>();
-            while (rs.next()) {
-                resources.add(mapResultSetToResource(rs));
-            }
-            return resources;
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find active resources", e);
-            throw new RuntimeException("Failed to find active resources", e);
-        }
+        return cache.filter(this::loadAll, Resource::isActive);
     }
 
     public Optional<Resource> findByEmail(String email) {
-        String sql = """
-            SELECT r.*, rt.name as type_name, rt.category as type_category
-            FROM resources r
-            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
-            WHERE r.email = ?
-            """;
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, email);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToResource(rs));
-                }
-                return Optional.empty();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to find resource by email: {}", email, e);
-            throw new RuntimeException("Failed to find resource", e);
-        }
+        return cache.findByBusinessKey(this::loadAll, email);
     }
 
     @Override
     public boolean existsById(Long id) {
-        String sql = "SELECT 1 FROM resources WHERE id = ?";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-            
-        } catch (SQLException e) {
-            logger.error("Failed to check if resource exists: {}", id, e);
-            throw new RuntimeException("Failed to check resource existence", e);
-        }
+        return cache.findById(this::loadAll, id).isPresent();
     }
 
     @Override
@@ -283,6 +170,41 @@ public class ResourceRepository implements BaseRepository<Resource, Long> {
         }
     }
 
+    /**
+     * Drop the cached resources, for code that writes the resources table directly.
+     */
+    public void invalidateCache() {
+        cache.invalidate();
+    }
+
+    public EntityCache.Statistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    private List<Resource> loadAll() {
+        String sql = """
+            SELECT r.*, rt.name as type_name, rt.category as type_category
+            FROM resources r
+            LEFT JOIN resource_types rt ON r.resource_type_id = rt.id
+            ORDER BY r.name ASC
+            """;
+        
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            List<Resource> resources = new ArrayList<>();
+            while (rs.next()) {
+                resources.add(mapResultSetToResource(rs));
+            }
+            return resources;
+            
+        } catch (SQLException e) {
+            logger.error("Failed to find all resources", e);
+            throw new RuntimeException("Failed to find resources", e);
+        }
+    }
+
     private Resource mapResultSetToResource(ResultSet rs) throws SQLException {
         Resource resource = new Resource();
         resource.setId(rs.getLong("id"));
@@ -46,6 +46,8 @@ public class ResourceUnavailabilityRepository {
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_unavailability_resource_dates " +
+                "ON resource_unavailability(resource_id, start_date, end_date)");
             logger.info("Resource unavailability table ready");
         } catch (SQLException e) {
             logger.error("Failed to create resource_unavailability table", e);
@@ -207,7 +209,7 @@ public class ResourceUnavailabilityRepository {
     public List<TechnicianUnavailability> findByDateRange(LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT * FROM resource_unavailability 
-            WHERE date(start_date) <= date(?) AND date(end_date) >= date(?)
+            WHERE start_date <= ? AND end_date >= ?
             ORDER BY start_date
             """;
         
@@ -228,8 +230,8 @@ public class ResourceUnavailabilityRepository {
         String sql = """
             SELECT * FROM resource_unavailability 
             WHERE resource_id = ? 
-            AND date(start_date) <= date(?) 
-            AND date(end_date) >= date(?)
+            AND start_date <= ? 
+            AND end_date >= ?
             ORDER BY start_date
             """;
         
@@ -2,15 +2,25 @@ package com.subliminalsearch.simpleprojectresourcemanager.repository;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency;
 import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency.DependencyType;
+import com.subliminalsearch.simpleprojectresourcemanager.util.DependencyReachabilityIndex;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TaskDependencyRepository {
     
+    // Cycle-check graphs per data source and project, shared by every repository on the same pool.
+    // Keyed by the pool itself so a database recreated at the same path never sees stale graphs.
+    private static final Map<DataSource, Map<Long, DependencyReachabilityIndex>> REACHABILITY_INDEXES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    
     private final DataSource dataSource;
     
     public TaskDependencyRepository(DataSource dataSource) {
@@ -68,6 +78,7 @@ public class TaskDependencyRepository {
                 }
             }
             
+            dependencyAdded(dataSource, dependency.getPredecessorId(), dependency.getSuccessorId());
             return dependency;
         } catch (SQLException e) {
             throw new RuntimeException("Failed to save task dependency", e);
@@ -102,6 +113,7 @@ public class TaskDependencyRepository {
             
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            dependenciesRemoved(dataSource, null);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete task dependency", e);
         }
@@ -116,6 +128,7 @@ public class TaskDependencyRepository {
             stmt.setLong(1, taskId);
             stmt.setLong(2, taskId);
             stmt.executeUpdate();
+            dependenciesRemoved(dataSource, taskId);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete task dependencies", e);
         }
@@ -212,31 +225,110 @@ public class TaskDependencyRepository {
         return dependencies;
     }
     
+    /**
+     * Whether adding predecessor -> successor would create a cycle. Answered from the
+     * project's in-memory reachability index; only the first check in a project queries the
+     * database, to load that index.
+     */
     public boolean hasCyclicDependency(Long predecessorId, Long successorId) {
-        // Check if adding this dependency would create a cycle
         // Start from successor and see if we can reach predecessor
-        return canReachTask(successorId, predecessorId, new ArrayList<>());
+        if (predecessorId.equals(successorId)) {
+            return true;
+        }
+        return reachabilityIndexFor(successorId).wouldCreateCycle(predecessorId, successorId);
     }
     
-    private boolean canReachTask(Long fromTaskId, Long toTaskId, List<Long> visited) {
-        if (fromTaskId.equals(toTaskId)) {
-            return true;
+    private DependencyReachabilityIndex reachabilityIndexFor(Long taskId) {
+        Map<Long, DependencyReachabilityIndex> indexes = indexesFor(dataSource);
+        for (DependencyReachabilityIndex index : indexes.values()) {
+            if (index.containsNode(taskId)) {
+                return index;
+            }
         }
+        Long projectId = findProjectIdOfTask(taskId);
+        if (projectId == null) {
+            return new DependencyReachabilityIndex();
+        }
+        return indexes.computeIfAbsent(projectId, this::loadReachabilityIndex);
+    }
+    
+    private Long findProjectIdOfTask(Long taskId) {
+        String sql = "SELECT project_id FROM tasks WHERE id = ?";
         
-        if (visited.contains(fromTaskId)) {
-            return false;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, taskId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find project of task", e);
         }
+    }
+    
+    // Every task of the project as a node, plus every dependency out of those tasks
+    private DependencyReachabilityIndex loadReachabilityIndex(Long projectId) {
+        String sql = """
+            SELECT t.id, td.successor_id
+            FROM tasks t
+            LEFT JOIN task_dependencies td ON td.predecessor_id = t.id
+            WHERE t.project_id = ?
+            """;
         
-        visited.add(fromTaskId);
+        DependencyReachabilityIndex index = new DependencyReachabilityIndex();
         
-        List<TaskDependency> successors = findSuccessors(fromTaskId);
-        for (TaskDependency dep : successors) {
-            if (canReachTask(dep.getSuccessorId(), toTaskId, visited)) {
-                return true;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, projectId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long taskId = rs.getLong(1);
+                    long successorId = rs.getLong(2);
+                    if (rs.wasNull()) {
+                        index.addNode(taskId);
+                    } else {
+                        index.addEdge(taskId, successorId);
+                    }
+                }
             }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load task dependency graph", e);
         }
         
-        return false;
+        return index;
+    }
+    
+    private static Map<Long, DependencyReachabilityIndex> indexesFor(DataSource dataSource) {
+        return REACHABILITY_INDEXES.computeIfAbsent(dataSource, k -> new ConcurrentHashMap<>());
+    }
+    
+    /**
+     * Patch the loaded reachability indexes after a dependency is inserted.
+     */
+    static void dependencyAdded(DataSource dataSource, Long predecessorId, Long successorId) {
+        for (DependencyReachabilityIndex index : indexesFor(dataSource).values()) {
+            // A task created after the index was loaded is not a node yet, so match either end
+            if (index.containsNode(predecessorId) || index.containsNode(successorId)) {
+                index.addEdge(predecessorId, successorId);
+            }
+        }
+    }
+    
+    /**
+     * Drop the loaded reachability indexes that may hold removed dependencies: those containing
+     * the task, or all of them when only the dependency id is known. They reload on next check.
+     */
+    static void dependenciesRemoved(DataSource dataSource, Long taskId) {
+        Map<Long, DependencyReachabilityIndex> indexes = indexesFor(dataSource);
+        if (taskId == null) {
+            indexes.clear();
+        } else {
+            indexes.values().removeIf(index -> index.containsNode(taskId));
+        }
     }
     
     private TaskDependency mapResultSetToDependency(ResultSet rs) throws SQLException {
@@ -12,11 +12,22 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TaskRepository {
     private static final Logger logger = LoggerFactory.getLogger(TaskRepository.class);
+    
+    // Project task lists keyed by data source, then project id. Static so the Gantt, Kanban, calendar,
+    // task list and critical path views share one load; every task write below drops the snapshot.
+    private static final Map<javax.sql.DataSource, Map<Long, List<Task>>> PROJECT_TASK_SNAPSHOTS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    
     private final HikariDataSource dataSource;
     
     public TaskRepository(HikariDataSource dataSource) {
@@ -174,6 +185,7 @@ public class TaskRepository {
                     logger.debug("Created task with ID: {}", task.getId());
                 }
             }
+            invalidateProjectTasks(task.getProjectId());
             
             return task;
         } catch (SQLException e) {
@@ -227,6 +239,7 @@ public class TaskRepository {
             if (task.getStatus() == Task.TaskStatus.COMPLETED) {
                 updateCompletionTimestamp(task.getId());
             }
+            invalidateProjectTasks(task.getProjectId());
             
         } catch (SQLException e) {
             logger.error("Error updating task", e);
@@ -234,6 +247,41 @@ public class TaskRepository {
         }
     }
     
+    /**
+     * Write new planned dates for several tasks in one batched transaction; all or nothing.
+     */
+    public void updatePlannedDates(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE tasks SET planned_start = ?, planned_end = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+        
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Task task : tasks) {
+                    stmt.setString(1, task.getPlannedStart() != null ? task.getPlannedStart().toString() : null);
+                    stmt.setString(2, task.getPlannedEnd() != null ? task.getPlannedEnd().toString() : null);
+                    stmt.setLong(3, task.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            logger.debug("Updated planned dates of {} task(s) in one batch", tasks.size());
+            tasks.stream().map(Task::getProjectId).distinct().forEach(this::invalidateProjectTasks);
+        } catch (SQLException e) {
+            logger.error("Error updating task dates", e);
+            throw new RuntimeException("Failed to update task dates", e);
+        }
+    }
+    
     // Find task by ID
     public Optional<Task> findById(Long id) {
         String sql = """
@@ -262,14 +310,55 @@ public class TaskRepository {
     
     // Find all tasks for a project
     public List<Task> findByProjectId(Long projectId) {
+        Map<Long, List<Task>> snapshots = snapshotsFor(dataSource);
+        List<Task> snapshot = snapshots.get(projectId);
+        if (snapshot == null) {
+            // Invalidation takes the same lock, so a write cannot slip in between the load and the put
+            synchronized (snapshots) {
+                snapshot = snapshots.get(projectId);
+                if (snapshot == null) {
+                    try {
+                        snapshot = loadProjectTasks(projectId);
+                    } catch (SQLException e) {
+                        // Nothing is cached, so the next call tries the database again
+                        logger.error("Error finding tasks for project: {}", projectId, e);
+                        return new ArrayList<>();
+                    }
+                    snapshots.put(projectId, snapshot);
+                }
+            }
+        }
+        
+        // Callers edit the tasks they get back, so hand out copies and keep the snapshot untouched
+        List<Task> tasks = new ArrayList<>(snapshot.size());
+        for (Task task : snapshot) {
+            tasks.add(new Task(task));
+        }
+        return tasks;
+    }
+    
+    /**
+     * Load a project's tasks with their subtask rollups. The rollups come from one grouped pass over
+     * the project's subtasks instead of two correlated subqueries per row, and the sort uses plain
+     * columns (id stands in for creation order) so idx_tasks_project_order can serve it.
+     */
+    private List<Task> loadProjectTasks(Long projectId) throws SQLException {
         String sql = """
             SELECT t.*, r.name as assigned_to_name,
-                   (SELECT COUNT(*) FROM tasks st WHERE st.parent_task_id = t.id) as subtask_count,
-                   (SELECT COUNT(*) FROM tasks st WHERE st.parent_task_id = t.id AND st.status = 'COMPLETED') as completed_subtask_count
+                   COALESCE(st.subtask_count, 0) as subtask_count,
+                   COALESCE(st.completed_subtask_count, 0) as completed_subtask_count
             FROM tasks t
             LEFT JOIN resources r ON t.assigned_to = r.id
+            LEFT JOIN (
+                SELECT parent_task_id,
+                       COUNT(*) as subtask_count,
+                       SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) as completed_subtask_count
+                FROM tasks
+                WHERE project_id = ? AND parent_task_id IS NOT NULL
+                GROUP BY parent_task_id
+            ) st ON st.parent_task_id = t.id
             WHERE t.project_id = ?
-            ORDER BY t.phase_id, t.parent_task_id NULLS FIRST, t.planned_start, COALESCE(t.created_at, datetime('2025-01-01', '+' || t.id || ' seconds')), t.id
+            ORDER BY t.phase_id, t.parent_task_id, t.planned_start, t.id
             """;
         
         List<Task> tasks = new ArrayList<>();
@@ -277,6 +366,7 @@ public class TaskRepository {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setLong(1, projectId);
+            stmt.setLong(2, projectId);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -286,12 +376,37 @@ public class TaskRepository {
                     tasks.add(task);
                 }
             }
-        } catch (SQLException e) {
-            logger.error("Error finding tasks for project: {}", projectId, e);
         }
         return tasks;
     }
     
+    /**
+     * Drop the cached task list of a project, or of every project when projectId is null
+     * (writes that only know the task id).
+     */
+    public void invalidateProjectTasks(Long projectId) {
+        projectTasksChanged(dataSource, projectId);
+    }
+    
+    /**
+     * Same as {@link #invalidateProjectTasks(Long)} for other repositories whose rows are joined into
+     * the task snapshots.
+     */
+    static void projectTasksChanged(javax.sql.DataSource dataSource, Long projectId) {
+        Map<Long, List<Task>> snapshots = snapshotsFor(dataSource);
+        synchronized (snapshots) {
+            if (projectId == null) {
+                snapshots.clear();
+            } else {
+                snapshots.remove(projectId);
+            }
+        }
+    }
+    
+    private static Map<Long, List<Task>> snapshotsFor(javax.sql.DataSource dataSource) {
+        return PROJECT_TASK_SNAPSHOTS.computeIfAbsent(dataSource, k -> new ConcurrentHashMap<>());
+    }
+    
     // Find all tasks assigned to a resource
     public List<Task> findByResourceId(Long resourceId) {
         String sql = """
@@ -428,6 +543,8 @@ public class TaskRepository {
             stmt.setLong(1, id);
             int rowsAffected = stmt.executeUpdate();
             logger.debug("Deleted {} task(s)", rowsAffected);
+            TaskDependencyRepository.dependenciesRemoved(dataSource, id);
+            invalidateProjectTasks(null);
             
         } catch (SQLException e) {
             logger.error("Error deleting task", e);
@@ -446,6 +563,7 @@ public class TaskRepository {
             stmt.setLong(2, taskId);
             
             stmt.executeUpdate();
+            invalidateProjectTasks(null);
             
             if (status == Task.TaskStatus.COMPLETED) {
                 updateCompletionTimestamp(taskId);
@@ -468,6 +586,7 @@ public class TaskRepository {
             stmt.setLong(2, taskId);
             
             stmt.executeUpdate();
+            invalidateProjectTasks(null);
             
             // Auto-update status based on progress
             if (progressPercentage == 100) {
@@ -640,6 +759,7 @@ public class TaskRepository {
                 }
             }
             
+            TaskDependencyRepository.dependencyAdded(dataSource, dependency.getPredecessorId(), dependency.getSuccessorId());
             return dependency;
         } catch (SQLException e) {
             logger.error("Error creating task dependency", e);
@@ -663,24 +783,7 @@ public class TaskRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    TaskDependency dep = new TaskDependency();
-                    dep.setId(rs.getLong("id"));
-                    dep.setPredecessorId(rs.getLong("predecessor_id"));
-                    dep.setSuccessorId(rs.getLong("successor_id"));
-                    
-                    String depType = rs.getString("dependency_type");
-                    if (depType != null) {
-                        dep.setDependencyType(TaskDependency.DependencyType.valueOf(depType));
-                    }
-                    
-                    dep.setLagDays(rs.getInt("lag_days"));
-                    
-                    Timestamp createdAt = rs.getTimestamp("created_at");
-                    if (createdAt != null) {
-                        dep.setCreatedAt(createdAt.toLocalDateTime());
-                    }
-                    
-                    dependencies.add(dep);
+                    dependencies.add(mapResultSetToDependency(rs));
                 }
             }
         } catch (SQLException e) {
@@ -690,6 +793,42 @@ public class TaskRepository {
         return dependencies;
     }
     
+    /**
+     * All dependencies touching the project's tasks, in one query.
+     */
+    public List<TaskDependency> findDependenciesByProjectId(Long projectId) {
+        String sql = """
+            SELECT td.id, td.predecessor_id, td.successor_id, td.dependency_type, td.lag_days, td.created_at
+            FROM task_dependencies td
+            JOIN tasks t ON t.id = td.successor_id
+            WHERE t.project_id = ?
+            UNION
+            SELECT td.id, td.predecessor_id, td.successor_id, td.dependency_type, td.lag_days, td.created_at
+            FROM task_dependencies td
+            JOIN tasks t ON t.id = td.predecessor_id
+            WHERE t.project_id = ?
+            """;
+        
+        List<TaskDependency> dependencies = new ArrayList<>();
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, projectId);
+            stmt.setLong(2, projectId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    dependencies.add(mapResultSetToDependency(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error finding dependencies for project: {}", projectId, e);
+        }
+        
+        return dependencies;
+    }
+    
     public List<TaskDependency> findDependenciesByPredecessor(Long predecessorId) {
         String sql = """
             SELECT id, predecessor_id, successor_id, dependency_type, lag_days, created_at
@@ -706,24 +845,7 @@ public class TaskRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    TaskDependency dep = new TaskDependency();
-                    dep.setId(rs.getLong("id"));
-                    dep.setPredecessorId(rs.getLong("predecessor_id"));
-                    dep.setSuccessorId(rs.getLong("successor_id"));
-                    
-                    String depType = rs.getString("dependency_type");
-                    if (depType != null) {
-                        dep.setDependencyType(TaskDependency.DependencyType.valueOf(depType));
-                    }
-                    
-                    dep.setLagDays(rs.getInt("lag_days"));
-                    
-                    Timestamp createdAt = rs.getTimestamp("created_at");
-                    if (createdAt != null) {
-                        dep.setCreatedAt(createdAt.toLocalDateTime());
-                    }
-                    
-                    dependencies.add(dep);
+                    dependencies.add(mapResultSetToDependency(rs));
                 }
             }
         } catch (SQLException e) {
@@ -733,6 +855,27 @@ public class TaskRepository {
         return dependencies;
     }
     
+    private TaskDependency mapResultSetToDependency(ResultSet rs) throws SQLException {
+        TaskDependency dep = new TaskDependency();
+        dep.setId(rs.getLong("id"));
+        dep.setPredecessorId(rs.getLong("predecessor_id"));
+        dep.setSuccessorId(rs.getLong("successor_id"));
+        
+        String depType = rs.getString("dependency_type");
+        if (depType != null) {
+            dep.setDependencyType(TaskDependency.DependencyType.valueOf(depType));
+        }
+        
+        dep.setLagDays(rs.getInt("lag_days"));
+        
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            dep.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        
+        return dep;
+    }
+    
     public void deleteDependency(Long dependencyId) {
         String sql = "DELETE FROM task_dependencies WHERE id = ?";
         
@@ -741,6 +884,7 @@ public class TaskRepository {
             
             stmt.setLong(1, dependencyId);
             stmt.executeUpdate();
+            TaskDependencyRepository.dependenciesRemoved(dataSource, null);
             
         } catch (SQLException e) {
             logger.error("Error deleting task dependency: {}", dependencyId, e);
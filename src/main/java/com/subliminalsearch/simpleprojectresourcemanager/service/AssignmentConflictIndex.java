@@ -0,0 +1,268 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory per-resource interval index over assignment dates.
+ * Each resource keeps its assignments sorted by start date, so overlap queries are a
+ * binary search plus a short scan and full conflict detection is a sort followed by a
+ * single sweep, instead of comparing every pair of assignments.
+ *
+ * Intervals are inclusive on both ends and use the stored start/end dates, matching
+ * AssignmentRepository.findOverlappingAssignments. The index is filled with load() and
+ * then kept current with put() and remove(); both are ignored until the first load, since
+ * the load will pick up those changes anyway.
+ */
+public class AssignmentConflictIndex {
+
+    private final Map<Long, ResourceIntervals> byResource = new HashMap<>();
+    private final Map<Long, Interval> byId = new HashMap<>();
+    private boolean loaded = false;
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the contents of the index with the given assignments.
+     */
+    public synchronized void load(Collection<Assignment> assignments) {
+        byResource.clear();
+        byId.clear();
+        for (Assignment assignment : assignments) {
+            Interval interval = Interval.of(assignment);
+            if (interval != null) {
+                byId.put(interval.id, interval);
+                byResource.computeIfAbsent(interval.resourceId, k -> new ResourceIntervals()).intervals.add(interval);
+            }
+        }
+        for (ResourceIntervals resourceIntervals : byResource.values()) {
+            resourceIntervals.intervals.sort(Interval.BY_START);
+            resourceIntervals.recomputeMaxLength();
+        }
+        loaded = true;
+    }
+
+    /**
+     * Drops all entries; the next user of the index is expected to load() it again.
+     */
+    public synchronized void clear() {
+        byResource.clear();
+        byId.clear();
+        loaded = false;
+    }
+
+    /**
+     * Adds a new assignment or replaces the entry of an existing one (dates or resource changed).
+     */
+    public synchronized void put(Assignment assignment) {
+        if (!loaded || assignment == null) {
+            return;
+        }
+        if (assignment.getId() != null) {
+            removeInternal(assignment.getId());
+        }
+        Interval interval = Interval.of(assignment);
+        if (interval == null) {
+            return;
+        }
+        byId.put(interval.id, interval);
+        byResource.computeIfAbsent(interval.resourceId, k -> new ResourceIntervals()).insert(interval);
+    }
+
+    public synchronized void remove(Long assignmentId) {
+        if (!loaded || assignmentId == null) {
+            return;
+        }
+        removeInternal(assignmentId);
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Returns the resource's assignments whose dates intersect [startDate, endDate], ordered by start date.
+     */
+    public synchronized List<Assignment> findOverlapping(Long resourceId, LocalDate startDate, LocalDate endDate) {
+        List<Assignment> result = new ArrayList<>();
+        ResourceIntervals resourceIntervals = byResource.get(resourceId);
+        if (resourceIntervals == null || startDate == null || endDate == null) {
+            return result;
+        }
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        List<Interval> intervals = resourceIntervals.intervals;
+        // No interval longer than maxLength can start before start - maxLength and still reach start
+        int from = lowerBound(intervals, start - resourceIntervals.maxLength);
+        int to = lowerBound(intervals, end + 1);
+        for (int i = from; i < to; i++) {
+            Interval interval = intervals.get(i);
+            if (interval.end >= start) {
+                result.add(interval.assignment);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * True if any of the resource's assignments other than excludeAssignmentId intersects [startDate, endDate].
+     */
+    public synchronized boolean hasOverlap(Long resourceId, LocalDate startDate, LocalDate endDate, Long excludeAssignmentId) {
+        for (Assignment assignment : findOverlapping(resourceId, startDate, endDate)) {
+            if (excludeAssignmentId == null || !excludeAssignmentId.equals(assignment.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the IDs of all assignments in [startDate, endDate] that overlap another assignment
+     * of the same resource within that range.
+     */
+    public synchronized Set<Long> findConflicts(LocalDate startDate, LocalDate endDate) {
+        Set<Long> conflicts = new HashSet<>();
+        for (Long resourceId : byResource.keySet()) {
+            conflicts.addAll(findOverlaps(findOverlapping(resourceId, startDate, endDate)));
+        }
+        return conflicts;
+    }
+
+    /**
+     * Sweep-line overlap detection over assignments that all belong to one resource.
+     * After sorting by start date, an assignment overlaps an earlier one exactly when it starts
+     * on or before the latest end seen so far, and overlaps a later one exactly when the next
+     * assignment starts on or before its own end. O(n log n) overall.
+     */
+    public static Set<Long> findOverlaps(Collection<Assignment> assignments) {
+        List<Interval> intervals = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments) {
+            Interval interval = Interval.of(assignment);
+            if (interval != null) {
+                intervals.add(interval);
+            }
+        }
+        intervals.sort(Interval.BY_START);
+
+        Set<Long> overlaps = new HashSet<>();
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < intervals.size(); i++) {
+            Interval current = intervals.get(i);
+            boolean overlapsEarlier = current.start <= maxEnd;
+            boolean overlapsLater = i + 1 < intervals.size() && intervals.get(i + 1).start <= current.end;
+            if (overlapsEarlier || overlapsLater) {
+                overlaps.add(current.id);
+            }
+            maxEnd = Math.max(maxEnd, current.end);
+        }
+        return overlaps;
+    }
+
+    /**
+     * Groups the assignments by resource and runs {@link #findOverlaps} on each group.
+     */
+    public static Set<Long> findConflicts(Collection<Assignment> assignments) {
+        Map<Long, List<Assignment>> byResourceId = new HashMap<>();
+        for (Assignment assignment : assignments) {
+            if (assignment.getResourceId() != null) {
+                byResourceId.computeIfAbsent(assignment.getResourceId(), k -> new ArrayList<>()).add(assignment);
+            }
+        }
+        Set<Long> conflicts = new HashSet<>();
+        for (List<Assignment> resourceAssignments : byResourceId.values()) {
+            conflicts.addAll(findOverlaps(resourceAssignments));
+        }
+        return conflicts;
+    }
+
+    private void removeInternal(Long assignmentId) {
+        Interval existing = byId.remove(assignmentId);
+        if (existing == null) {
+            return;
+        }
+        ResourceIntervals resourceIntervals = byResource.get(existing.resourceId);
+        if (resourceIntervals != null) {
+            resourceIntervals.remove(existing);
+            if (resourceIntervals.intervals.isEmpty()) {
+                byResource.remove(existing.resourceId);
+            }
+        }
+    }
+
+    // First index whose start is >= the given epoch day
+    private static int lowerBound(List<Interval> intervals, long start) {
+        int low = 0;
+        int high = intervals.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (intervals.get(mid).start < start) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class ResourceIntervals {
+        final List<Interval> intervals = new ArrayList<>();
+        // Longest interval (end - start) in days; only grows between rebuilds, which keeps queries correct
+        long maxLength = 0;
+
+        void insert(Interval interval) {
+            intervals.add(lowerBound(intervals, interval.start + 1), interval);
+            maxLength = Math.max(maxLength, interval.end - interval.start);
+        }
+
+        void remove(Interval interval) {
+            for (int i = lowerBound(intervals, interval.start); i < intervals.size(); i++) {
+                if (intervals.get(i).id == interval.id) {
+                    intervals.remove(i);
+                    return;
+                }
+            }
+        }
+
+        void recomputeMaxLength() {
+            maxLength = 0;
+            for (Interval interval : intervals) {
+                maxLength = Math.max(maxLength, interval.end - interval.start);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of an assignment's dates, so later edits to the Assignment object
+     * cannot corrupt the sort order.
+     */
+    private static class Interval {
+        static final Comparator<Interval> BY_START = Comparator.comparingLong(i -> i.start);
+
+        final long id;
+        final long resourceId;
+        final long start;
+        final long end;
+        final Assignment assignment;
+
+        private Interval(long id, long resourceId, long start, long end, Assignment assignment) {
+            this.id = id;
+            this.resourceId = resourceId;
+            this.start = start;
+            this.end = end;
+            this.assignment = assignment;
+        }
+
+        static Interval of(Assignment assignment) {
+            if (assignment == null || assignment.getId() == null || assignment.getResourceId() == null
+                    || assignment.getStartDate() == null || assignment.getEndDate() == null) {
+                return null;
+            }
+            return new Interval(assignment.getId(), assignment.getResourceId(),
+                assignment.getStartDate().toEpochDay(), assignment.getEndDate().toEpochDay(), assignment);
+        }
+    }
+}
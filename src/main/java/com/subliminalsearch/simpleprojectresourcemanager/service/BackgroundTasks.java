@@ -0,0 +1,299 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared background threads for work that must not run on the FX thread.
+ *
+ * Two bounded pools of named daemon threads: IO for blocking database, mail, file and network
+ * work, and CPU for computation. Tasks carry a name, so the status bar and the log can say what
+ * is running, how deep the queues are and how long tasks wait and run. A task submitted under a
+ * key either replaces an unfinished task with the same key ({@link #runLatest}, for previews the
+ * user re-requests) or joins it ({@link #runOnce}, for syncs and refreshes). Periodic work is
+ * scheduled here too, and everything is stopped by {@link #shutdown()} when the application exits.
+ *
+ * A javafx.concurrent.Task can be passed wherever a Runnable is expected; cancelling its future
+ * cancels the Task as well, so its onCancelled handler runs instead of onSucceeded.
+ *
+ * The queues are unbounded, but what can sit in them is limited by the callers: keyed tasks keep
+ * at most one queued per key, the rest start from a user action or a report being rendered (one
+ * task per section, one per open preview at a time). A bound would only turn a burst into
+ * rejected tasks, and some of them resubmit from a pool thread where a rejection would be lost.
+ */
+public final class BackgroundTasks {
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundTasks.class);
+
+    public enum Pool {
+        IO, CPU
+    }
+
+    private static final int IO_THREADS = 8;
+    private static final int CPU_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    private static final long SLOW_TASK_MILLIS = 10_000;
+
+    private static BackgroundTasks instance;
+
+    private final Map<Pool, PoolState> pools = new EnumMap<>(Pool.class);
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, TrackedTask<?>> byKey = new ConcurrentHashMap<>();
+    private final Set<TrackedTask<?>> running = ConcurrentHashMap.newKeySet();
+
+    public static synchronized BackgroundTasks getInstance() {
+        if (instance == null) {
+            instance = new BackgroundTasks(IO_THREADS, CPU_THREADS);
+        }
+        return instance;
+    }
+
+    BackgroundTasks(int ioThreads, int cpuThreads) {
+        pools.put(Pool.IO, new PoolState(Pool.IO, ioThreads));
+        pools.put(Pool.CPU, new PoolState(Pool.CPU, cpuThreads));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bg-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Future<?> run(Pool pool, String name, Runnable task) {
+        return execute(new TrackedTask<>(pool, name, null, task, Executors.callable(task)));
+    }
+
+    public <T> Future<T> submit(Pool pool, String name, Callable<T> task) {
+        return execute(new TrackedTask<>(pool, name, null, null, task));
+    }
+
+    /**
+     * Runs the task after cancelling any unfinished task submitted under the same key.
+     *
+     * A superseded task that is already running is not interrupted, since an interrupt can close
+     * the JDBC connection or PDF file it is working on; it runs to the end, and must check
+     * isCancelled() before publishing its result (a Task's onSucceeded does not run once cancelled).
+     */
+    public Future<?> runLatest(Pool pool, String key, Runnable task) {
+        TrackedTask<?> tracked = new TrackedTask<>(pool, key, key, task, Executors.callable(task));
+        TrackedTask<?> previous = byKey.put(key, tracked);
+        if (previous != null && previous.cancel(false)) {
+            logger.debug("Cancelled superseded background task {}", key);
+        }
+        return execute(tracked);
+    }
+
+    /**
+     * Runs the task unless a task with the same key is still queued or running, in which case
+     * that one's future is returned and this task is dropped.
+     */
+    public Future<?> runOnce(Pool pool, String key, Runnable task) {
+        TrackedTask<?> tracked = new TrackedTask<>(pool, key, key, task, Executors.callable(task));
+        while (true) {
+            TrackedTask<?> existing = byKey.putIfAbsent(key, tracked);
+            if (existing == null) {
+                return execute(tracked);
+            }
+            if (!existing.isDone()) {
+                logger.debug("Background task {} is already pending; not queuing another", key);
+                return existing;
+            }
+            byKey.remove(key, existing);
+        }
+    }
+
+    /**
+     * Runs the task on the IO pool every period. A run that is still going when the next is due
+     * is not overlapped; the next run is skipped instead.
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String name, Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return scheduler.scheduleAtFixedRate(() -> runOnce(Pool.IO, name, task), initialDelay, period, unit);
+    }
+
+    /**
+     * For quick housekeeping that runs on the scheduler thread itself and is not tracked.
+     */
+    public ScheduledFuture<?> scheduleHousekeeping(String name, Runnable task, long period, TimeUnit unit) {
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Housekeeping task {} failed", name, e);
+            }
+        }, period, period, unit);
+    }
+
+    public List<PoolStatus> getStatus() {
+        List<PoolStatus> status = new ArrayList<>();
+        pools.values().forEach(state -> status.add(state.getStatus()));
+        return status;
+    }
+
+    /**
+     * Tasks currently running, longest running first.
+     */
+    public List<RunningTask> getRunningTasks() {
+        long now = System.nanoTime();
+        List<RunningTask> tasks = new ArrayList<>();
+        for (TrackedTask<?> task : running) {
+            tasks.add(new RunningTask(task.name, task.pool, TimeUnit.NANOSECONDS.toMillis(now - task.startedNanos)));
+        }
+        tasks.sort(Comparator.comparingLong(RunningTask::elapsedMillis).reversed());
+        return tasks;
+    }
+
+    /**
+     * Stops the scheduler and lets running tasks finish for a few seconds before interrupting them.
+     */
+    public synchronized void shutdown() {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.shutdownNow();
+        pools.values().forEach(state -> state.executor.shutdown());
+        for (PoolState state : pools.values()) {
+            try {
+                if (!state.executor.awaitTermination(3, TimeUnit.SECONDS)) {
+                    List<Runnable> dropped = state.executor.shutdownNow();
+                    logger.warn("Interrupted {} pool with {} tasks still queued", state.pool, dropped.size());
+                }
+            } catch (InterruptedException e) {
+                state.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            logger.info("Background tasks {}", state.getStatus().getSummary());
+        }
+    }
+
+    private <T> TrackedTask<T> execute(TrackedTask<T> task) {
+        pools.get(task.pool).executor.execute(task);
+        return task;
+    }
+
+    private final class PoolState {
+        private final Pool pool;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+
+        private PoolState(Pool pool, int threads) {
+            this.pool = pool;
+            AtomicInteger threadCounter = new AtomicInteger();
+            String prefix = "bg-" + pool.name().toLowerCase() + "-";
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        private PoolStatus getStatus() {
+            long finished = completed.get() + failed.get();
+            return new PoolStatus(pool, executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), completed.get(), failed.get(), cancelled.get(),
+                finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / finished),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get() / finished),
+                TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()));
+        }
+    }
+
+    private final class TrackedTask<T> extends FutureTask<T> {
+        private final Pool pool;
+        private final String name;
+        private final String key;
+        private final Runnable original;
+        private final long submittedNanos = System.nanoTime();
+        private volatile long startedNanos;
+        private volatile boolean failed;
+
+        private TrackedTask(Pool pool, String name, String key, Runnable original, Callable<T> callable) {
+            super(callable);
+            this.pool = pool;
+            this.name = name;
+            this.key = key;
+            this.original = original;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            PoolState state = pools.get(pool);
+            startedNanos = System.nanoTime();
+            long waited = startedNanos - submittedNanos;
+            running.add(this);
+            try {
+                super.run();
+            } finally {
+                running.remove(this);
+                if (key != null) {
+                    byKey.remove(key, this);
+                }
+                long ran = System.nanoTime() - startedNanos;
+                state.totalWaitNanos.addAndGet(waited);
+                state.maxWaitNanos.accumulateAndGet(waited, Math::max);
+                state.totalRunNanos.addAndGet(ran);
+                state.maxRunNanos.accumulateAndGet(ran, Math::max);
+                if (!isCancelled() && !failed) {
+                    state.completed.incrementAndGet();
+                }
+                long totalMillis = TimeUnit.NANOSECONDS.toMillis(waited + ran);
+                if (totalMillis > SLOW_TASK_MILLIS) {
+                    logger.warn("Slow background task {}: waited {} ms, ran {} ms", name,
+                        TimeUnit.NANOSECONDS.toMillis(waited), TimeUnit.NANOSECONDS.toMillis(ran));
+                }
+            }
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            failed = true;
+            pools.get(pool).failed.incrementAndGet();
+            logger.error("Background task {} failed", name, t);
+            super.setException(t);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            // A javafx Task is a Future of its own; cancel it too, so its state follows
+            if (original instanceof Future<?> future && original != this) {
+                future.cancel(mayInterruptIfRunning);
+            }
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                PoolState state = pools.get(pool);
+                state.cancelled.incrementAndGet();
+                state.executor.remove(this);
+                if (key != null) {
+                    byKey.remove(key, this);
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    public record PoolStatus(Pool pool, int threads, int active, int queued, long completed, long failed,
+                             long cancelled, long averageWaitMillis, long maxWaitMillis,
+                             long averageRunMillis, long maxRunMillis) {
+        public String getSummary() {
+            return String.format("%s: %d/%d busy, %d queued; %d done, %d failed, %d cancelled; "
+                    + "wait avg %d ms (max %d), run avg %d ms (max %d)",
+                pool, active, threads, queued, completed, failed, cancelled,
+                averageWaitMillis, maxWaitMillis, averageRunMillis, maxRunMillis);
+        }
+    }
+
+    public record RunningTask(String name, Pool pool, long elapsedMillis) {
+    }
+}
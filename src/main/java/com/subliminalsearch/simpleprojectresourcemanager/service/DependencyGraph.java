@@ -0,0 +1,411 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Task;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency.DependencyType;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * In-memory task dependency graph for one project, with a critical path (CPM) calculation.
+ *
+ * Built from the project's tasks and dependencies, each loaded with a single query. Tasks are
+ * numbered and the edges kept in compact adjacency arrays, so the topological sort and the
+ * forward and backward passes are all O(V + E).
+ *
+ * Times are whole days counted from the earliest planned start in the project: a task occupies
+ * [earlyStart, earlyFinish), so earlyFinish - earlyStart is its duration. A task never starts
+ * before its own planned start. Lag applies to all four dependency types:
+ * FS start(s) >= finish(p) + lag, SS start(s) >= start(p) + lag,
+ * FF finish(s) >= finish(p) + lag, SF finish(s) >= start(p) + lag.
+ *
+ * Dependencies whose other end is not one of the given tasks are ignored. Tasks on a cycle are
+ * left out of the schedule and reported by {@link #getCycleTaskIds()}.
+ */
+public class DependencyGraph {
+
+    private static final int DEFAULT_DURATION_DAYS = 5;
+
+    private final Task[] tasks;
+    private final Map<Long, Integer> indexById;
+    private final int[] durations;
+
+    // Outgoing and incoming edges per task, as offsets into the edge arrays
+    private final int[] outStart;
+    private final int[] outEdges;
+    private final int[] inStart;
+    private final int[] inEdges;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final DependencyType[] edgeType;
+    private final int[] edgeLag;
+    private final TaskDependency[] edgeDependency;
+
+    private final int[] topologicalOrder;
+    private final LocalDate origin;
+
+    public DependencyGraph(List<Task> projectTasks, List<TaskDependency> dependencies) {
+        int n = projectTasks.size();
+        tasks = new Task[n];
+        indexById = new HashMap<>(n * 2);
+        durations = new int[n];
+        LocalDate earliest = null;
+        for (int i = 0; i < n; i++) {
+            Task task = projectTasks.get(i);
+            tasks[i] = task;
+            indexById.put(task.getId(), i);
+            durations[i] = durationDays(task);
+            if (task.getPlannedStart() != null && (earliest == null || task.getPlannedStart().isBefore(earliest))) {
+                earliest = task.getPlannedStart();
+            }
+        }
+        origin = earliest;
+
+        List<TaskDependency> edges = new ArrayList<>(dependencies.size());
+        for (TaskDependency dependency : dependencies) {
+            Integer from = indexById.get(dependency.getPredecessorId());
+            Integer to = indexById.get(dependency.getSuccessorId());
+            if (from != null && to != null && !from.equals(to)) {
+                edges.add(dependency);
+            }
+        }
+
+        int m = edges.size();
+        edgeFrom = new int[m];
+        edgeTo = new int[m];
+        edgeType = new DependencyType[m];
+        edgeLag = new int[m];
+        edgeDependency = edges.toArray(new TaskDependency[0]);
+        outStart = new int[n + 1];
+        inStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            TaskDependency dependency = edges.get(e);
+            edgeFrom[e] = indexById.get(dependency.getPredecessorId());
+            edgeTo[e] = indexById.get(dependency.getSuccessorId());
+            edgeType[e] = dependency.getDependencyType() != null ? dependency.getDependencyType() : DependencyType.FINISH_TO_START;
+            edgeLag[e] = dependency.getLagDays() != null ? dependency.getLagDays() : 0;
+            outStart[edgeFrom[e] + 1]++;
+            inStart[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            outStart[i + 1] += outStart[i];
+            inStart[i + 1] += inStart[i];
+        }
+        outEdges = new int[m];
+        inEdges = new int[m];
+        int[] outFill = Arrays.copyOf(outStart, n);
+        int[] inFill = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < m; e++) {
+            outEdges[outFill[edgeFrom[e]]++] = e;
+            inEdges[inFill[edgeTo[e]]++] = e;
+        }
+
+        topologicalOrder = sortTopologically();
+    }
+
+    /**
+     * Working duration in days used for scheduling: the planned span inclusive of both ends,
+     * otherwise the estimate in 8 hour days, otherwise five days.
+     */
+    public static int durationDays(Task task) {
+        if (task.getPlannedStart() != null && task.getPlannedEnd() != null) {
+            return (int) Math.max(ChronoUnit.DAYS.between(task.getPlannedStart(), task.getPlannedEnd()) + 1, 0);
+        }
+        return task.getEstimatedHours() != null ? (int) Math.ceil(task.getEstimatedHours() / 8.0) : DEFAULT_DURATION_DAYS;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    /**
+     * Task ids in dependency order, predecessors first. Tasks on a cycle are not included.
+     */
+    public List<Long> getTopologicalOrder() {
+        List<Long> ids = new ArrayList<>(topologicalOrder.length);
+        for (int i : topologicalOrder) {
+            ids.add(tasks[i].getId());
+        }
+        return ids;
+    }
+
+    public boolean hasCycle() {
+        return topologicalOrder.length < tasks.length;
+    }
+
+    public Set<Long> getCycleTaskIds() {
+        boolean[] ordered = new boolean[tasks.length];
+        for (int i : topologicalOrder) {
+            ordered[i] = true;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < tasks.length; i++) {
+            if (!ordered[i]) {
+                ids.add(tasks[i].getId());
+            }
+        }
+        return ids;
+    }
+
+    public List<Long> getPredecessorIds(Long taskId) {
+        Integer i = indexById.get(taskId);
+        List<Long> ids = new ArrayList<>();
+        if (i != null) {
+            for (int k = inStart[i]; k < inStart[i + 1]; k++) {
+                ids.add(tasks[edgeFrom[inEdges[k]]].getId());
+            }
+        }
+        return ids;
+    }
+
+    public List<Long> getSuccessorIds(Long taskId) {
+        Integer i = indexById.get(taskId);
+        List<Long> ids = new ArrayList<>();
+        if (i != null) {
+            for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+                ids.add(tasks[edgeTo[outEdges[k]]].getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Dependencies into the task from other tasks in the graph.
+     */
+    public List<TaskDependency> getIncomingDependencies(Long taskId) {
+        Integer i = indexById.get(taskId);
+        List<TaskDependency> dependencies = new ArrayList<>();
+        if (i != null) {
+            for (int k = inStart[i]; k < inStart[i + 1]; k++) {
+                dependencies.add(edgeDependency[inEdges[k]]);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Every task reachable from the given one through successor links, in dependency order
+     * and excluding the task itself. Each task appears once however many paths lead to it.
+     */
+    public List<Long> getDownstreamInOrder(Long taskId) {
+        Integer root = indexById.get(taskId);
+        if (root == null) {
+            return new ArrayList<>();
+        }
+        boolean[] reachable = new boolean[tasks.length];
+        int[] stack = new int[tasks.length];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int i = stack[--top];
+            for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+                int s = edgeTo[outEdges[k]];
+                if (!reachable[s]) {
+                    reachable[s] = true;
+                    stack[top++] = s;
+                }
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i : topologicalOrder) {
+            if (reachable[i] && i != root) {
+                ids.add(tasks[i].getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Runs the forward and backward passes and returns early/late times and slack for every
+     * task that is not on a cycle.
+     */
+    public Schedule calculate() {
+        int n = tasks.length;
+        int[] earlyStart = new int[n];
+        int[] lateFinish = new int[n];
+
+        // Forward pass: earliest start honouring the planned start and every incoming edge
+        int projectFinish = 0;
+        for (int i : topologicalOrder) {
+            int es = plannedOffset(tasks[i]);
+            for (int k = inStart[i]; k < inStart[i + 1]; k++) {
+                int e = inEdges[k];
+                int p = edgeFrom[e];
+                int pStart = earlyStart[p];
+                int pFinish = pStart + durations[p];
+                int bound = switch (edgeType[e]) {
+                    case FINISH_TO_START -> pFinish + edgeLag[e];
+                    case START_TO_START -> pStart + edgeLag[e];
+                    case FINISH_TO_FINISH -> pFinish + edgeLag[e] - durations[i];
+                    case START_TO_FINISH -> pStart + edgeLag[e] - durations[i];
+                };
+                es = Math.max(es, bound);
+            }
+            earlyStart[i] = es;
+            projectFinish = Math.max(projectFinish, es + durations[i]);
+        }
+
+        // Backward pass: latest finish that doesn't push any successor or the project end
+        for (int t = topologicalOrder.length - 1; t >= 0; t--) {
+            int i = topologicalOrder[t];
+            int lf = projectFinish;
+            for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+                int e = outEdges[k];
+                int s = edgeTo[e];
+                int sFinish = lateFinish[s];
+                int sStart = sFinish - durations[s];
+                int bound = switch (edgeType[e]) {
+                    case FINISH_TO_START -> sStart - edgeLag[e];
+                    case START_TO_START -> sStart - edgeLag[e] + durations[i];
+                    case FINISH_TO_FINISH -> sFinish - edgeLag[e];
+                    case START_TO_FINISH -> sFinish - edgeLag[e] + durations[i];
+                };
+                lf = Math.min(lf, bound);
+            }
+            lateFinish[i] = lf;
+        }
+
+        Map<Long, TaskSchedule> byTask = new LinkedHashMap<>(topologicalOrder.length * 2);
+        List<Long> critical = new ArrayList<>();
+        for (int i : topologicalOrder) {
+            TaskSchedule schedule = new TaskSchedule(tasks[i].getId(), durations[i], earlyStart[i],
+                lateFinish[i] - durations[i], origin);
+            byTask.put(schedule.getTaskId(), schedule);
+            if (schedule.isCritical()) {
+                critical.add(schedule.getTaskId());
+            }
+        }
+        return new Schedule(byTask, critical, projectFinish, origin, getCycleTaskIds());
+    }
+
+    private int plannedOffset(Task task) {
+        if (origin == null || task.getPlannedStart() == null) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(origin, task.getPlannedStart());
+    }
+
+    // Kahn's algorithm; tasks that never reach in-degree zero are on (or behind) a cycle
+    private int[] sortTopologically() {
+        int n = tasks.length;
+        int[] inDegree = new int[n];
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = inStart[i + 1] - inStart[i];
+        }
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int i = order[head++];
+            for (int k = outStart[i]; k < outStart[i + 1]; k++) {
+                int s = edgeTo[outEdges[k]];
+                if (--inDegree[s] == 0) {
+                    order[tail++] = s;
+                }
+            }
+        }
+        return tail == n ? order : Arrays.copyOf(order, tail);
+    }
+
+    /**
+     * Early/late times for one task, in days from the project origin.
+     */
+    public static class TaskSchedule {
+        private final Long taskId;
+        private final int duration;
+        private final int earlyStart;
+        private final int lateStart;
+        private final LocalDate origin;
+
+        TaskSchedule(Long taskId, int duration, int earlyStart, int lateStart, LocalDate origin) {
+            this.taskId = taskId;
+            this.duration = duration;
+            this.earlyStart = earlyStart;
+            this.lateStart = lateStart;
+            this.origin = origin;
+        }
+
+        public Long getTaskId() { return taskId; }
+        public int getDuration() { return duration; }
+        public int getEarlyStart() { return earlyStart; }
+        public int getEarlyFinish() { return earlyStart + duration; }
+        public int getLateStart() { return lateStart; }
+        public int getLateFinish() { return lateStart + duration; }
+        public int getSlack() { return lateStart - earlyStart; }
+        public boolean isCritical() { return getSlack() <= 0; }
+
+        public LocalDate getEarlyStartDate() {
+            return origin != null ? origin.plusDays(earlyStart) : null;
+        }
+
+        /** Last working day when the task starts as early as possible (inclusive, like planned end). */
+        public LocalDate getEarlyFinishDate() {
+            return origin != null ? origin.plusDays(getEarlyFinish() - 1L) : null;
+        }
+
+        public LocalDate getLateStartDate() {
+            return origin != null ? origin.plusDays(lateStart) : null;
+        }
+
+        public LocalDate getLateFinishDate() {
+            return origin != null ? origin.plusDays(getLateFinish() - 1L) : null;
+        }
+    }
+
+    /**
+     * Result of {@link DependencyGraph#calculate()}.
+     */
+    public static class Schedule {
+        private final Map<Long, TaskSchedule> byTask;
+        private final List<Long> criticalPath;
+        private final int projectDuration;
+        private final LocalDate projectStart;
+        private final Set<Long> cycleTaskIds;
+
+        Schedule(Map<Long, TaskSchedule> byTask, List<Long> criticalPath, int projectDuration,
+                 LocalDate projectStart, Set<Long> cycleTaskIds) {
+            this.byTask = byTask;
+            this.criticalPath = criticalPath;
+            this.projectDuration = projectDuration;
+            this.projectStart = projectStart;
+            this.cycleTaskIds = cycleTaskIds;
+        }
+
+        public TaskSchedule get(Long taskId) {
+            return byTask.get(taskId);
+        }
+
+        public Collection<TaskSchedule> getTaskSchedules() {
+            return byTask.values();
+        }
+
+        /** Critical task ids in dependency order. */
+        public List<Long> getCriticalPath() {
+            return criticalPath;
+        }
+
+        public boolean isCritical(Long taskId) {
+            TaskSchedule schedule = byTask.get(taskId);
+            return schedule != null && schedule.isCritical();
+        }
+
+        public int getProjectDuration() {
+            return projectDuration;
+        }
+
+        public LocalDate getProjectStart() {
+            return projectStart;
+        }
+
+        public Set<Long> getCycleTaskIds() {
+            return cycleTaskIds;
+        }
+    }
+}
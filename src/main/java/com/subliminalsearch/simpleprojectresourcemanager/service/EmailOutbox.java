@@ -0,0 +1,456 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.EmailConfiguration;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Outgoing email, queued in the email_outbox table and delivered in the background.
+ *
+ * {@link #enqueue} stores the message, attachment included, so nothing is lost when the mail
+ * server is down or the application closes before it is sent. The dispatcher sends every due
+ * message over one authenticated SMTP connection; a failed message is retried with exponential
+ * backoff (30 s, 1 min, 2 min ... up to 30 min) and given up after {@value #MAX_ATTEMPTS}
+ * attempts. A message identical to one still queued, or sent in the last ten minutes, is not
+ * queued again. Each row records its status, attempts, last error and delivery latency.
+ */
+public class EmailOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutbox.class);
+
+    private static final String DISPATCH_TASK = "email-outbox";
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY = Duration.ofMinutes(30);
+    private static final Duration DUPLICATE_WINDOW = Duration.ofMinutes(10);
+
+    private static EmailOutbox instance;
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+
+    private final DataSource dataSource;
+    private final Supplier<EmailConfiguration> configuration;
+    private final Clock clock;
+    private ScheduledFuture<?> schedule;
+
+    public static synchronized EmailOutbox getInstance(DataSource dataSource) {
+        if (instance == null) {
+            instance = new EmailOutbox(dataSource, EmailConfiguration::load, Clock.systemUTC());
+        }
+        return instance;
+    }
+
+    EmailOutbox(DataSource dataSource, Supplier<EmailConfiguration> configuration, Clock clock) {
+        this.dataSource = dataSource;
+        this.configuration = configuration;
+        this.clock = clock;
+        initializeTable();
+    }
+
+    private void initializeTable() {
+        String createTable = """
+            CREATE TABLE IF NOT EXISTS email_outbox (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                recipient TEXT NOT NULL,
+                subject TEXT,
+                body TEXT,
+                attachment_name TEXT,
+                attachment BLOB,
+                dedup_key TEXT NOT NULL,
+                status TEXT NOT NULL,
+                attempts INTEGER NOT NULL DEFAULT 0,
+                created_at INTEGER NOT NULL,
+                next_attempt_at INTEGER NOT NULL,
+                sent_at INTEGER,
+                latency_ms INTEGER,
+                send_ms INTEGER,
+                last_error TEXT
+            )
+        """;
+
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(createTable);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox(status, next_attempt_at)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_email_outbox_dedup ON email_outbox(dedup_key)");
+            logger.info("Email outbox table initialized");
+        } catch (SQLException e) {
+            logger.error("Failed to initialize email_outbox table", e);
+            throw new RuntimeException("Failed to initialize email outbox", e);
+        }
+    }
+
+    /**
+     * Delivers due messages every minute, starting now, until the application shuts down.
+     */
+    public synchronized void start() {
+        if (schedule == null) {
+            schedule = BackgroundTasks.getInstance().scheduleAtFixedRate(DISPATCH_TASK, this::dispatch, 0, 1, TimeUnit.MINUTES);
+        }
+    }
+
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    /**
+     * Delivers due messages now, or joins a delivery that is already running.
+     */
+    public Future<?> requestDispatch() {
+        return BackgroundTasks.getInstance().runOnce(BackgroundTasks.Pool.IO, DISPATCH_TASK, this::dispatch);
+    }
+
+    /**
+     * Queues a message. The attachment is read now, so the file may be deleted afterwards.
+     */
+    public EnqueueResult enqueue(String recipient, String subject, String body, File attachment) {
+        try {
+            byte[] attachmentBytes = attachment != null ? Files.readAllBytes(attachment.toPath()) : null;
+            String attachmentName = attachment != null ? attachment.getName() : null;
+            String dedupKey = dedupKey(recipient, subject, body, attachmentName, attachmentBytes);
+            long now = clock.millis();
+
+            try (Connection conn = dataSource.getConnection()) {
+                // One transaction, so two identical messages queued at once cannot both miss the check
+                conn.setAutoCommit(false);
+                try {
+                    EnqueueResult result = insertUnlessDuplicate(conn, recipient, subject, body, attachmentName,
+                        attachmentBytes, dedupKey, now);
+                    conn.commit();
+                    if (result.duplicate()) {
+                        logger.info("Not queuing duplicate email to {} (same as message {})", recipient, result.id());
+                    } else {
+                        logger.info("Queued email {} to {}", result.id(), recipient);
+                    }
+                    return result;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (IOException | SQLException e) {
+            logger.error("Failed to queue email to {}", recipient, e);
+            throw new RuntimeException("Failed to queue email", e);
+        }
+    }
+
+    private EnqueueResult insertUnlessDuplicate(Connection conn, String recipient, String subject, String body,
+                                                String attachmentName, byte[] attachmentBytes, String dedupKey,
+                                                long now) throws SQLException {
+        Long duplicateOf = findDuplicate(conn, dedupKey, now);
+        if (duplicateOf != null) {
+            return new EnqueueResult(duplicateOf, true);
+        }
+
+        String sql = "INSERT INTO email_outbox (recipient, subject, body, attachment_name, attachment, dedup_key, " +
+                     "status, attempts, created_at, next_attempt_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, recipient.trim());
+            stmt.setString(2, subject);
+            stmt.setString(3, body);
+            stmt.setString(4, attachmentName);
+            stmt.setBytes(5, attachmentBytes);
+            stmt.setString(6, dedupKey);
+            stmt.setString(7, Status.PENDING.name());
+            stmt.setLong(8, now);
+            stmt.setLong(9, now);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                return new EnqueueResult(keys.getLong(1), false);
+            }
+        }
+    }
+
+    private Long findDuplicate(Connection conn, String dedupKey, long now) throws SQLException {
+        String sql = "SELECT id FROM email_outbox WHERE dedup_key = ? AND " +
+                     "(status = ? OR (status = ? AND sent_at >= ?)) ORDER BY id DESC LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, dedupKey);
+            stmt.setString(2, Status.PENDING.name());
+            stmt.setString(3, Status.SENT.name());
+            stmt.setLong(4, now - DUPLICATE_WINDOW.toMillis());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("id") : null;
+            }
+        }
+    }
+
+    /**
+     * Sends every due message, BATCH_SIZE at a time over one SMTP connection, and records the
+     * outcome of each. Runs on the background pool; safe to call directly.
+     */
+    public DispatchResult dispatch() {
+        DispatchResult result = new DispatchResult();
+        EmailConfiguration config = configuration.get();
+        if (config == null || !config.isConfigured()) {
+            return result;
+        }
+        EmailService emailService = new EmailService(config);
+        long start = System.nanoTime();
+
+        Set<Long> attempted = new HashSet<>();
+        List<QueuedMessage> batch;
+        while (!(batch = loadDue(BATCH_SIZE, attempted)).isEmpty()) {
+            sendBatch(emailService, batch, result);
+            batch.forEach(message -> attempted.add(message.id));
+        }
+
+        result.durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (result.sent + result.failed > 0) {
+            logger.info("Email outbox: {}", result.getSummary());
+        }
+        return result;
+    }
+
+    private void sendBatch(EmailService emailService, List<QueuedMessage> batch, DispatchResult result) {
+        Session session = emailService.createSession();
+        Transport transport = null;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                QueuedMessage queued = batch.get(i);
+                if (transport == null) {
+                    try {
+                        transport = emailService.openTransport(session);
+                        result.connections++;
+                    } catch (MessagingException e) {
+                        // The server is unreachable or refused the login: every remaining message waits
+                        logger.warn("Could not connect to the mail server: {}", e.getMessage());
+                        for (QueuedMessage remaining : batch.subList(i, batch.size())) {
+                            recordFailure(remaining, e, result);
+                        }
+                        return;
+                    }
+                }
+
+                try {
+                    MimeMessage message = emailService.createMessage(session, queued.recipient, queued.subject,
+                        queued.body, queued.attachmentName, queued.attachment);
+                    long sendStart = System.nanoTime();
+                    transport.sendMessage(message, message.getAllRecipients());
+                    recordSent(queued, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendStart));
+                    result.sent++;
+                } catch (Exception e) {
+                    recordFailure(queued, e, result);
+                    // A rejected recipient leaves the connection usable; a dropped one is reopened
+                    if (!transport.isConnected()) {
+                        closeQuietly(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                closeQuietly(transport);
+            }
+        }
+    }
+
+    private List<QueuedMessage> loadDue(int limit, Set<Long> exclude) {
+        List<QueuedMessage> messages = new ArrayList<>();
+        String sql = "SELECT id, recipient, subject, body, attachment_name, attachment, attempts, created_at " +
+                     "FROM email_outbox WHERE status = ? AND next_attempt_at <= ? ORDER BY next_attempt_at, id LIMIT ?";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, Status.PENDING.name());
+            stmt.setLong(2, clock.millis());
+            stmt.setInt(3, limit + exclude.size());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next() && messages.size() < limit) {
+                    // Each message is tried once per dispatch, even if its retry is already due
+                    if (exclude.contains(rs.getLong("id"))) {
+                        continue;
+                    }
+                    QueuedMessage message = new QueuedMessage();
+                    message.id = rs.getLong("id");
+                    message.recipient = rs.getString("recipient");
+                    message.subject = rs.getString("subject");
+                    message.body = rs.getString("body");
+                    message.attachmentName = rs.getString("attachment_name");
+                    message.attachment = rs.getBytes("attachment");
+                    message.attempts = rs.getInt("attempts");
+                    message.createdAt = rs.getLong("created_at");
+                    messages.add(message);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load queued emails", e);
+            throw new RuntimeException("Failed to load queued emails", e);
+        }
+        return messages;
+    }
+
+    private void recordSent(QueuedMessage message, long sendMillis) {
+        long now = clock.millis();
+        String sql = "UPDATE email_outbox SET status = ?, attempts = attempts + 1, sent_at = ?, latency_ms = ?, " +
+                     "send_ms = ?, last_error = NULL, attachment = NULL WHERE id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, Status.SENT.name());
+            stmt.setLong(2, now);
+            stmt.setLong(3, now - message.createdAt);
+            stmt.setLong(4, sendMillis);
+            stmt.setLong(5, message.id);
+            stmt.executeUpdate();
+            logger.info("Email {} sent to {} ({} ms after queuing)", message.id, message.recipient, now - message.createdAt);
+        } catch (SQLException e) {
+            // The message went out; failing here would only send it again
+            logger.error("Email {} was sent but its status could not be recorded", message.id, e);
+        }
+    }
+
+    private void recordFailure(QueuedMessage message, Exception error, DispatchResult result) {
+        int attempts = message.attempts + 1;
+        boolean giveUp = attempts >= MAX_ATTEMPTS;
+        long nextAttempt = clock.millis() + retryDelay(attempts).toMillis();
+        String errorMessage = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+
+        String sql = "UPDATE email_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, giveUp ? Status.FAILED.name() : Status.PENDING.name());
+            stmt.setInt(2, attempts);
+            stmt.setLong(3, nextAttempt);
+            stmt.setString(4, errorMessage);
+            stmt.setLong(5, message.id);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Failed to record email {} delivery failure", message.id, e);
+        }
+
+        result.failed++;
+        if (giveUp) {
+            logger.error("Giving up on email {} to {} after {} attempts: {}", message.id, message.recipient, attempts, errorMessage);
+        } else {
+            logger.warn("Email {} to {} failed (attempt {}), retrying in {} s: {}", message.id, message.recipient,
+                attempts, retryDelay(attempts).toSeconds(), errorMessage);
+        }
+    }
+
+    static Duration retryDelay(int attempts) {
+        Duration delay = FIRST_RETRY.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_RETRY) > 0 ? MAX_RETRY : delay;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Failed to close SMTP connection", e);
+        }
+    }
+
+    private static String dedupKey(String recipient, String subject, String body, String attachmentName, byte[] attachment) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] { recipient.trim().toLowerCase(), subject, body, attachmentName }) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            if (attachment != null) {
+                digest.update(attachment);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<OutboxMessage> getMessage(long id) {
+        List<OutboxMessage> messages = queryMessages("WHERE id = ?", id);
+        return messages.isEmpty() ? Optional.empty() : Optional.of(messages.get(0));
+    }
+
+    /**
+     * The most recent messages, newest first, without their attachments.
+     */
+    public List<OutboxMessage> getRecentMessages(int limit) {
+        return queryMessages("ORDER BY id DESC LIMIT ?", limit);
+    }
+
+    private List<OutboxMessage> queryMessages(String clause, Object parameter) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        String sql = "SELECT id, recipient, subject, status, attempts, created_at, next_attempt_at, sent_at, " +
+                     "latency_ms, send_ms, last_error FROM email_outbox " + clause;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, parameter);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long sentAt = rs.getLong("sent_at");
+                    messages.add(new OutboxMessage(rs.getLong("id"), rs.getString("recipient"), rs.getString("subject"),
+                        Status.valueOf(rs.getString("status")), rs.getInt("attempts"), rs.getLong("created_at"),
+                        rs.getLong("next_attempt_at"), rs.wasNull() || sentAt == 0 ? null : sentAt,
+                        rs.getObject("latency_ms") != null ? rs.getLong("latency_ms") : null,
+                        rs.getObject("send_ms") != null ? rs.getLong("send_ms") : null,
+                        rs.getString("last_error")));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve outbox messages", e);
+        }
+        return messages;
+    }
+
+    private static final class QueuedMessage {
+        private long id;
+        private String recipient;
+        private String subject;
+        private String body;
+        private String attachmentName;
+        private byte[] attachment;
+        private int attempts;
+        private long createdAt;
+    }
+
+    public record EnqueueResult(long id, boolean duplicate) {
+    }
+
+    /**
+     * Timestamps are epoch milliseconds; sentAt, latencyMillis and sendMillis are null until sent.
+     */
+    public record OutboxMessage(long id, String recipient, String subject, Status status, int attempts,
+                                long createdAt, long nextAttemptAt, Long sentAt, Long latencyMillis,
+                                Long sendMillis, String lastError) {
+    }
+
+    public static class DispatchResult {
+        public int sent;
+        public int failed;
+        public int connections;
+        public long durationMillis;
+
+        public String getSummary() {
+            return String.format("%d sent, %d failed over %d connection(s) in %d ms",
+                sent, failed, connections, durationMillis);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.subliminalsearch.simpleprojectresourcemanager.service;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.EmailConfiguration;
 import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import jakarta.activation.DataHandler;
 import jakarta.mail.*;
 import jakarta.mail.internet.*;
+import jakarta.mail.util.ByteArrayDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -132,38 +134,12 @@ public class EmailService {
             // Create session
             Session session = createSession();
             
-            // Create message
-            Message message = new MimeMessage(session);
-            
-            // Set from address
-            InternetAddress from = new InternetAddress(configuration.getFromAddress(), configuration.getFromName());
-            message.setFrom(from);
-            
-            // Set recipient
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient));
-            
-            // Set subject
-            message.setSubject(subject);
-            
+            MimeBodyPart attachmentPart = null;
             if (attachment != null) {
-                // Create multipart message with attachment
-                Multipart multipart = new MimeMultipart();
-                
-                // Add text part
-                MimeBodyPart textPart = new MimeBodyPart();
-                textPart.setText(body);
-                multipart.addBodyPart(textPart);
-                
-                // Add attachment
-                MimeBodyPart attachmentPart = new MimeBodyPart();
+                attachmentPart = new MimeBodyPart();
                 attachmentPart.attachFile(attachment);
-                multipart.addBodyPart(attachmentPart);
-                
-                message.setContent(multipart);
-            } else {
-                // Simple text message
-                message.setText(body);
             }
+            Message message = createMessage(session, recipient, subject, body, attachmentPart);
             
             // Send message
             Transport.send(message);
@@ -177,7 +153,67 @@ public class EmailService {
         }
     }
     
-    private Session createSession() {
+    /**
+     * Builds a message with an attachment held in memory, for the outbox.
+     */
+    MimeMessage createMessage(Session session, String recipient, String subject, String body,
+                              String attachmentName, byte[] attachment) throws Exception {
+        MimeBodyPart attachmentPart = null;
+        if (attachment != null) {
+            attachmentPart = new MimeBodyPart();
+            attachmentPart.setDataHandler(new DataHandler(new ByteArrayDataSource(attachment, "application/octet-stream")));
+            attachmentPart.setFileName(attachmentName);
+        }
+        return createMessage(session, recipient, subject, body, attachmentPart);
+    }
+    
+    private MimeMessage createMessage(Session session, String recipient, String subject, String body,
+                                      MimeBodyPart attachmentPart) throws Exception {
+        // Create message
+        MimeMessage message = new MimeMessage(session);
+        
+        // Set from address
+        InternetAddress from = new InternetAddress(configuration.getFromAddress(), configuration.getFromName());
+        message.setFrom(from);
+        
+        // Set recipient
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient));
+        
+        // Set subject
+        message.setSubject(subject);
+        
+        if (attachmentPart != null) {
+            // Create multipart message with attachment
+            Multipart multipart = new MimeMultipart();
+            
+            // Add text part
+            MimeBodyPart textPart = new MimeBodyPart();
+            textPart.setText(body);
+            multipart.addBodyPart(textPart);
+            
+            // Add attachment
+            multipart.addBodyPart(attachmentPart);
+            
+            message.setContent(multipart);
+        } else {
+            // Simple text message
+            message.setText(body);
+        }
+        return message;
+    }
+    
+    /**
+     * Opens and authenticates one SMTP connection, so several messages can be sent over it.
+     * The caller closes it.
+     */
+    Transport openTransport(Session session) throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        transport.connect(configuration.getSmtpServer(), configuration.getSmtpPort(),
+            getLoginUsername(), configuration.getPassword());
+        return transport;
+    }
+    
+    Session createSession() {
         Properties props = new Properties();
         
         // SMTP settings
@@ -210,23 +246,26 @@ public class EmailService {
         Authenticator auth = new Authenticator() {
             @Override
             protected PasswordAuthentication getPasswordAuthentication() {
-                String username = configuration.getUsername();
-                
-                // For NTLM, include domain in username if not already present
-                if (configuration.isUseNTLMAuth() && 
-                    configuration.getDomain() != null && 
-                    !configuration.getDomain().isEmpty() &&
-                    !username.contains("\\")) {
-                    username = configuration.getDomain() + "\\" + username;
-                }
-                
-                return new PasswordAuthentication(username, configuration.getPassword());
+                return new PasswordAuthentication(getLoginUsername(), configuration.getPassword());
             }
         };
         
         return Session.getInstance(props, auth);
     }
     
+    private String getLoginUsername() {
+        String username = configuration.getUsername();
+        
+        // For NTLM, include domain in username if not already present
+        if (configuration.isUseNTLMAuth() && 
+            configuration.getDomain() != null && 
+            !configuration.getDomain().isEmpty() &&
+            !username.contains("\\")) {
+            username = configuration.getDomain() + "\\" + username;
+        }
+        return username;
+    }
+    
     private boolean isInternalEmail(String email) {
         // Check if email is internal based on domain
         // This is a simple check - adjust based on your organization's domain
@@ -0,0 +1,314 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.model.ProjectStatus;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Headline numbers for the executive views: active projects, resource conflicts and allocation
+ * over the next 30 days, and the projects showing risk indicators.
+ *
+ * One pass runs three aggregate queries (projects by status, active versus allocated resources,
+ * open and overdue tasks per running project) and takes conflicts from SchedulingService's
+ * in-memory conflict index and utilization from its engine, instead of loading every table and
+ * querying per resource.
+ *
+ * While anyone is subscribed the metrics are recomputed on a background thread every
+ * {@link #REFRESH_INTERVAL_SECONDS} seconds and handed to the subscribers on the JavaFX thread.
+ * Obtain the shared instance through {@link SchedulingService#getExecutiveMetricsService()}, so
+ * the command center and the dashboard share one refresh.
+ */
+public class ExecutiveMetricsService {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutiveMetricsService.class);
+
+    public static final int LOOKAHEAD_DAYS = 30;
+    public static final long REFRESH_INTERVAL_SECONDS = 30;
+    private static final String REFRESH_TASK = "executive-metrics-refresh";
+    // A running project ending this soon with open tasks counts as at risk
+    static final int DEADLINE_WARNING_DAYS = 14;
+
+    private static final String PROJECT_COUNTS_SQL = """
+        SELECT status, COUNT(*) AS project_count
+        FROM projects
+        GROUP BY status
+        """;
+
+    private static final String ALLOCATION_SQL = """
+        SELECT COUNT(*) AS active_resources,
+               COALESCE(SUM(CASE WHEN EXISTS (
+                   SELECT 1 FROM assignments a
+                   WHERE a.resource_id = r.id AND a.start_date <= ? AND a.end_date >= ?
+               ) THEN 1 ELSE 0 END), 0) AS allocated_resources
+        FROM resources r
+        WHERE r.is_active = 1
+        """;
+
+    private static final String TASK_ROLLUP_SQL = """
+        SELECT p.id,
+               COALESCE(SUM(CASE WHEN t.status NOT IN ('COMPLETED', 'CANCELLED') THEN 1 ELSE 0 END), 0) AS open_tasks,
+               COALESCE(SUM(CASE WHEN t.status NOT IN ('COMPLETED', 'CANCELLED')
+                                  AND t.planned_end IS NOT NULL AND t.planned_end < ? THEN 1 ELSE 0 END), 0) AS overdue_tasks
+        FROM projects p
+        LEFT JOIN tasks t ON t.project_id = p.id
+        WHERE p.status IN ('ACTIVE', 'DELAYED')
+        GROUP BY p.id
+        """;
+
+    private final SchedulingService schedulingService;
+    private final DataSource dataSource;
+    private final UtilizationService utilizationService;
+
+    private final List<Consumer<ExecutiveMetrics>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> refreshTask;
+    private volatile ExecutiveMetrics latest;
+
+    public ExecutiveMetricsService(SchedulingService schedulingService) {
+        this(schedulingService, new UtilizationService(schedulingService.getDataSource()));
+    }
+
+    public ExecutiveMetricsService(SchedulingService schedulingService, UtilizationService utilizationService) {
+        this.schedulingService = schedulingService;
+        this.dataSource = schedulingService.getDataSource();
+        this.utilizationService = utilizationService;
+    }
+
+    /**
+     * Computes the metrics for the 30 days starting today. Runs queries, so call it off the JavaFX thread.
+     */
+    public ExecutiveMetrics computeMetrics() {
+        return computeMetrics(LocalDate.now());
+    }
+
+    ExecutiveMetrics computeMetrics(LocalDate today) {
+        LocalDate windowEnd = today.plusDays(LOOKAHEAD_DAYS);
+        Map<ProjectStatus, Integer> projectsByStatus = new EnumMap<>(ProjectStatus.class);
+        int activeResources = 0;
+        int allocatedResources = 0;
+        Map<Long, int[]> taskCounts = new LinkedHashMap<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(PROJECT_COUNTS_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String status = rs.getString("status");
+                    try {
+                        projectsByStatus.merge(ProjectStatus.valueOf(status), rs.getInt("project_count"), Integer::sum);
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        logger.warn("Ignoring projects with unknown status: {}", status);
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(ALLOCATION_SQL)) {
+                stmt.setString(1, windowEnd.toString());
+                stmt.setString(2, today.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        activeResources = rs.getInt("active_resources");
+                        allocatedResources = rs.getInt("allocated_resources");
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(TASK_ROLLUP_SQL)) {
+                stmt.setString(1, today.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        taskCounts.put(rs.getLong("id"), new int[] {rs.getInt("open_tasks"), rs.getInt("overdue_tasks")});
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to compute executive metrics", e);
+            throw new RuntimeException("Failed to compute executive metrics", e);
+        }
+
+        // Conflicts come from the in-memory interval index; one range query maps them to projects and resources
+        Set<Long> conflicted = schedulingService.detectAllConflicts(today, windowEnd);
+        Set<Long> conflictedProjects = new HashSet<>();
+        Set<Long> conflictedResources = new HashSet<>();
+        if (!conflicted.isEmpty()) {
+            for (Assignment assignment : schedulingService.getAssignmentRepository().findByDateRange(today, windowEnd)) {
+                if (conflicted.contains(assignment.getId())) {
+                    conflictedProjects.add(assignment.getProjectId());
+                    conflictedResources.add(assignment.getResourceId());
+                }
+            }
+        }
+
+        double utilization = averageUtilization(today, windowEnd);
+
+        List<ProjectRisk> atRisk = new ArrayList<>();
+        for (Map.Entry<Long, int[]> entry : taskCounts.entrySet()) {
+            Optional<Project> project = schedulingService.getProjectRepository().findById(entry.getKey());
+            if (project.isPresent()) {
+                List<String> reasons = riskReasons(project.get(), entry.getValue()[0], entry.getValue()[1],
+                    conflictedProjects.contains(entry.getKey()), today);
+                if (!reasons.isEmpty()) {
+                    atRisk.add(new ProjectRisk(project.get(), reasons));
+                }
+            }
+        }
+        atRisk.sort(Comparator.comparing((ProjectRisk r) -> r.project().getEndDate(),
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new ExecutiveMetrics(
+            projectsByStatus.getOrDefault(ProjectStatus.ACTIVE, 0),
+            projectsByStatus.values().stream().mapToInt(Integer::intValue).sum(),
+            Collections.unmodifiableMap(projectsByStatus),
+            conflicted.size(),
+            conflictedResources.size(),
+            activeResources,
+            allocatedResources,
+            utilization,
+            List.copyOf(atRisk),
+            LocalDateTime.now());
+    }
+
+    static List<String> riskReasons(Project project, int openTasks, int overdueTasks, boolean hasConflicts, LocalDate today) {
+        List<String> reasons = new ArrayList<>();
+        if (project.getStatus() == ProjectStatus.DELAYED) {
+            reasons.add("Marked as delayed");
+        }
+        LocalDate end = project.getEndDate();
+        if (end != null && end.isBefore(today)) {
+            reasons.add("Past its end date");
+        } else if (end != null && openTasks > 0 && !end.isAfter(today.plusDays(DEADLINE_WARNING_DAYS))) {
+            reasons.add(openTasks + " open tasks with " + (end.toEpochDay() - today.toEpochDay()) + " days left");
+        }
+        if (overdueTasks > 0) {
+            reasons.add(overdueTasks + " overdue tasks");
+        }
+        if (hasConflicts) {
+            reasons.add("Resource conflicts in the next " + LOOKAHEAD_DAYS + " days");
+        }
+        return reasons;
+    }
+
+    private double averageUtilization(LocalDate start, LocalDate end) {
+        List<Resource> activeResources = schedulingService.getActiveResources();
+        if (activeResources.isEmpty()) {
+            return 0;
+        }
+        UtilizationSettings settings = utilizationService.getSettings();
+        double total = 0;
+        for (Resource resource : activeResources) {
+            total += schedulingService.getResourceUtilization(resource.getId(), start, end, settings).utilizationPercent();
+        }
+        return total / activeResources.size();
+    }
+
+    /**
+     * The most recent metrics, or null before the first refresh.
+     */
+    public ExecutiveMetrics getLatest() {
+        return latest;
+    }
+
+    /**
+     * Registers a listener called on the JavaFX thread after every refresh, and starts the
+     * background schedule with the first one. The latest metrics, if any, are delivered right away.
+     */
+    public synchronized void subscribe(Consumer<ExecutiveMetrics> listener) {
+        listeners.add(listener);
+        ExecutiveMetrics current = latest;
+        if (current != null) {
+            Platform.runLater(() -> listener.accept(current));
+        }
+        if (refreshTask == null) {
+            refreshTask = BackgroundTasks.getInstance().scheduleAtFixedRate(REFRESH_TASK, this::refreshQuietly,
+                0, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            logger.debug("Started executive metrics refresh every {}s", REFRESH_INTERVAL_SECONDS);
+        }
+    }
+
+    /**
+     * Removes a listener; the background schedule stops when the last one leaves.
+     */
+    public synchronized void unsubscribe(Consumer<ExecutiveMetrics> listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+            logger.debug("Stopped executive metrics refresh");
+        }
+    }
+
+    /**
+     * Queues an immediate refresh on the background pool, e.g. after the user asked for one.
+     */
+    public synchronized void requestRefresh() {
+        if (refreshTask != null) {
+            // Joins a refresh that is already queued or running instead of stacking another
+            BackgroundTasks.getInstance().runOnce(BackgroundTasks.Pool.IO, REFRESH_TASK, this::refreshQuietly);
+        }
+    }
+
+    public synchronized void shutdown() {
+        listeners.clear();
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+        }
+    }
+
+    private ExecutiveMetrics refresh() {
+        ExecutiveMetrics metrics = computeMetrics();
+        latest = metrics;
+        for (Consumer<ExecutiveMetrics> listener : listeners) {
+            Platform.runLater(() -> listener.accept(metrics));
+        }
+        return metrics;
+    }
+
+    private void refreshQuietly() {
+        // An exception would cancel the schedule; log it and try again next time
+        try {
+            long start = System.currentTimeMillis();
+            ExecutiveMetrics metrics = refresh();
+            logger.debug("Refreshed executive metrics in {}ms: {} active projects, {} conflicts, {} at risk",
+                System.currentTimeMillis() - start, metrics.activeProjects(), metrics.conflictedAssignments(),
+                metrics.projectsAtRisk().size());
+        } catch (RuntimeException e) {
+            logger.error("Executive metrics refresh failed", e);
+        }
+    }
+
+    /**
+     * A running project with the reasons it shows risk indicators.
+     */
+    public record ProjectRisk(Project project, List<String> reasons) {
+    }
+
+    /**
+     * One snapshot of the executive metrics. Conflicts, allocation and utilization cover the
+     * {@link #LOOKAHEAD_DAYS} days from the day it was computed.
+     */
+    public record ExecutiveMetrics(int activeProjects, int totalProjects, Map<ProjectStatus, Integer> projectsByStatus,
+                                   int conflictedAssignments, int conflictedResources,
+                                   int activeResources, int allocatedResources, double resourceUtilization,
+                                   List<ProjectRisk> projectsAtRisk, LocalDateTime computedAt) {
+
+        public double allocationPercent() {
+            return activeResources > 0 ? (allocatedResources * 100.0) / activeResources : 0;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.OpenItemRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.util.DependencyReachabilityIndex;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import org.slf4j.Logger;
@@ -27,6 +28,12 @@ public class OpenItemService {
     private final DatabaseConfig databaseConfig;
     private final ObservableList<OpenItem> allItems = FXCollections.observableArrayList();
     
+    // Reachability over depends_on links, built lazily from the cache. Dependencies can point
+    // across projects, so one index covers all items; dependsOnSnapshot holds the edge each
+    // item currently contributes so updates can be patched in.
+    private DependencyReachabilityIndex dependencyIndex;
+    private final Map<Long, Long> dependsOnSnapshot = new HashMap<>();
+    
     public OpenItemService(DatabaseConfig databaseConfig) {
         this.databaseConfig = databaseConfig;
         this.openItemRepository = new OpenItemRepository(databaseConfig);
@@ -43,6 +50,7 @@ public class OpenItemService {
     private void loadAllItems() {
         logger.info("Refreshing cache - clearing current items");
         allItems.clear();
+        dependencyIndex = null;
         List<OpenItem> fromDb = openItemRepository.findAll();
         logger.info("Repository returned {} items from database", fromDb.size());
         allItems.addAll(fromDb);
@@ -76,6 +84,7 @@ public class OpenItemService {
         
         if (saved != null && saved.getId() != null) {
             allItems.add(saved);
+            indexDependency(saved);
             logger.info("Successfully created and cached open item: {} (ID: {}) for project {}", 
                        saved.getTitle(), saved.getId(), projectId);
             logger.info("Cache now contains {} total items", allItems.size());
@@ -105,6 +114,7 @@ public class OpenItemService {
             allItems.add(updated);
             logger.warn("Updated item not found in cache, adding it: {}", updated.getId());
         }
+        indexDependency(updated);
         
         // Check and update health status based on progress
         updateHealthStatus(updated);
@@ -115,6 +125,8 @@ public class OpenItemService {
     public void deleteOpenItem(Long itemId) {
         openItemRepository.delete(itemId);
         allItems.removeIf(item -> item.getId().equals(itemId));
+        // Other items may still point at the deleted one, so rebuild on next use
+        dependencyIndex = null;
         logger.info("Deleted open item with id: {}", itemId);
     }
     
@@ -356,24 +368,40 @@ public class OpenItemService {
     private boolean wouldCreateCircularDependency(Long itemId, Long dependsOnId) {
         if (itemId.equals(dependsOnId)) return true;
         
-        Set<Long> visited = new HashSet<>();
-        Queue<Long> toCheck = new LinkedList<>();
-        toCheck.add(dependsOnId);
-        
-        while (!toCheck.isEmpty()) {
-            Long current = toCheck.poll();
-            if (current.equals(itemId)) return true;
-            
-            if (!visited.contains(current)) {
-                visited.add(current);
-                Optional<OpenItem> currentItem = openItemRepository.findById(current);
-                if (currentItem.isPresent() && currentItem.get().getDependsOnItemId() != null) {
-                    toCheck.add(currentItem.get().getDependsOnItemId());
-                }
+        // Edges run item -> dependsOn, so the new link closes a cycle if dependsOn already leads back to item
+        return getDependencyIndex().wouldCreateCycle(itemId, dependsOnId);
+    }
+    
+    private DependencyReachabilityIndex getDependencyIndex() {
+        if (dependencyIndex == null) {
+            dependencyIndex = new DependencyReachabilityIndex();
+            dependsOnSnapshot.clear();
+            for (OpenItem item : allItems) {
+                indexDependency(item);
             }
+            logger.debug("Built open item dependency index: {} items, {} links",
+                dependencyIndex.getNodeCount(), dependencyIndex.getEdgeCount());
+        }
+        return dependencyIndex;
+    }
+    
+    private void indexDependency(OpenItem item) {
+        if (dependencyIndex == null || item.getId() == null) {
+            return;
+        }
+        Long previous = dependsOnSnapshot.get(item.getId());
+        Long current = item.getDependsOnItemId();
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            dependencyIndex.removeEdge(item.getId(), previous);
+            dependsOnSnapshot.remove(item.getId());
+        }
+        if (current != null) {
+            dependencyIndex.addEdge(item.getId(), current);
+            dependsOnSnapshot.put(item.getId(), current);
         }
-        
-        return false;
     }
     
     private void checkAndUpdateDependentItems(Long completedItemId) {
@@ -9,24 +9,34 @@ import javax.sql.DataSource;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 
 /**
  * Service to import Purchase Orders from company spreadsheet
  * Handles VPN connectivity and local caching
+ *
+ * Imports are incremental: a file whose size and modification time (or, failing that, content
+ * hash) match the last successful import is not read at all, and otherwise only the rows that
+ * are new, changed or gone since then are written, in one transaction. Rows are matched on
+ * spreadsheet row number and PO number and compared by a hash of their values. Every run is
+ * recorded in po_import_runs.
  */
 public class POSpreadsheetImportService {
     private static final Logger logger = LoggerFactory.getLogger(POSpreadsheetImportService.class);
@@ -35,9 +45,15 @@ public class POSpreadsheetImportService {
     private static final String SHEET_NAME = "PO LogBook";
     
     private final DataSource dataSource;
+    private final Path sourcePath;
     
     public POSpreadsheetImportService(DataSource dataSource) {
+        this(dataSource, Paths.get(NETWORK_PO_PATH));
+    }
+    
+    POSpreadsheetImportService(DataSource dataSource, Path sourcePath) {
         this.dataSource = dataSource;
+        this.sourcePath = sourcePath;
         initializeTable();
     }
     
@@ -61,13 +77,47 @@ public class POSpreadsheetImportService {
                 notes TEXT,
                 row_number INTEGER,
                 import_timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                last_modified TEXT
+                last_modified TEXT,
+                row_hash TEXT
+            )
+        """;
+        String createRunsTable = """
+            CREATE TABLE IF NOT EXISTS po_import_runs (
+                run_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                run_timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                success BOOLEAN,
+                skipped BOOLEAN,
+                source_size INTEGER,
+                source_modified INTEGER,
+                content_hash TEXT,
+                total_rows INTEGER,
+                inserted_rows INTEGER,
+                updated_rows INTEGER,
+                deleted_rows INTEGER,
+                unchanged_rows INTEGER,
+                duration_ms INTEGER,
+                message TEXT
             )
         """;
         
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement()) {
             stmt.execute(createTable);
+            stmt.execute(createRunsTable);
+            
+            // Tables created before incremental imports have no row hash; their rows are rewritten once
+            boolean hasRowHash = false;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(company_purchase_orders)")) {
+                while (rs.next()) {
+                    if ("row_hash".equalsIgnoreCase(rs.getString("name"))) {
+                        hasRowHash = true;
+                    }
+                }
+            }
+            if (!hasRowHash) {
+                stmt.executeUpdate("ALTER TABLE company_purchase_orders ADD COLUMN row_hash TEXT");
+                logger.info("Added row_hash column to company_purchase_orders");
+            }
             logger.info("Company purchase orders table initialized");
         } catch (Exception e) {
             logger.error("Failed to initialize company_purchase_orders table", e);
@@ -78,51 +128,82 @@ public class POSpreadsheetImportService {
      * Check if the network PO spreadsheet is accessible (VPN connected)
      */
     public boolean isNetworkAccessible() {
-        File networkFile = new File(NETWORK_PO_PATH);
+        File networkFile = sourcePath.toFile();
         return networkFile.exists() && networkFile.canRead();
     }
     
     /**
-     * Import PO data from spreadsheet
+     * Import PO data from spreadsheet, skipping it when unchanged since the last import
      * @return ImportResult with status and statistics
      */
     public ImportResult importPurchaseOrders() {
+        return importPurchaseOrders(false);
+    }
+    
+    /**
+     * Import PO data from spreadsheet
+     * @param force read and compare the spreadsheet even when it looks unchanged
+     * @return ImportResult with status and statistics
+     */
+    public ImportResult importPurchaseOrders(boolean force) {
         ImportResult result = new ImportResult();
+        long started = System.currentTimeMillis();
         
         // Check network access
         if (!isNetworkAccessible()) {
             result.success = false;
             result.message = "Cannot access network spreadsheet. Please connect to company VPN and try again.";
-            logger.warn("Network PO spreadsheet not accessible at: {}", NETWORK_PO_PATH);
+            logger.warn("Network PO spreadsheet not accessible at: {}", sourcePath);
             return result;
         }
         
         // Copy to temp location to avoid locking issues
         Path tempFile = null;
         try {
+            long size = Files.size(sourcePath);
+            long modified = Files.getLastModifiedTime(sourcePath).toMillis();
+            ImportRun lastRun = getLastSuccessfulRun();
+            
+            if (!force && lastRun != null && lastRun.sourceSize == size && lastRun.sourceModified == modified) {
+                skipUnchanged(result, lastRun, size, modified, lastRun.contentHash, started);
+                return result;
+            }
+            
             tempFile = Files.createTempFile("PO_LogBook_", ".xls");
-            Files.copy(Paths.get(NETWORK_PO_PATH), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            String contentHash = copyAndHash(sourcePath, tempFile);
             logger.info("Copied PO spreadsheet to temp location: {}", tempFile);
             
+            // Touched but not edited (e.g. saved without changes)
+            if (!force && lastRun != null && contentHash.equals(lastRun.contentHash)) {
+                skipUnchanged(result, lastRun, size, modified, contentHash, started);
+                return result;
+            }
+            
             // Read the Excel file
             List<PORecord> records = readExcelFile(tempFile.toFile());
             result.totalRows = records.size();
             
-            // Clear existing data and insert new records
-            clearExistingData();
-            int imported = insertRecords(records);
-            result.importedRows = imported;
+            // Write only what differs from the stored rows
+            applyChanges(records, result);
+            result.importedRows = result.insertedRows + result.updatedRows;
             
             result.success = true;
-            result.message = String.format("Successfully imported %d PO records from spreadsheet", imported);
+            result.message = String.format(
+                "Imported %d PO records from spreadsheet: %d new, %d changed, %d removed, %d unchanged",
+                result.totalRows, result.insertedRows, result.updatedRows, result.deletedRows, result.unchangedRows);
             result.lastImportTime = LocalDateTime.now();
+            result.durationMillis = System.currentTimeMillis() - started;
+            recordRun(result, size, modified, contentHash);
             
-            logger.info("PO import completed: {} records imported", imported);
+            logger.info("PO import completed in {}ms: {} new, {} changed, {} removed, {} unchanged",
+                result.durationMillis, result.insertedRows, result.updatedRows, result.deletedRows, result.unchangedRows);
             
         } catch (Exception e) {
             result.success = false;
             result.message = "Error importing PO data: " + e.getMessage();
+            result.durationMillis = System.currentTimeMillis() - started;
             logger.error("Failed to import PO spreadsheet", e);
+            recordRun(result, -1, -1, null);
         } finally {
             // Clean up temp file
             if (tempFile != null) {
@@ -278,58 +359,233 @@ public class POSpreadsheetImportService {
         return null;
     }
     
-    private void clearExistingData() {
-        String sql = "DELETE FROM company_purchase_orders";
-        
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            int deleted = stmt.executeUpdate();
-            logger.info("Cleared {} existing PO records", deleted);
-        } catch (Exception e) {
-            logger.error("Failed to clear existing PO data", e);
+    private void skipUnchanged(ImportResult result, ImportRun lastRun, long size, long modified,
+                               String contentHash, long started) {
+        result.success = true;
+        result.skipped = true;
+        result.totalRows = lastRun.totalRows;
+        result.unchangedRows = lastRun.totalRows;
+        result.message = "PO spreadsheet unchanged since last import - nothing to update";
+        result.lastImportTime = LocalDateTime.now();
+        result.durationMillis = System.currentTimeMillis() - started;
+        recordRun(result, size, modified, contentHash);
+        logger.info("PO spreadsheet unchanged since last import, skipped");
+    }
+    
+    private String copyAndHash(Path source, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
         }
+        return HexFormat.of().formatHex(digest.digest());
     }
     
-    private int insertRecords(List<PORecord> records) {
-        String sql = """
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Hash of all imported values of a row, to tell changed rows from unchanged ones
+     */
+    private static String rowHash(PORecord record, MessageDigest digest) {
+        Object[] values = {
+            record.poNumber, record.poDate, record.vendor, record.description, record.amount,
+            record.projectNumber, record.projectName, record.requestedBy, record.approvedBy,
+            record.status, record.invoiceNumber, record.invoiceDate, record.paymentStatus, record.notes
+        };
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            // Unit separator keeps ("ab", "c") and ("a", "bc") apart; null differs from ""
+            sb.append(value == null ? "\u0000" : value.toString()).append('\u001f');
+        }
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static String rowKey(int rowNumber, String poNumber) {
+        return rowNumber + "|" + (poNumber != null ? poNumber : "");
+    }
+    
+    /**
+     * Compares the spreadsheet rows with the stored ones and applies inserts, updates and
+     * deletes as batches in one transaction, counting each kind into the result.
+     */
+    private void applyChanges(List<PORecord> records, ImportResult result) throws SQLException {
+        String insertSql = """
             INSERT INTO company_purchase_orders (
                 po_number, po_date, vendor, description, amount,
                 project_number, project_name, requested_by, approved_by,
                 status, invoice_number, invoice_date, payment_status,
-                notes, row_number
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                notes, row_number, row_hash
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        String updateSql = """
+            UPDATE company_purchase_orders SET
+                po_number = ?, po_date = ?, vendor = ?, description = ?, amount = ?,
+                project_number = ?, project_name = ?, requested_by = ?, approved_by = ?,
+                status = ?, invoice_number = ?, invoice_date = ?, payment_status = ?,
+                notes = ?, row_number = ?, row_hash = ?, import_timestamp = CURRENT_TIMESTAMP
+            WHERE import_id = ?
         """;
+        String deleteSql = "DELETE FROM company_purchase_orders WHERE import_id = ?";
         
-        int count = 0;
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection()) {
+            // Stored rows by key; a duplicate key (possible in tables from full imports) is removed
+            Map<String, StoredRow> stored = new HashMap<>();
+            List<Long> deletes = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT import_id, po_number, row_number, row_hash FROM company_purchase_orders");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    StoredRow row = new StoredRow(rs.getLong("import_id"), rs.getString("row_hash"));
+                    if (stored.putIfAbsent(rowKey(rs.getInt("row_number"), rs.getString("po_number")), row) != null) {
+                        deletes.add(row.importId);
+                    }
+                }
+            }
             
-            for (PORecord record : records) {
-                stmt.setString(1, record.poNumber);
-                stmt.setString(2, record.poDate != null ? record.poDate.toString() : null);
-                stmt.setString(3, record.vendor);
-                stmt.setString(4, record.description);
-                stmt.setObject(5, record.amount);
-                stmt.setString(6, record.projectNumber);
-                stmt.setString(7, record.projectName);
-                stmt.setString(8, record.requestedBy);
-                stmt.setString(9, record.approvedBy);
-                stmt.setString(10, record.status);
-                stmt.setString(11, record.invoiceNumber);
-                stmt.setString(12, record.invoiceDate != null ? record.invoiceDate.toString() : null);
-                stmt.setString(13, record.paymentStatus);
-                stmt.setString(14, record.notes);
-                stmt.setInt(15, record.rowNumber);
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(insertSql);
+                 PreparedStatement update = conn.prepareStatement(updateSql);
+                 PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                
+                MessageDigest digest = sha256();
+                for (PORecord record : records) {
+                    String hash = rowHash(record, digest);
+                    StoredRow existing = stored.remove(rowKey(record.rowNumber, record.poNumber));
+                    if (existing == null) {
+                        bindRecord(insert, record, hash);
+                        insert.addBatch();
+                        result.insertedRows++;
+                    } else if (!hash.equals(existing.rowHash)) {
+                        bindRecord(update, record, hash);
+                        update.setLong(17, existing.importId);
+                        update.addBatch();
+                        result.updatedRows++;
+                    } else {
+                        result.unchangedRows++;
+                    }
+                }
                 
-                stmt.executeUpdate();
-                count++;
+                // Whatever was not matched is no longer in the spreadsheet
+                for (StoredRow row : stored.values()) {
+                    deletes.add(row.importId);
+                }
+                for (Long importId : deletes) {
+                    delete.setLong(1, importId);
+                    delete.addBatch();
+                }
+                result.deletedRows = deletes.size();
+                
+                insert.executeBatch();
+                update.executeBatch();
+                delete.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    private void bindRecord(PreparedStatement stmt, PORecord record, String hash) throws SQLException {
+        stmt.setString(1, record.poNumber);
+        stmt.setString(2, record.poDate != null ? record.poDate.toString() : null);
+        stmt.setString(3, record.vendor);
+        stmt.setString(4, record.description);
+        stmt.setObject(5, record.amount);
+        stmt.setString(6, record.projectNumber);
+        stmt.setString(7, record.projectName);
+        stmt.setString(8, record.requestedBy);
+        stmt.setString(9, record.approvedBy);
+        stmt.setString(10, record.status);
+        stmt.setString(11, record.invoiceNumber);
+        stmt.setString(12, record.invoiceDate != null ? record.invoiceDate.toString() : null);
+        stmt.setString(13, record.paymentStatus);
+        stmt.setString(14, record.notes);
+        stmt.setInt(15, record.rowNumber);
+        stmt.setString(16, hash);
+    }
+    
+    private void recordRun(ImportResult result, long size, long modified, String contentHash) {
+        String sql = """
+            INSERT INTO po_import_runs (
+                success, skipped, source_size, source_modified, content_hash, total_rows,
+                inserted_rows, updated_rows, deleted_rows, unchanged_rows, duration_ms, message
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setBoolean(1, result.success);
+            stmt.setBoolean(2, result.skipped);
+            stmt.setLong(3, size);
+            stmt.setLong(4, modified);
+            stmt.setString(5, contentHash);
+            stmt.setInt(6, result.totalRows);
+            stmt.setInt(7, result.insertedRows);
+            stmt.setInt(8, result.updatedRows);
+            stmt.setInt(9, result.deletedRows);
+            stmt.setInt(10, result.unchangedRows);
+            stmt.setLong(11, result.durationMillis);
+            stmt.setString(12, result.message);
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            logger.error("Failed to record PO import run", e);
+        }
+    }
+    
+    private ImportRun getLastSuccessfulRun() {
+        List<ImportRun> runs = getRecentImportRuns(1, true);
+        return runs.isEmpty() ? null : runs.get(0);
+    }
+    
+    /**
+     * Get the statistics of the most recent import runs, newest first
+     */
+    public List<ImportRun> getRecentImportRuns(int limit) {
+        return getRecentImportRuns(limit, false);
+    }
+    
+    private List<ImportRun> getRecentImportRuns(int limit, boolean successfulOnly) {
+        List<ImportRun> runs = new ArrayList<>();
+        String sql = "SELECT * FROM po_import_runs" + (successfulOnly ? " WHERE success = 1" : "") +
+                     " ORDER BY run_id DESC LIMIT ?";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ImportRun run = new ImportRun();
+                    String timestamp = rs.getString("run_timestamp");
+                    run.runTime = timestamp != null ? LocalDateTime.parse(timestamp.replace(" ", "T")) : null;
+                    run.success = rs.getBoolean("success");
+                    run.skipped = rs.getBoolean("skipped");
+                    run.sourceSize = rs.getLong("source_size");
+                    run.sourceModified = rs.getLong("source_modified");
+                    run.contentHash = rs.getString("content_hash");
+                    run.totalRows = rs.getInt("total_rows");
+                    run.insertedRows = rs.getInt("inserted_rows");
+                    run.updatedRows = rs.getInt("updated_rows");
+                    run.deletedRows = rs.getInt("deleted_rows");
+                    run.unchangedRows = rs.getInt("unchanged_rows");
+                    run.durationMillis = rs.getLong("duration_ms");
+                    run.message = rs.getString("message");
+                    runs.add(run);
+                }
             }
-            
         } catch (Exception e) {
-            logger.error("Failed to insert PO records", e);
+            logger.error("Failed to retrieve PO import runs", e);
         }
         
-        return count;
+        return runs;
     }
     
     /**
@@ -377,6 +633,11 @@ public class POSpreadsheetImportService {
      * Get last import timestamp
      */
     public LocalDateTime getLastImportTime() {
+        // Unchanged rows keep their original timestamp, so prefer the run log
+        ImportRun lastRun = getLastSuccessfulRun();
+        if (lastRun != null && lastRun.runTime != null) {
+            return lastRun.runTime;
+        }
         String sql = "SELECT MAX(import_timestamp) as last_import FROM company_purchase_orders";
         
         try (Connection conn = dataSource.getConnection();
@@ -426,9 +687,41 @@ public class POSpreadsheetImportService {
     
     public static class ImportResult {
         public boolean success;
+        public boolean skipped;
         public String message;
         public int totalRows;
         public int importedRows;
+        public int insertedRows;
+        public int updatedRows;
+        public int deletedRows;
+        public int unchangedRows;
+        public long durationMillis;
         public LocalDateTime lastImportTime;
     }
+    
+    public static class ImportRun {
+        public LocalDateTime runTime;
+        public boolean success;
+        public boolean skipped;
+        public long sourceSize;
+        public long sourceModified;
+        public String contentHash;
+        public int totalRows;
+        public int insertedRows;
+        public int updatedRows;
+        public int deletedRows;
+        public int unchangedRows;
+        public long durationMillis;
+        public String message;
+    }
+    
+    private static final class StoredRow {
+        private final long importId;
+        private final String rowHash;
+        
+        StoredRow(long importId, String rowHash) {
+            this.importId = importId;
+            this.rowHash = rowHash;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,335 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generated report PDFs and their rendered preview pages, reused until the data changes.
+ *
+ * An entry is keyed by report type, parameters and the {@link DataVersion} read before the
+ * report was generated, so any write made since then turns the next lookup into a miss. The
+ * PDFs live under the app data directory and are evicted least recently used first once they
+ * exceed the disk budget; rendered pages are kept in memory for the most recently viewed pages
+ * only. The index is not persisted: the data version restarts with the application, so files
+ * left by an earlier run are deleted on startup.
+ *
+ * A report that is open somewhere (a preview, the report offered for Save As and Email) is pinned;
+ * {@link #get} hands out every entry with a pin already taken for the caller.
+ * Eviction skips pinned reports, and one superseded while pinned leaves the index but keeps its
+ * file until the last pin is released. Disk usage counts a file until it has actually been deleted;
+ * deletes that fail (a file still open elsewhere on Windows) are retried on later evictions.
+ */
+public final class ReportCache {
+    private static final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    private static final Path DEFAULT_DIRECTORY =
+        Paths.get(System.getProperty("user.home"), ".SimpleProjectResourceManager", "report-cache");
+    private static final long DEFAULT_DISK_BUDGET = 200L * 1024 * 1024;
+    // A letter page at preview resolution takes about 8 MB
+    private static final int MAX_RENDERED_PAGES = 8;
+
+    public static final float PREVIEW_DPI = 150;
+
+    // Report services write to the temp directory under these names; older versions of this
+    // view left every preview there
+    private static final List<String> TEMP_REPORT_PREFIXES = List.of("ProjectReport_", "resource_utilization_",
+        "project_pipeline_", "revenue_budget_", "geographic_report_", "completion_analytics_");
+    private static final long TEMP_REPORT_MIN_AGE = TimeUnit.HOURS.toMillis(1);
+
+    private static ReportCache instance;
+
+    private final Path directory;
+    private final Path tempDirectory;
+    private final long diskBudget;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, BufferedImage> renderedPages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return size() > MAX_RENDERED_PAGES;
+        }
+    };
+    // Removed from the index, but still on disk because a delete failed
+    private final List<Entry> undeleted = new ArrayList<>();
+    private long diskUsage = 0;
+    private long sequence = 0;
+    private boolean tempSwept = false;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Produces a report PDF, anywhere on disk; the cache moves it into its own directory.
+     */
+    public interface Generator {
+        File generate() throws Exception;
+    }
+
+    public static synchronized ReportCache getInstance() {
+        if (instance == null) {
+            instance = new ReportCache(DEFAULT_DIRECTORY, Paths.get(System.getProperty("java.io.tmpdir")),
+                DEFAULT_DISK_BUDGET);
+        }
+        return instance;
+    }
+
+    ReportCache(Path directory, Path tempDirectory, long diskBudget) {
+        this.directory = directory;
+        this.tempDirectory = tempDirectory;
+        this.diskBudget = diskBudget;
+        try {
+            if (Files.exists(directory)) {
+                deleteRecursively(directory);
+            }
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.error("Failed to prepare report cache directory {}", directory, e);
+            throw new RuntimeException("Failed to prepare report cache directory", e);
+        }
+    }
+
+    /**
+     * Returns the cached report for these parameters, generating it if the data has changed
+     * since it was cached or it was never generated.
+     *
+     * The entry comes back pinned, so it cannot be evicted between this lookup and its first use;
+     * the caller owns that pin and must {@link Entry#release()} it when done with the report.
+     */
+    public Entry get(String reportType, List<?> parameters, Generator generator) throws IOException {
+        String baseKey = reportType + parameters.stream().map(String::valueOf).collect(Collectors.joining("|", "(", ")"));
+        // Read before generating, so a write made while the report is generated invalidates it
+        String key = baseKey + "@" + DataVersion.current();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.file.exists()) {
+                hits.incrementAndGet();
+                entry.hits++;
+                entry.pins++;
+                return entry;
+            }
+        }
+
+        misses.incrementAndGet();
+        File generated;
+        try {
+            generated = generator.generate();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        Path entryDirectory;
+        synchronized (this) {
+            entryDirectory = directory.resolve(Long.toString(++sequence));
+        }
+        Files.createDirectories(entryDirectory);
+        Path target = entryDirectory.resolve(generated.getName());
+        Files.move(generated.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+
+        int pageCount;
+        try (PDDocument document = Loader.loadPDF(target.toFile())) {
+            pageCount = document.getNumberOfPages();
+        }
+        Entry entry = new Entry(key, baseKey, target.toFile(), pageCount, Files.size(target));
+
+        synchronized (this) {
+            // Results for older data versions of the same report can never be hit again
+            List<Entry> superseded = entries.values().stream()
+                .filter(existing -> existing.baseKey.equals(baseKey))
+                .collect(Collectors.toList());
+            superseded.forEach(this::remove);
+            entries.put(key, entry);
+            entry.pins++;
+            diskUsage += entry.size;
+            evict(entry);
+        }
+        return entry;
+    }
+
+    public synchronized void clear() {
+        new ArrayList<>(entries.values()).forEach(this::remove);
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hits.get(), misses.get(), evictions.get(), entries.size(), diskUsage);
+    }
+
+    private void evict(Entry keep) {
+        new ArrayList<>(undeleted).forEach(this::deleteFiles);
+        Iterator<Entry> eldestFirst = new ArrayList<>(entries.values()).iterator();
+        while (diskUsage > diskBudget && eldestFirst.hasNext()) {
+            Entry eldest = eldestFirst.next();
+            if (eldest != keep && eldest.pins == 0) {
+                remove(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+        if (!tempSwept) {
+            tempSwept = true;
+            sweepTempReports();
+        }
+        logger.debug("Report cache: {}", getStatistics().getSummary());
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.key);
+        renderedPages.keySet().removeIf(pageKey -> pageKey.startsWith(entry.key + "#"));
+        if (entry.pins > 0) {
+            // Deleted when the last user releases it
+            entry.retired = true;
+        } else {
+            deleteFiles(entry);
+        }
+    }
+
+    private void deleteFiles(Entry entry) {
+        try {
+            deleteRecursively(entry.file.toPath().getParent());
+            diskUsage -= entry.size;
+            undeleted.remove(entry);
+        } catch (IOException e) {
+            logger.warn("Failed to delete cached report {}", entry.file, e);
+            if (!undeleted.contains(entry)) {
+                undeleted.add(entry);
+            }
+        }
+    }
+
+    private synchronized void pin(Entry entry) {
+        entry.pins++;
+    }
+
+    private synchronized void release(Entry entry) {
+        if (entry.pins > 0 && --entry.pins == 0 && entry.retired) {
+            entry.retired = false;
+            deleteFiles(entry);
+        }
+    }
+
+    /**
+     * Deletes report PDFs that earlier runs left in the temp directory.
+     */
+    private void sweepTempReports() {
+        long cutoff = System.currentTimeMillis() - TEMP_REPORT_MIN_AGE;
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDirectory, "*.pdf")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (TEMP_REPORT_PREFIXES.stream().anyMatch(name::startsWith)
+                        && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to clean up old report files in {}", tempDirectory, e);
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} old report files from {}", deleted, tempDirectory);
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private synchronized BufferedImage renderedPage(String pageKey) {
+        return renderedPages.get(pageKey);
+    }
+
+    private synchronized void storeRenderedPage(Entry entry, String pageKey, BufferedImage image) {
+        // Not worth keeping pages of a report evicted while they were rendered
+        if (entries.get(entry.key) == entry) {
+            renderedPages.put(pageKey, image);
+        }
+    }
+
+    public final class Entry {
+        private final String key;
+        private final String baseKey;
+        private final File file;
+        private final int pageCount;
+        private final long size;
+        private int hits;
+        private int pins;
+        private boolean retired;
+
+        private Entry(String key, String baseKey, File file, int pageCount, long size) {
+            this.key = key;
+            this.baseKey = baseKey;
+            this.file = file;
+            this.pageCount = pageCount;
+            this.size = size;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public int getPageCount() {
+            return pageCount;
+        }
+
+        /**
+         * Keeps the file on disk until {@link #release()}, even if the entry is evicted or superseded.
+         * Takes a pin of its own for another holder; the one from {@link ReportCache#get} is already held.
+         */
+        public void pin() {
+            ReportCache.this.pin(this);
+        }
+
+        public void release() {
+            ReportCache.this.release(this);
+        }
+
+        /**
+         * How many lookups this entry has answered without generating the report.
+         */
+        public int getHits() {
+            synchronized (ReportCache.this) {
+                return hits;
+            }
+        }
+
+        /**
+         * A page rendered at {@link #PREVIEW_DPI} earlier, or null if none is kept.
+         */
+        public BufferedImage getRenderedPage(int pageIndex) {
+            return renderedPage(key + "#" + pageIndex);
+        }
+
+        public void putRenderedPage(int pageIndex, BufferedImage image) {
+            storeRenderedPage(this, key + "#" + pageIndex, image);
+        }
+    }
+
+    public record Statistics(long hits, long misses, long evictions, int entries, long diskBytes) {
+        public String getSummary() {
+            return String.format("hits=%d misses=%d evictions=%d, %d reports on disk (%.1f MB)",
+                hits, misses, evictions, entries, diskBytes / (1024.0 * 1024.0));
+        }
+    }
+}
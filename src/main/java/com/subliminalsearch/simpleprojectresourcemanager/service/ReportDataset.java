@@ -0,0 +1,92 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Everything a report reads, loaded once before any page is drawn: all projects, resources and
+ * assignments, each with a single query. Project financials (budget, revenue and cost breakdown)
+ * are project columns and come with the projects; holidays are applied through the shared
+ * WorkingCalendar by the utilization engine.
+ *
+ * Immutable, so the pages of one report can read it from several threads.
+ */
+public final class ReportDataset {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Project> projects;
+    private final List<Project> projectsInPeriod;
+    private final Map<Long, Project> projectsById;
+    private final List<Resource> resources;
+    private final Map<Long, List<Assignment>> assignmentsByResource;
+
+    private ReportDataset(LocalDate startDate, LocalDate endDate, List<Project> projects,
+                          List<Resource> resources, List<Assignment> assignments) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.projects = List.copyOf(projects);
+        this.resources = List.copyOf(resources);
+
+        Map<Long, Project> byId = new HashMap<>();
+        List<Project> inPeriod = new ArrayList<>();
+        for (Project project : projects) {
+            byId.put(project.getId(), project);
+            // Include project if it overlaps with the selected date range
+            if (!project.getEndDate().isBefore(startDate) && !project.getStartDate().isAfter(endDate)) {
+                inPeriod.add(project);
+            }
+        }
+        this.projectsById = Collections.unmodifiableMap(byId);
+        this.projectsInPeriod = List.copyOf(inPeriod);
+
+        Map<Long, List<Assignment>> byResource = new HashMap<>();
+        for (Assignment assignment : assignments) {
+            byResource.computeIfAbsent(assignment.getResourceId(), id -> new ArrayList<>()).add(assignment);
+        }
+        byResource.replaceAll((id, list) -> List.copyOf(list));
+        this.assignmentsByResource = Collections.unmodifiableMap(byResource);
+    }
+
+    public static ReportDataset load(SchedulingService schedulingService, LocalDate startDate, LocalDate endDate) {
+        List<Assignment> assignments = schedulingService.getAssignmentRepository().findAll();
+        return new ReportDataset(startDate, endDate,
+            schedulingService.getAllProjects(),
+            schedulingService.getAllResources(),
+            assignments != null ? assignments : List.of());
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Projects overlapping the report period.
+     */
+    public List<Project> getProjectsInPeriod() {
+        return projectsInPeriod;
+    }
+
+    public Optional<Project> getProject(Long id) {
+        return Optional.ofNullable(projectsById.get(id));
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Assignment> getAssignmentsForResource(Long resourceId) {
+        return assignmentsByResource.getOrDefault(resourceId, List.of());
+    }
+}
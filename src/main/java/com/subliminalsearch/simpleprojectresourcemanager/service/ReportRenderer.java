@@ -0,0 +1,161 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Renders the sections of a PDF report in parallel on the shared CPU pool and assembles them in
+ * order. A PDDocument may only be used by one thread, so each section is drawn into a document of
+ * its own and its pages are imported into the final document; chart images are rendered on the
+ * same pool via {@link #submit}.
+ *
+ * A section may wait for a chart submitted before it: the pool takes tasks in submission order,
+ * so the chart has always started by the time the section runs.
+ */
+public final class ReportRenderer {
+    private static final Logger logger = LoggerFactory.getLogger(ReportRenderer.class);
+
+    private ReportRenderer() {
+    }
+
+    /**
+     * Draws one section (one or more pages) of a report into the given document.
+     */
+    public interface Section {
+        void write(PDDocument document) throws IOException;
+    }
+
+    public static <T> Future<T> submit(Callable<T> task) {
+        return BackgroundTasks.getInstance().submit(BackgroundTasks.Pool.CPU, "report-chart", task);
+    }
+
+    /**
+     * Waits for a task from {@link #submit}, unwrapping its failure.
+     */
+    public static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering report", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Failed to render report: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Renders the sections in parallel and saves their pages, in section order, to outputFile.
+     *
+     * @return the number of pages written
+     */
+    public static int render(List<Section> sections, File outputFile) throws IOException {
+        List<Future<PDDocument>> futures = new ArrayList<>(sections.size());
+        for (Section section : sections) {
+            futures.add(BackgroundTasks.getInstance().submit(BackgroundTasks.Pool.CPU, "report-section", () -> {
+                PDDocument part = new PDDocument();
+                try {
+                    section.write(part);
+                    return part;
+                } catch (IOException | RuntimeException e) {
+                    part.close();
+                    throw e;
+                }
+            }));
+        }
+
+        // The imported pages refer to the parts' resources, so the parts stay open until saved
+        List<PDDocument> parts = new ArrayList<>(sections.size());
+        try (PDDocument document = new PDDocument()) {
+            IOException failure = null;
+            for (Future<PDDocument> future : futures) {
+                try {
+                    parts.add(await(future));
+                } catch (IOException | RuntimeException e) {
+                    if (failure == null) {
+                        failure = e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            for (PDDocument part : parts) {
+                for (PDPage page : part.getPages()) {
+                    document.importPage(page);
+                }
+            }
+            document.save(outputFile);
+            return document.getNumberOfPages();
+        } finally {
+            for (PDDocument part : parts) {
+                try {
+                    part.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close report section", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts measuring a report. Peak heap is tracked through the JVM's heap pool peaks, which are
+     * reset here, so it covers everything the JVM did meanwhile, not only this report.
+     */
+    public static Measurement measure(String reportName) {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+        return new Measurement(reportName, System.nanoTime());
+    }
+
+    public static final class Measurement {
+        private final String reportName;
+        private final long startNanos;
+
+        private Measurement(String reportName, long startNanos) {
+            this.reportName = reportName;
+            this.startNanos = startNanos;
+        }
+
+        public ReportMetrics finish(int pages) {
+            long peakHeap = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                    peakHeap += pool.getPeakUsage().getUsed();
+                }
+            }
+            ReportMetrics metrics = new ReportMetrics(reportName, pages,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), peakHeap);
+            logger.info("Generated {} report: {} pages in {}ms, peak heap {} MB",
+                reportName, pages, metrics.millis(), metrics.peakHeapBytes() / (1024 * 1024));
+            return metrics;
+        }
+    }
+
+    public record ReportMetrics(String reportName, int pages, long millis, long peakHeapBytes) {
+        public String getSummary() {
+            return String.format("%d pages in %.1f s, peak heap %d MB",
+                pages, millis / 1000.0, peakHeapBytes / (1024 * 1024));
+        }
+    }
+}
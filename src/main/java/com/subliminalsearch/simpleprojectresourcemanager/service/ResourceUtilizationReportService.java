@@ -26,16 +26,16 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class ResourceUtilizationReportService {
     private static final Logger logger = LoggerFactory.getLogger(ResourceUtilizationReportService.class);
     private final SchedulingService schedulingService;
     private final UtilizationService utilizationService;
+    private volatile ReportRenderer.ReportMetrics lastMetrics;
     
     public ResourceUtilizationReportService(SchedulingService schedulingService) {
         this.schedulingService = schedulingService;
@@ -47,32 +47,102 @@ public class ResourceUtilizationReportService {
         this.utilizationService = utilizationService;
     }
     
+    /**
+     * Timing and memory of the last generated report, or null before the first one
+     */
+    public ReportRenderer.ReportMetrics getLastMetrics() {
+        return lastMetrics;
+    }
+    
     public File generateReport(boolean includeCharts, boolean showDetails) throws IOException, SQLException {
         File outputFile = new File(System.getProperty("java.io.tmpdir"), 
                                   "resource_utilization_" + System.currentTimeMillis() + ".pdf");
         
-        try (PDDocument document = new PDDocument()) {
-            // Add pages
-            addCoverPage(document);
-            addUtilizationSummaryPage(document);
-            
-            if (includeCharts) {
-                addUtilizationChartsPage(document);
+        ReportRenderer.Measurement measurement = ReportRenderer.measure("Resource Utilization");
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(1);
+        UtilizationData data = new UtilizationData(ReportDataset.load(schedulingService, startDate, endDate));
+        
+        List<ReportRenderer.Section> sections = new ArrayList<>();
+        sections.add(document -> addCoverPage(document, data));
+        sections.add(document -> addUtilizationSummaryPage(document, data));
+        
+        if (includeCharts) {
+            // Charts render on the pool while the sections are drawn
+            Future<BufferedImage> pieChart = ReportRenderer.submit(() -> createDistributionChart(data));
+            Future<BufferedImage> barChart = ReportRenderer.submit(() -> createTrendChart(data));
+            sections.add(document -> addUtilizationChartsPage(document,
+                ReportRenderer.await(pieChart), ReportRenderer.await(barChart)));
+        }
+        
+        if (showDetails) {
+            for (Resource resource : data.resources) {
+                sections.add(document -> addResourceDetailsPage(document, data, resource));
             }
-            
-            if (showDetails) {
-                addResourceDetailsPages(document);
+        }
+        
+        sections.add(document -> addRecommendationsPage(document, data));
+        
+        int pages = ReportRenderer.render(sections, outputFile);
+        lastMetrics = measurement.finish(pages);
+        return outputFile;
+    }
+    
+    /**
+     * Utilization of every resource over the report period and the five trend weeks, computed
+     * once from the report's dataset before any page is drawn
+     */
+    private final class UtilizationData {
+        private final ReportDataset dataset;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<Resource> resources;
+        private final Map<Long, UtilizationEngine.Utilization> utilization = new HashMap<>();
+        private final int availableHours;
+        private final double averageUtilization;
+        private final int overUtilized;
+        private final int optimal;
+        private final int underUtilized;
+        private final Map<String, Double> weeklyUtilization = new LinkedHashMap<>();
+        
+        UtilizationData(ReportDataset dataset) {
+            this.dataset = dataset;
+            this.startDate = dataset.getStartDate();
+            this.endDate = dataset.getEndDate();
+            this.resources = dataset.getResources();
+            
+            int over = 0;
+            int inRange = 0;
+            int under = 0;
+            for (Resource resource : resources) {
+                UtilizationEngine.Utilization resourceUtilization = getUtilization(resource, startDate, endDate);
+                utilization.put(resource.getId(), resourceUtilization);
+                double percent = resourceUtilization.utilizationPercent();
+                if (percent > 80) over++;
+                if (percent >= 40 && percent <= 80) inRange++;
+                if (percent < 40) under++;
             }
+            this.overUtilized = over;
+            this.optimal = inRange;
+            this.underUtilized = under;
+            this.averageUtilization = calculateAverageUtilization(resources, startDate, endDate);
+            this.availableHours = calculateAvailableHours(startDate, endDate);
             
-            addRecommendationsPage(document);
-            
-            document.save(outputFile);
+            // Weekly utilization data with current week
+            for (int week = 4; week >= 0; week--) {
+                LocalDate weekStart = endDate.minusWeeks(week);
+                LocalDate weekEnd = weekStart.plusDays(6);
+                String weekLabel = week == 0 ? "Current Week" : "Week -" + week;
+                weeklyUtilization.put(weekLabel, calculateAverageUtilization(resources, weekStart, weekEnd));
+            }
         }
         
-        return outputFile;
+        UtilizationEngine.Utilization get(Resource resource) {
+            return utilization.get(resource.getId());
+        }
     }
     
-    private void addCoverPage(PDDocument document) throws IOException {
+    private void addCoverPage(PDDocument document, UtilizationData data) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -92,8 +162,8 @@ public class ResourceUtilizationReportService {
             content.endText();
             
             // Period
-            LocalDate startDate = LocalDate.now().minusMonths(1);
-            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = data.startDate;
+            LocalDate endDate = data.endDate;
             content.beginText();
             content.newLineAtOffset(100, 620);
             content.showText("Analysis Period: " + startDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")) + 
@@ -111,13 +181,12 @@ public class ResourceUtilizationReportService {
             content.showText("Executive Summary");
             content.endText();
             
-            // Calculate key metrics
-            List<Resource> resources = schedulingService.getAllResources();
-            List<Assignment> assignments = schedulingService.getAssignmentRepository().findAll();
+            // Key metrics
+            List<Resource> resources = data.resources;
             
-            double avgUtilization = calculateAverageUtilization(resources, assignments, startDate, endDate);
-            int overUtilized = countOverUtilizedResources(resources, assignments, startDate, endDate);
-            int underUtilized = countUnderUtilizedResources(resources, assignments, startDate, endDate);
+            double avgUtilization = data.averageUtilization;
+            int overUtilized = data.overUtilized;
+            int underUtilized = data.underUtilized;
             
             content.beginText();
             content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
@@ -133,7 +202,7 @@ public class ResourceUtilizationReportService {
         }
     }
     
-    private void addUtilizationSummaryPage(PDDocument document) throws IOException, SQLException {
+    private void addUtilizationSummaryPage(PDDocument document, UtilizationData data) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -170,11 +239,7 @@ public class ResourceUtilizationReportService {
             yPosition -= 25;
             
             // Add resource data
-            List<Resource> resources = schedulingService.getAllResources();
-            LocalDate startDate = LocalDate.now().minusMonths(1);
-            LocalDate endDate = LocalDate.now();
-            
-            for (Resource resource : resources) {
+            for (Resource resource : data.resources) {
                 if (yPosition < 100) {
                     // Add new page if needed
                     page = new PDPage(PDRectangle.A4);
@@ -182,10 +247,10 @@ public class ResourceUtilizationReportService {
                     yPosition = 750;
                 }
                 
-                List<Assignment> resourceAssignments = schedulingService.getAssignmentsByResource(resource.getId());
-                double utilization = calculateResourceUtilization(resource, resourceAssignments, startDate, endDate);
-                int hoursAssigned = calculateAssignedHours(resourceAssignments, startDate, endDate);
-                int availableHours = calculateAvailableHours(startDate, endDate);
+                UtilizationEngine.Utilization resourceUtilization = data.get(resource);
+                double utilization = resourceUtilization.utilizationPercent();
+                int hoursAssigned = (int) (resourceUtilization.totalDays() * utilizationService.getSettings().getHoursPerDay());
+                int availableHours = data.availableHours;
                 String status = getUtilizationStatus(utilization);
                 
                 xPosition = 50;
@@ -233,7 +298,7 @@ public class ResourceUtilizationReportService {
         }
     }
     
-    private void addUtilizationChartsPage(PDDocument document) throws IOException {
+    private void addUtilizationChartsPage(PDDocument document, BufferedImage pieImage, BufferedImage barImage) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -244,158 +309,140 @@ public class ResourceUtilizationReportService {
             content.showText("Utilization Analysis Charts");
             content.endText();
             
-            // Create utilization distribution pie chart
-            DefaultPieDataset pieDataset = new DefaultPieDataset();
-            List<Resource> resources = schedulingService.getAllResources();
-            List<Assignment> assignments = schedulingService.getAssignmentRepository().findAll();
-            LocalDate startDate = LocalDate.now().minusMonths(1);
-            LocalDate endDate = LocalDate.now();
-            
-            int overUtilized = countOverUtilizedResources(resources, assignments, startDate, endDate);
-            int optimal = countOptimalResources(resources, assignments, startDate, endDate);
-            int underUtilized = countUnderUtilizedResources(resources, assignments, startDate, endDate);
-            
-            pieDataset.setValue("Over-utilized (>80%)", overUtilized);
-            pieDataset.setValue("Optimal (40-80%)", optimal);
-            pieDataset.setValue("Under-utilized (<40%)", underUtilized);
-            
-            JFreeChart pieChart = ChartFactory.createPieChart(
-                "Resource Utilization Distribution",
-                pieDataset,
-                true,
-                true,
-                false
-            );
-            
-            // Customize pie chart colors
-            org.jfree.chart.plot.PiePlot plot = (org.jfree.chart.plot.PiePlot) pieChart.getPlot();
-            plot.setSectionPaint("Over-utilized (>80%)", new Color(239, 83, 80));  // Red
-            plot.setSectionPaint("Optimal (40-80%)", new Color(102, 187, 106));    // Green
-            plot.setSectionPaint("Under-utilized (<40%)", new Color(255, 167, 38)); // Orange
-            
             // Add pie chart to PDF
-            BufferedImage pieImage = pieChart.createBufferedImage(450, 300);
             PDImageXObject pdPieImage = LosslessFactory.createFromImage(document, pieImage);
             content.drawImage(pdPieImage, 75, 420, 450, 300);
             
-            // Create utilization trend bar chart
-            DefaultCategoryDataset barDataset = new DefaultCategoryDataset();
-            
-            // Add weekly utilization data with current week
-            for (int week = 4; week >= 0; week--) {
-                LocalDate weekStart = LocalDate.now().minusWeeks(week);
-                LocalDate weekEnd = weekStart.plusDays(6);
-                double weekUtilization = calculateAverageUtilization(resources, assignments, weekStart, weekEnd);
-                String weekLabel = week == 0 ? "Current Week" : "Week -" + week;
-                barDataset.addValue(weekUtilization, "Utilization %", weekLabel);
-            }
-            
-            JFreeChart barChart = ChartFactory.createBarChart(
-                "5-Week Utilization Trend",
-                "Week",
-                "Utilization %",
-                barDataset,
-                PlotOrientation.VERTICAL,
-                false,
-                true,
-                false
-            );
-            
-            // Customize bar chart
-            org.jfree.chart.plot.CategoryPlot catPlot = barChart.getCategoryPlot();
-            org.jfree.chart.renderer.category.BarRenderer renderer = 
-                (org.jfree.chart.renderer.category.BarRenderer) catPlot.getRenderer();
-            renderer.setSeriesPaint(0, new Color(66, 165, 245)); // Blue bars
-            
             // Add bar chart to PDF
-            BufferedImage barImage = barChart.createBufferedImage(450, 280);
             PDImageXObject pdBarImage = LosslessFactory.createFromImage(document, barImage);
             content.drawImage(pdBarImage, 75, 100, 450, 280);
         }
     }
     
-    private void addResourceDetailsPages(PDDocument document) throws IOException {
-        List<Resource> resources = schedulingService.getAllResources();
-        LocalDate startDate = LocalDate.now().minusMonths(1);
-        LocalDate endDate = LocalDate.now();
+    private BufferedImage createDistributionChart(UtilizationData data) {
+        // Create utilization distribution pie chart
+        DefaultPieDataset pieDataset = new DefaultPieDataset();
+        pieDataset.setValue("Over-utilized (>80%)", data.overUtilized);
+        pieDataset.setValue("Optimal (40-80%)", data.optimal);
+        pieDataset.setValue("Under-utilized (<40%)", data.underUtilized);
         
-        for (Resource resource : resources) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
+        JFreeChart pieChart = ChartFactory.createPieChart(
+            "Resource Utilization Distribution",
+            pieDataset,
+            true,
+            true,
+            false
+        );
+        
+        // Customize pie chart colors
+        org.jfree.chart.plot.PiePlot plot = (org.jfree.chart.plot.PiePlot) pieChart.getPlot();
+        plot.setSectionPaint("Over-utilized (>80%)", new Color(239, 83, 80));  // Red
+        plot.setSectionPaint("Optimal (40-80%)", new Color(102, 187, 106));    // Green
+        plot.setSectionPaint("Under-utilized (<40%)", new Color(255, 167, 38)); // Orange
+        
+        return pieChart.createBufferedImage(450, 300);
+    }
+    
+    private BufferedImage createTrendChart(UtilizationData data) {
+        // Create utilization trend bar chart
+        DefaultCategoryDataset barDataset = new DefaultCategoryDataset();
+        for (Map.Entry<String, Double> week : data.weeklyUtilization.entrySet()) {
+            barDataset.addValue(week.getValue(), "Utilization %", week.getKey());
+        }
+        
+        JFreeChart barChart = ChartFactory.createBarChart(
+            "5-Week Utilization Trend",
+            "Week",
+            "Utilization %",
+            barDataset,
+            PlotOrientation.VERTICAL,
+            false,
+            true,
+            false
+        );
+        
+        // Customize bar chart
+        org.jfree.chart.plot.CategoryPlot catPlot = barChart.getCategoryPlot();
+        org.jfree.chart.renderer.category.BarRenderer renderer = 
+            (org.jfree.chart.renderer.category.BarRenderer) catPlot.getRenderer();
+        renderer.setSeriesPaint(0, new Color(66, 165, 245)); // Blue bars
+        
+        return barChart.createBufferedImage(450, 280);
+    }
+    
+    private void addResourceDetailsPage(PDDocument document, UtilizationData data, Resource resource) throws IOException {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 16);
+            content.newLineAtOffset(50, 750);
+            content.showText("Resource Detail: " + resource.getName());
+            content.endText();
             
-            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
-                content.beginText();
-                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 16);
-                content.newLineAtOffset(50, 750);
-                content.showText("Resource Detail: " + resource.getName());
-                content.endText();
-                
-                // Resource info
-                content.beginText();
-                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
-                content.newLineAtOffset(50, 720);
-                content.showText("Type: " + (resource.getResourceType() != null ? 
-                                            resource.getResourceType().getName() : "Unspecified"));
-                content.newLineAtOffset(0, -20);
-                content.showText("Phone: " + (resource.getPhone() != null ? resource.getPhone() : "N/A"));
-                content.newLineAtOffset(0, -20);
-                content.showText("Email: " + (resource.getEmail() != null ? resource.getEmail() : "N/A"));
-                content.endText();
-                
-                // Current assignments
-                content.beginText();
-                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
-                content.newLineAtOffset(50, 640);
-                content.showText("Current Assignments:");
-                content.endText();
+            // Resource info
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+            content.newLineAtOffset(50, 720);
+            content.showText("Type: " + (resource.getResourceType() != null ? 
+                                        resource.getResourceType().getName() : "Unspecified"));
+            content.newLineAtOffset(0, -20);
+            content.showText("Phone: " + (resource.getPhone() != null ? resource.getPhone() : "N/A"));
+            content.newLineAtOffset(0, -20);
+            content.showText("Email: " + (resource.getEmail() != null ? resource.getEmail() : "N/A"));
+            content.endText();
+            
+            // Current assignments
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+            content.newLineAtOffset(50, 640);
+            content.showText("Current Assignments:");
+            content.endText();
+            
+            List<Assignment> resourceAssignments = data.dataset.getAssignmentsForResource(resource.getId())
+                .stream()
+                .filter(a -> !a.getEndDate().isBefore(LocalDate.now()))
+                .collect(Collectors.toList());
+            
+            float yPosition = 610;
+            for (Assignment assignment : resourceAssignments) {
+                if (yPosition < 100) break; // Prevent overflow
                 
-                List<Assignment> resourceAssignments = schedulingService.getAssignmentsByResource(resource.getId())
-                    .stream()
-                    .filter(a -> !a.getEndDate().isBefore(LocalDate.now()))
-                    .collect(Collectors.toList());
+                Project project = data.dataset.getProject(assignment.getProjectId()).orElse(null);
                 
-                float yPosition = 610;
-                for (Assignment assignment : resourceAssignments) {
-                    if (yPosition < 100) break; // Prevent overflow
-                    
-                    Project project = schedulingService.getAllProjects().stream()
-                        .filter(p -> p.getId().equals(assignment.getProjectId()))
-                        .findFirst()
-                        .orElse(null);
-                    
-                    if (project != null) {
-                        content.beginText();
-                        content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
-                        content.newLineAtOffset(70, yPosition);
-                        content.showText("• " + project.getProjectId() + " - " + project.getDescription());
-                        content.newLineAtOffset(20, -15);
-                        content.showText("  " + assignment.getStartDate() + " to " + assignment.getEndDate());
-                        content.endText();
-                        yPosition -= 35;
-                    }
+                if (project != null) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+                    content.newLineAtOffset(70, yPosition);
+                    content.showText("• " + project.getProjectId() + " - " + project.getDescription());
+                    content.newLineAtOffset(20, -15);
+                    content.showText("  " + assignment.getStartDate() + " to " + assignment.getEndDate());
+                    content.endText();
+                    yPosition -= 35;
                 }
-                
-                // Utilization metrics
-                double utilization = calculateResourceUtilization(resource, resourceAssignments, startDate, endDate);
-                
-                content.beginText();
-                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
-                content.newLineAtOffset(50, yPosition - 20);
-                content.showText("Utilization Metrics:");
-                content.endText();
-                
-                content.beginText();
-                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
-                content.newLineAtOffset(70, yPosition - 45);
-                content.showText("Current Utilization: " + String.format("%.1f%%", utilization));
-                content.newLineAtOffset(0, -20);
-                content.showText("Status: " + getUtilizationStatus(utilization));
-                content.endText();
             }
+            
+            // Utilization metrics
+            double utilization = data.get(resource).utilizationPercent();
+            
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+            content.newLineAtOffset(50, yPosition - 20);
+            content.showText("Utilization Metrics:");
+            content.endText();
+            
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+            content.newLineAtOffset(70, yPosition - 45);
+            content.showText("Current Utilization: " + String.format("%.1f%%", utilization));
+            content.newLineAtOffset(0, -20);
+            content.showText("Status: " + getUtilizationStatus(utilization));
+            content.endText();
         }
     }
     
-    private void addRecommendationsPage(PDDocument document) throws IOException {
+    private void addRecommendationsPage(PDDocument document, UtilizationData data) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -406,7 +453,7 @@ public class ResourceUtilizationReportService {
             content.showText("Recommendations");
             content.endText();
             
-            List<String> recommendations = generateRecommendations();
+            List<String> recommendations = generateRecommendations(data);
             float yPosition = 710;
             
             for (String recommendation : recommendations) {
@@ -444,91 +491,21 @@ public class ResourceUtilizationReportService {
     }
     
     // Utility methods
-    private double calculateAverageUtilization(List<Resource> resources, List<Assignment> assignments,
-                                              LocalDate startDate, LocalDate endDate) {
+    private UtilizationEngine.Utilization getUtilization(Resource resource, LocalDate startDate, LocalDate endDate) {
+        return schedulingService.getResourceUtilization(resource.getId(), startDate, endDate, utilizationService.getSettings());
+    }
+    
+    private double calculateAverageUtilization(List<Resource> resources, LocalDate startDate, LocalDate endDate) {
         if (resources.isEmpty()) return 0.0;
         
         double totalUtilization = 0;
         for (Resource resource : resources) {
-            List<Assignment> resourceAssignments = assignments.stream()
-                .filter(a -> a.getResourceId().equals(resource.getId()))
-                .collect(Collectors.toList());
-            totalUtilization += calculateResourceUtilization(resource, resourceAssignments, startDate, endDate);
+            totalUtilization += getUtilization(resource, startDate, endDate).utilizationPercent();
         }
         
         return totalUtilization / resources.size();
     }
     
-    private double calculateResourceUtilization(Resource resource, List<Assignment> assignments,
-                                               LocalDate startDate, LocalDate endDate) {
-        // Get available days based on utilization settings
-        long availableDays = utilizationService.calculateAvailableDays(startDate, endDate);
-        if (availableDays == 0) return 0;
-        
-        // Get company holidays for working days calculation
-        // Note: For now we'll pass null for holidays. In production, these would be loaded from the database
-        List<CompanyHoliday> holidays = null;
-        
-        // Calculate assigned days considering utilization settings
-        long assignedDays = 0;
-        for (Assignment assignment : assignments) {
-            LocalDate assignStart = assignment.getStartDate().isBefore(startDate) ? 
-                                   startDate : assignment.getStartDate();
-            LocalDate assignEnd = assignment.getEndDate().isAfter(endDate) ? 
-                                 endDate : assignment.getEndDate();
-            
-            if (!assignStart.isAfter(endDate) && !assignEnd.isBefore(startDate)) {
-                // Get the project to check if it counts as utilized
-                try {
-                    Optional<Project> projectOpt = schedulingService.getProjectById(assignment.getProjectId());
-                    if (projectOpt.isPresent() && utilizationService.countsAsUtilized(projectOpt.get().getProjectId())) {
-                        // Count working days if configured, otherwise calendar days
-                        if (utilizationService.getSettings().getCalculationMethod() == 
-                            UtilizationSettings.CalculationMethod.WORKING_DAYS) {
-                            assignedDays += utilizationService.calculateWorkingDays(assignStart, assignEnd, holidays);
-                        } else {
-                            assignedDays += ChronoUnit.DAYS.between(assignStart, assignEnd) + 1;
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.warn("Could not load project for assignment " + assignment.getId(), e);
-                    // Fall back to counting the days
-                    assignedDays += ChronoUnit.DAYS.between(assignStart, assignEnd) + 1;
-                }
-            }
-        }
-        
-        return (assignedDays * 100.0) / availableDays;
-    }
-    
-    private int calculateAssignedHours(List<Assignment> assignments, LocalDate startDate, LocalDate endDate) {
-        double totalHours = 0;
-        
-        // Get company holidays for working days calculation
-        // Note: For now we'll pass null for holidays. In production, these would be loaded from the database
-        List<CompanyHoliday> holidays = null;
-        
-        for (Assignment assignment : assignments) {
-            if (!assignment.getStartDate().isAfter(endDate) && !assignment.getEndDate().isBefore(startDate)) {
-                LocalDate effectiveStart = assignment.getStartDate().isBefore(startDate) ? 
-                                          startDate : assignment.getStartDate();
-                LocalDate effectiveEnd = assignment.getEndDate().isAfter(endDate) ? 
-                                        endDate : assignment.getEndDate();
-                
-                // Use working days if configured
-                if (utilizationService.getSettings().getCalculationMethod() == 
-                    UtilizationSettings.CalculationMethod.WORKING_DAYS) {
-                    long days = utilizationService.calculateWorkingDays(effectiveStart, effectiveEnd, holidays);
-                    totalHours += days * utilizationService.getSettings().getHoursPerDay();
-                } else {
-                    int days = (int) ChronoUnit.DAYS.between(effectiveStart, effectiveEnd) + 1;
-                    totalHours += days * utilizationService.getSettings().getHoursPerDay();
-                }
-            }
-        }
-        return (int) totalHours;
-    }
-    
     private int calculateAvailableHours(LocalDate startDate, LocalDate endDate) {
         return (int) utilizationService.calculateAvailableHours(startDate, endDate);
     }
@@ -541,58 +518,10 @@ public class ResourceUtilizationReportService {
         return "Under-utilized";
     }
     
-    private int countOverUtilizedResources(List<Resource> resources, List<Assignment> assignments,
-                                          LocalDate startDate, LocalDate endDate) {
-        int count = 0;
-        for (Resource resource : resources) {
-            List<Assignment> resourceAssignments = assignments.stream()
-                .filter(a -> a.getResourceId().equals(resource.getId()))
-                .collect(Collectors.toList());
-            if (calculateResourceUtilization(resource, resourceAssignments, startDate, endDate) > 80) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    private int countOptimalResources(List<Resource> resources, List<Assignment> assignments,
-                                     LocalDate startDate, LocalDate endDate) {
-        int count = 0;
-        for (Resource resource : resources) {
-            List<Assignment> resourceAssignments = assignments.stream()
-                .filter(a -> a.getResourceId().equals(resource.getId()))
-                .collect(Collectors.toList());
-            double utilization = calculateResourceUtilization(resource, resourceAssignments, startDate, endDate);
-            if (utilization >= 40 && utilization <= 80) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    private int countUnderUtilizedResources(List<Resource> resources, List<Assignment> assignments,
-                                           LocalDate startDate, LocalDate endDate) {
-        int count = 0;
-        for (Resource resource : resources) {
-            List<Assignment> resourceAssignments = assignments.stream()
-                .filter(a -> a.getResourceId().equals(resource.getId()))
-                .collect(Collectors.toList());
-            if (calculateResourceUtilization(resource, resourceAssignments, startDate, endDate) < 40) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    private List<String> generateRecommendations() {
+    private List<String> generateRecommendations(UtilizationData data) {
         List<String> recommendations = new ArrayList<>();
-        List<Resource> resources = schedulingService.getAllResources();
-        List<Assignment> assignments = schedulingService.getAssignmentRepository().findAll();
-        LocalDate startDate = LocalDate.now().minusMonths(1);
-        LocalDate endDate = LocalDate.now();
-        
-        int overUtilized = countOverUtilizedResources(resources, assignments, startDate, endDate);
-        int underUtilized = countUnderUtilizedResources(resources, assignments, startDate, endDate);
+        int overUtilized = data.overUtilized;
+        int underUtilized = data.underUtilized;
         
         if (overUtilized > 0) {
             recommendations.add("• " + overUtilized + " resources are over-utilized (>80%). " +
@@ -604,7 +533,7 @@ public class ResourceUtilizationReportService {
                               "Consider assigning additional projects or optimizing resource allocation.");
         }
         
-        double avgUtilization = calculateAverageUtilization(resources, assignments, startDate, endDate);
+        double avgUtilization = data.averageUtilization;
         if (avgUtilization > 75) {
             recommendations.add("• Overall utilization is high (" + String.format("%.1f%%", avgUtilization) + "). " +
                               "Plan for capacity expansion to handle future growth.");
@@ -24,15 +24,25 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 public class RevenueReportService {
     private static final Logger logger = LoggerFactory.getLogger(RevenueReportService.class);
     private final SchedulingService schedulingService;
+    private volatile ReportRenderer.ReportMetrics lastMetrics;
     
     public RevenueReportService(SchedulingService schedulingService) {
         this.schedulingService = schedulingService;
     }
     
+    /**
+     * Timing and memory of the last generated report, or null before the first one
+     */
+    public ReportRenderer.ReportMetrics getLastMetrics() {
+        return lastMetrics;
+    }
+    
     public File generateReport() throws IOException {
         return generateReport(LocalDate.now().minusMonths(1), LocalDate.now());
     }
@@ -41,21 +51,84 @@ public class RevenueReportService {
         File outputFile = new File(System.getProperty("java.io.tmpdir"), 
                                   "revenue_budget_" + System.currentTimeMillis() + ".pdf");
         
-        try (PDDocument document = new PDDocument()) {
-            // Add pages
-            addCoverPage(document, startDate, endDate);
-            addExecutiveSummaryPage(document, startDate, endDate);
-            addProjectFinancialsPage(document, startDate, endDate);
-            addCostBreakdownPage(document, startDate, endDate);
-            addProfitabilityAnalysisPage(document, startDate, endDate);
-            addBudgetVariancePage(document, startDate, endDate);
-            
-            document.save(outputFile);
-        }
+        ReportRenderer.Measurement measurement = ReportRenderer.measure("Revenue & Budget");
+        RevenueData data = new RevenueData(ReportDataset.load(schedulingService, startDate, endDate));
+        
+        // Charts render on the pool while the sections are drawn
+        Future<BufferedImage> pieChart = ReportRenderer.submit(() ->
+            data.totalCost > 0 ? createCostBreakdownPieChart(data.withFinancials) : null);
+        Future<BufferedImage> costChart = ReportRenderer.submit(() -> createCostTrendBarChart(data.withCosts));
+        Future<BufferedImage> profitChart = ReportRenderer.submit(() ->
+            data.byMargin.isEmpty() ? null : createProfitabilityChart(data.byMargin));
         
+        int pages = ReportRenderer.render(List.of(
+            document -> addCoverPage(document, startDate, endDate),
+            document -> addExecutiveSummaryPage(document, data, ReportRenderer.await(pieChart)),
+            document -> addProjectFinancialsPage(document, data),
+            document -> addCostBreakdownPage(document, data, ReportRenderer.await(costChart)),
+            document -> addProfitabilityAnalysisPage(document, data, ReportRenderer.await(profitChart)),
+            document -> addBudgetVariancePage(document, data)
+        ), outputFile);
+        
+        lastMetrics = measurement.finish(pages);
         return outputFile;
     }
     
+    /**
+     * The project selections the pages show, taken once from the report's dataset
+     */
+    private static final class RevenueData {
+        private final List<Project> withFinancials;
+        private final long totalWithFinancials;
+        private final double totalRevenue;
+        private final double totalCost;
+        private final List<Project> topByRevenue;
+        private final List<Project> withCosts;
+        private final List<Project> byMargin;
+        private final List<Project> byVariance;
+        
+        RevenueData(ReportDataset dataset) {
+            List<Project> inPeriod = dataset.getProjectsInPeriod();
+            
+            withFinancials = inPeriod.stream()
+                .filter(p -> p.getBudgetAmount() != null || p.getRevenueAmount() != null)
+                .collect(Collectors.toList());
+            totalWithFinancials = dataset.getProjects().stream()
+                .filter(p -> p.getBudgetAmount() != null || p.getRevenueAmount() != null)
+                .count();
+            totalRevenue = withFinancials.stream()
+                .mapToDouble(p -> p.getRevenueAmount() != null ? p.getRevenueAmount() : 0)
+                .sum();
+            totalCost = withFinancials.stream()
+                .mapToDouble(p -> p.getTotalCost() != null ? p.getTotalCost() : 0)
+                .sum();
+            
+            topByRevenue = withFinancials.stream()
+                .sorted((p1, p2) -> {
+                    Double r1 = p1.getRevenueAmount() != null ? p1.getRevenueAmount() : 0.0;
+                    Double r2 = p2.getRevenueAmount() != null ? p2.getRevenueAmount() : 0.0;
+                    return r2.compareTo(r1); // Sort by revenue descending
+                })
+                .limit(20) // Show top 20 projects
+                .collect(Collectors.toList());
+            
+            withCosts = inPeriod.stream()
+                .filter(p -> p.getTotalCost() != null && p.getTotalCost() > 0)
+                .collect(Collectors.toList());
+            
+            byMargin = inPeriod.stream()
+                .filter(p -> p.getProfitMargin() != null)
+                .sorted((p1, p2) -> p2.getProfitMargin().compareTo(p1.getProfitMargin()))
+                .collect(Collectors.toList());
+            
+            // Sort by variance amount (most over budget first)
+            byVariance = inPeriod.stream()
+                .filter(p -> p.getBudgetVariance() != null)
+                .sorted((p1, p2) -> p1.getBudgetVariance().compareTo(p2.getBudgetVariance()))
+                .collect(Collectors.toList());
+        }
+    }
+    
     private void addCoverPage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
@@ -100,7 +173,7 @@ public class RevenueReportService {
         }
     }
     
-    private void addExecutiveSummaryPage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
+    private void addExecutiveSummaryPage(PDDocument document, RevenueData data, BufferedImage pieChart) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -116,26 +189,10 @@ public class RevenueReportService {
             content.endText();
             yPosition -= 40;
             
-            // Get financial metrics with date filtering
-            List<Project> projects = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getBudgetAmount() != null || p.getRevenueAmount() != null)
-                .filter(p -> {
-                    // Include project if it overlaps with the selected date range
-                    return !p.getEndDate().isBefore(startDate) && !p.getStartDate().isAfter(endDate);
-                })
-                .collect(java.util.stream.Collectors.toList());
-            
-            double totalRevenue = projects.stream()
-                .mapToDouble(p -> p.getRevenueAmount() != null ? p.getRevenueAmount() : 0)
-                .sum();
-            
-            double totalBudget = projects.stream()
-                .mapToDouble(p -> p.getBudgetAmount() != null ? p.getBudgetAmount() : 0)
-                .sum();
-            
-            double totalCost = projects.stream()
-                .mapToDouble(p -> p.getTotalCost() != null ? p.getTotalCost() : 0)
-                .sum();
+            // Financial metrics of the projects in the period
+            List<Project> projects = data.withFinancials;
+            double totalRevenue = data.totalRevenue;
+            double totalCost = data.totalCost;
             
             double totalProfit = totalRevenue - totalCost;
             double profitMargin = totalRevenue > 0 ? (totalProfit / totalRevenue) * 100 : 0;
@@ -171,9 +228,7 @@ public class RevenueReportService {
             yPosition -= (boxHeight + 40);
             
             // Get total count for context
-            long totalProjectsWithFinancials = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getBudgetAmount() != null || p.getRevenueAmount() != null)
-                .count();
+            long totalProjectsWithFinancials = data.totalWithFinancials;
             
             // Summary text
             content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
@@ -189,7 +244,6 @@ public class RevenueReportService {
             
             // Add pie chart for cost breakdown
             if (totalCost > 0) {
-                BufferedImage pieChart = createCostBreakdownPieChart(projects);
                 if (pieChart != null) {
                     PDImageXObject pdImage = LosslessFactory.createFromImage(document, pieChart);
                     content.drawImage(pdImage, 100, yPosition - 300, 400, 250);
@@ -198,7 +252,7 @@ public class RevenueReportService {
         }
     }
     
-    private void addProjectFinancialsPage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
+    private void addProjectFinancialsPage(PDDocument document, RevenueData data) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -220,17 +274,8 @@ public class RevenueReportService {
             drawTableHeader(content, 50, yPosition, headers, columnWidths);
             yPosition -= 25;
             
-            // Get projects with financial data with date filtering
-            List<Project> projects = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getBudgetAmount() != null || p.getRevenueAmount() != null)
-                .filter(p -> !p.getEndDate().isBefore(startDate) && !p.getStartDate().isAfter(endDate))
-                .sorted((p1, p2) -> {
-                    Double r1 = p1.getRevenueAmount() != null ? p1.getRevenueAmount() : 0.0;
-                    Double r2 = p2.getRevenueAmount() != null ? p2.getRevenueAmount() : 0.0;
-                    return r2.compareTo(r1); // Sort by revenue descending
-                })
-                .limit(20) // Show top 20 projects
-                .collect(java.util.stream.Collectors.toList());
+            // Top projects by revenue in the period
+            List<Project> projects = data.topByRevenue;
             
             // Add project rows
             for (Project project : projects) {
@@ -262,7 +307,7 @@ public class RevenueReportService {
         }
     }
     
-    private void addCostBreakdownPage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
+    private void addCostBreakdownPage(PDDocument document, RevenueData data, BufferedImage barChart) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -277,11 +322,8 @@ public class RevenueReportService {
             content.endText();
             yPosition -= 40;
             
-            // Calculate totals by cost category with date filtering
-            List<Project> projects = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getTotalCost() != null && p.getTotalCost() > 0)
-                .filter(p -> !p.getEndDate().isBefore(startDate) && !p.getStartDate().isAfter(endDate))
-                .collect(java.util.stream.Collectors.toList());
+            // Calculate totals by cost category for the projects with costs in the period
+            List<Project> projects = data.withCosts;
             
             double totalLabor = projects.stream()
                 .mapToDouble(p -> p.getLaborCost() != null ? p.getLaborCost() : 0)
@@ -321,7 +363,6 @@ public class RevenueReportService {
             yPosition -= (boxHeight + 40);
             
             // Add bar chart
-            BufferedImage barChart = createCostTrendBarChart(projects);
             if (barChart != null) {
                 PDImageXObject pdImage = LosslessFactory.createFromImage(document, barChart);
                 content.drawImage(pdImage, 50, yPosition - 300, 500, 250);
@@ -329,7 +370,7 @@ public class RevenueReportService {
         }
     }
     
-    private void addProfitabilityAnalysisPage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
+    private void addProfitabilityAnalysisPage(PDDocument document, RevenueData data, BufferedImage profitChart) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -344,16 +385,8 @@ public class RevenueReportService {
             content.endText();
             yPosition -= 40;
             
-            // Get and sort projects by profit margin with date filtering
-            List<Project> projects = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getProfitMargin() != null)
-                .filter(p -> !p.getEndDate().isBefore(startDate) && !p.getStartDate().isAfter(endDate))
-                .sorted((p1, p2) -> {
-                    Double m1 = p1.getProfitMargin();
-                    Double m2 = p2.getProfitMargin();
-                    return m2.compareTo(m1);
-                })
-                .collect(java.util.stream.Collectors.toList());
+            // Projects in the period by profit margin, highest first
+            List<Project> projects = data.byMargin;
             
             if (!projects.isEmpty()) {
                 // Top performers
@@ -403,7 +436,6 @@ public class RevenueReportService {
                 }
                 
                 // Add profitability chart
-                BufferedImage profitChart = createProfitabilityChart(projects);
                 if (profitChart != null) {
                     PDImageXObject pdImage = LosslessFactory.createFromImage(document, profitChart);
                     content.drawImage(pdImage, 50, yPosition - 280, 500, 250);
@@ -412,7 +444,7 @@ public class RevenueReportService {
         }
     }
     
-    private void addBudgetVariancePage(PDDocument document, LocalDate startDate, LocalDate endDate) throws IOException {
+    private void addBudgetVariancePage(PDDocument document, RevenueData data) throws IOException {
         PDPage page = new PDPage(PDRectangle.A4);
         document.addPage(page);
         
@@ -427,17 +459,8 @@ public class RevenueReportService {
             content.endText();
             yPosition -= 40;
             
-            // Get projects with budget variance with date filtering
-            List<Project> projects = schedulingService.getAllProjects().stream()
-                .filter(p -> p.getBudgetVariance() != null)
-                .filter(p -> !p.getEndDate().isBefore(startDate) && !p.getStartDate().isAfter(endDate))
-                .sorted((p1, p2) -> {
-                    // Sort by variance amount (most over budget first)
-                    Double v1 = p1.getBudgetVariance();
-                    Double v2 = p2.getBudgetVariance();
-                    return v1.compareTo(v2);
-                })
-                .collect(java.util.stream.Collectors.toList());
+            // Projects in the period with budget variance, most over budget first
+            List<Project> projects = data.byVariance;
             
             // Summary statistics
             long overBudget = projects.stream().filter(p -> p.getBudgetVariance() < 0).count();
@@ -666,7 +689,7 @@ public class RevenueReportService {
             
             // Group projects by month
             Map<String, List<Project>> byMonth = projects.stream()
-                .collect(java.util.stream.Collectors.groupingBy(p -> 
+                .collect(Collectors.groupingBy(p -> 
                     p.getStartDate().format(DateTimeFormatter.ofPattern("MMM yyyy"))));
             
             for (Map.Entry<String, List<Project>> entry : byMonth.entrySet()) {
@@ -2,6 +2,8 @@ package com.subliminalsearch.simpleprojectresourcemanager.service;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.*;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.EntityCache;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectManagerRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ProjectRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.ResourceRepository;
@@ -18,10 +20,18 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class SchedulingService {
@@ -34,6 +44,12 @@ public class SchedulingService {
     private final TaskRepository taskRepository;
     private ResourceUnavailabilityRepository unavailabilityRepository;
     private final HikariDataSource dataSource;
+    // Loaded from the repository on first use, then maintained by the assignment methods below
+    private final AssignmentConflictIndex conflictIndex = new AssignmentConflictIndex();
+    // Per-resource occupancy behind every utilization figure; loaded and maintained alongside conflictIndex
+    private final UtilizationEngine utilizationEngine;
+    // Shared by the executive views, created when the first one opens
+    private ExecutiveMetricsService executiveMetricsService;
 
     public SchedulingService(ProjectRepository projectRepository, 
                            ResourceRepository resourceRepository,
@@ -46,8 +62,13 @@ public class SchedulingService {
         this.projectManagerRepository = projectManagerRepository;
         this.taskRepository = new TaskRepository(dataSource);
         this.dataSource = dataSource;
+        this.utilizationEngine = new UtilizationEngine(WorkingCalendar.getInstance(),
+            id -> projectRepository.findById(id).map(Project::getProjectId).orElse(null));
         // Initialize unavailability repository lazily to avoid issues in tests
         this.unavailabilityRepository = null;
+        if (dataSource != null) {
+            WorkingCalendar.getInstance().setHolidayLoader(this::loadActiveHolidayDates);
+        }
     }
     
     private ResourceUnavailabilityRepository getUnavailabilityRepository() {
@@ -57,6 +78,23 @@ public class SchedulingService {
         return unavailabilityRepository;
     }
     
+    /**
+     * Drop the cached projects, resources, managers and task lists, after something has written
+     * the database without going through the repositories (bulk loaders, resets).
+     */
+    public void invalidateCaches() {
+        EntityCache.invalidateAll(dataSource);
+        taskRepository.invalidateProjectTasks(null);
+        // The writes were not seen by this process's pools
+        DataVersion.bump();
+        invalidateConflictIndex();
+        synchronized (this) {
+            if (executiveMetricsService != null) {
+                executiveMetricsService.requestRefresh();
+            }
+        }
+    }
+    
     // Getter methods for repositories (needed for dialogs)
     public ProjectRepository getProjectRepository() {
         return projectRepository;
@@ -77,6 +115,58 @@ public class SchedulingService {
     public HikariDataSource getDataSource() {
         return dataSource;
     }
+    
+    /**
+     * Returns the assignment interval index, loading it from the database the first time.
+     */
+    private AssignmentConflictIndex getConflictIndex() {
+        synchronized (conflictIndex) {
+            if (!conflictIndex.isLoaded()) {
+                List<Assignment> all = assignmentRepository.findAll();
+                conflictIndex.load(all != null ? all : new ArrayList<>());
+                logger.debug("Loaded assignment conflict index with {} assignments", conflictIndex.size());
+            }
+        }
+        return conflictIndex;
+    }
+    
+    /**
+     * Discards the in-memory conflict index so it is reloaded on next use.
+     * Call after assignments were changed without going through this service (imports, bulk SQL).
+     */
+    public void invalidateConflictIndex() {
+        conflictIndex.clear();
+        utilizationEngine.clear();
+    }
+    
+    /**
+     * Returns the utilization engine, loading it from the database the first time.
+     */
+    public UtilizationEngine getUtilizationEngine() {
+        synchronized (utilizationEngine) {
+            if (!utilizationEngine.isLoaded()) {
+                List<Assignment> all = assignmentRepository.findAll();
+                utilizationEngine.load(all != null ? all : new ArrayList<>());
+                logger.debug("Loaded utilization engine with {} assignments", utilizationEngine.size());
+            }
+        }
+        return utilizationEngine;
+    }
+    
+    /**
+     * Returns the executive metrics service for this scheduling service, creating it the first time.
+     */
+    public synchronized ExecutiveMetricsService getExecutiveMetricsService() {
+        if (executiveMetricsService == null) {
+            executiveMetricsService = new ExecutiveMetricsService(this);
+        }
+        return executiveMetricsService;
+    }
+
+    public UtilizationEngine.Utilization getResourceUtilization(Long resourceId, LocalDate startDate, LocalDate endDate,
+                                                                UtilizationSettings settings) {
+        return getUtilizationEngine().getUtilization(resourceId, startDate, endDate, settings);
+    }
 
     // Project Management
     public Project createProject(String projectId, String description, LocalDate startDate, LocalDate endDate) {
@@ -94,9 +184,8 @@ public class SchedulingService {
     }
 
     public void updateProject(Project project) {
-        if (!projectRepository.existsById(project.getId())) {
-            throw new IllegalArgumentException("Project not found: " + project.getId());
-        }
+        Project existing = projectRepository.findById(project.getId())
+            .orElseThrow(() -> new IllegalArgumentException("Project not found: " + project.getId()));
         
         validateProjectDates(project.getStartDate(), project.getEndDate());
         
@@ -112,6 +201,10 @@ public class SchedulingService {
         
         logger.info("About to update project {} with travel={}", project.getProjectId(), project.isTravel());
         projectRepository.update(project);
+        if (!Objects.equals(existing.getProjectId(), project.getProjectId())) {
+            // The project ID decides whether its assignments count as SHOP, TRAINING or PTO
+            utilizationEngine.clear();
+        }
         logger.info("Updated project: {} with travel={}", project.getProjectId(), project.isTravel());
     }
 
@@ -182,6 +275,8 @@ public class SchedulingService {
         int assignmentCount = assignments.size();
         for (Assignment assignment : assignments) {
             assignmentRepository.delete(assignment.getId());
+            conflictIndex.remove(assignment.getId());
+            utilizationEngine.remove(assignment.getId());
         }
         if (assignmentCount > 0) {
             logger.info("Deleted {} assignments for project {}", assignmentCount, project.get().getProjectId());
@@ -288,12 +383,181 @@ public class SchedulingService {
         validateAssignmentBusinessRules(assignment);
         
         Assignment saved = assignmentRepository.save(assignment);
+        conflictIndex.put(saved);
+        utilizationEngine.put(saved);
         
         logger.info("Created assignment: project={}, resource={}, dates={} to {}", 
             projectId, resourceId, startDate, endDate);
         return saved;
     }
 
+    /**
+     * Creates many assignments under the same rules as {@link #createAssignment}, together with the
+     * new projects some of them belong to, in one transaction.
+     *
+     * Each assignment is checked in list order against the stored assignments and the ones accepted
+     * before it. One that breaks a rule is passed to onRejected with the reason and left out. A
+     * project assignment still replaces the overlapping SHOP assignments of its resource, both the
+     * stored ones and SHOP assignments accepted earlier in the list.
+     *
+     * newProjectOf returns the fully populated project, not yet created, that an assignment belongs
+     * to (its project ID is then ignored), or null. Such a project is created only if one of its
+     * assignments is accepted. The projects, the SHOP deletions and the accepted assignments are
+     * written in one transaction: if that fails nothing is changed and the exception is thrown.
+     */
+    public List<Assignment> createAssignments(List<Assignment> assignments, Function<Assignment, Project> newProjectOf,
+                                              BiConsumer<Assignment, RuntimeException> onRejected) {
+        Long shopProjectId = projectRepository.findAll().stream()
+            .filter(p -> p.getProjectId().equalsIgnoreCase("SHOP"))
+            .map(Project::getId)
+            .findFirst()
+            .orElse(null);
+        AssignmentConflictIndex index = getConflictIndex();
+        
+        // New projects and accepted assignments get negative ids while the list is checked. The
+        // accepted ones go into a private index for the checks of later ones; the shared index
+        // only sees them once they are committed
+        Map<Long, Project> pendingProjects = new HashMap<>();
+        Map<Project, Long> provisionalProjectIds = new IdentityHashMap<>();
+        AssignmentConflictIndex batch = new AssignmentConflictIndex();
+        batch.load(List.of());
+        List<Assignment> accepted = new ArrayList<>();
+        Set<Long> replacedShopIds = new HashSet<>();
+        long provisionalId = -1;
+        try {
+            for (Assignment assignment : assignments) {
+                try {
+                    Project newProject = newProjectOf.apply(assignment);
+                    if (newProject != null) {
+                        validateProjectDates(newProject.getStartDate(), newProject.getEndDate());
+                        Long projectId = provisionalProjectIds.get(newProject);
+                        if (projectId == null) {
+                            projectId = provisionalId--;
+                            provisionalProjectIds.put(newProject, projectId);
+                            pendingProjects.put(projectId, newProject);
+                        }
+                        assignment.setProjectId(projectId);
+                    }
+                    validateAssignmentInputs(assignment.getProjectId(), assignment.getResourceId(),
+                        assignment.getStartDate(), assignment.getEndDate(),
+                        assignment.getTravelOutDays(), assignment.getTravelBackDays(), pendingProjects);
+                    
+                    Long resourceId = assignment.getResourceId();
+                    LocalDate start = assignment.getEffectiveStartDate();
+                    LocalDate end = assignment.getEffectiveEndDate();
+                    List<Assignment> stored = index.findOverlapping(resourceId, start, end);
+                    stored.removeIf(a -> replacedShopIds.contains(a.getId()));
+                    List<Assignment> earlier = batch.findOverlapping(resourceId, start, end);
+                    List<Assignment> conflicts = new ArrayList<>(stored);
+                    conflicts.addAll(earlier);
+                    validateAssignmentBusinessRules(assignment, conflicts, pendingProjects);
+                    
+                    if (shopProjectId != null && !assignment.getProjectId().equals(shopProjectId)) {
+                        for (Assignment a : stored) {
+                            if (a.getProjectId().equals(shopProjectId)) {
+                                replacedShopIds.add(a.getId());
+                            }
+                        }
+                        for (Assignment a : earlier) {
+                            if (a.getProjectId().equals(shopProjectId)) {
+                                batch.remove(a.getId());
+                                accepted.remove(a);
+                                a.setId(null);
+                            }
+                        }
+                    }
+                    
+                    assignment.setId(provisionalId--);
+                    batch.put(assignment);
+                    accepted.add(assignment);
+                } catch (RuntimeException e) {
+                    onRejected.accept(assignment, e);
+                }
+            }
+        } finally {
+            for (Assignment assignment : accepted) {
+                assignment.setId(null);
+            }
+            for (Assignment assignment : assignments) {
+                if (newProjectOf.apply(assignment) != null) {
+                    assignment.setProjectId(null);
+                }
+            }
+        }
+        
+        // Only the new projects that kept an assignment are created
+        List<Project> projects = new ArrayList<>();
+        Set<Project> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Assignment assignment : accepted) {
+            Project newProject = newProjectOf.apply(assignment);
+            if (newProject != null && kept.add(newProject)) {
+                projects.add(newProject);
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            writeAssignments(projects, replacedShopIds, accepted, newProjectOf);
+            for (Long id : replacedShopIds) {
+                conflictIndex.remove(id);
+                utilizationEngine.remove(id);
+            }
+            for (Assignment saved : accepted) {
+                conflictIndex.put(saved);
+                utilizationEngine.put(saved);
+            }
+        }
+        logger.info("Created {} of {} assignments and {} projects in one transaction, replacing {} SHOP assignments",
+            accepted.size(), assignments.size(), projects.size(), replacedShopIds.size());
+        return accepted;
+    }
+    
+    // The write half of createAssignments: on success fills in the new IDs, on failure leaves
+    // the database and the given objects as they were
+    private void writeAssignments(List<Project> projects, Set<Long> deletedAssignmentIds, List<Assignment> assignments,
+                                  Function<Assignment, Project> newProjectOf) {
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                long[] projectIds = projectRepository.insertAll(conn, projects);
+                Map<Project, Long> createdIds = new IdentityHashMap<>();
+                for (int i = 0; i < projects.size(); i++) {
+                    createdIds.put(projects.get(i), projectIds[i]);
+                }
+                for (Assignment assignment : assignments) {
+                    Project newProject = newProjectOf.apply(assignment);
+                    if (newProject != null) {
+                        assignment.setProjectId(createdIds.get(newProject));
+                    }
+                }
+                assignmentRepository.deleteAll(conn, deletedAssignmentIds);
+                long[] assignmentIds = assignmentRepository.insertAll(conn, assignments);
+                conn.commit();
+                
+                for (int i = 0; i < projects.size(); i++) {
+                    projects.get(i).setId(projectIds[i]);
+                }
+                for (int i = 0; i < assignments.size(); i++) {
+                    assignments.get(i).setId(assignmentIds[i]);
+                }
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                for (Assignment assignment : assignments) {
+                    if (newProjectOf.apply(assignment) != null) {
+                        assignment.setProjectId(null);
+                    }
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                projectRepository.invalidateCache();
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to write {} assignments", assignments.size(), e);
+            throw new RuntimeException("Failed to save assignments", e);
+        }
+    }
+
     public Assignment createAssignmentWithOverride(Long projectId, Long resourceId, LocalDate startDate, LocalDate endDate,
                                                  int travelOutDays, int travelBackDays, String overrideReason) {
         validateAssignmentInputs(projectId, resourceId, startDate, endDate, travelOutDays, travelBackDays);
@@ -306,6 +570,8 @@ public class SchedulingService {
         validateAssignmentProjectDates(assignment);
         
         Assignment saved = assignmentRepository.save(assignment);
+        conflictIndex.put(saved);
+        utilizationEngine.put(saved);
         
         logger.warn("Created assignment with override: project={}, resource={}, reason={}", 
             projectId, resourceId, overrideReason);
@@ -335,6 +601,8 @@ public class SchedulingService {
         }
         
         assignmentRepository.update(assignment);
+        conflictIndex.put(assignment);
+        utilizationEngine.put(assignment);
         logger.info("Updated assignment: {}", assignment.getId());
     }
 
@@ -344,6 +612,8 @@ public class SchedulingService {
         }
         
         assignmentRepository.delete(assignmentId);
+        conflictIndex.remove(assignmentId);
+        utilizationEngine.remove(assignmentId);
         logger.info("Deleted assignment: {}", assignmentId);
     }
 
@@ -354,7 +624,7 @@ public class SchedulingService {
         // Debug: Log travel values when projects are loaded
         if (!projects.isEmpty()) {
             Project first = projects.get(0);
-            logger.info("getAllProjects: First project {} has travel={}", 
+            logger.debug("getAllProjects: First project {} has travel={}", 
                 first.getProjectId(), first.isTravel());
         }
         
@@ -419,12 +689,11 @@ public class SchedulingService {
 
     // Conflict Detection
     public boolean hasResourceConflicts(Long resourceId, LocalDate startDate, LocalDate endDate) {
-        List<Assignment> overlapping = assignmentRepository.findOverlappingAssignments(resourceId, startDate, endDate);
-        return !overlapping.isEmpty();
+        return getConflictIndex().hasOverlap(resourceId, startDate, endDate, null);
     }
 
     public List<Assignment> getConflictingAssignments(Long resourceId, LocalDate startDate, LocalDate endDate) {
-        return assignmentRepository.findOverlappingAssignments(resourceId, startDate, endDate);
+        return getConflictIndex().findOverlapping(resourceId, startDate, endDate);
     }
 
     public boolean isResourceAvailable(Long resourceId, LocalDate startDate, LocalDate endDate) {
@@ -516,31 +785,24 @@ public class SchedulingService {
             return;
         }
         
-        // Get all assignments for this resource in the date range
-        List<Assignment> resourceAssignments = assignmentRepository.findByResourceId(resourceId);
+        // Get this resource's assignments that overlap the new assignment period
+        List<Assignment> overlappingAssignments = getConflictIndex().findOverlapping(resourceId, startDate, endDate);
         
         int removedCount = 0;
-        for (Assignment assignment : resourceAssignments) {
+        for (Assignment assignment : overlappingAssignments) {
             // Skip if this is the assignment we're updating
             if (excludeAssignmentId != null && assignment.getId().equals(excludeAssignmentId)) {
                 continue;
             }
             
-            // Check if this is a SHOP assignment
+            // Remove it if this is a SHOP assignment
             if (assignment.getProjectId().equals(shopProject.getId())) {
-                // Check if it overlaps with the new assignment period
-                LocalDate assignmentStart = assignment.getStartDate();
-                LocalDate assignmentEnd = assignment.getEndDate();
-                
-                boolean overlaps = !(assignmentEnd.isBefore(startDate) || assignmentStart.isAfter(endDate));
-                
-                if (overlaps) {
-                    // Remove this SHOP assignment
-                    assignmentRepository.delete(assignment.getId());
-                    removedCount++;
-                    logger.info("Removed overlapping SHOP assignment ID {} for resource {} (dates: {} to {})", 
-                        assignment.getId(), resourceId, assignmentStart, assignmentEnd);
-                }
+                assignmentRepository.delete(assignment.getId());
+                conflictIndex.remove(assignment.getId());
+                utilizationEngine.remove(assignment.getId());
+                removedCount++;
+                logger.info("Removed overlapping SHOP assignment ID {} for resource {} (dates: {} to {})", 
+                    assignment.getId(), resourceId, assignment.getStartDate(), assignment.getEndDate());
             }
         }
         
@@ -574,6 +836,8 @@ public class SchedulingService {
         // Delete the assignments
         for (Assignment assignment : shopAssignments) {
             assignmentRepository.delete(assignment.getId());
+            conflictIndex.remove(assignment.getId());
+            utilizationEngine.remove(assignment.getId());
             deletedCount++;
             logger.debug("Deleted SHOP assignment ID {} for resource {}", 
                 assignment.getId(), assignment.getResourceId());
@@ -585,6 +849,19 @@ public class SchedulingService {
     
     public int autoAssignShopTime(Project shopProject, LocalDate startDate, LocalDate endDate, 
                                    List<Resource> selectedResources, boolean skipHolidays, boolean excludeWeekends) {
+        return autoAssignShopTime(shopProject, startDate, endDate, selectedResources, skipHolidays, excludeWeekends, null)
+            .getAssignmentsCreated();
+    }
+    
+    /**
+     * Fills every free assignable day of the selected resources with SHOP assignments, one per run of
+     * consecutive free days. Existing assignments and approved unavailability for the whole range are
+     * fetched once, each resource's free days are worked out on a bitmap, and all new assignments are
+     * written in a single batch transaction.
+     */
+    public ShopAutoAssignResult autoAssignShopTime(Project shopProject, LocalDate startDate, LocalDate endDate, 
+                                                   List<Resource> selectedResources, boolean skipHolidays, boolean excludeWeekends,
+                                                   ShopAutoAssignProgress progress) {
         logger.info("Starting SHOP auto-assignment: project={}, startDate={}, endDate={}, resources={}, skipHolidays={}, excludeWeekends={}", 
             shopProject != null ? shopProject.getProjectId() : "null", 
             startDate, endDate, 
@@ -596,102 +873,103 @@ public class SchedulingService {
             throw new IllegalArgumentException("Must select a SHOP project");
         }
         
-        int assignmentsCreated = 0;
+        ShopAutoAssignResult result = new ShopAutoAssignResult();
+        List<Resource> resources = selectedResources != null ? selectedResources : new ArrayList<>();
+        int totalSteps = resources.size() + 1;
+        reportProgress(progress, "Loading existing assignments...", 0, totalSteps);
+        
+        // Bit i of each bitmap stands for startDate + i
+        int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        BitSet assignableDays = new BitSet(dayCount);
         List<LocalDate> weekdays = getWeekdays(startDate, endDate, skipHolidays, excludeWeekends);
+        for (LocalDate day : weekdays) {
+            assignableDays.set((int) ChronoUnit.DAYS.between(startDate, day));
+        }
         logger.info("Processing {} weekdays for SHOP assignments", weekdays.size());
         
-        for (Resource resource : selectedResources) {
-            logger.debug("Processing resource: {} (ID: {}, Active: {})", resource.getName(), resource.getId(), resource.isActive());
+        // One prefetch for all resources instead of two queries per resource
+        Map<Long, BitSet> busyDays = new HashMap<>();
+        for (Assignment existing : assignmentRepository.findByDateRange(startDate, endDate)) {
+            markBusy(busyDays, existing.getResourceId(), existing.getStartDate(), existing.getEndDate(), startDate, dayCount);
+        }
+        if (getUnavailabilityRepository() != null) {
+            for (TechnicianUnavailability unavailability : getUnavailabilityRepository().findByDateRange(startDate, endDate)) {
+                if (unavailability.isApproved()) {
+                    markBusy(busyDays, unavailability.getResourceId(), 
+                        unavailability.getStartDate(), unavailability.getEndDate(), startDate, dayCount);
+                }
+            }
+        }
+        
+        List<Assignment> newAssignments = new ArrayList<>();
+        for (int r = 0; r < resources.size(); r++) {
+            Resource resource = resources.get(r);
+            reportProgress(progress, "Planning " + resource.getName() + "...", r + 1, totalSteps);
             if (!resource.isActive()) {
                 logger.debug("Skipping inactive resource: {}", resource.getName());
-                continue; // Skip inactive resources
+                result.addResource(resource, 0, 0, 0, true);
+                continue;
             }
             
-            // Get existing assignments and unavailability for this resource
-            List<Assignment> existingAssignments = assignmentRepository.findByResourceId(resource.getId());
-            List<TechnicianUnavailability> unavailabilities = getUnavailabilityRepository() != null ?
-                getUnavailabilityRepository().findByResourceId(resource.getId()).stream()
-                    .filter(u -> u.isApproved())
-                    .collect(Collectors.toList()) : new ArrayList<>();
-            
-            // Group consecutive available weekdays into blocks
-            List<LocalDate> availableDays = new ArrayList<>();
-            LocalDate blockStart = null;
-            LocalDate blockEnd = null;
-            int resourceAssignments = 0;
+            BitSet freeDays = (BitSet) assignableDays.clone();
+            BitSet busy = busyDays.get(resource.getId());
+            if (busy != null) {
+                freeDays.andNot(busy);
+            }
             
-            for (int i = 0; i <= weekdays.size(); i++) {
-                LocalDate currentDate = i < weekdays.size() ? weekdays.get(i) : null;
-                boolean isAvailable = false;
-                boolean shouldEndBlock = false;
-                
-                if (currentDate != null) {
-                    // Check if resource has any assignment on this date
-                    boolean hasAssignment = existingAssignments.stream()
-                        .anyMatch(a -> !currentDate.isBefore(a.getStartDate()) && !currentDate.isAfter(a.getEndDate()));
-                    
-                    // Check if resource is unavailable on this date
-                    boolean isUnavailable = unavailabilities.stream()
-                        .anyMatch(u -> !currentDate.isBefore(u.getStartDate()) && !currentDate.isAfter(u.getEndDate()));
-                    
-                    isAvailable = !hasAssignment && !isUnavailable;
-                    
-                    if (hasAssignment) {
-                        logger.trace("Resource {} already has assignment on {}", resource.getName(), currentDate);
-                    }
-                    if (isUnavailable) {
-                        logger.trace("Resource {} is unavailable on {}", resource.getName(), currentDate);
-                    }
-                    
-                    // Check if there's a gap (weekend or holiday) between previous date and current date
-                    if (blockEnd != null && ChronoUnit.DAYS.between(blockEnd, currentDate) > 1) {
-                        shouldEndBlock = true; // Gap detected, end current block
-                    }
-                }
-                
-                if (shouldEndBlock || (!isAvailable && blockStart != null) || currentDate == null) {
-                    // End of available block - create assignment if we have a block
-                    if (blockStart != null && blockEnd != null) {
-                        // Create SHOP assignment for this block
-                        Assignment shopAssignment = new Assignment(
-                            shopProject.getId(),
-                            resource.getId(),
-                            blockStart,
-                            blockEnd,
-                            0, 0   // No travel days for SHOP
-                        );
-                        shopAssignment.setNotes("Auto-assigned to SHOP");
-                        shopAssignment.setLocation("Shop Floor");
-                        Assignment saved = assignmentRepository.save(shopAssignment);
-                        assignmentsCreated++;
-                        resourceAssignments++;
-                        
-                        long dayCount = ChronoUnit.DAYS.between(blockStart, blockEnd) + 1;
-                        logger.info("Created SHOP assignment for {} from {} to {} ({} days, Assignment ID: {})", 
-                            resource.getName(), blockStart, blockEnd, dayCount, 
-                            saved != null ? saved.getId() : "null");
-                        
-                        blockStart = null;
-                        blockEnd = null;
-                    }
-                }
-                
-                if (isAvailable && currentDate != null) {
-                    // Start new block or continue current block
-                    if (blockStart == null) {
-                        blockStart = currentDate;
-                        blockEnd = currentDate;
-                    } else {
-                        blockEnd = currentDate;
-                    }
-                }
+            // Each run of consecutive free days becomes one SHOP block; weekends and holidays break the run
+            int blocks = 0;
+            for (int from = freeDays.nextSetBit(0); from >= 0; from = freeDays.nextSetBit(from)) {
+                int to = freeDays.nextClearBit(from);
+                Assignment shopAssignment = new Assignment(
+                    shopProject.getId(),
+                    resource.getId(),
+                    startDate.plusDays(from),
+                    startDate.plusDays(to - 1),
+                    0, 0   // No travel days for SHOP
+                );
+                shopAssignment.setNotes("Auto-assigned to SHOP");
+                shopAssignment.setLocation("Shop Floor");
+                newAssignments.add(shopAssignment);
+                blocks++;
+                from = to;
             }
             
-            logger.info("Created {} SHOP assignment blocks for resource {}", resourceAssignments, resource.getName());
+            int daysAssigned = freeDays.cardinality();
+            int daysUnavailable = assignableDays.cardinality() - daysAssigned;
+            result.addResource(resource, blocks, daysAssigned, daysUnavailable, false);
+            logger.debug("Planned {} SHOP blocks ({} days) for resource {}", blocks, daysAssigned, resource.getName());
+        }
+        
+        reportProgress(progress, "Saving " + newAssignments.size() + " SHOP assignments...", resources.size(), totalSteps);
+        assignmentRepository.saveAll(newAssignments);
+        for (Assignment saved : newAssignments) {
+            conflictIndex.put(saved);
+            utilizationEngine.put(saved);
         }
+        result.setAssignmentsCreated(newAssignments.size());
+        reportProgress(progress, "Created " + newAssignments.size() + " SHOP assignments", totalSteps, totalSteps);
         
-        logger.info("SHOP auto-assignment complete: created {} total assignments", assignmentsCreated);
-        return assignmentsCreated;
+        logger.info("SHOP auto-assignment complete: created {} total assignments", newAssignments.size());
+        return result;
+    }
+    
+    private void markBusy(Map<Long, BitSet> busyDays, Long resourceId, LocalDate from, LocalDate to,
+                          LocalDate rangeStart, int dayCount) {
+        if (resourceId == null || from == null || to == null) {
+            return;
+        }
+        long first = Math.max(0, ChronoUnit.DAYS.between(rangeStart, from));
+        long last = Math.min(dayCount - 1, ChronoUnit.DAYS.between(rangeStart, to));
+        if (first <= last) {
+            busyDays.computeIfAbsent(resourceId, k -> new BitSet(dayCount)).set((int) first, (int) last + 1);
+        }
+    }
+    
+    private void reportProgress(ShopAutoAssignProgress progress, String message, int done, int total) {
+        if (progress != null) {
+            progress.update(message, done, total);
+        }
     }
     
     private List<LocalDate> getWeekdays(LocalDate startDate, LocalDate endDate, boolean skipHolidays, boolean excludeWeekends) {
@@ -732,22 +1010,23 @@ public class SchedulingService {
     
     private boolean isCompanyHoliday(LocalDate date) {
         // Check if the date is a company holiday from the Holiday Calendar
-        try {
-            String sql = "SELECT COUNT(*) FROM company_holidays WHERE date = ? AND active = 1";
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, date.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt(1) > 0;
-                    }
-                }
+        return WorkingCalendar.getInstance().isHoliday(date);
+    }
+    
+    private List<LocalDate> loadActiveHolidayDates() {
+        String sql = "SELECT date FROM company_holidays WHERE active = 1";
+        List<LocalDate> dates = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                dates.add(LocalDate.parse(rs.getString(1)));
             }
         } catch (SQLException e) {
-            logger.warn("Failed to check company holidays for date {}: {}", date, e.getMessage());
-            // Fall back to no holiday if database check fails
+            logger.error("Failed to load company holidays", e);
+            throw new RuntimeException("Failed to load company holidays", e);
         }
-        return false;
+        return dates;
     }
     
     // Utility Methods
@@ -775,6 +1054,12 @@ public class SchedulingService {
 
     private void validateAssignmentInputs(Long projectId, Long resourceId, LocalDate startDate, LocalDate endDate,
                                         int travelOutDays, int travelBackDays) {
+        validateAssignmentInputs(projectId, resourceId, startDate, endDate, travelOutDays, travelBackDays, Map.of());
+    }
+
+    // pendingProjects: projects about to be created, by their provisional ids
+    private void validateAssignmentInputs(Long projectId, Long resourceId, LocalDate startDate, LocalDate endDate,
+                                        int travelOutDays, int travelBackDays, Map<Long, Project> pendingProjects) {
         if (projectId == null || resourceId == null) {
             throw new IllegalArgumentException("Project ID and Resource ID are required");
         }
@@ -785,7 +1070,7 @@ public class SchedulingService {
             throw new IllegalArgumentException("Travel days cannot be negative");
         }
         
-        if (!projectRepository.existsById(projectId)) {
+        if (!pendingProjects.containsKey(projectId) && !projectRepository.existsById(projectId)) {
             throw new IllegalArgumentException("Project not found: " + projectId);
         }
         
@@ -795,32 +1080,47 @@ public class SchedulingService {
     }
 
     private void validateAssignmentBusinessRules(Assignment assignment) {
+        // Check for resource conflicts
+        List<Assignment> conflicts = getConflictingAssignments(
+            assignment.getResourceId(), 
+            assignment.getEffectiveStartDate(), 
+            assignment.getEffectiveEndDate()
+        );
+        validateAssignmentBusinessRules(assignment, conflicts, Map.of());
+    }
+
+    // conflicts: the assignments overlapping this one; pendingProjects as for validateAssignmentInputs
+    private void validateAssignmentBusinessRules(Assignment assignment, List<Assignment> conflicts,
+                                                 Map<Long, Project> pendingProjects) {
         // Validate project date boundaries
         validateAssignmentProjectDates(assignment);
         
         // Get the project for this assignment to check its project ID
-        Project assignmentProject = projectRepository.findById(assignment.getProjectId()).orElse(null);
+        Project assignmentProject = findProject(assignment.getProjectId(), pendingProjects);
         if (assignmentProject == null) {
             throw new IllegalArgumentException("Project not found: " + assignment.getProjectId());
         }
         
-        // Check for resource conflicts
-        List<Assignment> conflicts = getConflictingAssignments(
-            assignment.getResourceId(), 
-            assignment.getEffectiveStartDate(), 
-            assignment.getEffectiveEndDate()
-        );
-        
         // Filter out the current assignment if updating
         conflicts = conflicts.stream()
             .filter(a -> !a.getId().equals(assignment.getId()))
             .filter(a -> !a.isOverride()) // Ignore other overrides
             .toList();
         
+        // Look up each conflicting project once rather than once per conflict in both loops below
+        Map<Long, Project> conflictProjects = new HashMap<>();
+        for (Assignment conflict : conflicts) {
+            if (!conflictProjects.containsKey(conflict.getProjectId())) {
+                conflictProjects.put(conflict.getProjectId(),
+                    conflict.getProjectId().equals(assignment.getProjectId()) ? assignmentProject
+                        : findProject(conflict.getProjectId(), pendingProjects));
+            }
+        }
+        
         // Check for actual conflicts (excluding SHOP assignments which are auto-removed)
         boolean hasRealConflicts = false;
         for (Assignment conflict : conflicts) {
-            Project conflictProject = projectRepository.findById(conflict.getProjectId()).orElse(null);
+            Project conflictProject = conflictProjects.get(conflict.getProjectId());
             if (conflictProject != null) {
                 // Check if it's the same PROJECT ID
                 if (conflictProject.getProjectId().equals(assignmentProject.getProjectId())) {
@@ -847,7 +1147,7 @@ public class SchedulingService {
             // Build list of conflicting projects
             StringBuilder conflictDetails = new StringBuilder();
             for (Assignment conflict : conflicts) {
-                Project conflictProject = projectRepository.findById(conflict.getProjectId()).orElse(null);
+                Project conflictProject = conflictProjects.get(conflict.getProjectId());
                 if (conflictProject != null && !conflictProject.getProjectId().equalsIgnoreCase("SHOP")) {
                     if (conflictDetails.length() > 0) conflictDetails.append(", ");
                     conflictDetails.append(String.format("'%s' (%s to %s)", 
@@ -864,6 +1164,11 @@ public class SchedulingService {
         // This enables scenarios like working on "ProjectA Phase 1" and "ProjectA Phase 2" simultaneously
     }
 
+    private Project findProject(Long id, Map<Long, Project> pendingProjects) {
+        Project pending = pendingProjects.get(id);
+        return pending != null ? pending : projectRepository.findById(id).orElse(null);
+    }
+
     private void validateAssignmentProjectDates(Assignment assignment) {
         // Assignments can extend beyond project dates for legitimate business reasons:
         // - Setup/preparation work before project starts
@@ -875,19 +1180,7 @@ public class SchedulingService {
     
     // Comprehensive Conflict Detection Methods
     public Set<Long> detectAllConflicts(LocalDate startDate, LocalDate endDate) {
-        List<Assignment> assignments = getAssignmentsByDateRange(startDate, endDate);
-        Set<Long> conflictedAssignments = new HashSet<>();
-        
-        // Group assignments by resource
-        var assignmentsByResource = assignments.stream()
-            .collect(Collectors.groupingBy(Assignment::getResourceId));
-        
-        // Check each resource for overlapping assignments
-        for (Long resourceId : assignmentsByResource.keySet()) {
-            List<Assignment> resourceAssignments = assignmentsByResource.get(resourceId);
-            Set<Long> conflicts = findOverlappingAssignments(resourceAssignments);
-            conflictedAssignments.addAll(conflicts);
-        }
+        Set<Long> conflictedAssignments = getConflictIndex().findConflicts(startDate, endDate);
         
         logger.debug("Found {} conflicted assignments in date range {} to {}", 
                     conflictedAssignments.size(), startDate, endDate);
@@ -895,25 +1188,7 @@ public class SchedulingService {
     }
     
     public Set<Long> findOverlappingAssignments(List<Assignment> assignments) {
-        Set<Long> conflicts = new HashSet<>();
-        
-        for (int i = 0; i < assignments.size(); i++) {
-            Assignment assignment1 = assignments.get(i);
-            
-            for (int j = i + 1; j < assignments.size(); j++) {
-                Assignment assignment2 = assignments.get(j);
-                
-                if (assignmentsOverlap(assignment1, assignment2)) {
-                    conflicts.add(assignment1.getId());
-                    conflicts.add(assignment2.getId());
-                    
-                    logger.debug("Conflict detected between assignments {} and {} for resource {}", 
-                               assignment1.getId(), assignment2.getId(), assignment1.getResourceId());
-                }
-            }
-        }
-        
-        return conflicts;
+        return AssignmentConflictIndex.findOverlaps(assignments);
     }
     
     public boolean assignmentsOverlap(Assignment a1, Assignment a2) {
@@ -928,13 +1203,52 @@ public class SchedulingService {
             return false;
         }
         
-        List<Assignment> conflicts = getConflictingAssignments(
+        return getConflictIndex().hasOverlap(
             assignment.get().getResourceId(),
             assignment.get().getStartDate(),
-            assignment.get().getEndDate()
+            assignment.get().getEndDate(),
+            assignmentId
         );
+    }
+
+    /**
+     * Receives progress updates from {@link #autoAssignShopTime}; may be called from a background thread.
+     */
+    public interface ShopAutoAssignProgress {
+        void update(String message, int done, int total);
+    }
+    
+    public static class ShopAutoAssignResult {
+        private int assignmentsCreated = 0;
+        private final List<ResourceSummary> resourceSummaries = new ArrayList<>();
         
-        // Remove the assignment itself from conflicts
-        return conflicts.stream().anyMatch(a -> !a.getId().equals(assignmentId));
+        void addResource(Resource resource, int blocksCreated, int daysAssigned, int daysUnavailable, boolean skipped) {
+            resourceSummaries.add(new ResourceSummary(resource.getId(), resource.getName(), 
+                blocksCreated, daysAssigned, daysUnavailable, skipped));
+        }
+        
+        public int getAssignmentsCreated() { return assignmentsCreated; }
+        void setAssignmentsCreated(int count) { this.assignmentsCreated = count; }
+        
+        public List<ResourceSummary> getResourceSummaries() { return resourceSummaries; }
+        
+        public String getSummary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Created %d SHOP assignments for %d resources.%n%n", 
+                assignmentsCreated, resourceSummaries.size()));
+            for (ResourceSummary summary : resourceSummaries) {
+                if (summary.skipped()) {
+                    sb.append(String.format("%s: skipped (inactive)%n", summary.resourceName()));
+                } else {
+                    sb.append(String.format("%s: %d blocks, %d days assigned, %d days already booked or unavailable%n",
+                        summary.resourceName(), summary.blocksCreated(), summary.daysAssigned(), summary.daysUnavailable()));
+                }
+            }
+            return sb.toString();
+        }
+        
+        public record ResourceSummary(Long resourceId, String resourceName, int blocksCreated, 
+                                      int daysAssigned, int daysUnavailable, boolean skipped) {
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,8 +4,8 @@ import com.subliminalsearch.simpleprojectresourcemanager.integration.sharepoint.
 import com.subliminalsearch.simpleprojectresourcemanager.integration.sharepoint.SimpleSharePointSync;
 
 import javax.sql.DataSource;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -13,11 +13,12 @@ import java.util.logging.Logger;
  */
 public class SharePointSyncService {
     private static final Logger logger = Logger.getLogger(SharePointSyncService.class.getName());
+    private static final String SYNC_TASK = "sharepoint-sync";
     private static SharePointSyncService instance;
     
     private final DataSource dataSource;
     private final SharePointConfig config;
-    private Timer syncTimer;
+    private ScheduledFuture<?> syncSchedule;
     private SimpleSharePointSync syncClient;
     
     private SharePointSyncService(DataSource dataSource) {
@@ -42,31 +43,19 @@ public class SharePointSyncService {
             return;
         }
         
-        stopSync(); // Stop any existing timer
+        stopSync(); // Stop any existing schedule
         
-        syncTimer = new Timer("SharePoint-Sync", true);
-        
-        TimerTask syncTask = new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    logger.info("Running scheduled SharePoint sync...");
-                    syncClient.syncAll();
-                } catch (Exception e) {
-                    logger.severe("Scheduled sync failed: " + e.getMessage());
-                }
-            }
-        };
-        
-        // Schedule to run every X minutes
-        long intervalMillis = config.getSyncIntervalMinutes() * 60L * 1000L;
-        
-        // Run first sync immediately, then repeat at intervals
+        // Run first sync immediately, then repeat at intervals; a sync still running when the
+        // next is due is not overlapped
         logger.info("Running initial SharePoint sync immediately...");
-        syncTask.run(); // Run once immediately
-        
-        // Then schedule regular runs
-        syncTimer.scheduleAtFixedRate(syncTask, intervalMillis, intervalMillis);
+        syncSchedule = BackgroundTasks.getInstance().scheduleAtFixedRate(SYNC_TASK, () -> {
+            try {
+                logger.info("Running scheduled SharePoint sync...");
+                syncClient.syncAll();
+            } catch (Exception e) {
+                logger.severe("Scheduled sync failed: " + e.getMessage());
+            }
+        }, 0, config.getSyncIntervalMinutes(), TimeUnit.MINUTES);
         
         logger.info("SharePoint sync scheduled to run every " + config.getSyncIntervalMinutes() + " minutes");
     }
@@ -75,9 +64,9 @@ public class SharePointSyncService {
      * Stop automatic synchronization
      */
     public void stopSync() {
-        if (syncTimer != null) {
-            syncTimer.cancel();
-            syncTimer = null;
+        if (syncSchedule != null) {
+            syncSchedule.cancel(false);
+            syncSchedule = null;
             logger.info("SharePoint sync stopped");
         }
     }
@@ -93,15 +82,15 @@ public class SharePointSyncService {
         
         logger.info("Running manual SharePoint sync...");
         
-        // Run in a separate thread to avoid blocking UI
-        new Thread(() -> {
+        // Run in the background to avoid blocking UI; joins a sync that is already running
+        BackgroundTasks.getInstance().runOnce(BackgroundTasks.Pool.IO, SYNC_TASK, () -> {
             try {
                 syncClient.syncAll();
                 logger.info("Manual sync completed");
             } catch (Exception e) {
                 logger.severe("Manual sync failed: " + e.getMessage());
             }
-        }, "SharePoint-Manual-Sync").start();
+        });
     }
     
     /**
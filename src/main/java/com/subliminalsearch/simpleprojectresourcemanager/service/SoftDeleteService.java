@@ -14,6 +14,8 @@ public class SoftDeleteService {
     private static final Logger logger = LoggerFactory.getLogger(SoftDeleteService.class);
     
     private final HikariDataSource dataSource;
+    // Its conflict index is told about the assignments changed here
+    private final SchedulingService schedulingService;
     private final ProjectRepository projectRepository;
     private final AssignmentRepository assignmentRepository;
     private final ResourceRepository resourceRepository;
@@ -28,14 +30,12 @@ public class SoftDeleteService {
         }
     };
     
-    public SoftDeleteService(HikariDataSource dataSource,
-                            ProjectRepository projectRepository,
-                            AssignmentRepository assignmentRepository,
-                            ResourceRepository resourceRepository) {
+    public SoftDeleteService(HikariDataSource dataSource, SchedulingService schedulingService) {
         this.dataSource = dataSource;
-        this.projectRepository = projectRepository;
-        this.assignmentRepository = assignmentRepository;
-        this.resourceRepository = resourceRepository;
+        this.schedulingService = schedulingService;
+        this.projectRepository = schedulingService.getProjectRepository();
+        this.assignmentRepository = schedulingService.getAssignmentRepository();
+        this.resourceRepository = schedulingService.getResourceRepository();
         this.taskRepository = new TaskRepository(dataSource);
         
         // Ensure soft delete columns exist
@@ -169,6 +169,7 @@ public class SoftDeleteService {
             }
             
             conn.commit();
+            schedulingService.invalidateConflictIndex();
             
             // Store in recent deletions for undo
             DeletedEntity deleted = new DeletedEntity(
@@ -202,6 +203,7 @@ public class SoftDeleteService {
                 stmt.setLong(3, assignmentId);
                 stmt.executeUpdate();
             }
+            schedulingService.invalidateConflictIndex();
             
             // Store for undo
             DeletedEntity deleted = new DeletedEntity(
@@ -284,6 +286,7 @@ public class SoftDeleteService {
             }
             
             conn.commit();
+            schedulingService.invalidateConflictIndex();
             recentDeletions.remove(undoId);
             
             logger.info("Restored {} with ID: {}", deleted.entityType, deleted.entityId);
@@ -21,43 +21,83 @@ public class TaskDependencyService {
     }
     
     /**
-     * Cascade dates for dependent tasks when a predecessor task's dates change
+     * Cascade dates for dependent tasks when a predecessor task's dates change.
+     *
+     * Loads the project's tasks and dependencies once and walks the downstream tasks in
+     * dependency order, so each task is looked at once however many paths lead to it. A task is
+     * moved only when one of its predecessors moved (or is the changed task), to the latest start
+     * any of its predecessors requires, keeping its duration. All moved tasks are written in one
+     * transaction and returned as a change set that {@link #revert(RescheduleChangeSet)} undoes.
      */
-    public void cascadeDates(Long taskId) {
+    public RescheduleChangeSet cascadeDates(Long taskId) {
         Task task = taskRepository.findById(taskId).orElse(null);
         if (task == null || task.getPlannedStart() == null || task.getPlannedEnd() == null) {
-            return;
+            return new RescheduleChangeSet(taskId, new ArrayList<>());
         }
         
-        // Find all tasks that depend on this task
-        List<TaskDependency> successors = dependencyRepository.findSuccessors(taskId);
+        List<Task> projectTasks = taskRepository.findByProjectId(task.getProjectId());
+        Map<Long, Task> tasksById = new HashMap<>();
+        for (Task projectTask : projectTasks) {
+            tasksById.put(projectTask.getId(), projectTask);
+        }
+        DependencyGraph graph = new DependencyGraph(projectTasks, dependencyRepository.findByProjectId(task.getProjectId()));
         
-        for (TaskDependency dependency : successors) {
-            Task successorTask = taskRepository.findById(dependency.getSuccessorId()).orElse(null);
-            if (successorTask == null) {
-                continue;
-            }
+        Set<Long> moved = new HashSet<>();
+        moved.add(taskId);
+        List<TaskDateChange> changes = new ArrayList<>();
+        List<Task> changedTasks = new ArrayList<>();
+        
+        for (Long successorId : graph.getDownstreamInOrder(taskId)) {
+            Task successorTask = tasksById.get(successorId);
+            LocalDate newStartDate = null;
+            boolean predecessorMoved = false;
             
-            LocalDate newStartDate = calculateSuccessorStartDate(task, successorTask, dependency);
+            for (TaskDependency dependency : graph.getIncomingDependencies(successorId)) {
+                Task predecessor = tasksById.get(dependency.getPredecessorId());
+                if (predecessor.getPlannedStart() == null || predecessor.getPlannedEnd() == null) {
+                    continue;
+                }
+                predecessorMoved |= moved.contains(predecessor.getId());
+                LocalDate required = calculateSuccessorStartDate(predecessor, successorTask, dependency);
+                if (required != null && (newStartDate == null || required.isAfter(newStartDate))) {
+                    newStartDate = required;
+                }
+            }
             
-            if (newStartDate != null && !newStartDate.equals(successorTask.getPlannedStart())) {
+            if (predecessorMoved && newStartDate != null && !newStartDate.equals(successorTask.getPlannedStart())) {
                 // Calculate duration
                 long duration = 0;
                 if (successorTask.getPlannedStart() != null && successorTask.getPlannedEnd() != null) {
                     duration = ChronoUnit.DAYS.between(successorTask.getPlannedStart(), successorTask.getPlannedEnd());
                 }
                 
-                // Update successor task dates
+                changes.add(new TaskDateChange(successorId, successorTask.getTitle(),
+                    successorTask.getPlannedStart(), successorTask.getPlannedEnd(),
+                    newStartDate, newStartDate.plusDays(duration)));
                 successorTask.setPlannedStart(newStartDate);
                 successorTask.setPlannedEnd(newStartDate.plusDays(duration));
-                
-                // Save the updated task
-                taskRepository.update(successorTask);
-                
-                // Recursively cascade to dependent tasks
-                cascadeDates(successorTask.getId());
+                changedTasks.add(successorTask);
+                moved.add(successorId);
             }
         }
+        
+        taskRepository.updatePlannedDates(changedTasks);
+        return new RescheduleChangeSet(taskId, changes);
+    }
+    
+    /**
+     * Put every task in the change set back on its previous dates, in one transaction
+     */
+    public void revert(RescheduleChangeSet changeSet) {
+        List<Task> restored = new ArrayList<>();
+        for (TaskDateChange change : changeSet.getChanges()) {
+            Task task = new Task();
+            task.setId(change.taskId());
+            task.setPlannedStart(change.oldStart());
+            task.setPlannedEnd(change.oldEnd());
+            restored.add(task);
+        }
+        taskRepository.updatePlannedDates(restored);
     }
     
     /**
@@ -145,121 +185,48 @@ public class TaskDependencyService {
     }
     
     /**
-     * Find the critical path through the project
+     * Build the project's dependency graph from one task query and one dependency query
+     */
+    public DependencyGraph buildGraph(Long projectId) {
+        return new DependencyGraph(taskRepository.findByProjectId(projectId),
+            dependencyRepository.findByProjectId(projectId));
+    }
+    
+    /**
+     * Early/late dates and slack for every task in the project
+     */
+    public DependencyGraph.Schedule calculateSchedule(Long projectId) {
+        return buildGraph(projectId).calculate();
+    }
+    
+    /**
+     * Find the critical path through the project, in dependency order
      */
     public List<Long> findCriticalPath(Long projectId) {
-        List<Task> projectTasks = taskRepository.findByProjectId(projectId);
-        List<TaskDependency> projectDependencies = dependencyRepository.findByProjectId(projectId);
-        
-        if (projectTasks.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // Build dependency graph
-        Map<Long, List<Long>> predecessors = new HashMap<>();
-        Map<Long, List<Long>> successors = new HashMap<>();
-        
-        for (TaskDependency dep : projectDependencies) {
-            predecessors.computeIfAbsent(dep.getSuccessorId(), k -> new ArrayList<>()).add(dep.getPredecessorId());
-            successors.computeIfAbsent(dep.getPredecessorId(), k -> new ArrayList<>()).add(dep.getSuccessorId());
-        }
-        
-        // Find tasks with no predecessors (start tasks)
-        List<Task> startTasks = new ArrayList<>();
-        for (Task task : projectTasks) {
-            if (!predecessors.containsKey(task.getId())) {
-                startTasks.add(task);
-            }
-        }
-        
-        // Calculate early start and early finish for all tasks
-        Map<Long, LocalDate> earlyStart = new HashMap<>();
-        Map<Long, LocalDate> earlyFinish = new HashMap<>();
-        Map<Long, LocalDate> lateStart = new HashMap<>();
-        Map<Long, LocalDate> lateFinish = new HashMap<>();
-        Map<Long, Long> slack = new HashMap<>();
-        
-        // Forward pass - calculate early start and finish
-        Queue<Task> queue = new LinkedList<>(startTasks);
-        Set<Long> processed = new HashSet<>();
-        
-        while (!queue.isEmpty()) {
-            Task task = queue.poll();
-            if (processed.contains(task.getId())) {
-                continue;
-            }
-            
-            // Calculate early start
-            LocalDate es = task.getPlannedStart();
-            if (predecessors.containsKey(task.getId())) {
-                for (Long predId : predecessors.get(task.getId())) {
-                    if (earlyFinish.containsKey(predId)) {
-                        LocalDate predFinish = earlyFinish.get(predId);
-                        if (es == null || predFinish.plusDays(1).isAfter(es)) {
-                            es = predFinish.plusDays(1);
-                        }
-                    }
-                }
-            }
-            
-            if (es != null && task.getPlannedEnd() != null) {
-                earlyStart.put(task.getId(), es);
-                long duration = ChronoUnit.DAYS.between(task.getPlannedStart(), task.getPlannedEnd());
-                earlyFinish.put(task.getId(), es.plusDays(duration));
-                
-                // Add successors to queue
-                if (successors.containsKey(task.getId())) {
-                    for (Long succId : successors.get(task.getId())) {
-                        Task succ = projectTasks.stream()
-                            .filter(t -> t.getId().equals(succId))
-                            .findFirst()
-                            .orElse(null);
-                        if (succ != null) {
-                            queue.offer(succ);
-                        }
-                    }
-                }
-            }
-            
-            processed.add(task.getId());
-        }
-        
-        // Find project end date
-        LocalDate projectEnd = projectTasks.stream()
-            .map(t -> earlyFinish.get(t.getId()))
-            .filter(Objects::nonNull)
-            .max(LocalDate::compareTo)
-            .orElse(null);
+        return calculateSchedule(projectId).getCriticalPath();
+    }
+    
+    /**
+     * Tasks moved by one cascade, with their dates before and after
+     */
+    public static class RescheduleChangeSet {
+        private final Long rootTaskId;
+        private final List<TaskDateChange> changes;
         
-        if (projectEnd == null) {
-            return new ArrayList<>();
+        public RescheduleChangeSet(Long rootTaskId, List<TaskDateChange> changes) {
+            this.rootTaskId = rootTaskId;
+            this.changes = changes;
         }
         
-        // Backward pass - calculate late start and finish
-        for (Task task : projectTasks) {
-            if (!successors.containsKey(task.getId()) || successors.get(task.getId()).isEmpty()) {
-                // End tasks
-                lateFinish.put(task.getId(), projectEnd);
-                if (task.getPlannedStart() != null && task.getPlannedEnd() != null) {
-                    long duration = ChronoUnit.DAYS.between(task.getPlannedStart(), task.getPlannedEnd());
-                    lateStart.put(task.getId(), projectEnd.minusDays(duration));
-                }
-            }
-        }
+        public Long getRootTaskId() { return rootTaskId; }
+        public List<TaskDateChange> getChanges() { return changes; }
+        public boolean isEmpty() { return changes.isEmpty(); }
         
-        // Calculate slack and identify critical path
-        List<Long> criticalPath = new ArrayList<>();
-        for (Task task : projectTasks) {
-            if (earlyStart.containsKey(task.getId()) && lateStart.containsKey(task.getId())) {
-                long taskSlack = ChronoUnit.DAYS.between(earlyStart.get(task.getId()), lateStart.get(task.getId()));
-                slack.put(task.getId(), taskSlack);
-                
-                if (taskSlack == 0) {
-                    criticalPath.add(task.getId());
-                }
-            }
+        public String getSummary() {
+            return String.format("Rescheduled %d dependent task(s)", changes.size());
         }
-        
-        return criticalPath;
     }
-}
\ No newline at end of file
+    
+    public record TaskDateChange(Long taskId, String title, LocalDate oldStart, LocalDate oldEnd,
+                                 LocalDate newStart, LocalDate newEnd) {}
+}
@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Session-based undo manager that keeps deleted items in memory
@@ -93,6 +94,22 @@ public class UndoManager {
         return undoId;
     }
     
+    /**
+     * Store the task moves made by one dependency cascade, so they can be undone together
+     */
+    public String storeTaskReschedule(TaskDependencyService.RescheduleChangeSet changeSet) {
+        String undoId = generateUndoId("reschedule", changeSet.getRootTaskId());
+        
+        TaskReschedule reschedule = new TaskReschedule(changeSet, System.currentTimeMillis());
+        
+        undoableActions.put(undoId, reschedule);
+        addToHistory(undoId);
+        
+        logger.info("Stored reschedule of {} task(s) for undo (ID: {})", changeSet.getChanges().size(), undoId);
+        
+        return undoId;
+    }
+    
     /**
      * Check if an undo action is still available
      */
@@ -143,6 +160,9 @@ public class UndoManager {
         } else if (action instanceof ResourceDeletion) {
             ResourceDeletion rd = (ResourceDeletion) action;
             return "Resource: " + rd.resource.getName();
+        } else if (action instanceof TaskReschedule) {
+            TaskReschedule tr = (TaskReschedule) action;
+            return tr.changeSet.getSummary();
         }
         
         return "Unknown item";
@@ -164,34 +184,22 @@ public class UndoManager {
     }
     
     private void startCleanupThread() {
-        Thread cleanupThread = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(1000); // Check every second
-                    
-                    long now = System.currentTimeMillis();
-                    List<String> expired = new ArrayList<>();
-                    
-                    for (Map.Entry<String, UndoableAction> entry : undoableActions.entrySet()) {
-                        if (now - entry.getValue().getTimestamp() > UNDO_TIMEOUT_MS) {
-                            expired.add(entry.getKey());
-                        }
-                    }
-                    
-                    for (String undoId : expired) {
-                        removeUndoAction(undoId);
-                        logger.debug("Expired undo action: {}", undoId);
-                    }
-                    
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
+        // Check every second for expired undo actions
+        BackgroundTasks.getInstance().scheduleHousekeeping("undo-cleanup", () -> {
+            long now = System.currentTimeMillis();
+            List<String> expired = new ArrayList<>();
+            
+            for (Map.Entry<String, UndoableAction> entry : undoableActions.entrySet()) {
+                if (now - entry.getValue().getTimestamp() > UNDO_TIMEOUT_MS) {
+                    expired.add(entry.getKey());
                 }
             }
-        });
-        cleanupThread.setDaemon(true);
-        cleanupThread.setName("UndoManager-Cleanup");
-        cleanupThread.start();
+            
+            for (String undoId : expired) {
+                removeUndoAction(undoId);
+                logger.debug("Expired undo action: {}", undoId);
+            }
+        }, 1, TimeUnit.SECONDS);
     }
     
     // Base class for undoable actions
@@ -239,4 +247,13 @@ public class UndoManager {
             this.resource = resource;
         }
     }
+    
+    public static class TaskReschedule extends UndoableAction {
+        public final TaskDependencyService.RescheduleChangeSet changeSet;
+        
+        public TaskReschedule(TaskDependencyService.RescheduleChangeSet changeSet, long timestamp) {
+            super(timestamp);
+            this.changeSet = changeSet;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Per-resource day-by-day occupancy over a window of dates, for utilization and billable
+ * percentages over any range.
+ *
+ * Each resource keeps one count array per category (billable project, SHOP, TRAINING, PTO)
+ * holding how many of its assignments cover each day of the window; overlapping assignments
+ * count once each, as the day-by-day walks this replaces did. Prefix sums over those arrays,
+ * restricted to the working days of the current settings, are built lazily per resource, so a
+ * range query is a handful of array reads. put() and remove() patch the counts of a single
+ * assignment and mark only that resource for a prefix rebuild.
+ *
+ * The category of an assignment comes from its project's project ID through the lookup given
+ * to the constructor; an unknown project counts as billable. Like AssignmentConflictIndex the
+ * engine is filled with load() and then kept current with put() and remove(), which are ignored
+ * until the first load. The window grows on demand when a query falls outside it.
+ */
+public class UtilizationEngine {
+    private static final int WINDOW_MARGIN_DAYS = 366;
+
+    private static final int BILLABLE = 0;
+    private static final int SHOP = 1;
+    private static final int TRAINING = 2;
+    private static final int PTO = 3;
+    private static final int CATEGORY_COUNT = 4;
+
+    // Working-day masks as in WorkingCalendar, plus one for CALENDAR_DAYS (every day counts)
+    private static final int ALL_DAYS = 8;
+
+    private final WorkingCalendar calendar;
+    private final Function<Long, String> projectCodeLookup;
+
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final Map<Long, ResourceDays> byResource = new HashMap<>();
+    private boolean loaded = false;
+
+    // Window of epoch days covered by the count arrays
+    private long windowStart;
+    private int windowLength = 0;
+
+    // Which days of the window count for a mask, rebuilt when the mask or the calendar changes
+    private int workingMask = -1;
+    private long workingCalendarVersion = -1;
+    private boolean[] workingDays = new boolean[0];
+
+    /**
+     * @param projectCodeLookup maps a project's database id to its project ID ("SHOP", "CH-PBLD-2025-001", ...),
+     *                          or null when the project is unknown
+     */
+    public UtilizationEngine(WorkingCalendar calendar, Function<Long, String> projectCodeLookup) {
+        this.calendar = calendar;
+        this.projectCodeLookup = projectCodeLookup;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Replaces the contents of the engine with the given assignments.
+     */
+    public synchronized void load(Collection<Assignment> assignments) {
+        byId.clear();
+        byResource.clear();
+        Map<Long, String> codes = new HashMap<>();
+        for (Assignment assignment : assignments) {
+            Entry entry = entryFor(assignment, codes);
+            if (entry != null) {
+                byId.put(entry.id, entry);
+            }
+        }
+        long today = LocalDate.now().toEpochDay();
+        windowStart = today - WINDOW_MARGIN_DAYS;
+        windowLength = 2 * WINDOW_MARGIN_DAYS + 1;
+        rebuildCounts();
+        loaded = true;
+    }
+
+    /**
+     * Drops all entries; the next user of the engine is expected to load() it again.
+     */
+    public synchronized void clear() {
+        byId.clear();
+        byResource.clear();
+        windowLength = 0;
+        loaded = false;
+    }
+
+    /**
+     * Adds a new assignment or replaces the entry of an existing one (dates, resource or project changed).
+     */
+    public synchronized void put(Assignment assignment) {
+        if (!loaded || assignment == null) {
+            return;
+        }
+        if (assignment.getId() != null) {
+            removeInternal(assignment.getId());
+        }
+        Entry entry = entryFor(assignment, null);
+        if (entry != null) {
+            byId.put(entry.id, entry);
+            addCounts(entry, 1);
+        }
+    }
+
+    public synchronized void remove(Long assignmentId) {
+        if (!loaded || assignmentId == null) {
+            return;
+        }
+        removeInternal(assignmentId);
+    }
+
+    /**
+     * Utilization of one resource over [start, end] inclusive. Days are working days under the
+     * settings' flags, or every day with the CALENDAR_DAYS method.
+     */
+    public synchronized Utilization getUtilization(Long resourceId, LocalDate start, LocalDate end,
+                                                   UtilizationSettings settings) {
+        long availableDays = countAvailableDays(start, end, settings);
+        if (resourceId == null || start == null || end == null || end.isBefore(start)) {
+            return Utilization.of(availableDays, new long[CATEGORY_COUNT], settings);
+        }
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        ensureWindow(from, to);
+
+        long[] days = new long[CATEGORY_COUNT];
+        ResourceDays resource = byResource.get(resourceId);
+        if (resource != null) {
+            int[][] prefix = resource.prefixFor(workingDaysFor(maskFor(settings)));
+            int fromIndex = (int) (from - windowStart);
+            int toIndex = (int) (to - windowStart) + 1;
+            for (int c = 0; c < CATEGORY_COUNT; c++) {
+                days[c] = prefix[c][toIndex] - prefix[c][fromIndex];
+            }
+        }
+        return Utilization.of(availableDays, days, settings);
+    }
+
+    /**
+     * Available days in [start, end] inclusive: working days, or calendar days with the CALENDAR_DAYS method.
+     */
+    public long countAvailableDays(LocalDate start, LocalDate end, UtilizationSettings settings) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return 0;
+        }
+        if (settings.getCalculationMethod() == UtilizationSettings.CalculationMethod.CALENDAR_DAYS) {
+            return ChronoUnit.DAYS.between(start, end) + 1;
+        }
+        return calendar.countWorkingDays(start, end, settings);
+    }
+
+    private Entry entryFor(Assignment assignment, Map<Long, String> codeCache) {
+        if (assignment.getId() == null || assignment.getResourceId() == null
+            || assignment.getStartDate() == null || assignment.getEndDate() == null
+            || assignment.getEndDate().isBefore(assignment.getStartDate())) {
+            return null;
+        }
+        Long projectId = assignment.getProjectId();
+        String code;
+        if (projectId == null) {
+            code = null;
+        } else if (codeCache != null) {
+            code = codeCache.computeIfAbsent(projectId, projectCodeLookup);
+        } else {
+            code = projectCodeLookup.apply(projectId);
+        }
+        return new Entry(assignment.getId(), assignment.getResourceId(),
+            assignment.getStartDate().toEpochDay(), assignment.getEndDate().toEpochDay(), categoryOf(code));
+    }
+
+    private static int categoryOf(String projectCode) {
+        if ("SHOP".equalsIgnoreCase(projectCode)) {
+            return SHOP;
+        } else if ("TRAINING".equalsIgnoreCase(projectCode)) {
+            return TRAINING;
+        } else if ("PTO".equalsIgnoreCase(projectCode)) {
+            return PTO;
+        }
+        return BILLABLE;
+    }
+
+    private void removeInternal(Long assignmentId) {
+        Entry old = byId.remove(assignmentId);
+        if (old != null) {
+            addCounts(old, -1);
+        }
+    }
+
+    private void addCounts(Entry entry, int delta) {
+        if (windowLength == 0) {
+            return;
+        }
+        long from = Math.max(entry.startDay, windowStart);
+        long to = Math.min(entry.endDay, windowStart + windowLength - 1);
+        if (from > to) {
+            return;
+        }
+        ResourceDays resource = byResource.computeIfAbsent(entry.resourceId, k -> new ResourceDays(windowLength));
+        int[] counts = resource.counts[entry.category];
+        for (int i = (int) (from - windowStart), last = (int) (to - windowStart); i <= last; i++) {
+            counts[i] += delta;
+        }
+        resource.prefix = null;
+    }
+
+    private void ensureWindow(long from, long to) {
+        if (windowLength > 0 && from >= windowStart && to < windowStart + windowLength) {
+            return;
+        }
+        long newStart = from - WINDOW_MARGIN_DAYS;
+        long newEnd = to + WINDOW_MARGIN_DAYS;
+        if (windowLength > 0) {
+            newStart = Math.min(newStart, windowStart);
+            newEnd = Math.max(newEnd, windowStart + windowLength - 1);
+        }
+        windowStart = newStart;
+        windowLength = (int) (newEnd - newStart + 1);
+        rebuildCounts();
+    }
+
+    private void rebuildCounts() {
+        byResource.clear();
+        workingMask = -1;
+        for (Entry entry : byId.values()) {
+            addCounts(entry, 1);
+        }
+    }
+
+    private static int maskFor(UtilizationSettings settings) {
+        if (settings.getCalculationMethod() == UtilizationSettings.CalculationMethod.CALENDAR_DAYS) {
+            return ALL_DAYS;
+        }
+        return (settings.isIncludeSaturdays() ? 1 : 0)
+            | (settings.isIncludeWeekends() ? 2 : 0)
+            | (settings.isIncludeHolidays() ? 4 : 0);
+    }
+
+    private boolean[] workingDaysFor(int mask) {
+        if (mask == workingMask && workingDays.length == windowLength && calendar.getVersion() == workingCalendarVersion) {
+            return workingDays;
+        }
+        boolean[] days = new boolean[windowLength];
+        if (mask == ALL_DAYS) {
+            Arrays.fill(days, true);
+        } else {
+            boolean saturdays = (mask & 1) != 0;
+            boolean sundays = (mask & 2) != 0;
+            boolean holidays = (mask & 4) != 0;
+            LocalDate date = LocalDate.ofEpochDay(windowStart);
+            for (int i = 0; i < windowLength; i++, date = date.plusDays(1)) {
+                days[i] = calendar.isWorkingDay(date, saturdays, sundays, holidays);
+            }
+        }
+        // Read after the loop, which may itself have loaded the calendar
+        workingCalendarVersion = calendar.getVersion();
+        workingMask = mask;
+        workingDays = days;
+        for (ResourceDays resource : byResource.values()) {
+            resource.prefix = null;
+        }
+        return days;
+    }
+
+    private static final class Entry {
+        final long id;
+        final long resourceId;
+        final long startDay;
+        final long endDay;
+        final int category;
+
+        Entry(long id, long resourceId, long startDay, long endDay, int category) {
+            this.id = id;
+            this.resourceId = resourceId;
+            this.startDay = startDay;
+            this.endDay = endDay;
+            this.category = category;
+        }
+    }
+
+    private static final class ResourceDays {
+        final int[][] counts;
+        // prefix[c][i] = counted days of category c in window days [0, i); null when stale
+        int[][] prefix;
+
+        ResourceDays(int windowLength) {
+            counts = new int[CATEGORY_COUNT][windowLength];
+        }
+
+        int[][] prefixFor(boolean[] workingDays) {
+            if (prefix != null) {
+                return prefix;
+            }
+            int length = workingDays.length;
+            int[][] sums = new int[CATEGORY_COUNT][length + 1];
+            for (int c = 0; c < CATEGORY_COUNT; c++) {
+                int[] dayCounts = counts[c];
+                int[] sum = sums[c];
+                for (int i = 0; i < length; i++) {
+                    sum[i + 1] = sum[i] + (workingDays[i] ? dayCounts[i] : 0);
+                }
+            }
+            prefix = sums;
+            return sums;
+        }
+    }
+
+    /**
+     * Assigned days of one resource over a range, split by category. utilizedDays counts SHOP,
+     * TRAINING and PTO only where the settings say they count as utilized; billable days are
+     * regular project days.
+     */
+    public record Utilization(long availableDays, long billableDays, long shopDays, long trainingDays,
+                              long ptoDays, long utilizedDays) {
+
+        static Utilization of(long availableDays, long[] days, UtilizationSettings settings) {
+            long utilized = days[BILLABLE]
+                + (settings.isCountShopAsUtilized() ? days[SHOP] : 0)
+                + (settings.isCountTrainingAsUtilized() ? days[TRAINING] : 0)
+                + (settings.isCountPtoAsUtilized() ? days[PTO] : 0);
+            return new Utilization(availableDays, days[BILLABLE], days[SHOP], days[TRAINING], days[PTO], utilized);
+        }
+
+        /**
+         * Every assigned day regardless of category.
+         */
+        public long totalDays() {
+            return billableDays + shopDays + trainingDays + ptoDays;
+        }
+
+        public double utilizationPercent() {
+            return availableDays > 0 ? (utilizedDays * 100.0) / availableDays : 0;
+        }
+
+        public double billablePercent() {
+            return utilizedDays > 0 ? (billableDays * 100.0) / utilizedDays : 0;
+        }
+    }
+}
@@ -161,13 +161,14 @@ public class UtilizationService {
     }
     
     /**
-     * Calculate available days based on current settings
+     * Calculate available days based on current settings, skipping company holidays the same way
+     * UtilizationEngine does
      */
     public long calculateAvailableDays(LocalDate start, LocalDate end) {
         if (currentSettings.getCalculationMethod() == UtilizationSettings.CalculationMethod.CALENDAR_DAYS) {
             return ChronoUnit.DAYS.between(start, end) + 1;
         } else {
-            return calculateWorkingDays(start, end, null);
+            return WorkingCalendar.getInstance().countWorkingDays(start, end, currentSettings);
         }
     }
     
@@ -0,0 +1,203 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Calendar of working days and company holidays.
+ *
+ * Holidays are kept in a bitset over a window of days, and for each combination of the
+ * "include Saturdays / Sundays / holidays" flags a prefix-sum array counts the working days
+ * from the start of the window. Holiday checks and working-day counts between two dates are
+ * then constant time; the window grows on demand when a query falls outside it.
+ *
+ * The shared instance from {@link #getInstance()} loads the active company holidays through
+ * the loader registered by SchedulingService and must be invalidated whenever the holiday
+ * calendar changes. Views that already hold a holiday list can create their own instance and
+ * feed it with {@link #setHolidays(Collection)}.
+ */
+public class WorkingCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(WorkingCalendar.class);
+    private static final int WINDOW_MARGIN_DAYS = 2 * 366;
+
+    private static final int INCLUDE_SATURDAYS = 1;
+    private static final int INCLUDE_SUNDAYS = 2;
+    private static final int INCLUDE_HOLIDAYS = 4;
+
+    private static volatile WorkingCalendar instance;
+
+    private Supplier<Collection<LocalDate>> holidayLoader;
+    private boolean loaded = false;
+    private long[] holidayDays = new long[0]; // sorted epoch days
+    private long version = 0;
+
+    // Window of epoch days covered by the bitset and prefix sums
+    private long windowStart;
+    private int windowLength = 0;
+    private BitSet holidayBits = new BitSet();
+    private final int[][] workingDayPrefix = new int[8][];
+
+    public static WorkingCalendar getInstance() {
+        if (instance == null) {
+            synchronized (WorkingCalendar.class) {
+                if (instance == null) {
+                    instance = new WorkingCalendar();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Sets where holidays are read from; the calendar (re)loads lazily on next use.
+     */
+    public synchronized void setHolidayLoader(Supplier<Collection<LocalDate>> holidayLoader) {
+        this.holidayLoader = holidayLoader;
+        invalidate();
+    }
+
+    public synchronized void setHolidays(Collection<LocalDate> holidays) {
+        holidayDays = holidays.stream()
+            .filter(Objects::nonNull)
+            .mapToLong(LocalDate::toEpochDay)
+            .sorted()
+            .distinct()
+            .toArray();
+        loaded = true;
+        version++;
+        resetWindow();
+    }
+
+    /**
+     * Drops cached data so holidays are reloaded on next use. Call after holidays are added, edited or deleted.
+     */
+    public synchronized void invalidate() {
+        if (holidayLoader != null) {
+            loaded = false;
+        }
+        version++;
+        resetWindow();
+    }
+
+    /**
+     * Changes whenever the holidays may have changed, so callers caching per-day results can tell when to rebuild.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized boolean isHoliday(LocalDate date) {
+        ensureLoaded();
+        long day = date.toEpochDay();
+        if (day >= windowStart && day < windowStart + windowLength) {
+            return holidayBits.get((int) (day - windowStart));
+        }
+        return Arrays.binarySearch(holidayDays, day) >= 0;
+    }
+
+    public boolean isWorkingDay(LocalDate date, UtilizationSettings settings) {
+        return isWorkingDay(date, settings.isIncludeSaturdays(), settings.isIncludeWeekends(), settings.isIncludeHolidays());
+    }
+
+    public boolean isWorkingDay(LocalDate date, boolean includeSaturdays, boolean includeSundays, boolean includeHolidays) {
+        return countWorkingDays(date, date, includeSaturdays, includeSundays, includeHolidays) == 1;
+    }
+
+    /**
+     * Number of working days in [start, end] inclusive, using the UtilizationSettings flags:
+     * Saturdays count if includeSaturdays, Sundays if includeWeekends, holidays if includeHolidays.
+     */
+    public long countWorkingDays(LocalDate start, LocalDate end, UtilizationSettings settings) {
+        return countWorkingDays(start, end, settings.isIncludeSaturdays(), settings.isIncludeWeekends(), settings.isIncludeHolidays());
+    }
+
+    public synchronized long countWorkingDays(LocalDate start, LocalDate end,
+                                              boolean includeSaturdays, boolean includeSundays, boolean includeHolidays) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return 0;
+        }
+        ensureLoaded();
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        ensureWindow(from, to);
+
+        int mask = (includeSaturdays ? INCLUDE_SATURDAYS : 0)
+            | (includeSundays ? INCLUDE_SUNDAYS : 0)
+            | (includeHolidays ? INCLUDE_HOLIDAYS : 0);
+        int[] prefix = prefixFor(mask);
+        return prefix[(int) (to - windowStart) + 1] - prefix[(int) (from - windowStart)];
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<LocalDate> holidays = new ArrayList<>();
+        if (holidayLoader != null) {
+            try {
+                holidays.addAll(holidayLoader.get());
+            } catch (RuntimeException e) {
+                // Same fallback as before the calendar existed: treat the day as a normal day
+                logger.warn("Failed to load company holidays: {}", e.getMessage());
+            }
+        }
+        setHolidays(holidays);
+        logger.debug("Working calendar loaded {} holidays", holidayDays.length);
+    }
+
+    private void resetWindow() {
+        windowLength = 0;
+        holidayBits = new BitSet();
+        Arrays.fill(workingDayPrefix, null);
+    }
+
+    private void ensureWindow(long from, long to) {
+        if (windowLength > 0 && from >= windowStart && to < windowStart + windowLength) {
+            return;
+        }
+        long newStart = from - WINDOW_MARGIN_DAYS;
+        long newEnd = to + WINDOW_MARGIN_DAYS;
+        if (windowLength > 0) {
+            newStart = Math.min(newStart, windowStart);
+            newEnd = Math.max(newEnd, windowStart + windowLength - 1);
+        }
+        resetWindow();
+        windowStart = newStart;
+        windowLength = (int) (newEnd - newStart + 1);
+
+        int first = Arrays.binarySearch(holidayDays, windowStart);
+        for (int i = first >= 0 ? first : -first - 1; i < holidayDays.length && holidayDays[i] <= newEnd; i++) {
+            holidayBits.set((int) (holidayDays[i] - windowStart));
+        }
+    }
+
+    private int[] prefixFor(int mask) {
+        int[] prefix = workingDayPrefix[mask];
+        if (prefix != null) {
+            return prefix;
+        }
+        prefix = new int[windowLength + 1];
+        for (int i = 0; i < windowLength; i++) {
+            prefix[i + 1] = prefix[i] + (isWorking(mask, windowStart + i, i) ? 1 : 0);
+        }
+        workingDayPrefix[mask] = prefix;
+        return prefix;
+    }
+
+    private boolean isWorking(int mask, long epochDay, int windowIndex) {
+        // Epoch day 0 (1970-01-01) was a Thursday; 0 = Monday ... 6 = Sunday
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L);
+        if (dayOfWeek == 5 && (mask & INCLUDE_SATURDAYS) == 0) {
+            return false;
+        }
+        if (dayOfWeek == 6 && (mask & INCLUDE_SUNDAYS) == 0) {
+            return false;
+        }
+        return (mask & INCLUDE_HOLIDAYS) != 0 || !holidayBits.get(windowIndex);
+    }
+}
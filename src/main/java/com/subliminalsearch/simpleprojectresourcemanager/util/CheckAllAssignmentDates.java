@@ -45,7 +45,7 @@ public class CheckAllAssignmentDates {
                                 try {
                                     long timestamp = Long.parseLong(startDate);
                                     LocalDate date = LocalDate.of(2025, 8, 8); // Default to a reasonable date
-                                    String fixedDate = date.format(DateTimeFormatter.ISO_LOCAL_DATE) + " 00:00:00.000";
+                                    String fixedDate = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
                                     System.out.printf("  Should be: %s\n", fixedDate);
                                 } catch (Exception e) {
                                     System.out.printf("  Error converting: %s\n", e.getMessage());
@@ -0,0 +1,154 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig.AccessMode;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the legacy and tuned database access modes on a throwaway database: startup time,
+ * single-threaded repository reads, and a concurrent mix of reads and saves like the UI produces
+ * when a background refresh overlaps with edits.
+ *
+ * Usage: mvn -q compile exec:java -Dexec.mainClass=com.subliminalsearch.simpleprojectresourcemanager.util.DatabaseAccessBenchmark [-Dexec.args="threads opsPerThread"]
+ */
+public class DatabaseAccessBenchmark {
+    private static final int SEED_ASSIGNMENTS = 5_000;
+    private static final int READ_ITERATIONS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int opsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        System.out.println("=== Database Access Benchmark (" + threads + " threads x " + opsPerThread + " ops) ===");
+        for (AccessMode mode : AccessMode.values()) {
+            run(mode, threads, opsPerThread);
+        }
+    }
+
+    private static void run(AccessMode mode, int threads, int opsPerThread) throws Exception {
+        Path dir = Files.createTempDirectory("db-access-benchmark");
+        System.out.println("\n-- " + mode + " --");
+
+        long startupStart = System.nanoTime();
+        DatabaseConfig config = new DatabaseConfig(dir.toString() + "/", mode);
+        System.out.printf("Startup (schema + migrations): %.1f ms%n", (System.nanoTime() - startupStart) / 1e6);
+
+        AssignmentRepository repository = new AssignmentRepository(config.getDataSource());
+        List<Long> resourceIds = new ArrayList<>();
+        List<Long> ids = seed(config, repository, resourceIds);
+        Random random = new Random(42);
+
+        // Single-threaded reads: mostly prepare + one indexed lookup, where the statement cache matters
+        long readStart = System.nanoTime();
+        for (int i = 0; i < READ_ITERATIONS; i++) {
+            repository.findById(ids.get(random.nextInt(ids.size())));
+        }
+        System.out.printf("findById: %.1f us avg over %d calls%n",
+            (System.nanoTime() - readStart) / 1e3 / READ_ITERATIONS, READ_ITERATIONS);
+
+        // Concurrent mix: 80% reads, 20% updates
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                Random threadRandom = new Random(seed);
+                ready.countDown();
+                go.await();
+                for (int i = 0; i < opsPerThread; i++) {
+                    Long id = ids.get(threadRandom.nextInt(ids.size()));
+                    try {
+                        if (threadRandom.nextInt(5) == 0) {
+                            repository.findById(id).ifPresent(a -> {
+                                a.setNotes("touched " + threadRandom.nextInt());
+                                repository.update(a);
+                            });
+                        } else if (threadRandom.nextBoolean()) {
+                            repository.findById(id);
+                        } else {
+                            LocalDate day = LocalDate.of(2025, 1, 1).plusDays(threadRandom.nextInt(365));
+                            Long resourceId = resourceIds.get(threadRandom.nextInt(resourceIds.size()));
+                            repository.findOverlappingAssignments(resourceId, day, day.plusDays(14));
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        ready.await();
+        long mixStart = System.nanoTime();
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - mixStart) / 1e9;
+        executor.shutdown();
+
+        int totalOps = threads * opsPerThread;
+        System.out.printf("Concurrent mix: %.0f ops/s (%d ops in %.2f s), %d failed%n",
+            totalOps / seconds, totalOps, seconds, failures.get());
+        System.out.println("Metrics: " + config.getMetrics().getSummary());
+
+        config.shutdown();
+        try (var files = Files.walk(dir)) {
+            files.sorted(java.util.Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static List<Long> seed(DatabaseConfig config, AssignmentRepository repository, List<Long> resourceIds) throws Exception {
+        List<Long> projectIds = new ArrayList<>();
+        try (Connection conn = config.getDataSource().getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (int i = 1; i <= 20; i++) {
+                stmt.executeUpdate("INSERT INTO projects (project_id, description, start_date, end_date) " +
+                    "VALUES ('BENCH-" + i + "', 'Benchmark project " + i + "', '2025-01-01', '2025-12-31')");
+            }
+            for (int i = 1; i <= 50; i++) {
+                stmt.executeUpdate("INSERT INTO resources (name) VALUES ('Benchmark tech " + i + "')");
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM projects WHERE project_id LIKE 'BENCH-%'")) {
+                while (rs.next()) {
+                    projectIds.add(rs.getLong(1));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM resources WHERE name LIKE 'Benchmark tech%'")) {
+                while (rs.next()) {
+                    resourceIds.add(rs.getLong(1));
+                }
+            }
+        }
+
+        Random random = new Random(7);
+        List<Assignment> assignments = new ArrayList<>();
+        for (int i = 0; i < SEED_ASSIGNMENTS; i++) {
+            LocalDate start = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            assignments.add(new Assignment(projectIds.get(random.nextInt(projectIds.size())),
+                resourceIds.get(random.nextInt(resourceIds.size())), start, start.plusDays(random.nextInt(10)), 0, 0));
+        }
+        repository.saveAll(assignments);
+
+        List<Long> ids = new ArrayList<>();
+        for (Assignment assignment : assignments) {
+            ids.add(assignment.getId());
+        }
+        return ids;
+    }
+}
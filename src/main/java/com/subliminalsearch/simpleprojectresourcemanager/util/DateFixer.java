@@ -17,22 +17,11 @@ public class DateFixer {
             
             System.out.println("Fixing date formats...");
             
-            // Fix projects table dates
-            int projectsFixed = stmt.executeUpdate(
-                "UPDATE projects SET " +
-                "start_date = start_date || ' 00:00:00.000', " +
-                "end_date = end_date || ' 00:00:00.000' " + 
-                "WHERE start_date NOT LIKE '% %'"
-            );
+            // Dates are stored as plain yyyy-MM-dd text (the same rewrite DatabaseConfig runs on startup)
+            int projectsFixed = stmt.executeUpdate(canonicalDatesSql("projects"));
             System.out.println("  ✓ Fixed " + projectsFixed + " project dates");
             
-            // Fix assignments table dates
-            int assignmentsFixed = stmt.executeUpdate(
-                "UPDATE assignments SET " +
-                "start_date = start_date || ' 00:00:00.000', " +
-                "end_date = end_date || ' 00:00:00.000' " + 
-                "WHERE start_date NOT LIKE '% %'"
-            );
+            int assignmentsFixed = stmt.executeUpdate(canonicalDatesSql("assignments"));
             System.out.println("  ✓ Fixed " + assignmentsFixed + " assignment dates");
             
             // Verify the fix
@@ -53,4 +42,15 @@ public class DateFixer {
             dataSource.close();
         }
     }
+    
+    // Epoch-millisecond values become local dates; "yyyy-MM-dd HH:mm:ss.SSS" loses its time part
+    private static String canonicalDatesSql(String table) {
+        return "UPDATE " + table + " SET " +
+            "start_date = CASE WHEN typeof(start_date) IN ('integer', 'real') " +
+            "THEN date(start_date / 1000, 'unixepoch', 'localtime') ELSE substr(start_date, 1, 10) END, " +
+            "end_date = CASE WHEN typeof(end_date) IN ('integer', 'real') " +
+            "THEN date(end_date / 1000, 'unixepoch', 'localtime') ELSE substr(end_date, 1, 10) END " +
+            "WHERE typeof(start_date) IN ('integer', 'real') OR length(start_date) <> 10 " +
+            "OR typeof(end_date) IN ('integer', 'real') OR length(end_date) <> 10";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Random;
+
+/**
+ * Compares the old date()-wrapped range predicates with the index-friendly ones on a
+ * throwaway database holding 100k assignments in the legacy mixed date formats.
+ *
+ * Usage: mvn -q compile exec:java -Dexec.mainClass=com.subliminalsearch.simpleprojectresourcemanager.util.DateRangeQueryBenchmark [-Dexec.args=rows]
+ */
+public class DateRangeQueryBenchmark {
+    private static final int DEFAULT_ROWS = 100_000;
+    private static final int RESOURCES = 200;
+    private static final int ITERATIONS = 50;
+
+    private static final String LEGACY_RANGE_SQL =
+        "SELECT * FROM assignments WHERE date(start_date) <= date(?) AND date(end_date) >= date(?) ORDER BY start_date ASC";
+    private static final String LEGACY_OVERLAP_SQL =
+        "SELECT * FROM assignments WHERE resource_id = ? " +
+        "AND ((date(start_date) <= date(?) AND date(end_date) >= date(?)) " +
+        "OR (date(start_date) <= date(?) AND date(end_date) >= date(?)) " +
+        "OR (date(start_date) >= date(?) AND date(start_date) <= date(?))) ORDER BY start_date ASC";
+    private static final String RANGE_SQL =
+        "SELECT * FROM assignments WHERE start_date <= ? AND end_date >= ? ORDER BY start_date ASC";
+    private static final String OVERLAP_SQL =
+        "SELECT * FROM assignments WHERE resource_id = ? AND start_date <= ? AND end_date >= ? ORDER BY start_date ASC";
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        Path dir = Files.createTempDirectory("date-benchmark");
+        LocalDate rangeStart = LocalDate.of(2025, 6, 1);
+        LocalDate rangeEnd = LocalDate.of(2025, 6, 30);
+        long resourceId = 17;
+
+        System.out.println("=== Date Range Query Benchmark (" + rows + " assignments) ===");
+
+        DatabaseConfig config = new DatabaseConfig(dir.toString() + "/");
+        try (Connection conn = config.getDataSource().getConnection()) {
+            insertLegacyRows(conn, rows);
+            // Measure against the schema as it was, without the composite resource/date index
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP INDEX IF EXISTS idx_assignments_resource_dates");
+            }
+
+            System.out.println("\n-- Before: mixed formats, date() predicates --");
+            report(conn, "Date range", LEGACY_RANGE_SQL, rangeEnd, rangeStart);
+            report(conn, "Resource overlap", LEGACY_OVERLAP_SQL, resourceId,
+                rangeEnd, rangeStart, rangeStart, rangeStart, rangeStart, rangeEnd);
+        }
+        config.shutdown();
+
+        // Re-opening runs the startup normalization
+        long migrationStart = System.nanoTime();
+        config = new DatabaseConfig(dir.toString() + "/");
+        System.out.printf("%nStartup with date normalization: %.1f ms%n", (System.nanoTime() - migrationStart) / 1e6);
+
+        try (Connection conn = config.getDataSource().getConnection()) {
+            System.out.println("\n-- After: canonical yyyy-MM-dd, plain column predicates --");
+            report(conn, "Date range", RANGE_SQL, rangeEnd, rangeStart);
+            report(conn, "Resource overlap", OVERLAP_SQL, resourceId, rangeEnd, rangeStart);
+        }
+
+        AssignmentRepository repository = new AssignmentRepository(config.getDataSource());
+        long repoStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            repository.findOverlappingAssignments(resourceId, rangeStart, rangeEnd);
+        }
+        System.out.printf("%nAssignmentRepository.findOverlappingAssignments: %.3f ms avg%n",
+            (System.nanoTime() - repoStart) / 1e6 / ITERATIONS);
+
+        config.shutdown();
+        try (var files = Files.walk(dir)) {
+            files.sorted(java.util.Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static void insertLegacyRows(Connection conn, int rows) throws SQLException {
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2022, 1, 1);
+        String sql = "INSERT INTO assignments (project_id, resource_id, start_date, end_date, travel_out_days, " +
+            "travel_back_days, is_override, created_at, updated_at) VALUES (?, ?, ?, ?, 0, 0, 0, ?, ?)";
+
+        // The synthetic rows don't reference real projects or resources
+        try (Statement pragma = conn.createStatement()) {
+            pragma.execute("PRAGMA foreign_keys = OFF");
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                LocalDate start = base.plusDays(random.nextInt(5 * 365));
+                LocalDate end = start.plusDays(random.nextInt(20));
+                stmt.setLong(1, 1 + random.nextInt(500));
+                stmt.setLong(2, 1 + random.nextInt(RESOURCES));
+                // Same spread of encodings the date fixer utilities used to find in the wild
+                switch (i % 3) {
+                    case 0 -> {
+                        stmt.setString(3, start.toString());
+                        stmt.setString(4, end.toString());
+                    }
+                    case 1 -> {
+                        stmt.setString(3, start + " 00:00:00.000");
+                        stmt.setString(4, end + " 00:00:00.000");
+                    }
+                    default -> {
+                        stmt.setLong(3, start.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                        stmt.setLong(4, end.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                    }
+                }
+                stmt.setString(5, "2025-01-01 00:00:00");
+                stmt.setString(6, "2025-01-01 00:00:00");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    private static void report(Connection conn, String label, String sql, Object... params) throws SQLException {
+        System.out.println(label + ":");
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    System.out.println("  plan: " + rs.getString("detail"));
+                }
+            }
+        }
+
+        int count = 0;
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                bind(stmt, params);
+                count = 0;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        count++;
+                    }
+                }
+            }
+        }
+        System.out.printf("  %d rows, %.3f ms avg over %d runs%n", count, (System.nanoTime() - start) / 1e6 / ITERATIONS, ITERATIONS);
+    }
+
+    private static void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] instanceof Long value) {
+                stmt.setLong(i + 1, value);
+            } else {
+                stmt.setString(i + 1, params[i].toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import java.util.Arrays;
+
+/**
+ * In-memory directed graph over long ids (task ids, open item ids) for answering
+ * "would adding this edge create a cycle" without touching the database.
+ *
+ * Ids are mapped to dense node numbers through an open-addressing long table and each node
+ * keeps its outgoing edges in a growable int array, so a check is one depth-first traversal
+ * over primitive arrays. Visited marks are stamped with a per-query generation, so nothing
+ * is cleared or allocated between queries.
+ *
+ * Callers keep one index per project, fill it from a single query and patch it with
+ * {@link #addEdge(long, long)} / {@link #removeEdge(long, long)} as dependencies change.
+ * All methods are synchronized.
+ */
+public class DependencyReachabilityIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // id -> node table, open addressing with linear probing
+    private long[] keys = new long[16];
+    private int[] values = new int[16];
+    private int nodeCount = 0;
+
+    // Outgoing edges per node; successors[node][0 .. degree[node])
+    private int[][] successors = new int[8][];
+    private int[] degree = new int[8];
+    private int edgeCount = 0;
+
+    private int[] visitedGeneration = new int[8];
+    private int generation = 0;
+    private int[] stack = new int[8];
+
+    public DependencyReachabilityIndex() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public synchronized int getNodeCount() {
+        return nodeCount;
+    }
+
+    public synchronized int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public synchronized boolean containsNode(long id) {
+        return find(id) >= 0;
+    }
+
+    public synchronized void addNode(long id) {
+        nodeFor(id);
+    }
+
+    public synchronized void addEdge(long fromId, long toId) {
+        int from = nodeFor(fromId);
+        int to = nodeFor(toId);
+        int[] edges = successors[from];
+        for (int k = 0; k < degree[from]; k++) {
+            if (edges[k] == to) {
+                return;
+            }
+        }
+        if (edges == null) {
+            edges = successors[from] = new int[2];
+        } else if (degree[from] == edges.length) {
+            edges = successors[from] = Arrays.copyOf(edges, edges.length * 2);
+        }
+        edges[degree[from]++] = to;
+        edgeCount++;
+    }
+
+    public synchronized void removeEdge(long fromId, long toId) {
+        int from = find(fromId);
+        int to = find(toId);
+        if (from < 0 || to < 0) {
+            return;
+        }
+        int[] edges = successors[from];
+        for (int k = 0; k < degree[from]; k++) {
+            if (edges[k] == to) {
+                edges[k] = edges[--degree[from]];
+                edgeCount--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whether toId can be reached from fromId by following edges. A node reaches itself.
+     */
+    public synchronized boolean canReach(long fromId, long toId) {
+        if (fromId == toId) {
+            return true;
+        }
+        int from = find(fromId);
+        int to = find(toId);
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        if (++generation == 0) {
+            Arrays.fill(visitedGeneration, 0);
+            generation = 1;
+        }
+        int top = 0;
+        stack[top++] = from;
+        visitedGeneration[from] = generation;
+        while (top > 0) {
+            int node = stack[--top];
+            int[] edges = successors[node];
+            for (int k = 0; k < degree[node]; k++) {
+                int next = edges[k];
+                if (next == to) {
+                    return true;
+                }
+                if (visitedGeneration[next] != generation) {
+                    visitedGeneration[next] = generation;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether adding the edge fromId -> toId would close a cycle.
+     */
+    public boolean wouldCreateCycle(long fromId, long toId) {
+        return canReach(toId, fromId);
+    }
+
+    private int find(long id) {
+        int mask = keys.length - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+    }
+
+    private int nodeFor(long id) {
+        int existing = find(id);
+        if (existing >= 0) {
+            return existing;
+        }
+        if ((nodeCount + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int node = nodeCount++;
+        insert(id, node);
+        if (node == degree.length) {
+            int capacity = degree.length * 2;
+            successors = Arrays.copyOf(successors, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+            visitedGeneration = Arrays.copyOf(visitedGeneration, capacity);
+            stack = new int[capacity];
+        }
+        return node;
+    }
+
+    private void insert(long id, int node) {
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = node;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -13,8 +13,8 @@ public class FixAssignmentDateFormat {
             try (Connection conn = dataSource.getConnection()) {
                 // Fix assignment 217 with proper date format
                 String updateSql = "UPDATE assignments SET " +
-                    "start_date = '2025-08-08 00:00:00.000', " +
-                    "end_date = '2025-08-13 00:00:00.000' " +
+                    "start_date = '2025-08-08', " +
+                    "end_date = '2025-08-13' " +
                     "WHERE id = 217";
                 
                 try (Statement stmt = conn.createStatement()) {
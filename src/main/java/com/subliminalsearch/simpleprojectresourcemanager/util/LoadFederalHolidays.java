@@ -1,6 +1,7 @@
 package com.subliminalsearch.simpleprojectresourcemanager.util;
 
 import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.service.WorkingCalendar;
 import java.sql.*;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -67,6 +68,9 @@ public class LoadFederalHolidays {
                 System.out.println("  Added: " + holiday.name + " - " + holiday.date);
             }
             
+            // Drop any cached working-day calendar in this JVM
+            WorkingCalendar.getInstance().invalidate();
+            
             System.out.println("\nFederal holidays loaded successfully!");
             System.out.println("Users can edit these in the Holiday Calendar to match company policies.");
             
@@ -20,7 +20,7 @@ public class RestorePlannedStatus {
             System.out.println("Setting appropriate projects to PLANNED status...");
             
             // Get today's date in the right format
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE) + " 00:00:00.000";
+            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
             
             // Set projects with future start dates to PLANNED
             int updated = stmt.executeUpdate(
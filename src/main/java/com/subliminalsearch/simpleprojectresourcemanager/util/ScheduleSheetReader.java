@@ -0,0 +1,312 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.Comments;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Reads the sheets of an .xlsx workbook row by row into the small cell model TechScheduleImporter
+ * works on: each cell's display text, whether it has a background fill, and its comment.
+ *
+ * {@link #readStreaming} parses each sheet's XML with SAX and holds one row at a time, plus the
+ * shared strings, the styles and the current sheet's comments. Formula cells give the value Excel
+ * cached when the file was saved. {@link #readWorkbook} loads the whole workbook and evaluates
+ * formulas, for files written by tools that do not cache formula results.
+ *
+ * Both hand the visitor the same rows: numbers as whole numbers, date-formatted numbers as
+ * "MMMM yyyy", booleans as "true"/"false". Merged regions are only known once a sheet has been
+ * read (they follow the cell data in the file), so they arrive with endSheet().
+ */
+public final class ScheduleSheetReader {
+
+    private ScheduleSheetReader() {
+    }
+
+    /**
+     * Receives the sheets of a workbook in order.
+     */
+    public interface SheetVisitor {
+        /**
+         * @return false to skip the sheet; row() and endSheet() are then not called for it
+         */
+        boolean startSheet(String sheetName, int sheetIndex, int sheetCount);
+
+        /**
+         * Called for every row that has at least one cell, in row order.
+         */
+        void row(SheetRow row);
+
+        void endSheet(List<CellRangeAddress> mergedRegions);
+    }
+
+    public static void readStreaming(File file, SheetVisitor visitor) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            int sheetCount = 0;
+            for (Iterator<InputStream> it = reader.getSheetsData(); it.hasNext(); sheetCount++) {
+                it.next().close();
+            }
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int index = 0; sheets.hasNext(); index++) {
+                try (InputStream sheetData = sheets.next()) {
+                    if (!visitor.startSheet(sheets.getSheetName(), index, sheetCount)) {
+                        continue;
+                    }
+                    SheetHandler handler = new SheetHandler(strings, styles, sheets.getSheetComments(), visitor);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(handler);
+                    parser.parse(new InputSource(sheetData));
+                    visitor.endSheet(handler.mergedRegions);
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to read workbook: " + e.getMessage(), e);
+        }
+    }
+
+    public static void readWorkbook(File file, SheetVisitor visitor) throws IOException {
+        try (FileInputStream fis = new FileInputStream(file);
+             Workbook workbook = new XSSFWorkbook(fis)) {
+            // One evaluator for the whole workbook; it caches evaluated cells between calls
+            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+            int sheetCount = workbook.getNumberOfSheets();
+
+            for (int index = 0; index < sheetCount; index++) {
+                Sheet sheet = workbook.getSheetAt(index);
+                if (!visitor.startSheet(sheet.getSheetName(), index, sheetCount)) {
+                    continue;
+                }
+                for (Row row : sheet) {
+                    SheetRow sheetRow = new SheetRow(row.getRowNum());
+                    for (Cell cell : row) {
+                        CellStyle style = cell.getCellStyle();
+                        Comment comment = cell.getCellComment();
+                        sheetRow.add(new SheetCell(cell.getColumnIndex(), cellText(cell, evaluator),
+                            style != null && style.getFillPattern() != FillPatternType.NO_FILL,
+                            comment != null ? comment.getString().getString() : null));
+                    }
+                    visitor.row(sheetRow);
+                }
+                visitor.endSheet(sheet.getMergedRegions());
+            }
+        }
+    }
+
+    private static String cellText(Cell cell, FormulaEvaluator evaluator) {
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return numberText(cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell));
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                try {
+                    CellValue cellValue = evaluator.evaluate(cell);
+                    switch (cellValue.getCellType()) {
+                        case STRING:
+                            return cellValue.getStringValue();
+                        case NUMERIC:
+                            return numberText(cellValue.getNumberValue(), DateUtil.isCellDateFormatted(cell));
+                        case BOOLEAN:
+                            return String.valueOf(cellValue.getBooleanValue());
+                        default:
+                            return "";
+                    }
+                } catch (Exception e) {
+                    return cell.getCellFormula();
+                }
+            default:
+                return "";
+        }
+    }
+
+    private static String numberText(double value, boolean dateFormatted) {
+        if (dateFormatted) {
+            // Month markers are typed as dates; show them as "March 2025"
+            return new SimpleDateFormat("MMMM yyyy", Locale.ENGLISH).format(DateUtil.getJavaDate(value));
+        }
+        return String.valueOf((int) value);
+    }
+
+    /**
+     * One row of a sheet. Mirrors the parts of POI's Row the importer uses.
+     */
+    public static final class SheetRow {
+        private final int rowNum;
+        private final Map<Integer, SheetCell> cells = new HashMap<>();
+        private int lastCellNum = -1;
+
+        public SheetRow(int rowNum) {
+            this.rowNum = rowNum;
+        }
+
+        public void add(SheetCell cell) {
+            cells.put(cell.column(), cell);
+            lastCellNum = Math.max(lastCellNum, cell.column() + 1);
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        /**
+         * One past the last column with a cell, or -1 for a row without cells, as Row.getLastCellNum().
+         */
+        public int getLastCellNum() {
+            return lastCellNum;
+        }
+
+        public SheetCell getCell(int column) {
+            return cells.get(column);
+        }
+
+        /**
+         * The display text of a cell, or "" when there is none.
+         */
+        public String getValue(int column) {
+            SheetCell cell = cells.get(column);
+            return cell != null ? cell.value() : "";
+        }
+    }
+
+    /**
+     * @param comment the cell comment's text, or null
+     */
+    public record SheetCell(int column, String value, boolean filled, String comment) {
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final Comments comments;
+        private final SheetVisitor visitor;
+        private final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private SheetRow row;
+        private int rowNum = -1;
+        private int column;
+        private String cellRef;
+        private String cellType;
+        private int styleIndex;
+        private boolean collecting;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, Comments comments, SheetVisitor visitor) {
+            this.strings = strings;
+            this.styles = styles;
+            this.comments = comments;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    row = new SheetRow(rowNum);
+                    column = -1;
+                }
+                case "c" -> {
+                    cellRef = attributes.getValue("r");
+                    column = cellRef != null ? new CellReference(cellRef).getCol() : column + 1;
+                    cellType = attributes.getValue("t");
+                    String s = attributes.getValue("s");
+                    styleIndex = s != null ? Integer.parseInt(s) : 0;
+                    text.setLength(0);
+                }
+                // <v> holds the value (or cached formula result), <t> the text of an inline string
+                case "v", "t" -> collecting = true;
+                case "mergeCell" -> mergedRegions.add(CellRangeAddress.valueOf(attributes.getValue("ref")));
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> collecting = false;
+                case "c" -> {
+                    XSSFCellStyle style = styles != null ? styles.getStyleAt(styleIndex) : null;
+                    row.add(new SheetCell(column, value(style),
+                        style != null && style.getFillPattern() != FillPatternType.NO_FILL, comment()));
+                }
+                case "row" -> {
+                    if (row.getLastCellNum() > 0) {
+                        visitor.row(row);
+                    }
+                    row = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private String value(XSSFCellStyle style) {
+            String raw = text.toString();
+            if (cellType == null || cellType.equals("n")) {
+                if (raw.isEmpty()) {
+                    return "";
+                }
+                double number = Double.parseDouble(raw);
+                boolean dateFormatted = style != null
+                    && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())
+                    && DateUtil.isValidExcelDate(number);
+                return numberText(number, dateFormatted);
+            }
+            return switch (cellType) {
+                case "s" -> raw.isEmpty() ? "" : strings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b" -> String.valueOf("1".equals(raw));
+                case "e" -> "";
+                // "str" (formula text result), "inlineStr" and ISO dates ("d")
+                default -> raw;
+            };
+        }
+
+        private String comment() {
+            if (comments == null || cellRef == null) {
+                return null;
+            }
+            XSSFComment comment = comments.findCellComment(new CellAddress(cellRef));
+            return comment != null ? comment.getString().getString() : null;
+        }
+    }
+}
@@ -2,18 +2,13 @@ package com.subliminalsearch.simpleprojectresourcemanager.util;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.*;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
-import org.apache.poi.ss.usermodel.*;
+import com.subliminalsearch.simpleprojectresourcemanager.util.ScheduleSheetReader.SheetCell;
+import com.subliminalsearch.simpleprojectresourcemanager.util.ScheduleSheetReader.SheetRow;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
@@ -21,34 +16,54 @@ import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.sql.DataSource;
 
+/**
+ * Imports the technician schedule workbook: one sheet per technician, month blocks marked in
+ * column B, one row per project manager with the projects as colored cells under the day columns.
+ *
+ * Sheets are read row by row through {@link ScheduleSheetReader}, streaming by default. The rows of
+ * a sheet are turned into planned projects and assignments in memory, and when the sheet ends they
+ * are written together, with the SHOP days they replace, in one transaction. A failing sheet
+ * therefore writes nothing, and memory use is bounded by one sheet's plans. A cell whose
+ * assignment is rejected is reported and leaves out its project too; the rest of the sheet is kept.
+ */
 public class TechScheduleImporter {
     private static final Logger logger = LoggerFactory.getLogger(TechScheduleImporter.class);
     private final SchedulingService schedulingService;
-    private final DataSource dataSource;
-    
-    // Track created projects to avoid duplicates
-    private Map<String, Project> projectCache = new HashMap<>();
+
+    // Lookups resolved once per import
     private Map<String, Resource> resourceCache = new HashMap<>();
     private Map<String, ProjectManager> projectManagerCache = new HashMap<>();
-    
+    private Map<String, Project> projectsByCode = new HashMap<>();
+    // "projectDbId|resourceId|start|end" of stored assignments to projects an import adds to (SHOP), and of planned ones
+    private Set<String> assignmentKeys = new HashSet<>();
+
     // Statistics for import report
     private int projectsCreated = 0;
     private int assignmentsCreated = 0;
     private int errorsEncountered = 0;
-    private List<String> errorMessages = new ArrayList<>();
-    
-    public TechScheduleImporter(SchedulingService schedulingService) {
-        this(schedulingService, null);
+
+    /**
+     * How the workbook is read. STREAMING holds one row at a time and uses the formula results
+     * Excel cached on save; WORKBOOK loads the whole file and evaluates formulas itself.
+     */
+    public enum ImportMode {
+        STREAMING,
+        WORKBOOK
     }
-    
-    public TechScheduleImporter(SchedulingService schedulingService, DataSource dataSource) {
+
+    /**
+     * Receives per-sheet progress; called on the importing thread.
+     */
+    public interface ImportProgress {
+        void update(String message, int done, int total);
+    }
+
+    public TechScheduleImporter(SchedulingService schedulingService) {
         this.schedulingService = schedulingService;
-        this.dataSource = dataSource;
         initializeCaches();
     }
-    
+
     private String getAvailableResourceNames() {
         List<String> names = new ArrayList<>(resourceCache.keySet());
         names.sort(String::compareToIgnoreCase);
@@ -57,65 +72,50 @@ public class TechScheduleImporter {
         }
         return String.join(", ", names);
     }
-    
+
     private void initializeCaches() {
         // Load existing resources
         List<Resource> resources = schedulingService.getAllResources();
         for (Resource resource : resources) {
             resourceCache.put(resource.getName().toLowerCase(), resource);
         }
-        
+
         // Load existing project managers
         List<ProjectManager> managers = schedulingService.getAllProjectManagers();
         for (ProjectManager pm : managers) {
             projectManagerCache.put(pm.getName().toLowerCase(), pm);
         }
-        
-        // Don't cache projects - each import creates fresh projects with correct PM
+
+        // Existing projects are only looked up by code (SHOP); each imported project cell
+        // creates a fresh project with the PM of its own row
+        for (Project project : schedulingService.getAllProjects()) {
+            projectsByCode.putIfAbsent(project.getProjectId().toUpperCase(), project);
+        }
+        Project shopProject = projectsByCode.get("SHOP");
+        if (shopProject != null) {
+            for (Assignment assignment : schedulingService.getAssignmentsByProjectId(shopProject.getId())) {
+                assignmentKeys.add(assignmentKey(shopProject, assignment.getResourceId(),
+                    assignment.getStartDate(), assignment.getEndDate()));
+            }
+        }
     }
-    
+
     public ImportResult importExcelFile(String filePath) {
-        logger.info("Starting import from: {}", filePath);
+        return importExcelFile(filePath, ImportMode.STREAMING, null);
+    }
+
+    public ImportResult importExcelFile(String filePath, ImportMode mode, ImportProgress progress) {
+        logger.info("Starting {} import from: {}", mode, filePath);
+        long started = System.currentTimeMillis();
         ImportResult result = new ImportResult();
-        
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = new XSSFWorkbook(fis)) {
-            
-            // Process each worksheet (each technician)
-            int numberOfSheets = workbook.getNumberOfSheets();
-            logger.info("Found {} worksheets to process", numberOfSheets);
-            
-            for (int i = 0; i < numberOfSheets; i++) {
-                Sheet sheet = workbook.getSheetAt(i);
-                String technicianName = sheet.getSheetName();
-                logger.info("Processing sheet: {}", technicianName);
-                
-                // Skip summary or non-technician sheets
-                if (technicianName.equalsIgnoreCase("Summary") || 
-                    technicianName.equalsIgnoreCase("Template") ||
-                    technicianName.startsWith("~")) {
-                    logger.info("Skipping non-technician sheet: {}", technicianName);
-                    continue;
-                }
-                
-                try {
-                    processWorksheet(sheet, technicianName, result);
-                } catch (Exception e) {
-                    String error = String.format(
-                        "ERROR - Sheet '%s': Failed to process worksheet.\n" +
-                        "  TECHNICAL ERROR: %s\n" +
-                        "  POSSIBLE CAUSES:\n" +
-                        "    - Invalid date formats in Column B\n" +
-                        "    - Merged cells that span multiple months\n" +
-                        "    - Corrupted cell formatting\n" +
-                        "  SOLUTION: Check the worksheet for formatting issues",
-                        technicianName, e.getMessage()
-                    );
-                    logger.error(error, e);
-                    result.addError(error);
-                }
+
+        try {
+            ImportVisitor visitor = new ImportVisitor(result, progress);
+            if (mode == ImportMode.WORKBOOK) {
+                ScheduleSheetReader.readWorkbook(new File(filePath), visitor);
+            } else {
+                ScheduleSheetReader.readStreaming(new File(filePath), visitor);
             }
-            
         } catch (Exception e) {
             String error = String.format(
                 "ERROR - File Reading: Cannot open or read the Excel file.\n" +
@@ -132,471 +132,527 @@ public class TechScheduleImporter {
             logger.error(error, e);
             result.addError(error);
         }
-        
+
         result.setProjectsCreated(projectsCreated);
         result.setAssignmentsCreated(assignmentsCreated);
-        
-        logger.info("Import completed - Projects: {}, Assignments: {}, Errors: {}", 
-            projectsCreated, assignmentsCreated, errorsEncountered);
-        
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+
+        logger.info("Import completed in {}ms - Projects: {}, Assignments: {}, Errors: {}",
+            result.getElapsedMillis(), projectsCreated, assignmentsCreated, errorsEncountered);
+
         return result;
     }
-    
-    private void processWorksheet(Sheet sheet, String technicianName, ImportResult result) {
-        // Find the resource for this technician
-        Resource technician = resourceCache.get(technicianName.toLowerCase());
-        if (technician == null) {
+
+    private static String assignmentKey(Project project, Long resourceId, LocalDate startDate, LocalDate endDate) {
+        // Unsaved projects have no id yet and are only ever matched by identity
+        String projectKey = project.getId() != null ? project.getId().toString() : "new@" + System.identityHashCode(project);
+        return projectKey + "|" + resourceId + "|" + startDate + "|" + endDate;
+    }
+
+    /**
+     * Routes the reader's sheets to a SheetImport each and reports progress and timing per sheet.
+     */
+    private class ImportVisitor implements ScheduleSheetReader.SheetVisitor {
+        private final ImportResult result;
+        private final ImportProgress progress;
+        private SheetImport current;
+        private long sheetStarted;
+        private int sheetIndex;
+        private int sheetCount;
+
+        ImportVisitor(ImportResult result, ImportProgress progress) {
+            this.result = result;
+            this.progress = progress;
+        }
+
+        @Override
+        public boolean startSheet(String technicianName, int sheetIndex, int sheetCount) {
+            this.sheetIndex = sheetIndex;
+            this.sheetCount = sheetCount;
+            sheetStarted = System.currentTimeMillis();
+            reportProgress("Processing sheet '" + technicianName + "'...", sheetIndex);
+            logger.info("Processing sheet {}/{}: {}", sheetIndex + 1, sheetCount, technicianName);
+
+            // Skip summary or non-technician sheets
+            if (technicianName.equalsIgnoreCase("Summary") ||
+                technicianName.equalsIgnoreCase("Template") ||
+                technicianName.startsWith("~")) {
+                logger.info("Skipping non-technician sheet: {}", technicianName);
+                result.addSheetSummary(new SheetSummary(technicianName, false, 0, 0, 0, 0));
+                return false;
+            }
+
+            // Find the resource for this technician
+            Resource technician = resourceCache.get(technicianName.toLowerCase());
+            if (technician == null) {
+                String error = String.format(
+                    "ERROR - Sheet '%s': Technician/Resource not found in database.\n" +
+                    "  ISSUE: The worksheet name '%s' does not match any resource in the system.\n" +
+                    "  SOLUTION: Either:\n" +
+                    "    1) Create a resource named '%s' in Resources menu before importing, OR\n" +
+                    "    2) Rename the worksheet to match an existing resource name\n" +
+                    "  AVAILABLE RESOURCES: %s",
+                    technicianName, technicianName, technicianName,
+                    getAvailableResourceNames()
+                );
+                logger.warn(error);
+                result.addError(error);
+                result.addSheetSummary(new SheetSummary(technicianName, false, 0, 0, 0, 0));
+                return false;
+            }
+
+            logger.info("Found resource: {} (ID: {})", technician.getName(), technician.getId());
+            current = new SheetImport(technicianName, technician, result);
+            return true;
+        }
+
+        @Override
+        public void row(SheetRow row) {
+            if (current.failed) {
+                return;
+            }
+            try {
+                current.accept(row);
+            } catch (Exception e) {
+                sheetFailed(e);
+            }
+        }
+
+        @Override
+        public void endSheet(List<CellRangeAddress> mergedRegions) {
+            if (!current.failed) {
+                try {
+                    current.finish(mergedRegions);
+                } catch (Exception e) {
+                    sheetFailed(e);
+                }
+            }
+
+            long millis = System.currentTimeMillis() - sheetStarted;
+            result.addSheetSummary(new SheetSummary(current.sheetName, !current.failed, current.rowsRead,
+                current.projectsSaved, current.assignmentsSaved, millis));
+            logger.info("Sheet '{}' done in {}ms: {} rows, {} projects, {} assignments",
+                current.sheetName, millis, current.rowsRead, current.projectsSaved, current.assignmentsSaved);
+            reportProgress(String.format("Sheet '%s': %d projects, %d assignments (%d ms)",
+                current.sheetName, current.projectsSaved, current.assignmentsSaved, millis), sheetIndex + 1);
+            current = null;
+        }
+
+        private void sheetFailed(Exception e) {
+            current.failed = true;
             String error = String.format(
-                "ERROR - Sheet '%s': Technician/Resource not found in database.\n" +
-                "  ISSUE: The worksheet name '%s' does not match any resource in the system.\n" +
-                "  SOLUTION: Either:\n" +
-                "    1) Create a resource named '%s' in Resources menu before importing, OR\n" +
-                "    2) Rename the worksheet to match an existing resource name\n" +
-                "  AVAILABLE RESOURCES: %s",
-                technicianName, technicianName, technicianName,
-                getAvailableResourceNames()
+                "ERROR - Sheet '%s': Failed to process worksheet.\n" +
+                "  TECHNICAL ERROR: %s\n" +
+                "  POSSIBLE CAUSES:\n" +
+                "    - Invalid date formats in Column B\n" +
+                "    - Merged cells that span multiple months\n" +
+                "    - Corrupted cell formatting\n" +
+                "  NOTE: Nothing from this worksheet was imported\n" +
+                "  SOLUTION: Check the worksheet for formatting issues",
+                current.sheetName, e.getMessage()
             );
-            logger.warn(error);
-            result.addError(error);
-            return;
+            logger.error(error, e);
+            current.result.addError(error);
         }
-        
-        logger.info("Found resource: {} (ID: {})", technician.getName(), technician.getId());
-        
-        // Process each row looking for month/year markers in column B
-        int lastRowNum = sheet.getLastRowNum();
-        
-        for (int rowNum = 0; rowNum <= lastRowNum; rowNum++) {
-            Row row = sheet.getRow(rowNum);
-            if (row == null) continue;
-            
-            Cell cellB = row.getCell(1); // Column B
-            if (cellB == null) continue;
-            
-            String cellBValue = getCellStringValue(cellB).trim();
-            if (cellBValue.isEmpty()) continue;
-            
-            // Log all values being read from Column B
-            logger.info("Sheet '{}', Row {}, Column B: '{}'", sheet.getSheetName(), rowNum + 1, cellBValue);
-            
-            // Check if this is a month/year indicator
-            LocalDate monthDate = parseMonthYear(cellBValue);
-            if (monthDate != null) {
-                logger.info("Found month marker: {} at row {}", monthDate, rowNum + 1);
-                // Process assignments for this month
-                processMonthAssignments(sheet, rowNum, monthDate, technician, result);
+
+        private void reportProgress(String message, int done) {
+            if (progress != null) {
+                progress.update(message, done, sheetCount);
             }
         }
     }
-    
-    private void processMonthAssignments(Sheet sheet, int monthRowNum, LocalDate monthDate, 
-                                        Resource technician, ImportResult result) {
-        // Process rows below the month marker - PM will be determined per row
-        int currentYear = monthDate.getYear();
-        int currentMonth = monthDate.getMonthValue();
-        
-        // Map column index to day number by reading the header row
-        Map<Integer, Integer> columnToDayMap = new HashMap<>();
-        
-        // Find and process the header row (typically row after month marker)
-        Row headerRow = sheet.getRow(monthRowNum + 1);
-        int dataStartRow = monthRowNum + 2; // Default to row after header
-        
-        if (headerRow != null && isHeaderRow(headerRow)) {
-            logger.info("Processing header row {} to map columns to days", monthRowNum + 2);
-            columnToDayMap = buildColumnToDayMapForMonth(headerRow, monthDate);
-            logger.info("Column to day mapping: {}", columnToDayMap);
-            
-            // Check if there's a second header row with day numbers
-            Row nextRow = sheet.getRow(monthRowNum + 2);
-            if (nextRow != null && hasDayNumbers(nextRow)) {
-                logger.info("Found second header row with day numbers at row {}", monthRowNum + 3);
-                dataStartRow = monthRowNum + 3; // Skip both header rows
+
+    /**
+     * The import of one technician sheet. Rows arrive in order; each is handled once the two rows
+     * after it are known, since a month marker's header rows decide how its day columns map.
+     */
+    private class SheetImport {
+        private final String sheetName;
+        private final Resource technician;
+        private final ImportResult result;
+        private boolean failed = false;
+
+        // Rows received but not yet handled: the current one and up to two after it
+        private final Deque<SheetRow> window = new ArrayDeque<>();
+
+        // The month block being read
+        private LocalDate monthDate;
+        private Map<Integer, Integer> columnToDayMap = new HashMap<>();
+        private int dataStartRow;
+
+        // Assignments in sheet order; project cells get their project and dates when the sheet ends
+        private final List<PlannedAssignment> planned = new ArrayList<>();
+
+        private int rowsRead = 0;
+        private int projectsSaved = 0;
+        private int assignmentsSaved = 0;
+
+        SheetImport(String sheetName, Resource technician, ImportResult result) {
+            this.sheetName = sheetName;
+            this.technician = technician;
+            this.result = result;
+        }
+
+        void accept(SheetRow row) {
+            rowsRead++;
+            window.addLast(row);
+            while (!window.isEmpty() && window.peekLast().getRowNum() >= window.peekFirst().getRowNum() + 2) {
+                processRow(window.pollFirst());
             }
         }
-        
-        // Process rows below the header row(s)
-        for (int rowNum = dataStartRow; rowNum <= sheet.getLastRowNum(); rowNum++) {
-            Row row = sheet.getRow(rowNum);
-            if (row == null) continue;
-            
-            Cell cellB = row.getCell(1); // Column B
-            if (cellB != null) {
-                String cellBValue = getCellStringValue(cellB).trim();
-                
-                // Check if we hit another month marker - stop processing
-                if (parseMonthYear(cellBValue) != null) {
-                    break;
+
+        void finish(List<CellRangeAddress> mergedRegions) {
+            while (!window.isEmpty()) {
+                processRow(window.pollFirst());
+            }
+            resolveProjectCells(mergedRegions);
+            save();
+        }
+
+        private SheetRow rowAt(int rowNum) {
+            for (SheetRow row : window) {
+                if (row.getRowNum() == rowNum) {
+                    return row;
                 }
-                
-                // Check for project manager
-                ProjectManager pm = findProjectManager(cellBValue);
-                boolean isPMRow = false;
-                if (pm != null) {
-                    // Don't update currentPM here - use the specific PM for this row's projects
-                    logger.info("Found PM: {} at row {}", pm.getName(), rowNum + 1);
+            }
+            return null;
+        }
+
+        private void processRow(SheetRow row) {
+            String cellBValue = row.getValue(1).trim(); // Column B
+            if (cellBValue.isEmpty()) {
+                return;
+            }
+            logger.debug("Sheet '{}', Row {}, Column B: '{}'", sheetName, row.getRowNum() + 1, cellBValue);
+
+            // Check if this is a month/year indicator
+            LocalDate markerDate = parseMonthYear(cellBValue);
+            if (markerDate != null) {
+                logger.info("Found month marker: {} at row {}", markerDate, row.getRowNum() + 1);
+                startMonth(row.getRowNum(), markerDate);
+            } else if (monthDate != null && row.getRowNum() >= dataStartRow) {
+                processMonthRow(row, cellBValue);
+            }
+        }
+
+        private void startMonth(int monthRowNum, LocalDate markerDate) {
+            monthDate = markerDate;
+            columnToDayMap = new HashMap<>();
+
+            // Find and process the header row (typically row after month marker)
+            SheetRow headerRow = rowAt(monthRowNum + 1);
+            SheetRow nextRow = rowAt(monthRowNum + 2);
+            dataStartRow = monthRowNum + 2; // Default to row after header
+
+            if (headerRow != null && isHeaderRow(headerRow)) {
+                logger.debug("Processing header row {} to map columns to days", monthRowNum + 2);
+                columnToDayMap = buildColumnToDayMapForMonth(headerRow, nextRow, markerDate);
+                logger.debug("Column to day mapping: {}", columnToDayMap);
+
+                // Check if there's a second header row with day numbers
+                if (nextRow != null && hasDayNumbers(nextRow)) {
+                    logger.debug("Found second header row with day numbers at row {}", monthRowNum + 3);
+                    dataStartRow = monthRowNum + 3; // Skip both header rows
+                }
+            }
+        }
+
+        private void processMonthRow(SheetRow row, String cellBValue) {
+            int rowNum = row.getRowNum();
+            int currentYear = monthDate.getYear();
+            int currentMonth = monthDate.getMonthValue();
+
+            // Check for project manager
+            ProjectManager pm = findProjectManager(cellBValue);
+            boolean isPMRow = false;
+            if (pm != null) {
+                // Use the specific PM for this row's projects
+                logger.debug("Found PM: {} at row {}", pm.getName(), rowNum + 1);
+                isPMRow = true;
+                processProjectAssignments(row, currentYear, currentMonth, pm);
+            } else if (!cellBValue.equalsIgnoreCase("Shop/Open") &&
+                      !cellBValue.equalsIgnoreCase("Shop") &&
+                      !cellBValue.equalsIgnoreCase("Training") &&
+                      !cellBValue.equalsIgnoreCase("Time Off/Holiday") &&
+                      !cellBValue.equalsIgnoreCase("Time Off") &&
+                      !cellBValue.equalsIgnoreCase("Holiday")) {
+                // Check if this looks like a PM row (starts with "PM")
+                if (cellBValue.toUpperCase().startsWith("PM")) {
+                    // This is a PM row but the PM wasn't found
+                    result.addError(String.format(
+                        "WARNING - Sheet '%s', Row %d: Project Manager not found.\n" +
+                        "  VALUE: '%s'\n" +
+                        "  ISSUE: This is a PM row but the PM isn't in the database.\n" +
+                        "  SOLUTION: Add this PM before importing, or check spelling.\n" +
+                        "  AVAILABLE PMs: %s",
+                        sheetName, rowNum + 1, cellBValue,
+                        getAvailableProjectManagerNames()
+                    ));
+                    // Still try to process project assignments even if PM not found
                     isPMRow = true;
-                    // Process project assignments on PM rows with THIS SPECIFIC PM
-                    processProjectAssignments(sheet, row, rowNum, currentYear, currentMonth, 
-                                            technician, pm, columnToDayMap, result);
-                } else if (!cellBValue.isEmpty() && 
-                          !cellBValue.equalsIgnoreCase("Shop/Open") && 
-                          !cellBValue.equalsIgnoreCase("Shop") &&
-                          !cellBValue.equalsIgnoreCase("Training") &&
-                          !cellBValue.equalsIgnoreCase("Time Off/Holiday") &&
-                          !cellBValue.equalsIgnoreCase("Time Off") &&
-                          !cellBValue.equalsIgnoreCase("Holiday")) {
-                    // Check if this looks like a PM row (starts with "PM")
-                    if (cellBValue.toUpperCase().startsWith("PM")) {
-                        // This is a PM row but the PM wasn't found
-                        result.addError(String.format(
-                            "WARNING - Sheet '%s', Row %d: Project Manager not found.\n" +
-                            "  VALUE: '%s'\n" +
-                            "  ISSUE: This is a PM row but the PM isn't in the database.\n" +
-                            "  SOLUTION: Add this PM before importing, or check spelling.\n" +
-                            "  AVAILABLE PMs: %s",
-                            sheet.getSheetName(), rowNum + 1, cellBValue,
-                            getAvailableProjectManagerNames()
-                        ));
-                        // Still try to process project assignments even if PM not found
-                        // Use null for PM since we couldn't find them
-                        isPMRow = true;
-                        processProjectAssignments(sheet, row, rowNum, currentYear, currentMonth, 
-                                                technician, null, columnToDayMap, result);
-                    } else if (cellBValue.length() > 2 && !cellBValue.matches("\\d+.*")) {
-                        // Some other non-empty text that's not a special marker
-                        result.addError(String.format(
-                            "INFO - Sheet '%s', Row %d: Unknown row type.\n" +
-                            "  VALUE: '%s'\n" +
-                            "  NOTE: This row was skipped. Only PM rows contain project assignments.",
-                            sheet.getSheetName(), rowNum + 1, cellBValue
-                        ));
-                    }
+                    processProjectAssignments(row, currentYear, currentMonth, null);
+                } else if (cellBValue.length() > 2 && !cellBValue.matches("\\d+.*")) {
+                    // Some other non-empty text that's not a special marker
+                    result.addError(String.format(
+                        "INFO - Sheet '%s', Row %d: Unknown row type.\n" +
+                        "  VALUE: '%s'\n" +
+                        "  NOTE: This row was skipped. Only PM rows contain project assignments.",
+                        sheetName, rowNum + 1, cellBValue
+                    ));
                 }
-                
-                // Check for SHOP assignment
-                if (!isPMRow && (cellBValue.equalsIgnoreCase("Shop/Open") || cellBValue.equalsIgnoreCase("Shop"))) {
-                    processShopAssignment(sheet, row, rowNum, currentYear, currentMonth, technician, result);
+            }
+
+            if (isPMRow) {
+                return;
+            }
+            if (cellBValue.equalsIgnoreCase("Shop/Open") || cellBValue.equalsIgnoreCase("Shop")) {
+                processShopAssignment(row, currentYear, currentMonth);
+            } else if (cellBValue.equalsIgnoreCase("Training")) {
+                // You may want to create a specific training project or handle differently
+                logger.info("Found training assignment for {} in {}/{}", technician.getName(), currentMonth, currentYear);
+            } else if (cellBValue.equalsIgnoreCase("Time Off/Holiday") ||
+                       cellBValue.equalsIgnoreCase("Time Off") ||
+                       cellBValue.equalsIgnoreCase("Holiday")) {
+                logger.debug("Skipping Time Off/Holiday row for {} at row {}", technician.getName(), rowNum + 1);
+            }
+        }
+
+        private void processProjectAssignments(SheetRow row, int year, int month, ProjectManager pm) {
+            int rowNum = row.getRowNum();
+            // Only process columns that have day mappings
+            if (columnToDayMap.isEmpty()) {
+                logger.warn("No column-to-day mapping available for row {}", rowNum + 1);
+                return;
+            }
+
+            // Get the range of columns that have day mappings
+            int minCol = columnToDayMap.keySet().stream().min(Integer::compareTo).orElse(2);
+            int maxCol = columnToDayMap.keySet().stream().max(Integer::compareTo).orElse(row.getLastCellNum());
+
+            // Check cells in the mapped day range for project assignments
+            for (int colNum = minCol; colNum <= maxCol && colNum < row.getLastCellNum(); colNum++) {
+                SheetCell cell = row.getCell(colNum);
+                if (cell == null) continue;
+
+                String cellValue = cell.value().trim();
+                if (cellValue.isEmpty()) continue;
+
+                // Check if this column has a day mapping
+                Integer day = columnToDayMap.get(colNum);
+                if (day == null) {
                     continue;
                 }
-                
-                // Check for Training assignment
-                if (!isPMRow && cellBValue.equalsIgnoreCase("Training")) {
-                    processTrainingAssignment(sheet, row, rowNum, currentYear, currentMonth, technician, result);
+
+                logger.debug("Sheet '{}', Cell at row {}, column {} (day {}): value='{}', filled={}",
+                           sheetName, rowNum + 1, colNum, day, cellValue, cell.filled());
+
+                // Special check for Adam Nesbitt September issue - skip phantom cells
+                if (sheetName.equals("Adam Nesbitt") && month == 9 && year == 2025
+                    && day >= 1 && day <= 6 && cellValue.contains("OXR1")) {
+                    logger.warn("SKIPPING PHANTOM CELL: Sheet '{}', Row {}, Column {} (day {}): '{}'",
+                               sheetName, rowNum + 1, colNum, day, cellValue);
                     continue;
                 }
-                
-                // Check for Time Off/Holiday assignment - skip silently
-                if (!isPMRow && (cellBValue.equalsIgnoreCase("Time Off/Holiday") || 
-                    cellBValue.equalsIgnoreCase("Time Off") ||
-                    cellBValue.equalsIgnoreCase("Holiday"))) {
-                    logger.info("Skipping Time Off/Holiday row for {} at row {}", technician.getName(), rowNum + 1);
-                    continue;
+
+                // A project is a cell with background color, or one that contains project-like text
+                boolean looksLikeProject = cellValue.contains("-") || cellValue.matches("^\\d{4,}.*");
+                if (cell.filled()) {
+                    planProjectCell(cell, cellValue, rowNum, colNum, year, month, pm);
+                } else if (looksLikeProject) {
+                    // Process it as a project anyway, but log a warning
+                    planProjectCell(cell, cellValue, rowNum, colNum, year, month, pm);
+                    result.addError(String.format(
+                        "WARNING - Sheet '%s', Row %d, Column %d: Project imported without color\n" +
+                        "  VALUE: '%s'\n" +
+                        "  NOTE: Cell contains project text but has no background color.\n" +
+                        "  ACTION: Project was imported anyway. Add color for better visibility.",
+                        sheetName, rowNum + 1, colNum + 1, cellValue
+                    ));
                 }
             }
         }
-    }
-    
-    private void processProjectAssignments(Sheet sheet, Row row, int rowNum, int year, int month,
-                                          Resource technician, ProjectManager pm, 
-                                          Map<Integer, Integer> columnToDayMap, ImportResult result) {
-        // Only process columns that have day mappings
-        if (columnToDayMap.isEmpty()) {
-            logger.warn("No column-to-day mapping available for row {}", rowNum + 1);
-            return;
-        }
-        
-        // Get the range of columns that have day mappings
-        int minCol = columnToDayMap.keySet().stream().min(Integer::compareTo).orElse(2);
-        int maxCol = columnToDayMap.keySet().stream().max(Integer::compareTo).orElse((int) row.getLastCellNum());
-        
-        logger.debug("Processing row {} for projects, checking columns {} to {}", rowNum + 1, minCol, maxCol);
-        
-        // Check cells in the mapped day range for project assignments
-        for (int colNum = minCol; colNum <= maxCol && colNum < row.getLastCellNum(); colNum++) {
-            Cell cell = row.getCell(colNum);
-            if (cell == null) continue;
-            
-            String cellValue = getCellStringValue(cell).trim();
-            if (cellValue.isEmpty()) continue;
-            
-            // Check if this column has a day mapping
-            if (!columnToDayMap.containsKey(colNum)) {
-                logger.trace("Column {} has no day mapping, skipping", colNum);
-                continue;
+
+        private void planProjectCell(SheetCell cell, String cellValue, int rowNum, int colNum,
+                                     int year, int month, ProjectManager pm) {
+            // Parse project ID and description (format: "ProjectID - Description")
+            String projectId;
+            String description;
+
+            if (cellValue.contains(" - ")) {
+                // Split on the FIRST occurrence of " - " to separate ID from description
+                int firstDashIndex = cellValue.indexOf(" - ");
+                projectId = cellValue.substring(0, firstDashIndex).trim();
+                description = cellValue.substring(firstDashIndex + 3).trim(); // Skip the " - "
+            } else if (cellValue.contains("-")) {
+                // Fallback for format without spaces
+                String[] parts = cellValue.split("-", 2);
+                projectId = parts[0].trim();
+                description = parts.length > 1 ? parts[1].trim() : "";
+            } else {
+                projectId = cellValue;
+                description = cellValue;
             }
-            
-            // Log all non-empty cells in the day range to see what we're finding
-            logger.info("Sheet '{}', Cell at row {}, column {} (day {}): value='{}', cellType={}, hasFormula={}", 
-                       sheet.getSheetName(), rowNum + 1, colNum, columnToDayMap.get(colNum), cellValue, 
-                       cell.getCellType(), cell.getCellType() == CellType.FORMULA);
-            
-            // Special check for Adam Nesbitt September issue - skip phantom cells
-            if (sheet.getSheetName().equals("Adam Nesbitt") && month == 9 && year == 2025) {
-                Integer day = columnToDayMap.get(colNum);
-                if (day != null && day >= 1 && day <= 6) {
-                    // Check if this is the phantom cell that shouldn't exist
-                    if (cellValue.contains("OXR1")) {
-                        logger.warn("SKIPPING PHANTOM CELL: Sheet '{}', Row {}, Column {} (day {}): '{}'", 
-                                   sheet.getSheetName(), rowNum + 1, colNum, day, cellValue);
-                        continue; // Skip this phantom cell
+
+            // Extract address from cell comment if present
+            String clientAddress = null;
+            String commentText = cell.comment();
+            if (commentText != null) {
+                logger.debug("Found comment in cell at row {}, col {}: '{}'", rowNum + 1, colNum, commentText);
+
+                // Handle Excel threaded comments - extract actual comment after "Comment:" marker
+                String actualComment = commentText;
+                if (commentText.contains("[Threaded comment]")) {
+                    int commentIndex = commentText.indexOf("Comment:");
+                    if (commentIndex != -1) {
+                        actualComment = commentText.substring(commentIndex + 8).trim();
+                    }
+                } else if (commentText.startsWith("Author:")) {
+                    // Old-style comment with author prefix
+                    int colonIndex = commentText.indexOf(":");
+                    if (colonIndex != -1 && colonIndex < commentText.length() - 1) {
+                        actualComment = commentText.substring(colonIndex + 1).trim();
                     }
                 }
+
+                Map<String, String> addressParts = parseAddress(actualComment);
+                if (!addressParts.isEmpty()) {
+                    clientAddress = formatAddress(addressParts);
+                }
             }
-            
-            // Check if cell has background color OR contains project-like text
-            CellStyle style = cell.getCellStyle();
-            boolean hasColor = (style != null && style.getFillPattern() != FillPatternType.NO_FILL);
-            boolean looksLikeProject = cellValue.contains("-") || cellValue.matches("^\\d{4,}.*");
-            
-            if (hasColor) {
-                logger.info("Found COLORED cell at row {}, column {} with value: '{}'", 
-                           rowNum + 1, colNum, cellValue);
-                // This is a project assignment with color
-                processProjectCell(sheet, cell, rowNum, colNum, year, month, 
-                                 technician, pm, columnToDayMap, result);
-            } else if (looksLikeProject) {
-                logger.info("Found PROJECT-LIKE text (no color) at row {}, column {}: '{}'", 
-                            rowNum + 1, colNum, cellValue);
-                // Process it as a project anyway, but log a warning
-                processProjectCell(sheet, cell, rowNum, colNum, year, month, 
-                                 technician, pm, columnToDayMap, result);
-                result.addError(String.format(
-                    "WARNING - Sheet '%s', Row %d, Column %d: Project imported without color\n" +
-                    "  VALUE: '%s'\n" +
-                    "  NOTE: Cell contains project text but has no background color.\n" +
-                    "  ACTION: Project was imported anyway. Add color for better visibility.",
-                    sheet.getSheetName(), rowNum + 1, colNum + 1, cellValue
-                ));
-            }
-        }
-    }
-    
-    private void processProjectCell(Sheet sheet, Cell cell, int rowNum, int colNum,
-                                   int year, int month, Resource technician, 
-                                   ProjectManager pm, Map<Integer, Integer> columnToDayMap,
-                                   ImportResult result) {
-        String cellValue = getCellStringValue(cell).trim();
-        
-        // Parse project ID and description (format: "ProjectID - Description")
-        String projectId = null;
-        String description = null;
-        
-        if (cellValue.contains(" - ")) {
-            // Split on the FIRST occurrence of " - " to separate ID from description
-            int firstDashIndex = cellValue.indexOf(" - ");
-            projectId = cellValue.substring(0, firstDashIndex).trim();
-            description = cellValue.substring(firstDashIndex + 3).trim(); // Skip the " - "
-            
-            // For logging - show what we parsed
-            logger.debug("Parsed project: ID='{}', Description='{}' from '{}'", 
-                        projectId, description, cellValue);
-        } else if (cellValue.contains("-")) {
-            // Fallback for format without spaces
-            String[] parts = cellValue.split("-", 2);
-            projectId = parts[0].trim();
-            description = parts.length > 1 ? parts[1].trim() : "";
-        } else {
-            projectId = cellValue;
-            description = cellValue;
+
+            planned.add(new PlannedAssignment(new ProjectCell(projectId, description, clientAddress, pm,
+                rowNum, colNum, year, month, columnToDayMap)));
         }
-        
-        // Extract address from cell comment if present
-        String clientAddress = null;
-        Comment comment = cell.getCellComment();
-        if (comment != null) {
-            String commentText = comment.getString().getString();
-            logger.info("Found comment in cell at row {}, col {}: '{}'", rowNum + 1, colNum, commentText);
-            
-            // Handle Excel threaded comments - extract actual comment after "Comment:" marker
-            String actualComment = commentText;
-            if (commentText.contains("[Threaded comment]")) {
-                // This is a threaded comment with Excel metadata
-                int commentIndex = commentText.indexOf("Comment:");
-                if (commentIndex != -1) {
-                    actualComment = commentText.substring(commentIndex + 8).trim();
-                    logger.debug("Extracted actual comment: '{}'", actualComment);
-                }
-            } else if (commentText.startsWith("Author:")) {
-                // Old-style comment with author prefix
-                int colonIndex = commentText.indexOf(":");
-                if (colonIndex != -1 && colonIndex < commentText.length() - 1) {
-                    actualComment = commentText.substring(colonIndex + 1).trim();
-                }
+
+        private void processShopAssignment(SheetRow row, int year, int month) {
+            Project shopProject = projectsByCode.get("SHOP");
+            if (shopProject == null) {
+                // Skip silently if SHOP project doesn't exist
+                logger.info("Skipping Shop assignment for {} - SHOP project not found", technician.getName());
+                return;
             }
-            
-            // Parse the address from the actual comment
-            Map<String, String> addressParts = parseAddress(actualComment);
-            if (!addressParts.isEmpty()) {
-                // Build a formatted address string
-                clientAddress = formatAddress(addressParts);
-                logger.info("Parsed address: {}", addressParts);
+
+            // Each non-empty cell to the right represents a day in shop
+            for (int colNum = 2; colNum < row.getLastCellNum(); colNum++) {
+                if (!row.getValue(colNum).isEmpty()) {
+                    int day = colNum - 1;
+                    if (day >= 1 && day <= 31) {
+                        LocalDate date = LocalDate.of(year, month, Math.min(day,
+                            LocalDate.of(year, month, 1).lengthOfMonth()));
+                        planAssignment(shopProject, date, date);
+                    }
+                }
             }
         }
-        
-        // Get the day numbers from the column mapping
-        Integer startDay = columnToDayMap.get(colNum);
-        Integer endDay = startDay;
-        
-        if (startDay == null) {
-            logger.warn("No day mapping for column {} in sheet '{}', skipping cell", colNum, sheet.getSheetName());
-            return;
+
+        private void planAssignment(Project project, LocalDate startDate, LocalDate endDate) {
+            if (assignmentKeys.add(assignmentKey(project, technician.getId(), startDate, endDate))) {
+                planned.add(new PlannedAssignment(project, startDate, endDate));
+            } else {
+                logger.debug("Assignment already exists - skipping");
+            }
         }
-        
-        // Log detailed information about what we're about to create
-        logger.info("Processing project cell - Sheet: '{}', Row: {}, Column: {}, StartDay: {}, Project: '{}'", 
-                   sheet.getSheetName(), rowNum + 1, colNum, startDay, cellValue);
-        
-        // Check if cell is part of a merged region
-        for (CellRangeAddress range : sheet.getMergedRegions()) {
-            if (range.isInRange(rowNum, colNum)) {
-                startDay = columnToDayMap.get(range.getFirstColumn());
-                endDay = columnToDayMap.get(range.getLastColumn());
+
+        /**
+         * Gives each project cell its date range, widened to its merged region, and its new project.
+         */
+        private void resolveProjectCells(List<CellRangeAddress> mergedRegions) {
+            Iterator<PlannedAssignment> it = planned.iterator();
+            while (it.hasNext()) {
+                PlannedAssignment plan = it.next();
+                ProjectCell cell = plan.cell;
+                if (cell == null) {
+                    continue;
+                }
+
+                Integer startDay = cell.columnToDayMap.get(cell.colNum);
+                Integer endDay = startDay;
+
+                // Check if cell is part of a merged region
+                for (CellRangeAddress range : mergedRegions) {
+                    if (range.isInRange(cell.rowNum, cell.colNum)) {
+                        startDay = cell.columnToDayMap.get(range.getFirstColumn());
+                        endDay = cell.columnToDayMap.get(range.getLastColumn());
+                        break;
+                    }
+                }
                 if (startDay == null || endDay == null) {
-                    logger.warn("Invalid day mapping for merged range in sheet '{}'", sheet.getSheetName());
-                    return;
+                    logger.warn("Invalid day mapping for merged range in sheet '{}'", sheetName);
+                    it.remove();
+                    continue;
                 }
-                break;
-            }
-        }
-        
-        // Validate days are within month bounds
-        int maxDayInMonth = LocalDate.of(year, month, 1).lengthOfMonth();
-        if (startDay < 1 || startDay > maxDayInMonth || endDay < 1 || endDay > maxDayInMonth) {
-            logger.warn("Invalid day range {}-{} for month {}/{} in sheet '{}'", 
-                       startDay, endDay, month, year, sheet.getSheetName());
-            return;
-        }
-        
-        LocalDate startDate = LocalDate.of(year, month, startDay);
-        LocalDate endDate = LocalDate.of(year, month, 
-            Math.min(endDay, startDate.lengthOfMonth()));
-        
-        logger.info("Found project: {} ({}) from {} to {} for {}", 
-            projectId, description, startDate, endDate, technician.getName());
-        
-        // Create or find project (now with address)
-        Project project = findOrCreateProject(projectId, description, startDate, endDate, pm, clientAddress, result);
-        if (project != null) {
-            // Create assignment
-            createAssignment(project, technician, startDate, endDate, result);
-        }
-    }
-    
-    private void processShopAssignment(Sheet sheet, Row row, int rowNum, int year, int month,
-                                      Resource technician, ImportResult result) {
-        // Try to find existing SHOP project
-        Project shopProject = null;
-        try {
-            List<Project> projects = schedulingService.getAllProjects();
-            for (Project p : projects) {
-                if (p.getProjectId().equalsIgnoreCase("SHOP")) {
-                    shopProject = p;
-                    break;
+
+                // Validate days are within month bounds
+                int maxDayInMonth = LocalDate.of(cell.year, cell.month, 1).lengthOfMonth();
+                if (startDay < 1 || startDay > maxDayInMonth || endDay < 1 || endDay > maxDayInMonth) {
+                    logger.warn("Invalid day range {}-{} for month {}/{} in sheet '{}'",
+                               startDay, endDay, cell.month, cell.year, sheetName);
+                    it.remove();
+                    continue;
                 }
-            }
-        } catch (Exception e) {
-            logger.warn("Error looking for SHOP project: {}", e.getMessage());
-        }
-        
-        if (shopProject == null) {
-            // Skip silently if SHOP project doesn't exist
-            logger.info("Skipping Shop assignment for {} - SHOP project not found", technician.getName());
-            return;
-        }
-        
-        // Look for date ranges in cells to the right
-        for (int colNum = 2; colNum < row.getLastCellNum(); colNum++) {
-            Cell cell = row.getCell(colNum);
-            if (cell != null && !getCellStringValue(cell).isEmpty()) {
-                // Each non-empty cell represents a day in shop
-                int day = colNum - 1;
-                if (day >= 1 && day <= 31) {
-                    LocalDate date = LocalDate.of(year, month, Math.min(day, 
-                        LocalDate.of(year, month, 1).lengthOfMonth()));
-                    createAssignment(shopProject, technician, date, date, result);
+
+                LocalDate startDate = LocalDate.of(cell.year, cell.month, startDay);
+                LocalDate endDate = LocalDate.of(cell.year, cell.month, endDay);
+                if (endDate.isBefore(startDate)) {
+                    result.addError(projectCreationError(cell, startDate, endDate,
+                        "Start date must be before or equal to end date"));
+                    errorsEncountered++;
+                    it.remove();
+                    continue;
+                }
+
+                logger.debug("Found project: {} ({}) from {} to {} for {}",
+                    cell.projectId, cell.description, startDate, endDate, technician.getName());
+
+                Project project = new Project(cell.projectId, cell.description, startDate, endDate);
+                if (cell.pm != null) {
+                    project.setProjectManagerId(cell.pm.getId());
+                    project.setStatus(ProjectStatus.ACTIVE);
+                }
+                if (cell.clientAddress != null && !cell.clientAddress.isEmpty()) {
+                    project.setContactAddress(cell.clientAddress);
                 }
+                // Field service projects typically involve travel
+                project.setTravel(true);
+
+                plan.project = project;
+                plan.startDate = startDate;
+                plan.endDate = endDate;
             }
         }
-    }
-    
-    private void processTrainingAssignment(Sheet sheet, Row row, int rowNum, int year, int month,
-                                          Resource technician, ImportResult result) {
-        // Similar to shop but with training project
-        // You may want to create a specific training project or handle differently
-        logger.info("Found training assignment for {} in {}/{}", technician.getName(), month, year);
-    }
-    
-    private Project findOrCreateProject(String projectId, String description, 
-                                       LocalDate startDate, LocalDate endDate,
-                                       ProjectManager pm, String clientAddress, ImportResult result) {
-        // Always create a new project - no caching
-        // This ensures each project gets the correct PM from its specific row
-        try {
-            Project project = schedulingService.createProject(projectId, description, startDate, endDate);
-            
-            // Set additional properties after creation
-            if (pm != null) {
-                project.setProjectManagerId(pm.getId());
-                project.setStatus(ProjectStatus.ACTIVE);
-            }
-            
-            // Set client address if available
-            if (clientAddress != null && !clientAddress.isEmpty()) {
-                project.setContactAddress(clientAddress);
-                logger.info("Set contact address for project {}: {}", projectId, clientAddress);
+
+        private void save() {
+            List<Assignment> assignments = new ArrayList<>(planned.size());
+            Map<Assignment, PlannedAssignment> plans = new IdentityHashMap<>();
+            for (PlannedAssignment plan : planned) {
+                Assignment assignment = new Assignment(plan.cell == null ? plan.project.getId() : null,
+                    technician.getId(), plan.startDate, plan.endDate, 0, 0);
+                assignments.add(assignment);
+                plans.put(assignment, plan);
             }
-            
-            // Set isTravel to true for imported projects (field service projects typically involve travel)
-            project.setTravel(true);
-            logger.info("Setting travel=true for imported project: {} (ID: {})", projectId, project.getId());
-            
-            // Log the project state before update
-            logger.info("Project {} before update - Travel: {}, Status: {}, PM: {}", 
-                projectId, project.isTravel(), project.getStatus(), project.getProjectManagerId());
-            
-            // Update the project with all properties
-            schedulingService.updateProject(project);
-            logger.info("Called updateProject for {}", projectId);
-            
-            // Verify the project was saved correctly
-            Thread.sleep(100); // Give database time to commit
-            Optional<Project> savedProject = schedulingService.getProjectById(project.getId());
-            if (savedProject.isPresent()) {
-                logger.info("Verified saved project {} (ID: {}) has travel={}, status={}, PM={}", 
-                    projectId, savedProject.get().getId(), savedProject.get().isTravel(), 
-                    savedProject.get().getStatus(), savedProject.get().getProjectManagerId());
-                if (!savedProject.get().isTravel()) {
-                    logger.error("ERROR: Travel field not persisted for project {}! Will try direct update.", projectId);
-                    
-                    // Try a direct SQL update as a workaround if we have a datasource
-                    if (dataSource != null) {
-                        try (Connection conn = dataSource.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(
-                                 "UPDATE projects SET is_travel = 1 WHERE id = ?")) {
-                            stmt.setLong(1, project.getId());
-                            int rows = stmt.executeUpdate();
-                            logger.info("Direct SQL update for travel field: {} rows updated", rows);
-                        } catch (SQLException e) {
-                            logger.error("Failed to update travel field directly", e);
-                        }
-                    }
+            List<Assignment> created = schedulingService.createAssignments(assignments,
+                assignment -> {
+                    PlannedAssignment plan = plans.get(assignment);
+                    return plan.cell != null ? plan.project : null;
+                },
+                (assignment, e) -> {
+                    PlannedAssignment plan = plans.get(assignment);
+                    result.addError(assignmentCreationError(plan, e.getMessage()));
+                    errorsEncountered++;
+                });
+            for (Assignment assignment : created) {
+                if (plans.get(assignment).cell != null) {
+                    projectsSaved++;
                 }
-            } else {
-                logger.error("ERROR: Could not reload project {} after update!", projectId);
             }
-            
-            projectsCreated++;
-            
-            logger.info("Created project: {} - {} with PM: {}, contact address: {}, travel: {}", 
-                       projectId, description, 
-                       pm != null ? pm.getName() : "none",
-                       clientAddress != null ? clientAddress : "none",
-                       project.isTravel());
-            return project;
-            
-        } catch (Exception e) {
-            String error = String.format(
+            projectsCreated += projectsSaved;
+            assignmentsSaved = created.size();
+            assignmentsCreated += created.size();
+            planned.clear();
+        }
+
+        private String projectCreationError(ProjectCell cell, LocalDate startDate, LocalDate endDate, String message) {
+            return String.format(
                 "ERROR - Project Creation Failed: '%s'\n" +
                 "  DESCRIPTION: %s\n" +
                 "  DATE RANGE: %s to %s\n" +
@@ -607,40 +663,14 @@ public class TechScheduleImporter {
                 "    - Date range is invalid (end before start)\n" +
                 "    - Database constraint violation\n" +
                 "  SOLUTION: Check project ID format and date ranges",
-                projectId, description, startDate, endDate,
-                pm != null ? pm.getName() : "None",
-                e.getMessage()
+                cell.projectId, cell.description, startDate, endDate,
+                cell.pm != null ? cell.pm.getName() : "None",
+                message
             );
-            logger.error(error);
-            result.addError(error);
-            return null;
         }
-    }
-    
-    private void createAssignment(Project project, Resource resource, 
-                                 LocalDate startDate, LocalDate endDate, ImportResult result) {
-        try {
-            // Check if assignment already exists
-            List<Assignment> existing = schedulingService.getAssignmentsByProjectId(project.getId());
-            for (Assignment assignment : existing) {
-                if (assignment.getResourceId().equals(resource.getId()) &&
-                    assignment.getStartDate().equals(startDate) &&
-                    assignment.getEndDate().equals(endDate)) {
-                    logger.debug("Assignment already exists - skipping");
-                    return;
-                }
-            }
-            
-            // Create new assignment
-            Assignment assignment = schedulingService.createAssignment(
-                project.getId(), resource.getId(), startDate, endDate, 0, 0);
-            
-            assignmentsCreated++;
-            logger.debug("Created assignment for {} to {} ({} to {})", 
-                resource.getName(), project.getProjectId(), startDate, endDate);
-                
-        } catch (Exception e) {
-            String error = String.format(
+
+        private String assignmentCreationError(PlannedAssignment plan, String message) {
+            return String.format(
                 "ERROR - Assignment Creation Failed\n" +
                 "  RESOURCE: %s\n" +
                 "  PROJECT: %s\n" +
@@ -650,19 +680,47 @@ public class TechScheduleImporter {
                 "    - Resource is already assigned to another project for these dates\n" +
                 "    - Date range conflicts with resource unavailability (PTO/holidays)\n" +
                 "    - Project dates don't match assignment dates\n" +
+                "%s" +
                 "  SOLUTION: Check for existing assignments and conflicts in the Timeline view",
-                resource.getName(), project.getProjectId(), 
-                startDate, endDate, e.getMessage()
+                technician.getName(), plan.project.getProjectId(),
+                plan.startDate, plan.endDate, message,
+                plan.cell != null ? "  NOTE: The project of this cell was not created either\n" : ""
             );
-            logger.error(error);
-            result.addError(error);
         }
     }
-    
+
+    /**
+     * A colored project cell, waiting for the sheet's merged regions to fix its date range.
+     */
+    private record ProjectCell(String projectId, String description, String clientAddress, ProjectManager pm,
+                               int rowNum, int colNum, int year, int month, Map<Integer, Integer> columnToDayMap) {
+    }
+
+    /**
+     * One assignment to create when the sheet ends: to an existing project (SHOP) with known dates,
+     * or to the new project of a project cell once it has been resolved.
+     */
+    private static final class PlannedAssignment {
+        private final ProjectCell cell;
+        private Project project;
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        PlannedAssignment(Project project, LocalDate startDate, LocalDate endDate) {
+            this.cell = null;
+            this.project = project;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        PlannedAssignment(ProjectCell cell) {
+            this.cell = cell;
+        }
+    }
     /**
      * Build a mapping from column index to day number based on the calendar for a specific month
      */
-    private Map<Integer, Integer> buildColumnToDayMapForMonth(Row headerRow, LocalDate monthDate) {
+    private Map<Integer, Integer> buildColumnToDayMapForMonth(SheetRow headerRow, SheetRow nextRow, LocalDate monthDate) {
         Map<Integer, Integer> columnToDayMap = new HashMap<>();
         
         // Get the day of week for the first day of the month
@@ -678,21 +736,21 @@ public class TechScheduleImporter {
         
         // Scan the header row to find all Sunday columns (start of each week)
         for (int col = 0; col < headerRow.getLastCellNum(); col++) {
-            Cell cell = headerRow.getCell(col);
+            SheetCell cell = headerRow.getCell(col);
             if (cell == null) continue;
-            String value = getCellStringValue(cell).trim().toLowerCase();
+            String value = cell.value().trim().toLowerCase();
             
             // Check if this is Sunday
             if (value.equals("su") || value.equals("sun") || value.equals("sunday")) {
                 sundayColumns.add(col);
-                logger.info("Found Sunday at column {}", col);
+                logger.debug("Found Sunday at column {}", col);
             }
         }
         
         if (sundayColumns.isEmpty()) {
             logger.warn("No Sunday columns found in header row");
             // Fall back to original logic
-            return buildColumnToDayMap(headerRow);
+            return buildColumnToDayMap(headerRow, nextRow);
         }
         
         logger.info("Found {} week(s) of columns starting at: {}", sundayColumns.size(), sundayColumns);
@@ -739,7 +797,7 @@ public class TechScheduleImporter {
     /**
      * Build a mapping from column index to day number based on the header row
      */
-    private Map<Integer, Integer> buildColumnToDayMap(Row headerRow) {
+    private Map<Integer, Integer> buildColumnToDayMap(SheetRow headerRow, SheetRow nextRow) {
         Map<Integer, Integer> columnToDayMap = new HashMap<>();
         
         // Check if the header has day numbers or day abbreviations
@@ -748,10 +806,10 @@ public class TechScheduleImporter {
         
         // First pass: determine what type of header we have
         for (int col = 2; col < Math.min(headerRow.getLastCellNum(), 10); col++) {
-            Cell cell = headerRow.getCell(col);
+            SheetCell cell = headerRow.getCell(col);
             if (cell == null) continue;
             
-            String value = getCellStringValue(cell).trim().toLowerCase();
+            String value = cell.value().trim().toLowerCase();
             if (value.isEmpty()) continue;
             
             // Check for day numbers
@@ -774,10 +832,10 @@ public class TechScheduleImporter {
         if (hasDayNumbers) {
             // Read actual day numbers from the header
             for (int col = 2; col < headerRow.getLastCellNum(); col++) {
-                Cell cell = headerRow.getCell(col);
+                SheetCell cell = headerRow.getCell(col);
                 if (cell == null) continue;
                 
-                String value = getCellStringValue(cell).trim();
+                String value = cell.value().trim();
                 if (value.isEmpty()) continue;
                 
                 try {
@@ -793,31 +851,31 @@ public class TechScheduleImporter {
         } else if (hasDayAbbreviations) {
             // The header has day abbreviations (Su, Mo, Tu, etc.)
             // Look for a second header row with day numbers
-            Row dayNumberRow = headerRow.getSheet().getRow(headerRow.getRowNum() + 1);
+            SheetRow dayNumberRow = nextRow;
             if (dayNumberRow != null) {
                 logger.info("Checking row {} for day numbers", headerRow.getRowNum() + 2);
                 
                 // Log what we're seeing in this row
                 StringBuilder rowContent = new StringBuilder("Row content: ");
                 for (int col = 2; col < Math.min(dayNumberRow.getLastCellNum(), 10); col++) {
-                    Cell cell = dayNumberRow.getCell(col);
-                    String value = cell != null ? getCellStringValue(cell).trim() : "";
+                    SheetCell cell = dayNumberRow.getCell(col);
+                    String value = cell != null ? cell.value().trim() : "";
                     rowContent.append("[").append(col).append("='").append(value).append("'] ");
                 }
-                logger.info(rowContent.toString());
+                logger.debug(rowContent.toString());
                 
                 for (int col = 2; col < dayNumberRow.getLastCellNum(); col++) {
-                    Cell cell = dayNumberRow.getCell(col);
+                    SheetCell cell = dayNumberRow.getCell(col);
                     if (cell == null) continue;
                     
-                    String value = getCellStringValue(cell).trim();
+                    String value = cell.value().trim();
                     if (value.isEmpty()) continue;
                     
                     try {
                         int dayNum = Integer.parseInt(value);
                         if (dayNum >= 1 && dayNum <= 31) {
                             columnToDayMap.put(col, dayNum);
-                            logger.info("Found day {} in column {}", dayNum, col);
+                            logger.debug("Found day {} in column {}", dayNum, col);
                         }
                     } catch (NumberFormatException e) {
                         // Not a day number - log what it is
@@ -875,17 +933,17 @@ public class TechScheduleImporter {
     /**
      * Check if a row contains day numbers
      */
-    private boolean hasDayNumbers(Row row) {
+    private boolean hasDayNumbers(SheetRow row) {
         if (row == null) return false;
         
         int numberCount = 0;
         int checkedCells = 0;
         
         for (int col = 2; col < Math.min(row.getLastCellNum(), 10); col++) {
-            Cell cell = row.getCell(col);
+            SheetCell cell = row.getCell(col);
             if (cell == null) continue;
             
-            String value = getCellStringValue(cell).trim();
+            String value = cell.value().trim();
             if (value.isEmpty()) continue;
             
             checkedCells++;
@@ -908,7 +966,7 @@ public class TechScheduleImporter {
     /**
      * Check if a row contains day header information (day numbers or day abbreviations)
      */
-    private boolean isHeaderRow(Row row) {
+    private boolean isHeaderRow(SheetRow row) {
         if (row == null) return false;
         
         // Check the first few cells starting from column C (index 2)
@@ -917,10 +975,10 @@ public class TechScheduleImporter {
         int checkedCells = 0;
         
         for (int col = 2; col < Math.min(row.getLastCellNum(), 10); col++) {
-            Cell cell = row.getCell(col);
+            SheetCell cell = row.getCell(col);
             if (cell == null) continue;
             
-            String value = getCellStringValue(cell).trim().toLowerCase();
+            String value = cell.value().trim().toLowerCase();
             if (value.isEmpty()) continue;
             
             checkedCells++;
@@ -954,8 +1012,7 @@ public class TechScheduleImporter {
         // Try to parse various month/year formats
         // Examples: "January 2025", "Jan 2025", "1/2025", "01/2025"
         
-        // DEBUG: Log what we're trying to parse
-        logger.info("Attempting to parse month/year from: '{}'", value);
+        logger.trace("Attempting to parse month/year from: '{}'", value);
         
         try {
             // Try full month name
@@ -1082,53 +1139,6 @@ public class TechScheduleImporter {
         return null;
     }
     
-    private String getCellStringValue(Cell cell) {
-        if (cell == null) return "";
-        
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    Date date = cell.getDateCellValue();
-                    // Format as month name and year (e.g., "March 2025")
-                    SimpleDateFormat formatter = new SimpleDateFormat("MMMM yyyy", Locale.ENGLISH);
-                    return formatter.format(date);
-                }
-                return String.valueOf((int) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                // Evaluate formula to get actual value
-                try {
-                    FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
-                    CellValue cellValue = evaluator.evaluate(cell);
-                    
-                    switch (cellValue.getCellType()) {
-                        case STRING:
-                            return cellValue.getStringValue();
-                        case NUMERIC:
-                            // Check if it's a date
-                            if (DateUtil.isCellDateFormatted(cell)) {
-                                Date date = DateUtil.getJavaDate(cellValue.getNumberValue());
-                                SimpleDateFormat formatter = new SimpleDateFormat("MMMM yyyy", Locale.ENGLISH);
-                                return formatter.format(date);
-                            }
-                            return String.valueOf((int) cellValue.getNumberValue());
-                        case BOOLEAN:
-                            return String.valueOf(cellValue.getBooleanValue());
-                        default:
-                            return "";
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to evaluate formula in cell: {}", e.getMessage());
-                    return cell.getCellFormula();
-                }
-            default:
-                return "";
-        }
-    }
-    
     /**
      * Parse address from comment text
      * Expected formats:
@@ -1313,11 +1323,21 @@ public class TechScheduleImporter {
         return formatted.toString();
     }
     
+    /**
+     * What one sheet contributed to an import; imported is false for skipped sheets and for
+     * sheets whose rows could not be processed.
+     */
+    public record SheetSummary(String sheetName, boolean imported, int rows, int projectsCreated,
+                               int assignmentsCreated, long millis) {
+    }
+
     // Result class for import operation
     public static class ImportResult {
         private int projectsCreated = 0;
         private int assignmentsCreated = 0;
         private List<String> errors = new ArrayList<>();
+        private List<SheetSummary> sheets = new ArrayList<>();
+        private long elapsedMillis = 0;
         
         public void addError(String error) {
             errors.add(error);
@@ -1334,6 +1354,12 @@ public class TechScheduleImporter {
         public void setAssignmentsCreated(int count) { this.assignmentsCreated = count; }
         
         public List<String> getErrors() { return errors; }
+
+        public void addSheetSummary(SheetSummary sheet) { sheets.add(sheet); }
+        public List<SheetSummary> getSheets() { return sheets; }
+
+        public long getElapsedMillis() { return elapsedMillis; }
+        public void setElapsedMillis(long millis) { this.elapsedMillis = millis; }
         
         public String getSummary() {
             StringBuilder sb = new StringBuilder();
@@ -1344,6 +1370,20 @@ public class TechScheduleImporter {
             sb.append("  • Projects Created: ").append(projectsCreated).append("\n");
             sb.append("  • Assignments Created: ").append(assignmentsCreated).append("\n");
             sb.append("\n");
+
+            if (!sheets.isEmpty()) {
+                sb.append("SHEETS (").append(elapsedMillis).append(" ms total):\n");
+                for (SheetSummary sheet : sheets) {
+                    if (sheet.imported()) {
+                        sb.append(String.format("  • %s: %d projects, %d assignments from %d rows (%d ms)%n",
+                            sheet.sheetName(), sheet.projectsCreated(), sheet.assignmentsCreated(),
+                            sheet.rows(), sheet.millis()));
+                    } else {
+                        sb.append("  • ").append(sheet.sheetName()).append(": skipped\n");
+                    }
+                }
+                sb.append("\n");
+            }
             
             if (hasErrors()) {
                 // Count error types
@@ -4,6 +4,7 @@ import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
 import com.subliminalsearch.simpleprojectresourcemanager.model.Task;
 import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.DependencyGraph;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -20,7 +21,6 @@ import com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CriticalPathView {
     private final Stage stage;
@@ -30,6 +30,8 @@ public class CriticalPathView {
     private Canvas canvas;
     private ScrollPane scrollPane;
     private List<Task> allTasks;
+    private List<TaskDependency> dependencies;
+    private DependencyGraph graph;
     private Map<Long, TaskNode> taskNodes;
     private List<Long> criticalPath;
     private Map<Long, Integer> taskLevels;
@@ -70,6 +72,7 @@ public class CriticalPathView {
         this.criticalPath = new ArrayList<>();
         this.taskLevels = new HashMap<>();
         this.allTasks = new ArrayList<>(); // Initialize to prevent NPE
+        this.dependencies = new ArrayList<>();
         
         if (owner != null) {
             this.stage.initOwner(owner);
@@ -195,144 +198,40 @@ public class CriticalPathView {
     
     private void loadTaskData() {
         allTasks = taskRepository.findByProjectId(project.getId());
+        dependencies = taskRepository.findDependenciesByProjectId(project.getId());
+        graph = new DependencyGraph(allTasks, dependencies);
         
         // Create task nodes
         for (Task task : allTasks) {
             TaskNode node = new TaskNode(task);
             taskNodes.put(task.getId(), node);
         }
-        
-        // Load dependencies
-        for (Task task : allTasks) {
-            List<TaskDependency> deps = taskRepository.findDependenciesBySuccessor(task.getId());
-            // Dependencies are loaded with the tasks
-        }
     }
     
     private void calculateCriticalPath() {
         if (allTasks.isEmpty()) return;
         
-        // Forward pass - calculate earliest start and finish times
-        Map<Long, Set<Long>> predecessors = new HashMap<>();
-        Map<Long, Set<Long>> successors = new HashMap<>();
-        
-        for (Task task : allTasks) {
-            List<TaskDependency> deps = taskRepository.findDependenciesBySuccessor(task.getId());
-            for (TaskDependency dep : deps) {
-                predecessors.computeIfAbsent(task.getId(), k -> new HashSet<>()).add(dep.getPredecessorId());
-                successors.computeIfAbsent(dep.getPredecessorId(), k -> new HashSet<>()).add(task.getId());
-            }
-        }
-        
-        // Find tasks with no predecessors (start nodes)
-        List<Task> startTasks = allTasks.stream()
-            .filter(t -> !predecessors.containsKey(t.getId()) || predecessors.get(t.getId()).isEmpty())
-            .collect(Collectors.toList());
-        
-        // Forward pass
-        Queue<Long> queue = new LinkedList<>();
-        Set<Long> processed = new HashSet<>();
-        
-        for (Task task : startTasks) {
-            TaskNode node = taskNodes.get(task.getId());
-            node.earliestStart = 0;
-            node.earliestFinish = getDuration(task);
-            queue.offer(task.getId());
-        }
-        
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            if (processed.contains(taskId)) continue;
-            processed.add(taskId);
-            
-            TaskNode currentNode = taskNodes.get(taskId);
-            Set<Long> taskSuccessors = successors.get(taskId);
-            
-            if (taskSuccessors != null) {
-                for (Long successorId : taskSuccessors) {
-                    TaskNode successorNode = taskNodes.get(successorId);
-                    if (successorNode != null) {
-                        int proposedStart = currentNode.earliestFinish;
-                        if (proposedStart > successorNode.earliestStart) {
-                            successorNode.earliestStart = proposedStart;
-                            successorNode.earliestFinish = successorNode.earliestStart + getDuration(successorNode.task);
-                        }
-                        
-                        // Check if all predecessors have been processed
-                        Set<Long> successorPreds = predecessors.get(successorId);
-                        if (successorPreds == null || successorPreds.stream().allMatch(processed::contains)) {
-                            queue.offer(successorId);
-                        }
-                    }
-                }
-            }
-        }
-        
-        // Find the project end time (maximum earliest finish)
-        int projectEndTime = taskNodes.values().stream()
-            .mapToInt(n -> n.earliestFinish)
-            .max()
-            .orElse(0);
-        
-        // Backward pass - calculate latest start and finish times
-        processed.clear();
-        
-        // Find tasks with no successors (end nodes)
-        List<Task> endTasks = allTasks.stream()
-            .filter(t -> !successors.containsKey(t.getId()) || successors.get(t.getId()).isEmpty())
-            .collect(Collectors.toList());
-        
-        for (Task task : endTasks) {
-            TaskNode node = taskNodes.get(task.getId());
-            node.latestFinish = projectEndTime;
-            node.latestStart = node.latestFinish - getDuration(task);
-            queue.offer(task.getId());
-        }
-        
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            if (processed.contains(taskId)) continue;
-            processed.add(taskId);
-            
-            TaskNode currentNode = taskNodes.get(taskId);
-            Set<Long> taskPredecessors = predecessors.get(taskId);
-            
-            if (taskPredecessors != null) {
-                for (Long predecessorId : taskPredecessors) {
-                    TaskNode predecessorNode = taskNodes.get(predecessorId);
-                    if (predecessorNode != null) {
-                        int proposedFinish = currentNode.latestStart;
-                        if (predecessorNode.latestFinish == 0 || proposedFinish < predecessorNode.latestFinish) {
-                            predecessorNode.latestFinish = proposedFinish;
-                            predecessorNode.latestStart = predecessorNode.latestFinish - getDuration(predecessorNode.task);
-                        }
-                        
-                        // Check if all successors have been processed
-                        Set<Long> predSuccessors = successors.get(predecessorId);
-                        if (predSuccessors == null || predSuccessors.stream().allMatch(processed::contains)) {
-                            queue.offer(predecessorId);
-                        }
-                    }
-                }
+        DependencyGraph.Schedule schedule = graph.calculate();
+        for (TaskNode node : taskNodes.values()) {
+            DependencyGraph.TaskSchedule taskSchedule = schedule.get(node.task.getId());
+            if (taskSchedule == null) {
+                // Part of a dependency cycle, so it has no schedule
+                continue;
             }
+            node.earliestStart = taskSchedule.getEarlyStart();
+            node.earliestFinish = taskSchedule.getEarlyFinish();
+            node.latestStart = taskSchedule.getLateStart();
+            node.latestFinish = taskSchedule.getLateFinish();
+            node.slack = taskSchedule.getSlack();
+            node.isCritical = taskSchedule.isCritical();
         }
         
-        // Calculate slack and identify critical path
         criticalPath.clear();
-        for (TaskNode node : taskNodes.values()) {
-            node.slack = node.latestStart - node.earliestStart;
-            node.isCritical = (node.slack == 0);
-            if (node.isCritical) {
-                criticalPath.add(node.task.getId());
-            }
-        }
+        criticalPath.addAll(schedule.getCriticalPath());
     }
     
     private int getDuration(Task task) {
-        if (task.getPlannedStart() != null && task.getPlannedEnd() != null) {
-            return (int) ChronoUnit.DAYS.between(task.getPlannedStart(), task.getPlannedEnd()) + 1;
-        }
-        return task.getEstimatedHours() != null ? (int) Math.ceil(task.getEstimatedHours() / 8.0) : 5;
+        return DependencyGraph.durationDays(task);
     }
     
     private void layoutNodes() {
@@ -353,49 +252,14 @@ public class CriticalPathView {
     }
     
     private void layoutNodesHierarchical() {
-        // Calculate levels using topological sort
-        Map<Long, Set<Long>> predecessors = new HashMap<>();
-        Map<Long, Set<Long>> successors = new HashMap<>();
-        
-        for (Task task : allTasks) {
-            List<TaskDependency> deps = taskRepository.findDependenciesBySuccessor(task.getId());
-            for (TaskDependency dep : deps) {
-                predecessors.computeIfAbsent(task.getId(), k -> new HashSet<>()).add(dep.getPredecessorId());
-                successors.computeIfAbsent(dep.getPredecessorId(), k -> new HashSet<>()).add(task.getId());
-            }
-        }
-        
-        // Assign levels
+        // Level = longest chain of predecessors, assigned in dependency order
         taskLevels.clear();
-        Queue<Long> queue = new LinkedList<>();
-        
-        // Start with tasks that have no predecessors
-        for (Task task : allTasks) {
-            if (!predecessors.containsKey(task.getId()) || predecessors.get(task.getId()).isEmpty()) {
-                taskLevels.put(task.getId(), 0);
-                queue.offer(task.getId());
-            }
-        }
-        
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            int currentLevel = taskLevels.get(taskId);
-            
-            Set<Long> taskSuccessors = successors.get(taskId);
-            if (taskSuccessors != null) {
-                for (Long successorId : taskSuccessors) {
-                    int newLevel = currentLevel + 1;
-                    taskLevels.merge(successorId, newLevel, Math::max);
-                    
-                    // Check if all predecessors have been assigned levels
-                    Set<Long> successorPreds = predecessors.get(successorId);
-                    if (successorPreds == null || successorPreds.stream().allMatch(taskLevels::containsKey)) {
-                        if (!queue.contains(successorId)) {
-                            queue.offer(successorId);
-                        }
-                    }
-                }
+        for (Long taskId : graph.getTopologicalOrder()) {
+            int level = 0;
+            for (Long predecessorId : graph.getPredecessorIds(taskId)) {
+                level = Math.max(level, taskLevels.getOrDefault(predecessorId, 0) + 1);
             }
+            taskLevels.put(taskId, level);
         }
         
         // Group tasks by level
@@ -476,27 +340,24 @@ public class CriticalPathView {
         
         // Draw dependencies (arrows)
         gc.setLineWidth(2);
-        for (Task task : allTasks) {
-            List<TaskDependency> deps = taskRepository.findDependenciesBySuccessor(task.getId());
-            for (TaskDependency dep : deps) {
-                TaskNode fromNode = taskNodes.get(dep.getPredecessorId());
-                TaskNode toNode = taskNodes.get(task.getId());
+        for (TaskDependency dep : dependencies) {
+            TaskNode fromNode = taskNodes.get(dep.getPredecessorId());
+            TaskNode toNode = taskNodes.get(dep.getSuccessorId());
+            
+            if (fromNode != null && toNode != null) {
+                boolean isCritical = fromNode.isCritical && toNode.isCritical;
                 
-                if (fromNode != null && toNode != null) {
-                    boolean isCritical = fromNode.isCritical && toNode.isCritical;
-                    
-                    // Skip non-critical paths if only showing critical path
-                    if (showCriticalPathOnly && !isCritical) {
-                        continue;
-                    }
-                    
-                    gc.setStroke(isCritical ? Color.RED : Color.GRAY);
-                    gc.setLineWidth(isCritical ? 3 : 2);
-                    
-                    drawArrow(gc, 
-                        fromNode.x + NODE_WIDTH, fromNode.y + NODE_HEIGHT / 2,
-                        toNode.x, toNode.y + NODE_HEIGHT / 2);
+                // Skip non-critical paths if only showing critical path
+                if (showCriticalPathOnly && !isCritical) {
+                    continue;
                 }
+                
+                gc.setStroke(isCritical ? Color.RED : Color.GRAY);
+                gc.setLineWidth(isCritical ? 3 : 2);
+                
+                drawArrow(gc, 
+                    fromNode.x + NODE_WIDTH, fromNode.y + NODE_HEIGHT / 2,
+                    toNode.x, toNode.y + NODE_HEIGHT / 2);
             }
         }
         
@@ -2,6 +2,7 @@ package com.subliminalsearch.simpleprojectresourcemanager.view;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.*;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.*;
+import com.subliminalsearch.simpleprojectresourcemanager.service.ExecutiveMetricsService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SchedulingService;
 import com.subliminalsearch.simpleprojectresourcemanager.util.HelpButton;
 import javafx.animation.Animation;
@@ -27,15 +28,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class ExecutiveCommandCenter {
     private final Stage stage;
     private final SchedulingService schedulingService;
-    private final ProjectRepository projectRepository;
-    private final ResourceRepository resourceRepository;
     private final AssignmentRepository assignmentRepository;
     private final TaskRepository taskRepository;
+    private final ExecutiveMetricsService metricsService;
+    private final Consumer<ExecutiveMetricsService.ExecutiveMetrics> metricsListener = this::applyMetrics;
     
     private TabPane mainTabPane;
     private VBox morningDashboard;
@@ -63,10 +65,9 @@ public class ExecutiveCommandCenter {
     
     public ExecutiveCommandCenter(SchedulingService schedulingService, Window owner) {
         this.schedulingService = schedulingService;
-        this.projectRepository = schedulingService.getProjectRepository();
-        this.resourceRepository = schedulingService.getResourceRepository();
         this.assignmentRepository = schedulingService.getAssignmentRepository();
         this.taskRepository = new TaskRepository(schedulingService.getDataSource());
+        this.metricsService = schedulingService.getExecutiveMetricsService();
         this.stage = new Stage();
         
         if (owner != null) {
@@ -74,7 +75,6 @@ public class ExecutiveCommandCenter {
         }
         
         initialize();
-        loadMetrics();
         startAutoRefresh();
     }
     
@@ -790,38 +790,19 @@ public class ExecutiveCommandCenter {
         return statusBar;
     }
     
-    private void loadMetrics() {
-        // Load real metrics from database
-        List<Project> allProjects = projectRepository.findAll();
-        activeProjectsCount = (int) allProjects.stream()
-            .filter(p -> p.getStatus() == ProjectStatus.ACTIVE)
-            .count();
-        
-        // Calculate resource conflicts
-        LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(30);
-        // For now, use a simple count - would need to implement conflict detection
-        resourceConflictsCount = 0; // Placeholder - implement actual conflict detection
-        
-        // Calculate utilization
-        List<Resource> allResources = resourceRepository.findAll();
-        if (!allResources.isEmpty()) {
-            int totalAllocated = 0;
-            for (Resource resource : allResources) {
-                List<Assignment> assignments = assignmentRepository.findByResourceId(resource.getId());
-                if (!assignments.isEmpty()) totalAllocated++;
-            }
-            resourceUtilization = (totalAllocated * 100.0) / allResources.size();
-        }
-        
-        // Find projects at risk (mock logic - would need real criteria)
-        projectsAtRisk = allProjects.stream()
-            .filter(p -> p.getStatus() == ProjectStatus.ACTIVE)
-            .limit(2) // Mock: just take first 2 for demo
+    private void applyMetrics(ExecutiveMetricsService.ExecutiveMetrics metrics) {
+        activeProjectsCount = metrics.activeProjects();
+        resourceConflictsCount = metrics.conflictedAssignments();
+        resourceUtilization = metrics.resourceUtilization();
+        projectsAtRisk = metrics.projectsAtRisk().stream()
+            .map(ExecutiveMetricsService.ProjectRisk::project)
             .collect(Collectors.toList());
         
         // Mock decision count
         decisionsNeededCount = 3;
+        
+        updateAllTabs();
+        updateStatusBar();
     }
     
     private String determineOverallStatus() {
@@ -840,15 +821,6 @@ public class ExecutiveCommandCenter {
         return "All projects on track | Resources optimally allocated";
     }
     
-    private void refreshAllData() {
-        loadMetrics();
-        updateAllTabs();
-        updateStatusBar();
-        
-        // Log refresh to console instead of showing alert
-        System.out.println("Dashboard refreshed at " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
-    }
-    
     private void exportExecutiveReport() {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Export Report");
@@ -859,13 +831,12 @@ public class ExecutiveCommandCenter {
     }
     
     private void startAutoRefresh() {
-        // Refresh every 30 seconds for real-time updates
-        Timeline autoRefresh = new Timeline(new KeyFrame(Duration.seconds(30), e -> refreshAllData()));
-        autoRefresh.setCycleCount(Animation.INDEFINITE);
-        autoRefresh.play();
+        // Metrics are recomputed in the background every 30 seconds and pushed here on the FX thread;
+        // subscribing also runs the first refresh right away
+        metricsService.subscribe(metricsListener);
         
-        // Store the timeline so we can stop it when the window closes
-        stage.setOnCloseRequest(event -> autoRefresh.stop());
+        // Leave the shared refresh when the window closes
+        stage.setOnHidden(event -> metricsService.unsubscribe(metricsListener));
     }
     
     private void updateAllTabs() {
@@ -938,8 +909,5 @@ public class ExecutiveCommandCenter {
         }
         
         stage.show();
-        
-        // Perform initial data refresh when dashboard opens
-        refreshAllData();
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency.De
 import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskRepository;
 import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskDependencyRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.service.DependencyGraph;
 import com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils;
 import com.subliminalsearch.simpleprojectresourcemanager.util.HelpButton;
 import javafx.animation.KeyFrame;
@@ -15,26 +16,21 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
-import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
-import javafx.scene.Group;
-import javafx.scene.Node;
+import javafx.geometry.VPos;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
+import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Line;
-import javafx.scene.shape.Polygon;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Duration;
@@ -61,7 +57,9 @@ public class GanttChartView {
     private GridPane ganttGrid;
     private VBox taskListPanel;
     private HBox timelineHeader;
-    private Pane ganttCanvas;
+    private Canvas headerCanvas;
+    private Pane ganttSurface; // sized to the whole chart so the scroll pane has something to scroll
+    private Canvas ganttCanvas; // viewport sized, repainted on scroll
     private ComboBox<String> zoomComboBox;
     private CheckBox showDependenciesCheckBox;
     private CheckBox showCriticalPathCheckBox;
@@ -70,9 +68,10 @@ public class GanttChartView {
     
     // Data
     private ObservableList<Task> tasks;
-    private Map<Long, TaskBar> taskBars = new HashMap<>();
+    private List<TaskRow> taskRows = new ArrayList<>(); // one per task, in display order
+    private Map<Long, TaskRow> taskRowsById = new HashMap<>();
     private Map<Long, List<TaskDependency>> taskDependencies = new HashMap<>(); // Task ID -> List of dependencies
-    private List<TaskDependency> dependencies = new ArrayList<>();
+    private List<DependencyPath> dependencyPaths = null; // cached arrow anchors, null until recomputed
     private Set<Long> criticalPath = new HashSet<>();
     
     // View settings
@@ -83,6 +82,12 @@ public class GanttChartView {
     private double headerHeight = 60; // height of timeline header
     private int zoomLevel = 0; // 0=Day, 1=Week, 2=Month (default to Day view)
     
+    // Visible part of the chart in chart coordinates
+    private double viewportX = 0;
+    private double viewportY = 0;
+    private double viewportWidth = 0;
+    private double viewportHeight = 0;
+    
     // Colors - Improved scheme for better contrast and visibility
     private static final Color COLOR_TASK_NORMAL = Color.web("#0066CC");  // Darker blue
     private static final Color COLOR_TASK_CRITICAL = Color.web("#DC3545");
@@ -95,7 +100,9 @@ public class GanttChartView {
     private static final Color COLOR_GRID = Color.web("#BDC3C7");
     
     // Interaction state
-    private TaskBar draggedTaskBar = null;
+    private TaskRow draggedRow = null;
+    private TaskRow hoveredRow = null;
+    private final Tooltip hoverTooltip = new Tooltip();
     private boolean isDraggingStart = false;
     private boolean isDraggingEnd = false;
     private double dragStartX = 0;
@@ -148,9 +155,9 @@ public class GanttChartView {
         // Right panel - Gantt chart
         VBox ganttContainer = new VBox();
         timelineHeader = createTimelineHeader();
-        ganttCanvas = createGanttCanvas();
+        ganttSurface = createGanttSurface();
         
-        ScrollPane ganttScrollPane = new ScrollPane(ganttCanvas);
+        ScrollPane ganttScrollPane = new ScrollPane(ganttSurface);
         ganttScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
         ganttScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
         ganttScrollPane.setFitToHeight(true);
@@ -158,18 +165,14 @@ public class GanttChartView {
         // Synchronize vertical scrolling
         taskScrollPane.vvalueProperty().bindBidirectional(ganttScrollPane.vvalueProperty());
         
-        // Put timeline header in its own scroll pane that syncs with gantt horizontal scroll
-        ScrollPane headerScrollPane = new ScrollPane(timelineHeader);
-        headerScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        headerScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        headerScrollPane.setPrefHeight(headerHeight);
-        headerScrollPane.setMinHeight(headerHeight);
-        headerScrollPane.setMaxHeight(headerHeight);
-        
-        // Bind horizontal scrolling
-        headerScrollPane.hvalueProperty().bind(ganttScrollPane.hvalueProperty());
+        // The header and chart canvases only cover the viewport, so repaint them whenever it moves
+        ganttScrollPane.hvalueProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        ganttScrollPane.vvalueProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        ganttScrollPane.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        ganttSurface.widthProperty().addListener((obs, oldVal, newVal) -> updateViewport());
+        ganttSurface.heightProperty().addListener((obs, oldVal, newVal) -> updateViewport());
         
-        ganttContainer.getChildren().addAll(headerScrollPane, ganttScrollPane);
+        ganttContainer.getChildren().addAll(timelineHeader, ganttScrollPane);
         VBox.setVgrow(ganttScrollPane, Priority.ALWAYS);
         
         splitPane.getItems().addAll(taskScrollPane, ganttContainer);
@@ -333,33 +336,40 @@ public class GanttChartView {
         header.setMinHeight(headerHeight);
         header.setMaxHeight(headerHeight);
         header.setStyle("-fx-background-color: #f5f5f5; -fx-border-color: #ddd; -fx-border-width: 0 0 1 0;");
+        header.setMinWidth(0);
+        
+        headerCanvas = new Canvas(0, headerHeight);
+        header.getChildren().add(headerCanvas);
         
         return header;
     }
     
-    private Pane createGanttCanvas() {
-        Pane canvas = new Pane();
-        canvas.setStyle("-fx-background-color: white;");
-        canvas.setPrefWidth(1800); // Initial width for proper rendering
-        canvas.setPrefHeight(400); // Initial height
-        
-        // Handle mouse events for interaction
-        canvas.setOnMousePressed(this::handleMousePressed);
-        canvas.setOnMouseDragged(this::handleMouseDragged);
-        canvas.setOnMouseReleased(this::handleMouseReleased);
-        canvas.setOnMouseMoved(this::handleMouseMoved);
-        
-        return canvas;
+    private Pane createGanttSurface() {
+        Pane surface = new Pane();
+        surface.setStyle("-fx-background-color: white;");
+        surface.setPrefWidth(1800); // Initial width for proper rendering
+        surface.setPrefHeight(400); // Initial height
+        // Keep fit-to-height from squeezing the chart below its rows
+        surface.setMinHeight(Region.USE_PREF_SIZE);
+        
+        ganttCanvas = new Canvas();
+        ganttCanvas.setManaged(false);
+        surface.getChildren().add(ganttCanvas);
+        
+        // Mouse events are hit-tested against the row layout; coordinates are chart coordinates
+        surface.setOnMousePressed(this::handleMousePressed);
+        surface.setOnMouseDragged(this::handleMouseDragged);
+        surface.setOnMouseReleased(this::handleMouseReleased);
+        surface.setOnMouseMoved(this::handleMouseMoved);
+        surface.setOnMouseExited(e -> hideHoverTooltip());
+        surface.setOnContextMenuRequested(this::handleContextMenuRequested);
+        
+        return surface;
     }
     
     private void loadTasks() {
         tasks = FXCollections.observableArrayList(taskRepository.findByProjectId(project.getId()));
         
-        // Load dependencies if repository is available
-        if (dependencyRepository != null) {
-            dependencies = dependencyRepository.findByProjectId(project.getId());
-        }
-        
         // Sort tasks by start date, then by ID for consistent ordering
         tasks.sort((a, b) -> {
             LocalDate aStart = a.getPlannedStart() != null ? a.getPlannedStart() : LocalDate.now();
@@ -374,10 +384,15 @@ public class GanttChartView {
         // Load dependencies
         loadDependencies();
         
-        // Update canvas size first
-        long days = ChronoUnit.DAYS.between(viewStartDate, viewEndDate);
-        ganttCanvas.setPrefWidth(days * dayWidth);
-        ganttCanvas.setPrefHeight(Math.max(tasks.size() * taskHeight + 20, 400));
+        // Bars are laid out in days and rows, so zooming and scrolling reuse this layout
+        buildTaskRows();
+        
+        // Keep the highlighted critical path in step with the reloaded tasks
+        if (showCriticalPathCheckBox != null && showCriticalPathCheckBox.isSelected()) {
+            calculateCriticalPath();
+        }
+        
+        rebuildTaskList();
         
         // Refresh the display
         refreshDisplay();
@@ -410,6 +425,7 @@ public class GanttChartView {
     
     private void loadDependencies() {
         taskDependencies.clear();
+        dependencyPaths = null;
         
         // Load from dependency repository if available
         if (dependencyRepository != null) {
@@ -429,48 +445,72 @@ public class GanttChartView {
         }
     }
     
-    private void refreshDisplay() {
-        // Clear existing display
+    private void buildTaskRows() {
+        taskRows = new ArrayList<>(tasks.size());
+        taskRowsById = new HashMap<>();
+        
+        for (Task task : tasks) {
+            TaskRow taskRow = new TaskRow(task, taskRows.size());
+            if (task.getPlannedStart() != null) {
+                taskRow.startDay = ChronoUnit.DAYS.between(viewStartDate, task.getPlannedStart());
+                if (task.getPlannedEnd() != null) {
+                    taskRow.durationDays = ChronoUnit.DAYS.between(task.getPlannedStart(), task.getPlannedEnd()) + 1;
+                } else {
+                    // Milestone (single date)
+                    taskRow.milestone = true;
+                }
+            }
+            taskRows.add(taskRow);
+            taskRowsById.put(task.getId(), taskRow);
+        }
+        dependencyPaths = null;
+    }
+    
+    private void rebuildTaskList() {
+        // Clear existing rows, keeping the header
         taskListPanel.getChildren().removeIf(node -> !(node instanceof HBox && 
             ((HBox)node).getChildren().stream().anyMatch(child -> child instanceof Label && 
             ((Label)child).getText().equals("Tasks"))));
         
-        ganttCanvas.getChildren().clear();
-        taskBars.clear();
-        
-        // Update timeline header
-        updateTimelineHeader();
-        
-        // Draw grid
-        drawGrid();
-        
-        // Draw today line
-        drawTodayLine();
-        
-        // Add tasks
-        int row = 0;
         for (Task task : tasks) {
-            addTaskRow(task, row);
-            row++;
+            addTaskListRow(task);
         }
+    }
+    
+    private void refreshDisplay() {
+        // Update chart size; the scroll pane listeners repaint if the viewport changes
+        long days = ChronoUnit.DAYS.between(viewStartDate, viewEndDate);
+        ganttSurface.setPrefWidth(days * dayWidth);
+        ganttSurface.setPrefHeight(Math.max(tasks.size() * taskHeight + 20, 400));
         
-        // Draw dependencies
-        if (showDependenciesCheckBox.isSelected()) {
-            drawDependencies();
+        updateTimelineHeader();
+        redrawChart();
+    }
+    
+    private void updateViewport() {
+        Bounds viewport = mainScrollPane.getViewportBounds();
+        viewportWidth = viewport.getWidth();
+        viewportHeight = viewport.getHeight();
+        viewportX = mainScrollPane.getHvalue() * Math.max(0, ganttSurface.getWidth() - viewportWidth);
+        viewportY = mainScrollPane.getVvalue() * Math.max(0, ganttSurface.getHeight() - viewportHeight);
+        
+        ganttCanvas.setWidth(viewportWidth);
+        ganttCanvas.setHeight(viewportHeight);
+        ganttCanvas.relocate(viewportX, viewportY);
+        
+        if (tasks != null) {
+            updateTimelineHeader();
+            redrawChart();
         }
-        
-        // Update canvas size
-        long days = ChronoUnit.DAYS.between(viewStartDate, viewEndDate);
-        ganttCanvas.setPrefWidth(days * dayWidth);
-        ganttCanvas.setPrefHeight(tasks.size() * taskHeight + 20);
     }
     
     private void updateTimelineHeader() {
-        timelineHeader.getChildren().clear();
-        
-        long days = ChronoUnit.DAYS.between(viewStartDate, viewEndDate);
-        Canvas headerCanvas = new Canvas(days * dayWidth, headerHeight);
+        headerCanvas.setWidth(viewportWidth);
         GraphicsContext gc = headerCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, headerCanvas.getWidth(), headerCanvas.getHeight());
+        
+        gc.save();
+        gc.translate(-viewportX, 0);
         
         // Draw based on zoom level
         if (zoomLevel == 0) { // Day view
@@ -483,7 +523,16 @@ public class GanttChartView {
             drawQuarterHeaders(gc);
         }
         
-        timelineHeader.getChildren().add(headerCanvas);
+        gc.restore();
+    }
+    
+    private int firstVisibleDay() {
+        return (int) Math.max(0, Math.floor(viewportX / dayWidth));
+    }
+    
+    private int lastVisibleDay() {
+        long days = ChronoUnit.DAYS.between(viewStartDate, viewEndDate);
+        return (int) Math.min(days, Math.ceil((viewportX + viewportWidth) / dayWidth));
     }
     
     private void drawMonthHeaders(GraphicsContext gc) {
@@ -539,12 +588,14 @@ public class GanttChartView {
     
     private void drawDayHeaders(GraphicsContext gc) {
         gc.setFont(Font.font("System", 10));
-        LocalDate current = viewStartDate;
         DateTimeFormatter dayFormatter = DateTimeFormatter.ofPattern("d");
         DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM");
         
-        int dayIndex = 0;
-        while (current.isBefore(viewEndDate) || current.equals(viewEndDate)) {
+        // Only the days inside the viewport
+        int dayIndex = firstVisibleDay();
+        int lastDay = lastVisibleDay();
+        LocalDate current = viewStartDate.plusDays(dayIndex);
+        while (dayIndex <= lastDay) {
             double x = dayIndex * dayWidth;
             
             // Weekend shading
@@ -622,12 +673,13 @@ public class GanttChartView {
             weekStart = weekStart.plusWeeks(1);
         }
         
-        // Draw individual day labels in bottom section
-        current = viewStartDate;
-        int dayIndex = 0;
+        // Draw individual day labels in bottom section, only for the days inside the viewport
+        int dayIndex = firstVisibleDay();
+        int lastDay = lastVisibleDay();
+        current = viewStartDate.plusDays(dayIndex);
         gc.setFont(Font.font("System", 9));
         
-        while (current.isBefore(viewEndDate) || current.equals(viewEndDate)) {
+        while (dayIndex <= lastDay) {
             double x = dayIndex * dayWidth;
             
             // Weekend shading
@@ -743,73 +795,105 @@ public class GanttChartView {
         }
     }
     
-    private void drawGrid() {
-        double canvasHeight = Math.max(ganttCanvas.getPrefHeight(), tasks.size() * taskHeight + 20);
-        double canvasWidth = ganttCanvas.getPrefWidth();
+    private void redrawChart() {
+        GraphicsContext gc = ganttCanvas.getGraphicsContext2D();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, ganttCanvas.getWidth(), ganttCanvas.getHeight());
+        if (viewportWidth <= 0 || viewportHeight <= 0) {
+            return;
+        }
         
-        LocalDate current = viewStartDate;
-        int dayIndex = 0;
+        gc.save();
+        gc.translate(-viewportX, -viewportY);
+        
+        int firstRow = (int) Math.max(0, Math.floor(viewportY / taskHeight));
+        int lastRow = (int) Math.ceil((viewportY + viewportHeight) / taskHeight);
         
-        while (current.isBefore(viewEndDate) || current.equals(viewEndDate)) {
+        // Draw grid
+        drawGrid(gc, firstRow, lastRow);
+        
+        // Draw today line
+        drawTodayLine(gc);
+        
+        // Add tasks
+        for (int row = firstRow; row <= Math.min(lastRow, taskRows.size() - 1); row++) {
+            TaskRow taskRow = taskRows.get(row);
+            if (taskRow.milestone) {
+                drawMilestone(gc, taskRow);
+            } else if (taskRow.hasBar() && taskRow.getX() + taskRow.getWidth() >= viewportX
+                    && taskRow.getX() <= viewportX + viewportWidth) {
+                drawTaskBar(gc, taskRow);
+            }
+        }
+        
+        // Draw dependencies
+        if (showDependenciesCheckBox.isSelected()) {
+            drawDependencies(gc, firstRow, lastRow);
+        }
+        
+        gc.restore();
+    }
+    
+    private void drawGrid(GraphicsContext gc, int firstRow, int lastRow) {
+        double top = viewportY;
+        double bottom = viewportY + viewportHeight;
+        
+        gc.setStroke(COLOR_GRID);
+        gc.setLineWidth(0.5);
+        
+        int lastDay = lastVisibleDay();
+        LocalDate current = viewStartDate.plusDays(firstVisibleDay());
+        for (int dayIndex = firstVisibleDay(); dayIndex <= lastDay; dayIndex++) {
             double x = dayIndex * dayWidth;
             
             // Weekend shading
             if (current.getDayOfWeek() == DayOfWeek.SATURDAY || 
                 current.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                Rectangle weekendRect = new Rectangle(dayWidth, canvasHeight);
-                weekendRect.setFill(COLOR_WEEKEND);
-                weekendRect.setOpacity(0.3);
-                weekendRect.setLayoutX(x);
-                ganttCanvas.getChildren().add(weekendRect);
+                gc.setGlobalAlpha(0.3);
+                gc.setFill(COLOR_WEEKEND);
+                gc.fillRect(x, top, dayWidth, bottom - top);
             }
             
             // Vertical grid lines
-            Line gridLine = new Line(x, 0, x, canvasHeight);
-            gridLine.setStroke(COLOR_GRID);
-            gridLine.setStrokeWidth(0.5);
-            gridLine.setOpacity(0.5);
-            ganttCanvas.getChildren().add(gridLine);
+            gc.setGlobalAlpha(0.5);
+            gc.strokeLine(x, top, x, bottom);
             
             current = current.plusDays(1);
-            dayIndex++;
         }
         
         // Horizontal grid lines
         int numRows = Math.max(tasks.size(), 10); // At least 10 rows for visual consistency
-        for (int i = 0; i <= numRows; i++) {
+        gc.setGlobalAlpha(0.5);
+        for (int i = firstRow; i <= Math.min(lastRow, numRows); i++) {
             double y = i * taskHeight;
-            Line gridLine = new Line(0, y, canvasWidth, y);
-            gridLine.setStroke(COLOR_GRID);
-            gridLine.setStrokeWidth(0.5);
-            gridLine.setOpacity(0.5);
-            ganttCanvas.getChildren().add(gridLine);
+            gc.strokeLine(viewportX, y, viewportX + viewportWidth, y);
         }
+        gc.setGlobalAlpha(1.0);
     }
     
-    private void drawTodayLine() {
+    private void drawTodayLine(GraphicsContext gc) {
         LocalDate today = LocalDate.now();
         if (today.isAfter(viewStartDate) && today.isBefore(viewEndDate)) {
             long daysFromStart = ChronoUnit.DAYS.between(viewStartDate, today);
             double x = daysFromStart * dayWidth;
-            double canvasHeight = Math.max(ganttCanvas.getPrefHeight(), tasks.size() * taskHeight + 20);
+            if (x < viewportX || x > viewportX + viewportWidth) {
+                return;
+            }
             
-            Line todayLine = new Line(x, 0, x, canvasHeight);
-            todayLine.setStroke(COLOR_TODAY);
-            todayLine.setStrokeWidth(2);
-            todayLine.getStrokeDashArray().addAll(5d, 5d);
-            ganttCanvas.getChildren().add(todayLine);
+            gc.setStroke(COLOR_TODAY);
+            gc.setLineWidth(2);
+            gc.setLineDashes(5, 5);
+            gc.strokeLine(x, viewportY, x, viewportY + viewportHeight);
+            gc.setLineDashes(null);
             
             // Today label
-            Label todayLabel = new Label("Today");
-            todayLabel.setTextFill(COLOR_TODAY);
-            todayLabel.setFont(Font.font("System", FontWeight.BOLD, 10));
-            todayLabel.setLayoutX(x + 2);
-            todayLabel.setLayoutY(2);
-            ganttCanvas.getChildren().add(todayLabel);
+            gc.setFill(COLOR_TODAY);
+            gc.setFont(Font.font("System", FontWeight.BOLD, 10));
+            gc.fillText("Today", x + 2, 14);
         }
     }
     
-    private void addTaskRow(Task task, int row) {
+    private void addTaskListRow(Task task) {
         // Add task info to left panel
         HBox taskInfo = new HBox(10);
         taskInfo.setPadding(new Insets(5, 10, 5, 10));
@@ -848,281 +932,187 @@ public class GanttChartView {
         taskInfo.setOnMouseExited(e -> taskInfo.setStyle(""));
         
         taskListPanel.getChildren().add(taskInfo);
-        
-        // Add task bar to Gantt chart
-        if (task.getPlannedStart() != null && task.getPlannedEnd() != null) {
-            Node taskBarNode = createTaskBar(task, row);
-            ganttCanvas.getChildren().add(taskBarNode);
-            
-            // Progress bar is now integrated into the task bar group, so we don't need to add it separately
-        } else if (task.getPlannedStart() != null) {
-            // Milestone (single date)
-            Node milestone = createMilestone(task, row);
-            ganttCanvas.getChildren().add(milestone);
-        }
     }
     
-    private Node createTaskBar(Task task, int row) {
-        LocalDate startDate = task.getPlannedStart();
-        LocalDate endDate = task.getPlannedEnd();
+    private void drawTaskBar(GraphicsContext gc, TaskRow taskRow) {
+        Task task = taskRow.task;
+        double x = taskRow.getX();
+        double y = taskRow.getY();
+        double width = taskRow.getWidth();
+        double height = taskRow.getHeight();
         
-        long startDay = ChronoUnit.DAYS.between(viewStartDate, startDate);
-        long duration = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        gc.save();
         
-        double x = startDay * dayWidth;
-        double width = duration * dayWidth;
-        double y = row * taskHeight + 10;
-        
-        // Create a group to hold the task bar and its components
-        Group taskGroup = new Group();
-        taskGroup.setLayoutX(x);
-        taskGroup.setLayoutY(y);
-        
-        TaskBar taskBar = new TaskBar(task, 0, 0, width, taskHeight - 20);
+        // Ensure content is clipped to bar width
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
         
         // Set color based on critical path and status
         if (showCriticalPathCheckBox.isSelected() && criticalPath.contains(task.getId())) {
-            taskBar.setFill(COLOR_TASK_CRITICAL);
+            gc.setFill(COLOR_TASK_CRITICAL);
         } else if (task.getStatus() == Task.TaskStatus.COMPLETED) {
-            taskBar.setFill(COLOR_TASK_COMPLETE);
+            gc.setFill(COLOR_TASK_COMPLETE);
         } else {
-            taskBar.setFill(COLOR_TASK_NORMAL);
+            gc.setFill(COLOR_TASK_NORMAL);
         }
+        gc.fillRoundRect(x, y, width, height, 5, 5);
+        gc.setStroke(Color.DARKGRAY);
+        gc.setLineWidth(0.5);
+        gc.strokeRoundRect(x, y, width, height, 5, 5);
         
-        // Add the task bar as the base layer
-        taskGroup.getChildren().add(taskBar);
+        boolean showProgress = showProgressCheckBox.isSelected() && task.getProgressPercentage() != null && 
+            task.getProgressPercentage() > 0;
         
         // Add progress bar if enabled and task has progress
-        if (showProgressCheckBox.isSelected() && task.getProgressPercentage() != null && 
-            task.getProgressPercentage() > 0) {
+        if (showProgress) {
             double progressWidth = width * (task.getProgressPercentage() / 100.0);
-            double progressHeight = (taskHeight - 20) * 0.4; // 40% of task bar height
-            Rectangle progressBar = new Rectangle(progressWidth, progressHeight);
-            progressBar.setFill(COLOR_TASK_PROGRESS);  // Use amber color
-            progressBar.setOpacity(0.8);
-            progressBar.setLayoutY((taskHeight - 20 - progressHeight) / 2); // Center vertically
-            taskGroup.getChildren().add(progressBar);
+            double progressHeight = height * 0.4; // 40% of task bar height
+            gc.setGlobalAlpha(0.8);
+            gc.setFill(COLOR_TASK_PROGRESS);  // Use amber color
+            gc.fillRect(x, y + (height - progressHeight) / 2, progressWidth, progressHeight); // Center vertically
+            gc.setGlobalAlpha(1.0);
         }
         
         // Add resource badge on the right side of the task bar
         if (task.getAssignedToName() != null && !task.getAssignedToName().isEmpty()) {
-            Node resourceBadge = createResourceBadge(task.getAssignedToName());
-            // Position badge on the right side with padding
-            resourceBadge.setLayoutX(width - 22); // Right side (16 is badge width + padding)
-            resourceBadge.setLayoutY((taskHeight - 20 - 16) / 2); // Center vertically (16 is badge height)
-            taskGroup.getChildren().add(resourceBadge);
+            drawResourceBadge(gc, task.getAssignedToName(), x + width - 14, y + height / 2);
         }
         
-        // Add progress percentage text with better visibility
-        if (showProgressCheckBox.isSelected() && task.getProgressPercentage() != null && 
-            task.getProgressPercentage() > 0) {
-            // Create background for text visibility at the start of the bar
-            Rectangle textBg = new Rectangle(30, 14);
-            textBg.setFill(Color.BLACK);
-            textBg.setOpacity(0.7);
-            textBg.setLayoutX(0);  // Start at the left edge of the task bar
-            textBg.setLayoutY(3);
-            textBg.setArcWidth(4);
-            textBg.setArcHeight(4);
-            taskGroup.getChildren().add(textBg);
+        // Add progress percentage text with a dark background at the start of the bar
+        if (showProgress) {
+            gc.setGlobalAlpha(0.7);
+            gc.setFill(Color.BLACK);
+            gc.fillRoundRect(x, y + 3, 30, 14, 4, 4);
+            gc.setGlobalAlpha(1.0);
             
-            Text progressText = new Text(task.getProgressPercentage() + "%");
-            progressText.setFill(Color.WHITE);
-            progressText.setFont(Font.font("System", FontWeight.BOLD, 10));
-            progressText.setLayoutX(3); // Small padding from left edge
-            progressText.setLayoutY(12); // Fixed vertical position near top
-            taskGroup.getChildren().add(progressText);
+            gc.setFill(Color.WHITE);
+            gc.setFont(Font.font("System", FontWeight.BOLD, 10));
+            gc.fillText(task.getProgressPercentage() + "%", x + 3, y + 14);
         }
         
-        // Ensure content is clipped to bar width
-        Rectangle clip = new Rectangle(width, taskHeight - 20);
-        taskGroup.setClip(clip);
-        
-        // Add enhanced tooltip with resource info
-        int progress = task.getProgressPercentage() != null ? task.getProgressPercentage() : 0;
-        String assignedTo = task.getAssignedToName() != null ? task.getAssignedToName() : "Unassigned";
-        Tooltip tooltip = new Tooltip(String.format("%s\n%s to %s\nAssigned to: %s\nProgress: %d%%\nStatus: %s",
-            task.getTitle(),
-            startDate.format(DateTimeFormatter.ofPattern("MMM d, yyyy")),
-            endDate.format(DateTimeFormatter.ofPattern("MMM d, yyyy")),
-            assignedTo,
-            progress,
-            task.getStatus() != null ? task.getStatus() : "Not Set"));
-        Tooltip.install(taskGroup, tooltip);
-        
-        // Store the actual TaskBar for reference
-        taskBars.put(task.getId(), taskBar);
-        
-        // Add context menu for dependency management
-        setupDependencyContextMenu(taskBar, task);
-        
-        return taskGroup;
+        gc.restore();
     }
     
-    private Node createProgressBar(Task task, TaskBar taskBar) {
-        // taskBar is the actual rectangle, need to get its parent's position
-        double progressWidth = taskBar.getWidth() * (task.getProgressPercentage() / 100.0);
-        
-        // Get the position from the parent taskGroup
-        Node taskGroup = taskBar.getParent();
-        double x = taskGroup != null ? taskGroup.getLayoutX() : 0;
-        double y = taskGroup != null ? taskGroup.getLayoutY() + 2 : 2;
-        
-        // Create a group to hold both the progress bar and text
-        StackPane progressGroup = new StackPane();
-        progressGroup.setLayoutX(x);
-        progressGroup.setLayoutY(y);
-        progressGroup.setMouseTransparent(true);
-        
-        // Create the progress bar
-        Rectangle progressBar = new Rectangle(progressWidth, taskBar.getHeight() - 4);
-        progressBar.setFill(Color.web("#2ECC71"));
-        progressBar.setOpacity(0.7);
-        
-        // Add task title text
-        Text progressText = new Text(task.getTitle() + " - " + task.getProgressPercentage() + "%");
-        progressText.setFill(Color.BLACK);
-        progressText.setFont(Font.font("System", FontWeight.NORMAL, 10));
-        
-        // Add both to the group
-        progressGroup.getChildren().addAll(progressBar, progressText);
-        progressGroup.setAlignment(Pos.CENTER_LEFT);
-        progressGroup.setPrefWidth(progressWidth);
-        progressGroup.setMaxWidth(progressWidth);
-        
-        // Add padding for text
-        StackPane.setMargin(progressText, new Insets(0, 0, 0, 5));
-        
-        // Ensure text is clipped to progress bar width
-        Rectangle clip = new Rectangle(progressWidth, taskBar.getHeight() - 4);
-        progressGroup.setClip(clip);
-        
-        return progressGroup;
+    private void drawMilestone(GraphicsContext gc, TaskRow taskRow) {
+        double x = taskRow.getMilestoneCenterX();
+        double y = taskRow.getMilestoneCenterY();
+        if (x + 8 < viewportX || x - 8 > viewportX + viewportWidth) {
+            return;
+        }
+        
+        gc.setFill(COLOR_MILESTONE);
+        gc.fillPolygon(
+            new double[]{x, x + 8.0, x, x - 8.0},
+            new double[]{y - 8.0, y, y + 8.0, y},
+            4);
     }
     
-    private Node createMilestone(Task task, int row) {
-        LocalDate date = task.getPlannedStart();
-        long dayFromStart = ChronoUnit.DAYS.between(viewStartDate, date);
-        double x = dayFromStart * dayWidth + dayWidth / 2;
-        double y = row * taskHeight + taskHeight / 2;
-        
-        Polygon diamond = new Polygon();
-        diamond.getPoints().addAll(new Double[]{
-            x, y - 8.0,
-            x + 8.0, y,
-            x, y + 8.0,
-            x - 8.0, y
-        });
-        diamond.setFill(COLOR_MILESTONE);
+    private void drawDependencies(GraphicsContext gc, int firstRow, int lastRow) {
+        double left = viewportX;
+        double right = viewportX + viewportWidth;
         
-        Tooltip tooltip = new Tooltip(String.format("%s\n%s\nMilestone",
-            task.getTitle(),
-            date.format(DateTimeFormatter.ofPattern("MMM d, yyyy"))));
-        Tooltip.install(diamond, tooltip);
+        gc.setStroke(COLOR_DEPENDENCY);
+        gc.setFill(COLOR_DEPENDENCY);
+        gc.setLineWidth(1.5);
         
-        return diamond;
+        for (DependencyPath path : getDependencyPaths()) {
+            // Skip arrows that lie entirely outside the viewport
+            if (Math.max(path.fromRow(), path.toRow()) < firstRow || Math.min(path.fromRow(), path.toRow()) > lastRow) {
+                continue;
+            }
+            double startX = path.fromDay() * dayWidth;
+            double endX = path.toDay() * dayWidth;
+            if (Math.max(startX, endX) < left || Math.min(startX, endX) > right) {
+                continue;
+            }
+            drawDependencyLine(gc, startX, rowCenterY(path.fromRow()), endX, rowCenterY(path.toRow()));
+        }
     }
     
-    private void drawDependencies() {
-        for (Map.Entry<Long, List<TaskDependency>> entry : taskDependencies.entrySet()) {
-            TaskBar fromBar = taskBars.get(entry.getKey());
-            if (fromBar != null) {
+    /**
+     * Arrow anchors in days and rows, so they survive zooming and scrolling. Rebuilt only after
+     * tasks or dependencies change.
+     */
+    private List<DependencyPath> getDependencyPaths() {
+        if (dependencyPaths == null) {
+            List<DependencyPath> paths = new ArrayList<>();
+            for (Map.Entry<Long, List<TaskDependency>> entry : taskDependencies.entrySet()) {
+                TaskRow from = taskRowsById.get(entry.getKey());
+                if (from == null || !from.hasBar()) {
+                    continue;
+                }
                 for (TaskDependency dep : entry.getValue()) {
-                    TaskBar toBar = taskBars.get(dep.getSuccessorId());
-                    if (toBar != null) {
-                        drawDependencyLine(fromBar, toBar, dep.getDependencyType());
+                    TaskRow to = taskRowsById.get(dep.getSuccessorId());
+                    if (to != null && to.hasBar()) {
+                        paths.add(createDependencyPath(from, to, dep.getDependencyType()));
                     }
                 }
             }
+            dependencyPaths = paths;
         }
+        return dependencyPaths;
     }
     
-    private void drawDependencyLine(TaskBar from, TaskBar to, DependencyType type) {
-        // Get positions from parent nodes if they exist
-        Node fromParent = from.getParent();
-        Node toParent = to.getParent();
-        
-        double startX, startY, endX, endY;
+    private DependencyPath createDependencyPath(TaskRow from, TaskRow to, DependencyType type) {
+        double fromStart = from.startDay;
+        double fromEnd = from.startDay + from.durationDays;
+        double toStart = to.startDay;
+        double toEnd = to.startDay + to.durationDays;
         
         // Adjust connection points based on dependency type
         switch (type) {
-            case FINISH_TO_START:
-            default:
-                // Connect from end of predecessor to start of successor
-                startX = (fromParent != null ? fromParent.getLayoutX() : from.getLayoutX()) + from.getWidth();
-                startY = (fromParent != null ? fromParent.getLayoutY() : from.getLayoutY()) + from.getHeight() / 2;
-                endX = toParent != null ? toParent.getLayoutX() : to.getLayoutX();
-                endY = (toParent != null ? toParent.getLayoutY() : to.getLayoutY()) + to.getHeight() / 2;
-                break;
-                
             case START_TO_START:
                 // Connect from start of predecessor to start of successor
-                startX = fromParent != null ? fromParent.getLayoutX() : from.getLayoutX();
-                startY = (fromParent != null ? fromParent.getLayoutY() : from.getLayoutY()) + from.getHeight() / 2;
-                endX = toParent != null ? toParent.getLayoutX() : to.getLayoutX();
-                endY = (toParent != null ? toParent.getLayoutY() : to.getLayoutY()) + to.getHeight() / 2;
-                break;
-                
+                return new DependencyPath(fromStart, from.row, toStart, to.row);
             case FINISH_TO_FINISH:
                 // Connect from end of predecessor to end of successor
-                startX = (fromParent != null ? fromParent.getLayoutX() : from.getLayoutX()) + from.getWidth();
-                startY = (fromParent != null ? fromParent.getLayoutY() : from.getLayoutY()) + from.getHeight() / 2;
-                endX = (toParent != null ? toParent.getLayoutX() : to.getLayoutX()) + to.getWidth();
-                endY = (toParent != null ? toParent.getLayoutY() : to.getLayoutY()) + to.getHeight() / 2;
-                break;
-                
+                return new DependencyPath(fromEnd, from.row, toEnd, to.row);
             case START_TO_FINISH:
                 // Connect from start of predecessor to end of successor
-                startX = fromParent != null ? fromParent.getLayoutX() : from.getLayoutX();
-                startY = (fromParent != null ? fromParent.getLayoutY() : from.getLayoutY()) + from.getHeight() / 2;
-                endX = (toParent != null ? toParent.getLayoutX() : to.getLayoutX()) + to.getWidth();
-                endY = (toParent != null ? toParent.getLayoutY() : to.getLayoutY()) + to.getHeight() / 2;
-                break;
+                return new DependencyPath(fromStart, from.row, toEnd, to.row);
+            case FINISH_TO_START:
+            default:
+                // Connect from end of predecessor to start of successor
+                return new DependencyPath(fromEnd, from.row, toStart, to.row);
         }
-        
-        // Create path with arrow
-        Line line = new Line(startX, startY, endX, endY);
-        line.setStroke(COLOR_DEPENDENCY);
-        line.setStrokeWidth(1.5);
+    }
+    
+    private void drawDependencyLine(GraphicsContext gc, double startX, double startY, double endX, double endY) {
+        gc.strokeLine(startX, startY, endX, endY);
         
         // Arrow head
-        Polygon arrowHead = new Polygon();
         double angle = Math.atan2(endY - startY, endX - startX);
         double arrowLength = 8;
         double arrowAngle = Math.PI / 6;
         
-        arrowHead.getPoints().addAll(new Double[]{
-            endX,
-            endY,
-            endX - arrowLength * Math.cos(angle - arrowAngle),
-            endY - arrowLength * Math.sin(angle - arrowAngle),
-            endX - arrowLength * Math.cos(angle + arrowAngle),
-            endY - arrowLength * Math.sin(angle + arrowAngle)
-        });
-        arrowHead.setFill(COLOR_DEPENDENCY);
-        
-        ganttCanvas.getChildren().addAll(line, arrowHead);
+        gc.fillPolygon(
+            new double[]{
+                endX,
+                endX - arrowLength * Math.cos(angle - arrowAngle),
+                endX - arrowLength * Math.cos(angle + arrowAngle)
+            },
+            new double[]{
+                endY,
+                endY - arrowLength * Math.sin(angle - arrowAngle),
+                endY - arrowLength * Math.sin(angle + arrowAngle)
+            },
+            3);
+    }
+    
+    private double rowCenterY(int row) {
+        return row * taskHeight + taskHeight / 2;
     }
     
     private void calculateCriticalPath() {
-        // Simple critical path calculation
-        // In a real implementation, this would use CPM algorithm
         criticalPath.clear();
         
-        // For now, mark tasks with no slack as critical
-        for (Task task : tasks) {
-            if (task.getPlannedStart() != null && task.getPlannedEnd() != null) {
-                // Check if task has dependencies
-                boolean hasDependents = dependencies.stream()
-                    .anyMatch(dep -> dep.getPredecessorId().equals(task.getId()));
-                boolean isDependency = dependencies.stream()
-                    .anyMatch(dep -> dep.getSuccessorId().equals(task.getId()));
-                
-                if (hasDependents || isDependency) {
-                    criticalPath.add(task.getId());
-                }
-            }
-        }
+        // Same dependencies the chart draws, including the parent/child fallback
+        List<TaskDependency> edges = new ArrayList<>();
+        taskDependencies.values().forEach(edges::addAll);
+        
+        DependencyGraph.Schedule schedule = new DependencyGraph(tasks, edges).calculate();
+        criticalPath.addAll(schedule.getCriticalPath());
     }
     
     private void updateZoomLevel() {
@@ -1152,7 +1142,7 @@ public class GanttChartView {
         LocalDate today = LocalDate.now();
         if (today.isAfter(viewStartDate) && today.isBefore(viewEndDate)) {
             long daysFromStart = ChronoUnit.DAYS.between(viewStartDate, today);
-            double scrollPosition = (daysFromStart * dayWidth) / ganttCanvas.getWidth();
+            double scrollPosition = (daysFromStart * dayWidth) / ganttSurface.getWidth();
             mainScrollPane.setHvalue(scrollPosition);
         }
     }
@@ -1178,190 +1168,201 @@ public class GanttChartView {
     
     // Mouse event handlers for interactive features
     private void handleMousePressed(MouseEvent event) {
-        // Get mouse position in canvas coordinates
-        Point2D canvasPoint = ganttCanvas.sceneToLocal(event.getSceneX(), event.getSceneY());
-        
-        // Find which task bar was clicked by checking positions
-        for (Map.Entry<Long, TaskBar> entry : taskBars.entrySet()) {
-            TaskBar taskBar = entry.getValue();
-            Node taskGroup = taskBar.getParent();
-            if (taskGroup == null) continue;
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        hideHoverTooltip();
+        
+        // Find which task bar was clicked from the row under the mouse
+        TaskRow taskRow = findTaskRowAt(event.getX(), event.getY());
+        if (taskRow != null && taskRow.hasBar()) {
+            double taskStartX = taskRow.getX();
+            double taskEndX = taskStartX + taskRow.getWidth();
             
-            double taskStartX = taskGroup.getLayoutX();
-            double taskEndX = taskStartX + taskBar.getWidth();
-            double taskTopY = taskGroup.getLayoutY();
-            double taskBottomY = taskTopY + taskBar.getHeight();
+            draggedRow = taskRow;
             
-            // Check if click is within this task bar's bounds
-            if (canvasPoint.getX() >= taskStartX - 10 && 
-                canvasPoint.getX() <= taskEndX + 10 &&
-                canvasPoint.getY() >= taskTopY && 
-                canvasPoint.getY() <= taskBottomY) {
-                
-                draggedTaskBar = taskBar;
-                
-                // Check if clicking near edges for resizing
-                if (Math.abs(canvasPoint.getX() - taskStartX) < 10) {
-                    isDraggingStart = true;
-                    isDraggingEnd = false;
-                    dragStartX = canvasPoint.getX();
-                } else if (Math.abs(canvasPoint.getX() - taskEndX) < 10) {
-                    isDraggingEnd = true;
-                    isDraggingStart = false;
-                    dragStartX = canvasPoint.getX();
-                } else {
-                    isDraggingStart = false;
-                    isDraggingEnd = false;
-                    // For moving, store the offset from the task's left edge
-                    dragStartX = canvasPoint.getX() - taskStartX;
-                }
-                
-                event.consume();
-                break;
+            // Check if clicking near edges for resizing
+            if (Math.abs(event.getX() - taskStartX) < 10) {
+                isDraggingStart = true;
+                isDraggingEnd = false;
+                dragStartX = event.getX();
+            } else if (Math.abs(event.getX() - taskEndX) < 10) {
+                isDraggingEnd = true;
+                isDraggingStart = false;
+                dragStartX = event.getX();
+            } else {
+                isDraggingStart = false;
+                isDraggingEnd = false;
+                // For moving, store the offset from the task's left edge
+                dragStartX = event.getX() - taskStartX;
             }
+            
+            event.consume();
         }
     }
     
     private void handleMouseDragged(MouseEvent event) {
-        if (draggedTaskBar != null) {
-            Node taskGroup = draggedTaskBar.getParent();
-            if (taskGroup == null) return;
-            
-            // Get mouse position in scene coordinates, then convert to canvas coordinates
-            Point2D scenePoint = new Point2D(event.getSceneX(), event.getSceneY());
-            Point2D canvasPoint = ganttCanvas.sceneToLocal(scenePoint);
+        if (draggedRow != null) {
+            double currentX = draggedRow.getX();
+            double currentWidth = draggedRow.getWidth();
             
             if (isDraggingStart) {
                 // Resize from start
-                double newX = canvasPoint.getX();
-                double currentEnd = taskGroup.getLayoutX() + draggedTaskBar.getWidth();
-                double newWidth = currentEnd - newX;
+                double newX = event.getX();
+                double newWidth = currentX + currentWidth - newX;
                 
                 if (newWidth > dayWidth && newX >= 0) {
-                    taskGroup.setLayoutX(newX);
-                    draggedTaskBar.setWidth(newWidth);
-                    updateTaskDates(draggedTaskBar);
+                    draggedRow.startDay = newX / dayWidth;
+                    draggedRow.durationDays = newWidth / dayWidth;
+                    updateTaskDates(draggedRow);
                 }
             } else if (isDraggingEnd) {
                 // Resize from end - keep start position, change width
-                double currentX = taskGroup.getLayoutX();
-                double newEndX = canvasPoint.getX();
-                double newWidth = newEndX - currentX;
-                if (newWidth > dayWidth && newWidth < ganttCanvas.getWidth()) {
-                    draggedTaskBar.setWidth(newWidth);
-                    // Update the StackPane width too
-                    if (taskGroup instanceof StackPane) {
-                        ((StackPane)taskGroup).setPrefWidth(newWidth);
-                        ((StackPane)taskGroup).setMaxWidth(newWidth);
-                        
-                        // Also update any clipping rectangles
-                        if (taskGroup.getClip() instanceof Rectangle) {
-                            ((Rectangle)taskGroup.getClip()).setWidth(newWidth);
-                        }
-                    }
-                    updateTaskDates(draggedTaskBar);
+                double newWidth = event.getX() - currentX;
+                if (newWidth > dayWidth && newWidth < ganttSurface.getWidth()) {
+                    draggedRow.durationDays = newWidth / dayWidth;
+                    updateTaskDates(draggedRow);
                 }
             } else {
                 // Move entire task
-                double newX = canvasPoint.getX() - dragStartX;
-                if (newX >= 0 && newX + draggedTaskBar.getWidth() <= ganttCanvas.getWidth()) {
-                    taskGroup.setLayoutX(newX);
-                    updateTaskDates(draggedTaskBar);
+                double newX = event.getX() - dragStartX;
+                if (newX >= 0 && newX + currentWidth <= ganttSurface.getWidth()) {
+                    draggedRow.startDay = newX / dayWidth;
+                    updateTaskDates(draggedRow);
                 }
             }
             
+            // Arrows attached to the dragged task follow it
+            dependencyPaths = null;
+            redrawChart();
+            
             // Update status
-            updateStatus(draggedTaskBar.task);
+            updateStatus(draggedRow.task);
             event.consume();
         }
     }
     
     private void handleMouseReleased(MouseEvent event) {
-        if (draggedTaskBar != null) {
-            Node taskGroup = draggedTaskBar.getParent();
-            if (taskGroup != null) {
-                // Snap to grid
-                double snappedX = Math.round(taskGroup.getLayoutX() / dayWidth) * dayWidth;
-                taskGroup.setLayoutX(snappedX);
-                
-                double snappedWidth = Math.round(draggedTaskBar.getWidth() / dayWidth) * dayWidth;
-                draggedTaskBar.setWidth(Math.max(dayWidth, snappedWidth));
-                
-                // Update the StackPane width too
-                if (taskGroup instanceof StackPane) {
-                    ((StackPane)taskGroup).setPrefWidth(snappedWidth);
-                }
-                
-                // Save changes
-                updateTaskDates(draggedTaskBar);
-                saveTaskChanges(draggedTaskBar.task);
-                
-                // Refresh dependencies
-                if (showDependenciesCheckBox.isSelected()) {
-                    refreshDisplay();
-                }
-            }
+        if (draggedRow != null) {
+            // Snap to grid
+            draggedRow.startDay = Math.round(draggedRow.startDay);
+            draggedRow.durationDays = Math.max(1, Math.round(draggedRow.durationDays));
+            
+            // Save changes
+            updateTaskDates(draggedRow);
+            saveTaskChanges(draggedRow.task);
+            
+            // Refresh dependencies
+            dependencyPaths = null;
+            redrawChart();
         }
         
-        draggedTaskBar = null;
+        draggedRow = null;
         isDraggingStart = false;
         isDraggingEnd = false;
         event.consume();
     }
     
     private void handleMouseMoved(MouseEvent event) {
-        // Get mouse position in canvas coordinates
-        Point2D canvasPoint = ganttCanvas.sceneToLocal(event.getSceneX(), event.getSceneY());
-        boolean foundTask = false;
-        
-        // Check each task bar to see if mouse is over it
-        for (Map.Entry<Long, TaskBar> entry : taskBars.entrySet()) {
-            TaskBar taskBar = entry.getValue();
-            Node taskGroup = taskBar.getParent();
-            if (taskGroup == null) continue;
-            
-            double taskStartX = taskGroup.getLayoutX();
-            double taskEndX = taskStartX + taskBar.getWidth();
-            double taskTopY = taskGroup.getLayoutY();
-            double taskBottomY = taskTopY + taskBar.getHeight();
-            
-            // Check if mouse is within this task bar's bounds
-            if (canvasPoint.getX() >= taskStartX - 10 && 
-                canvasPoint.getX() <= taskEndX + 10 &&
-                canvasPoint.getY() >= taskTopY && 
-                canvasPoint.getY() <= taskBottomY) {
-                
-                foundTask = true;
-                
-                // Check if near edges
-                if (Math.abs(canvasPoint.getX() - taskStartX) < 10) {
-                    ganttCanvas.setCursor(javafx.scene.Cursor.H_RESIZE);
-                } else if (Math.abs(canvasPoint.getX() - taskEndX) < 10) {
-                    ganttCanvas.setCursor(javafx.scene.Cursor.H_RESIZE);
-                } else {
-                    ganttCanvas.setCursor(javafx.scene.Cursor.MOVE);
-                }
-                break;
+        TaskRow taskRow = findTaskRowAt(event.getX(), event.getY());
+        
+        if (taskRow == null) {
+            ganttSurface.setCursor(javafx.scene.Cursor.DEFAULT);
+            hideHoverTooltip();
+            return;
+        }
+        
+        // Check if near edges
+        if (taskRow.hasBar()) {
+            double taskStartX = taskRow.getX();
+            double taskEndX = taskStartX + taskRow.getWidth();
+            if (Math.abs(event.getX() - taskStartX) < 10 || Math.abs(event.getX() - taskEndX) < 10) {
+                ganttSurface.setCursor(javafx.scene.Cursor.H_RESIZE);
+            } else {
+                ganttSurface.setCursor(javafx.scene.Cursor.MOVE);
             }
+        } else {
+            ganttSurface.setCursor(javafx.scene.Cursor.DEFAULT);
         }
         
-        if (!foundTask) {
-            ganttCanvas.setCursor(javafx.scene.Cursor.DEFAULT);
+        // One shared tooltip follows the hovered task
+        if (taskRow != hoveredRow) {
+            hoveredRow = taskRow;
+            hoverTooltip.setText(getTooltipText(taskRow));
         }
+        hoverTooltip.show(ganttSurface, event.getScreenX() + 12, event.getScreenY() + 12);
     }
     
-    private void updateTaskDates(TaskBar taskBar) {
-        Node taskGroup = taskBar.getParent();
-        if (taskGroup == null) return;
+    private void handleContextMenuRequested(ContextMenuEvent event) {
+        TaskRow taskRow = findTaskRowAt(event.getX(), event.getY());
+        if (taskRow != null && taskRow.hasBar()) {
+            hideHoverTooltip();
+            showDependencyContextMenu(taskRow.task, event.getScreenX(), event.getScreenY());
+            event.consume();
+        }
+    }
+    
+    /**
+     * Hit-tests chart coordinates against the bar or milestone of the row under them.
+     */
+    private TaskRow findTaskRowAt(double x, double y) {
+        int row = (int) Math.floor(y / taskHeight);
+        if (row < 0 || row >= taskRows.size()) {
+            return null;
+        }
         
-        long startDay = Math.round(taskGroup.getLayoutX() / dayWidth);
-        long duration = Math.round(taskBar.getWidth() / dayWidth);
+        TaskRow taskRow = taskRows.get(row);
+        if (taskRow.hasBar()) {
+            double taskTopY = taskRow.getY();
+            if (x >= taskRow.getX() - 10 && x <= taskRow.getX() + taskRow.getWidth() + 10 &&
+                y >= taskTopY && y <= taskTopY + taskRow.getHeight()) {
+                return taskRow;
+            }
+        } else if (taskRow.milestone) {
+            double dx = Math.abs(x - taskRow.getMilestoneCenterX());
+            double dy = Math.abs(y - taskRow.getMilestoneCenterY());
+            if (dx + dy <= 8) {
+                return taskRow;
+            }
+        }
+        return null;
+    }
+    
+    private String getTooltipText(TaskRow taskRow) {
+        Task task = taskRow.task;
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy");
+        if (taskRow.milestone) {
+            return String.format("%s\n%s\nMilestone",
+                task.getTitle(),
+                task.getPlannedStart().format(formatter));
+        }
+        
+        // Enhanced tooltip with resource info
+        int progress = task.getProgressPercentage() != null ? task.getProgressPercentage() : 0;
+        String assignedTo = task.getAssignedToName() != null ? task.getAssignedToName() : "Unassigned";
+        return String.format("%s\n%s to %s\nAssigned to: %s\nProgress: %d%%\nStatus: %s",
+            task.getTitle(),
+            task.getPlannedStart().format(formatter),
+            task.getPlannedEnd().format(formatter),
+            assignedTo,
+            progress,
+            task.getStatus() != null ? task.getStatus() : "Not Set");
+    }
+    
+    private void hideHoverTooltip() {
+        hoveredRow = null;
+        hoverTooltip.hide();
+    }
+    
+    private void updateTaskDates(TaskRow taskRow) {
+        long startDay = Math.round(taskRow.startDay);
+        long duration = Math.round(taskRow.durationDays);
         
         LocalDate newStart = viewStartDate.plusDays(startDay);
         LocalDate newEnd = newStart.plusDays(duration - 1);
         
-        taskBar.task.setPlannedStart(newStart);
-        taskBar.task.setPlannedEnd(newEnd);
+        taskRow.task.setPlannedStart(newStart);
+        taskRow.task.setPlannedEnd(newEnd);
     }
     
     private void saveTaskChanges(Task task) {
@@ -1407,7 +1408,7 @@ public class GanttChartView {
         });
     }
     
-    private void setupDependencyContextMenu(TaskBar taskBar, Task task) {
+    private void showDependencyContextMenu(Task task, double screenX, double screenY) {
         ContextMenu contextMenu = new ContextMenu();
         
         MenuItem createDependency = new MenuItem("Create Dependency From This Task...");
@@ -1430,10 +1431,7 @@ public class GanttChartView {
             removeDependencies
         );
         
-        taskBar.setOnContextMenuRequested(e -> {
-            contextMenu.show(taskBar, e.getScreenX(), e.getScreenY());
-            e.consume();
-        });
+        contextMenu.show(ganttSurface, screenX, screenY);
     }
     
     private void showCreateDependencyDialog() {
@@ -1762,52 +1760,72 @@ public class GanttChartView {
         });
     }
     
-    // Inner class for task bars
-    private class TaskBar extends Rectangle {
+    // Layout of one chart row, in days so it is independent of the zoom level
+    private class TaskRow {
         private final Task task;
+        private final int row;
+        private double startDay;
+        private double durationDays;
+        private boolean milestone;
         
-        public TaskBar(Task task, double x, double y, double width, double height) {
-            super(x, y, width, height);
+        public TaskRow(Task task, int row) {
             this.task = task;
-            setLayoutX(x);
-            setLayoutY(y);
-            setWidth(width);
-            setHeight(height);
-            setArcWidth(5);
-            setArcHeight(5);
-            setStroke(Color.DARKGRAY);
-            setStrokeWidth(0.5);
+            this.row = row;
         }
-    }
-    
-    public void show() {
-        stage.show();
-    }
-    
-    private Node createResourceBadge(String resourceName) {
-        // Create a container for the resource badge
-        StackPane badge = new StackPane();
-        badge.setAlignment(Pos.CENTER);
         
-        // Create initials from resource name
-        String initials = getInitials(resourceName);
+        public boolean hasBar() {
+            return !milestone && durationDays > 0;
+        }
+        
+        public double getX() {
+            return startDay * dayWidth;
+        }
         
-        // Create a circle background for the initials
-        Circle circle = new Circle(8);
-        circle.setFill(Color.web("#495057"));  // Dark gray for better visibility
-        circle.setStroke(Color.WHITE);
-        circle.setStrokeWidth(1.5);
+        public double getY() {
+            return row * taskHeight + 10;
+        }
         
-        Text initialsText = new Text(initials);
-        initialsText.setFill(Color.WHITE);
-        initialsText.setFont(Font.font("System", FontWeight.BOLD, 8));
+        public double getWidth() {
+            return durationDays * dayWidth;
+        }
         
-        badge.getChildren().addAll(circle, initialsText);
+        public double getHeight() {
+            return taskHeight - 20;
+        }
         
-        // Add tooltip with full resource name
-        Tooltip.install(badge, new Tooltip(resourceName));
+        public double getMilestoneCenterX() {
+            return startDay * dayWidth + dayWidth / 2;
+        }
         
-        return badge;
+        public double getMilestoneCenterY() {
+            return row * taskHeight + taskHeight / 2;
+        }
+    }
+    
+    // Dependency arrow from one anchor to another, x in days from the view start
+    private record DependencyPath(double fromDay, int fromRow, double toDay, int toRow) {
+    }
+    
+    public void show() {
+        stage.show();
+    }
+    
+    private void drawResourceBadge(GraphicsContext gc, String resourceName, double centerX, double centerY) {
+        // Circle background for the initials, dark gray for better visibility
+        gc.setFill(Color.web("#495057"));
+        gc.fillOval(centerX - 8, centerY - 8, 16, 16);
+        gc.setStroke(Color.WHITE);
+        gc.setLineWidth(1.5);
+        gc.strokeOval(centerX - 8, centerY - 8, 16, 16);
+        
+        // Initials from resource name
+        gc.setFill(Color.WHITE);
+        gc.setFont(Font.font("System", FontWeight.BOLD, 8));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(getInitials(resourceName), centerX, centerY);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.BASELINE);
     }
     
     private String getInitials(String name) {
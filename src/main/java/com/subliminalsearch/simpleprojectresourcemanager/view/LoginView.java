@@ -16,6 +16,7 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 import com.subliminalsearch.simpleprojectresourcemanager.model.User;
+import com.subliminalsearch.simpleprojectresourcemanager.service.BackgroundTasks;
 import com.subliminalsearch.simpleprojectresourcemanager.service.LDAPService;
 import com.subliminalsearch.simpleprojectresourcemanager.service.SessionManager;
 
@@ -224,7 +225,7 @@ public class LoginView {
         errorLabel.setVisible(false);
         
         // Perform authentication in background thread
-        new Thread(() -> {
+        BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "ldap-login", () -> {
             try {
                 // Authenticate with LDAP
                 User user = ldapService.authenticate(username, password);
@@ -283,7 +284,7 @@ public class LoginView {
                     e.printStackTrace();
                 });
             }
-        }).start();
+        });
     }
     
     private void showError(String message) {
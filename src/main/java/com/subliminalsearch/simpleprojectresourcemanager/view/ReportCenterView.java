@@ -1,5 +1,6 @@
 package com.subliminalsearch.simpleprojectresourcemanager.view;
 
+import com.subliminalsearch.simpleprojectresourcemanager.component.PdfPagePreview;
 import com.subliminalsearch.simpleprojectresourcemanager.model.*;
 import com.subliminalsearch.simpleprojectresourcemanager.service.*;
 import com.subliminalsearch.simpleprojectresourcemanager.util.DialogUtils;
@@ -11,27 +12,22 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReportCenterView extends Stage {
     private static final Logger logger = LoggerFactory.getLogger(ReportCenterView.class);
@@ -53,6 +49,9 @@ public class ReportCenterView extends Stage {
     private CompletionAnalyticsService completionAnalyticsService;
     
     // Current report data
+    private final ReportCache reportCache = ReportCache.getInstance();
+    private ReportCache.Entry currentReport;
+    private final Map<VBox, PdfPagePreview> previews = new HashMap<>();
     private File currentReportFile;
     private ReportType currentReportType;
     
@@ -143,6 +142,16 @@ public class ReportCenterView extends Stage {
         Scene scene = new Scene(root, 1600, 900);
         setScene(scene);
         
+        // Close the documents held open by the page previews and let the cache delete them
+        setOnHidden(e -> {
+            previews.values().forEach(PdfPagePreview::dispose);
+            if (currentReport != null) {
+                currentReport.release();
+                currentReport = null;
+                currentReportFile = null;
+            }
+        });
+        
         // Set stage size constraints
         setMinWidth(1400);
         setMinHeight(800);
@@ -649,23 +658,17 @@ public class ReportCenterView extends Stage {
         progressBar.setVisible(true);
         progressBar.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
-                // Generate PDF report
-                currentReportFile = clientReportService.generateProjectReport(project);
-                currentReportType = ReportType.CLIENT_PROJECT;
-                
-                // Convert first page to image for preview
-                return convertPdfPageToImage(currentReportFile, 0);
+            protected ReportCache.Entry fetch() throws Exception {
+                // Reuses the PDF generated last time unless the data has changed
+                return reportCache.get(ReportType.CLIENT_PROJECT.name(), reportParameters(project.getId()),
+                    () -> clientReportService.generateProjectReport(project));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, project.getProjectId() + " Report Preview");
-            }
+            displayPreview(task.getValue(), ReportType.CLIENT_PROJECT, container, project.getProjectId() + " Report Preview");
             progressBar.setVisible(false);
             statusLabel.setText("Preview generated successfully");
         });
@@ -676,7 +679,8 @@ public class ReportCenterView extends Stage {
             statusLabel.setText("Preview generation failed");
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.CLIENT_PROJECT, task);
     }
     
     private void generateResourceUtilizationPreview(boolean includeCharts, boolean showDetails, VBox container) {
@@ -685,24 +689,20 @@ public class ReportCenterView extends Stage {
         statusLabel.setText("Generating resource utilization preview...");
         progressBar.setVisible(true);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
+            protected ReportCache.Entry fetch() throws Exception {
                 // Generate report
-                currentReportFile = resourceReportService.generateReport(includeCharts, showDetails);
-                currentReportType = ReportType.RESOURCE_UTILIZATION;
-                
-                return convertPdfPageToImage(currentReportFile, 0);
+                return reportCache.get(ReportType.RESOURCE_UTILIZATION.name(), reportParameters(includeCharts, showDetails),
+                    () -> resourceReportService.generateReport(includeCharts, showDetails));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, "Resource Utilization Preview");
-            }
+            displayPreview(task.getValue(), ReportType.RESOURCE_UTILIZATION, container, "Resource Utilization Preview");
             progressBar.setVisible(false);
-            statusLabel.setText("Preview generated successfully");
+            statusLabel.setText(currentReport.getHits() > 0 ? "Preview loaded from cache"
+                : "Preview generated successfully (" + resourceReportService.getLastMetrics().getSummary() + ")");
         });
         
         task.setOnFailed(e -> {
@@ -710,7 +710,8 @@ public class ReportCenterView extends Stage {
             progressBar.setVisible(false);
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.RESOURCE_UTILIZATION, task);
     }
     
     private void generatePipelinePreview(String period, boolean includeProposed, VBox container) {
@@ -718,20 +719,16 @@ public class ReportCenterView extends Stage {
         statusLabel.setText("Generating pipeline forecast preview...");
         progressBar.setVisible(true);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
-                currentReportFile = pipelineReportService.generateReport(period, includeProposed);
-                currentReportType = ReportType.PROJECT_PIPELINE;
-                return convertPdfPageToImage(currentReportFile, 0);
+            protected ReportCache.Entry fetch() throws Exception {
+                return reportCache.get(ReportType.PROJECT_PIPELINE.name(), reportParameters(period, includeProposed),
+                    () -> pipelineReportService.generateReport(period, includeProposed));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, "Project Pipeline Preview");
-            }
+            displayPreview(task.getValue(), ReportType.PROJECT_PIPELINE, container, "Project Pipeline Preview");
             progressBar.setVisible(false);
             statusLabel.setText("Preview generated successfully");
         });
@@ -743,7 +740,8 @@ public class ReportCenterView extends Stage {
             progressBar.setVisible(false);
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.PROJECT_PIPELINE, task);
     }
     
     private void generateRevenuePreview(VBox container) {
@@ -751,25 +749,22 @@ public class ReportCenterView extends Stage {
         statusLabel.setText("Generating revenue report preview...");
         progressBar.setVisible(true);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
+            protected ReportCache.Entry fetch() throws Exception {
                 // Use the date range from the date pickers
                 LocalDate start = startDatePicker.getValue();
                 LocalDate end = endDatePicker.getValue();
-                currentReportFile = revenueReportService.generateReport(start, end);
-                currentReportType = ReportType.REVENUE_BUDGET;
-                return convertPdfPageToImage(currentReportFile, 0);
+                return reportCache.get(ReportType.REVENUE_BUDGET.name(), reportParameters(start, end),
+                    () -> revenueReportService.generateReport(start, end));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, "Revenue & Budget Preview");
-            }
+            displayPreview(task.getValue(), ReportType.REVENUE_BUDGET, container, "Revenue & Budget Preview");
             progressBar.setVisible(false);
-            statusLabel.setText("Preview generated successfully");
+            statusLabel.setText(currentReport.getHits() > 0 ? "Preview loaded from cache"
+                : "Preview generated successfully (" + revenueReportService.getLastMetrics().getSummary() + ")");
         });
         
         task.setOnFailed(e -> {
@@ -779,7 +774,8 @@ public class ReportCenterView extends Stage {
             progressBar.setVisible(false);
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.REVENUE_BUDGET, task);
     }
     
     private void generateGeographicPreview(boolean showHeatMap, boolean showTravel, VBox container) {
@@ -787,20 +783,16 @@ public class ReportCenterView extends Stage {
         statusLabel.setText("Generating geographic distribution preview...");
         progressBar.setVisible(true);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
-                currentReportFile = geographicReportService.generateReport(showHeatMap, showTravel);
-                currentReportType = ReportType.GEOGRAPHIC_DISTRIBUTION;
-                return convertPdfPageToImage(currentReportFile, 0);
+            protected ReportCache.Entry fetch() throws Exception {
+                return reportCache.get(ReportType.GEOGRAPHIC_DISTRIBUTION.name(), reportParameters(showHeatMap, showTravel),
+                    () -> geographicReportService.generateReport(showHeatMap, showTravel));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, "Geographic Distribution Preview");
-            }
+            displayPreview(task.getValue(), ReportType.GEOGRAPHIC_DISTRIBUTION, container, "Geographic Distribution Preview");
             progressBar.setVisible(false);
             statusLabel.setText("Preview generated successfully");
         });
@@ -812,7 +804,8 @@ public class ReportCenterView extends Stage {
             progressBar.setVisible(false);
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.GEOGRAPHIC_DISTRIBUTION, task);
     }
     
     private void generateAnalyticsPreview(String period, VBox container) {
@@ -820,20 +813,16 @@ public class ReportCenterView extends Stage {
         statusLabel.setText("Generating analytics preview...");
         progressBar.setVisible(true);
         
-        Task<Image> task = new Task<Image>() {
+        ReportTask task = new ReportTask() {
             @Override
-            protected Image call() throws Exception {
-                currentReportFile = completionAnalyticsService.generateReport(period);
-                currentReportType = ReportType.COMPLETION_ANALYTICS;
-                return convertPdfPageToImage(currentReportFile, 0);
+            protected ReportCache.Entry fetch() throws Exception {
+                return reportCache.get(ReportType.COMPLETION_ANALYTICS.name(), reportParameters(period),
+                    () -> completionAnalyticsService.generateReport(period));
             }
         };
         
         task.setOnSucceeded(e -> {
-            Image preview = task.getValue();
-            if (preview != null) {
-                displayPreview(preview, container, "Completion Analytics Preview");
-            }
+            displayPreview(task.getValue(), ReportType.COMPLETION_ANALYTICS, container, "Completion Analytics Preview");
             progressBar.setVisible(false);
             statusLabel.setText("Preview generated successfully");
         });
@@ -845,7 +834,8 @@ public class ReportCenterView extends Stage {
             progressBar.setVisible(false);
         });
         
-        new Thread(task).start();
+        // A newer request for the same report supersedes one still generating
+        BackgroundTasks.getInstance().runLatest(BackgroundTasks.Pool.IO, "report-preview-" + ReportType.COMPLETION_ANALYTICS, task);
     }
     
     private void preloadProjectReports(Project project) {
@@ -915,64 +905,101 @@ public class ReportCenterView extends Stage {
         }
     }
     
-    private void displayPreview(Image image, VBox container, String title) {
-        displayMultiPagePreview(currentReportFile, container, title, 0);
+    /**
+     * Cache key parameters of a report: the given ones plus today's date, since the reports work
+     * out their periods from the current date ("last month", "this quarter") and print it.
+     */
+    private static List<Object> reportParameters(Object... parameters) {
+        List<Object> key = new ArrayList<>(Arrays.asList(parameters));
+        key.add(LocalDate.now());
+        return key;
     }
     
-    private void displayMultiPagePreview(File pdfFile, VBox container, String title, int currentPage) {
-        if (pdfFile == null) return;
-        
-        try {
-            // Get total page count
-            int totalPages;
-            try (PDDocument doc = org.apache.pdfbox.Loader.loadPDF(pdfFile)) {
-                totalPages = doc.getNumberOfPages();
+    /**
+     * Looks a report up in the cache. The entry it produces carries the cache's pin, which
+     * onSucceeded takes over; a task superseded or cancelled meanwhile releases it instead.
+     */
+    private abstract static class ReportTask extends Task<ReportCache.Entry> {
+        private ReportCache.Entry fetched;
+        private boolean abandoned;
+
+        protected abstract ReportCache.Entry fetch() throws Exception;
+
+        @Override
+        protected ReportCache.Entry call() throws Exception {
+            ReportCache.Entry entry = fetch();
+            synchronized (this) {
+                if (!abandoned) {
+                    fetched = entry;
+                    return entry;
+                }
+            }
+            entry.release();
+            return null;
+        }
+
+        @Override
+        protected void cancelled() {
+            ReportCache.Entry entry;
+            synchronized (this) {
+                abandoned = true;
+                entry = fetched;
+                fetched = null;
+            }
+            if (entry != null) {
+                entry.release();
             }
-            
-            // Render current page
-            Image pageImage = convertPdfPageToImage(pdfFile, currentPage);
-            
-            Label titleLabel = new Label(title);
-            titleLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-            
-            ImageView imageView = new ImageView(pageImage);
-            imageView.setPreserveRatio(true);
-            imageView.setFitWidth(800);
-            
-            // Add page navigation
-            HBox pageControls = new HBox(10);
-            pageControls.setAlignment(Pos.CENTER);
-            
-            Button prevButton = new Button("Previous Page");
-            prevButton.setDisable(currentPage == 0);
-            prevButton.setOnAction(e -> displayMultiPagePreview(pdfFile, container, title, currentPage - 1));
-            
-            Button nextButton = new Button("Next Page");
-            nextButton.setDisable(currentPage >= totalPages - 1);
-            nextButton.setOnAction(e -> displayMultiPagePreview(pdfFile, container, title, currentPage + 1));
-            
-            Label pageLabel = new Label(String.format("Page %d of %d", currentPage + 1, totalPages));
-            
-            pageControls.getChildren().addAll(prevButton, pageLabel, nextButton);
-            
-            container.getChildren().clear();
-            container.getChildren().addAll(titleLabel, pageControls, imageView);
-            
-        } catch (IOException e) {
-            logger.error("Failed to display preview page", e);
-            showError("Failed to display preview: " + e.getMessage());
         }
     }
     
-    private Image convertPdfPageToImage(File pdfFile, int pageNumber) throws IOException {
-        try (PDDocument document = org.apache.pdfbox.Loader.loadPDF(pdfFile)) {
-            PDFRenderer renderer = new PDFRenderer(document);
-            BufferedImage bufferedImage = renderer.renderImageWithDPI(pageNumber, 150);
-            
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(bufferedImage, "png", baos);
-            return new Image(new ByteArrayInputStream(baos.toByteArray()));
+    private void displayPreview(ReportCache.Entry report, ReportType type, VBox container, String title) {
+        // Takes over the pin from the cache while it is the report offered for Save As and Email
+        if (currentReport != null) {
+            currentReport.release();
+        }
+        currentReport = report;
+        currentReportFile = report.getFile();
+        currentReportType = type;
+        displayMultiPagePreview(report, container, title);
+    }
+    
+    private void displayMultiPagePreview(ReportCache.Entry report, VBox container, String title) {
+        // Pages render lazily as they scroll into view; the previous preview's document is closed
+        PdfPagePreview preview = new PdfPagePreview(report);
+        preview.setPrefViewportHeight(700);
+        PdfPagePreview previous = previews.put(container, preview);
+        if (previous != null) {
+            previous.dispose();
         }
+        
+        Label titleLabel = new Label(title);
+        titleLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        
+        // Add page navigation
+        HBox pageControls = new HBox(10);
+        pageControls.setAlignment(Pos.CENTER);
+        
+        int totalPages = preview.getPageCount();
+        Button prevButton = new Button("Previous Page");
+        prevButton.setOnAction(e -> preview.showPage(preview.currentPageProperty().get() - 1));
+        
+        Button nextButton = new Button("Next Page");
+        nextButton.setOnAction(e -> preview.showPage(preview.currentPageProperty().get() + 1));
+        
+        Label pageLabel = new Label();
+        Runnable updatePageControls = () -> {
+            int currentPage = preview.currentPageProperty().get();
+            prevButton.setDisable(currentPage == 0);
+            nextButton.setDisable(currentPage >= totalPages - 1);
+            pageLabel.setText(String.format("Page %d of %d", currentPage + 1, totalPages));
+        };
+        preview.currentPageProperty().addListener((obs, oldPage, newPage) -> updatePageControls.run());
+        updatePageControls.run();
+        
+        pageControls.getChildren().addAll(prevButton, pageLabel, nextButton);
+        
+        container.getChildren().clear();
+        container.getChildren().addAll(titleLabel, pageControls, preview);
     }
     
     private void saveCurrentReport() {
@@ -1023,38 +1050,54 @@ public class ReportCenterView extends Stage {
         dialog.setContentText("Email address:");
         
         dialog.showAndWait().ifPresent(email -> {
-            EmailService emailService = new EmailService(emailConfig);
+            EmailOutbox outbox = EmailOutbox.getInstance(schedulingService.getDataSource());
             
             statusLabel.setText("Sending email...");
             progressBar.setVisible(true);
             
-            Task<Boolean> emailTask = new Task<Boolean>() {
+            Task<EmailOutbox.OutboxMessage> emailTask = new Task<EmailOutbox.OutboxMessage>() {
                 @Override
-                protected Boolean call() throws Exception {
+                protected EmailOutbox.OutboxMessage call() throws Exception {
                     String subject = currentReportType + " - " + 
                                    LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"));
                     String body = "Please find attached the " + currentReportType + 
                                 " generated on " + LocalDate.now();
                     
-                    return emailService.sendEmail(email, subject, body, currentReportFile);
+                    EmailOutbox.EnqueueResult queued = outbox.enqueue(email, subject, body, currentReportFile);
+                    if (!queued.duplicate()) {
+                        // Give the dispatcher a moment, so a healthy server reports "sent" straight away
+                        try {
+                            outbox.requestDispatch().get(30, java.util.concurrent.TimeUnit.SECONDS);
+                        } catch (java.util.concurrent.TimeoutException ignored) {
+                            // Still sending; it stays queued
+                        }
+                    }
+                    return outbox.getMessage(queued.id()).orElse(null);
                 }
             };
             
             emailTask.setOnSucceeded(e -> {
-                if (emailTask.getValue()) {
+                EmailOutbox.OutboxMessage message = emailTask.getValue();
+                if (message == null) {
+                    statusLabel.setText("Email queued");
+                } else if (message.status() == EmailOutbox.Status.SENT) {
                     statusLabel.setText("Email sent successfully");
+                } else if (message.status() == EmailOutbox.Status.FAILED) {
+                    statusLabel.setText("Failed to send email: " + message.lastError());
+                } else if (message.attempts() > 0) {
+                    statusLabel.setText("Email queued; will retry (" + message.lastError() + ")");
                 } else {
-                    statusLabel.setText("Failed to send email");
+                    statusLabel.setText("Email queued for delivery");
                 }
                 progressBar.setVisible(false);
             });
-            
+
             emailTask.setOnFailed(e -> {
                 showError("Failed to send email: " + emailTask.getException().getMessage());
                 progressBar.setVisible(false);
             });
-            
-            new Thread(emailTask).start();
+
+            BackgroundTasks.getInstance().run(BackgroundTasks.Pool.IO, "report-email", emailTask);
         });
     }
     
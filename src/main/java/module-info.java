@@ -7,6 +7,7 @@ module com.subliminalsearch.simpleprojectresourcemanager {
     requires java.desktop;
     requires java.logging;
     requires java.prefs;
+    requires java.management;
     
     requires org.slf4j;
     requires ch.qos.logback.classic;
@@ -148,7 +148,40 @@ public class TimelineViewSimpleTest {
         assertEquals(2, grouped.get(1L).size());
         assertEquals(1, grouped.get(2L).size());
     }
-    
+
+    @Test
+    @DisplayName("Should abbreviate bar text for narrow bars")
+    void testAbbreviateForWidth() {
+        String full = "CH-PBLD-2025-093 @ Site A\nDescription";
+
+        assertEquals(full, TimelineView.abbreviateForWidth(full, "CH-PBLD-2025-093", 150));
+        assertEquals("CH-PBLD-2025-093", TimelineView.abbreviateForWidth(full, "CH-PBLD-2025-093", 100));
+        assertEquals("CH-PBLD-2025-093", TimelineView.abbreviateForWidth(full, "CH-PBLD-2025-093", 70));
+        assertEquals("CH-093", TimelineView.abbreviateForWidth(full, "CH-PBLD-2025-093", 30));
+    }
+
+    @Test
+    @DisplayName("Should copy assignment with new resource and dates")
+    void testCopyAssignment() {
+        Assignment original = createAssignment(1L, 5L,
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 1, 10));
+        original.setId(42L);
+        original.setLocation("Phase 2");
+        original.setNotes("Bring ladder");
+
+        Assignment copy = TimelineView.copyAssignment(original, 3L,
+            LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 15));
+
+        assertEquals(42L, copy.getId());
+        assertEquals(3L, copy.getResourceId());
+        assertEquals(5L, copy.getProjectId());
+        assertEquals(LocalDate.of(2025, 1, 6), copy.getStartDate());
+        assertEquals(LocalDate.of(2025, 1, 15), copy.getEndDate());
+        assertEquals("Phase 2", copy.getLocation());
+        assertEquals("Bring ladder", copy.getNotes());
+    }
+
     // Helper methods
     private boolean isValidDateRange(LocalDate start, LocalDate end) {
         return !start.isAfter(end);
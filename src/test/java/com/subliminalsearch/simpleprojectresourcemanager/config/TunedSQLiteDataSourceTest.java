@@ -0,0 +1,302 @@
+package com.subliminalsearch.simpleprojectresourcemanager.config;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the statement cache and writer gate of the tuned SQLite pool
+ */
+@DisplayName("Tuned SQLite Data Source Tests")
+public class TunedSQLiteDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TunedSQLiteDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + tempDir.resolve("test.db"));
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(4);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        dataSource = new TunedSQLiteDataSource(config);
+
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE counters (id INTEGER PRIMARY KEY, value INTEGER NOT NULL)");
+            stmt.executeUpdate("INSERT INTO counters (id, value) VALUES (1, 0)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should reuse prepared statements across borrows")
+    void testStatementCache() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT value FROM counters WHERE id = ?")) {
+                stmt.setLong(1, 1L);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(0, rs.getInt(1));
+                }
+            }
+        }
+
+        DatabaseMetrics metrics = dataSource.getMetrics();
+        assertTrue(metrics.statementCacheHits() >= 1);
+        assertEquals(5, metrics.statementCacheHits() + metrics.statementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Should hand out a separate statement when the same SQL is already open")
+    void testNestedSameSql() throws Exception {
+        String sql = "SELECT value FROM counters WHERE id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement outer = conn.prepareStatement(sql);
+             PreparedStatement inner = conn.prepareStatement(sql)) {
+            assertNotSame(outer, inner);
+            outer.setLong(1, 1L);
+            inner.setLong(1, 2L);
+            try (ResultSet rs = outer.executeQuery()) {
+                assertTrue(rs.next());
+            }
+            try (ResultSet rs = inner.executeQuery()) {
+                assertFalse(rs.next());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should serialize concurrent read-modify-write transactions")
+    void testConcurrentWriters() throws Exception {
+        int threads = 4;
+        int incrementsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    try (Connection conn = dataSource.getConnection()) {
+                        conn.setAutoCommit(false);
+                        int value;
+                        try (PreparedStatement read = conn.prepareStatement("SELECT value FROM counters WHERE id = 1");
+                             ResultSet rs = read.executeQuery()) {
+                            rs.next();
+                            value = rs.getInt(1);
+                        }
+                        try (PreparedStatement write = conn.prepareStatement("UPDATE counters SET value = ? WHERE id = 1")) {
+                            write.setInt(1, value + 1);
+                            write.executeUpdate();
+                        }
+                        conn.commit();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT value FROM counters WHERE id = 1")) {
+            rs.next();
+            assertEquals(threads * incrementsPerThread, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should classify write statements")
+    void testIsWriteSql() {
+        assertTrue(TunedSQLiteDataSource.isWriteSql("  INSERT INTO counters VALUES (2, 0)"));
+        assertTrue(TunedSQLiteDataSource.isWriteSql("update counters set value = 1"));
+        assertTrue(TunedSQLiteDataSource.isWriteSql("\n DELETE FROM counters"));
+        assertFalse(TunedSQLiteDataSource.isWriteSql("SELECT * FROM counters"));
+        assertFalse(TunedSQLiteDataSource.isWriteSql("PRAGMA journal_mode"));
+    }
+
+    @Test
+    @DisplayName("Should recognise writes behind comments and WITH clauses")
+    void testIsWriteSqlWithCommentsAndCte() {
+        assertTrue(TunedSQLiteDataSource.isWriteSql("-- bump the counter\nUPDATE counters SET value = 1"));
+        assertTrue(TunedSQLiteDataSource.isWriteSql("/* import */ INSERT INTO counters VALUES (3, 0)"));
+        assertTrue(TunedSQLiteDataSource.isWriteSql(
+            "WITH stale AS (SELECT id FROM counters WHERE value = 0) DELETE FROM counters WHERE id IN (SELECT id FROM stale)"));
+        assertTrue(TunedSQLiteDataSource.isWriteSql("PRAGMA user_version = 3"));
+        assertFalse(TunedSQLiteDataSource.isWriteSql("WITH t AS (SELECT 'DELETE' AS word) SELECT word FROM t"));
+        assertFalse(TunedSQLiteDataSource.isWriteSql("/* UPDATE */ SELECT value FROM counters -- DELETE"));
+        assertFalse(TunedSQLiteDataSource.isWriteSql("PRAGMA table_info(counters)"));
+    }
+
+    @Test
+    @DisplayName("Should report writes the SQL check cannot see when run through executeUpdate")
+    void testExecuteUpdateBumpsDataVersion() throws Exception {
+        long before = DataVersion.current();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "WITH one AS (SELECT 1) UPDATE counters SET value = value + 1 WHERE id = 1")) {
+            stmt.executeUpdate();
+            // Seen as soon as the statement finishes, not when the connection is closed
+            assertTrue(DataVersion.current() > before);
+        }
+    }
+
+    @Test
+    @DisplayName("Should tell which table a write changes")
+    void testWrittenTable() {
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable("INSERT INTO counters VALUES (2, 0)"));
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable("insert or replace into \"Counters\" VALUES (2, 0)"));
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable("UPDATE OR IGNORE main.counters SET value = 1"));
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable("/* purge */ DELETE FROM [counters] WHERE id = 1"));
+        assertNull(TunedSQLiteDataSource.writtenTable("WITH one AS (SELECT 1) DELETE FROM counters"));
+        assertNull(TunedSQLiteDataSource.writtenTable("CREATE TABLE other (id INTEGER)"));
+    }
+
+    @Test
+    @DisplayName("Should recognise REPLACE statements, upserts and inserts behind WITH clauses")
+    void testReplaceUpsertAndCte() {
+        String replace = "REPLACE INTO counters (id, value) VALUES (1, 7)";
+        String upsert = "INSERT INTO counters (id, value) VALUES (1, 7) ON CONFLICT(id) DO UPDATE SET value = excluded.value";
+        String cteInsert = "WITH next AS (SELECT MAX(id) + 1 AS id FROM counters) INSERT INTO counters SELECT id, 0 FROM next";
+        for (String sql : List.of(replace, upsert, cteInsert)) {
+            assertTrue(TunedSQLiteDataSource.isWriteSql(sql), sql);
+            assertEquals(0, TunedSQLiteDataSource.transactionChange(sql), sql);
+        }
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable(replace));
+        assertEquals("counters", TunedSQLiteDataSource.writtenTable(upsert));
+        // Not named up front, so counted against every table
+        assertNull(TunedSQLiteDataSource.writtenTable(cteInsert));
+    }
+
+    @Test
+    @DisplayName("Should follow transactions opened and ended in SQL one level deep")
+    void testTransactionChange() {
+        assertEquals(1, TunedSQLiteDataSource.transactionChange("BEGIN IMMEDIATE"));
+        assertEquals(1, TunedSQLiteDataSource.transactionChange("SAVEPOINT import"));
+        assertEquals(-1, TunedSQLiteDataSource.transactionChange("COMMIT"));
+        assertEquals(-1, TunedSQLiteDataSource.transactionChange("end transaction"));
+        assertEquals(-1, TunedSQLiteDataSource.transactionChange("/* undo */ ROLLBACK"));
+        assertEquals(0, TunedSQLiteDataSource.transactionChange("ROLLBACK TO import"));
+        assertEquals(0, TunedSQLiteDataSource.transactionChange("RELEASE import"));
+    }
+
+    @Test
+    @DisplayName("Should count REPLACE, upsert and WITH writes run through the pool")
+    void testReplaceUpsertAndCteDataVersion() throws Exception {
+        List<String> counters = List.of("counters");
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            long before = DataVersion.current(counters);
+            stmt.execute("REPLACE INTO counters (id, value) VALUES (1, 7)");
+            assertEquals(before + 1, DataVersion.current(counters));
+            stmt.execute("INSERT INTO counters (id, value) VALUES (1, 8) ON CONFLICT(id) DO UPDATE SET value = excluded.value");
+            assertEquals(before + 2, DataVersion.current(counters));
+            stmt.execute("WITH next AS (SELECT MAX(id) + 1 AS id FROM counters) INSERT INTO counters SELECT id, 0 FROM next");
+            assertEquals(before + 3, DataVersion.current(counters));
+
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*), SUM(value) FROM counters")) {
+                rs.next();
+                assertEquals(2, rs.getInt(1));
+                assertEquals(8, rs.getInt(2));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a second writing connection on the thread holding the writer gate")
+    void testSecondWriterOnSameThreadFails() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE counters SET value = 5 WHERE id = 1")) {
+                stmt.executeUpdate();
+            }
+
+            long start = System.nanoTime();
+            try (Connection second = dataSource.getConnection();
+                 PreparedStatement stmt = second.prepareStatement("UPDATE counters SET value = 6 WHERE id = 1")) {
+                SQLException error = assertThrows(SQLException.class, stmt::executeUpdate);
+                assertTrue(error.getMessage().contains("already holds the database writer"), error.getMessage());
+                // Reading on the second connection is still fine
+                try (ResultSet rs = second.createStatement().executeQuery("SELECT value FROM counters WHERE id = 1")) {
+                    assertTrue(rs.next());
+                }
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000, "Should fail without waiting");
+            conn.commit();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a committed transaction once against each table it wrote")
+    void testDataVersionPerTable() throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE others (id INTEGER PRIMARY KEY)");
+        }
+        List<String> counters = List.of("counters");
+        List<String> others = List.of("others");
+        long countersBefore = DataVersion.current(counters);
+        long othersBefore = DataVersion.current(others);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE counters SET value = value + 1 WHERE id = ?")) {
+                stmt.setLong(1, 1L);
+                stmt.executeUpdate();
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        }
+
+        assertEquals(countersBefore + 1, DataVersion.current(counters));
+        assertEquals(othersBefore, DataVersion.current(others));
+    }
+
+    @Test
+    @DisplayName("Should release the writer gate at commit while the connection stays open")
+    void testGateReleasedOnCommit() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE counters SET value = 5 WHERE id = 1")) {
+                stmt.executeUpdate();
+            }
+            conn.commit();
+
+            Future<?> otherWriter = executor.submit(() -> {
+                try (Connection other = dataSource.getConnection();
+                     PreparedStatement stmt = other.prepareStatement("UPDATE counters SET value = 6 WHERE id = 1")) {
+                    stmt.executeUpdate();
+                }
+                return null;
+            });
+            otherWriter.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.subliminalsearch.simpleprojectresourcemanager.repository;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.model.ProjectManager;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Resource;
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the read-through caches behind the resource and project manager repositories
+ */
+@DisplayName("Entity Cache Tests")
+public class EntityCacheTest {
+
+    private DatabaseConfig databaseConfig;
+    private ResourceRepository resourceRepository;
+    private Path testDbPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDbPath = Files.createTempDirectory("test-entity-cache-db");
+        databaseConfig = new DatabaseConfig(testDbPath.toString() + "/");
+        resourceRepository = new ResourceRepository(databaseConfig.getDataSource());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        databaseConfig.shutdown();
+        Files.deleteIfExists(Paths.get(testDbPath.toString(), "scheduler.db"));
+        Files.deleteIfExists(testDbPath);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups from one load and reload after a write")
+    void testHitsAndInvalidation() {
+        Resource saved = resourceRepository.save(new Resource("Cache Tech", "cache.tech@example.com", null));
+        long loadsBefore = resourceRepository.getCacheStatistics().loads();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(resourceRepository.findById(saved.getId()).isPresent());
+            assertEquals(saved.getId(), resourceRepository.findByEmail("cache.tech@example.com").orElseThrow().getId());
+        }
+        assertEquals(loadsBefore + 1, resourceRepository.getCacheStatistics().loads());
+        assertTrue(resourceRepository.getCacheStatistics().hits() >= 19);
+
+        resourceRepository.delete(saved.getId());
+
+        assertFalse(resourceRepository.existsById(saved.getId()));
+        assertTrue(resourceRepository.findByEmail("cache.tech@example.com").isEmpty());
+        assertEquals(loadsBefore + 2, resourceRepository.getCacheStatistics().loads());
+    }
+
+    @Test
+    @DisplayName("Should reload after a write the repositories did not make")
+    void testReloadsAfterOutsideWrite() throws SQLException {
+        Resource saved = resourceRepository.save(new Resource("Outside Tech", "outside.tech@example.com", null));
+        assertEquals("Outside Tech", resourceRepository.findById(saved.getId()).orElseThrow().getName());
+        long loadsBefore = resourceRepository.getCacheStatistics().loads();
+
+        // A view with a DatabaseConfig of its own, writing raw SQL
+        DatabaseConfig viewConfig = new DatabaseConfig(testDbPath.toString() + "/");
+        try (Connection conn = viewConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("UPDATE resources SET name = ? WHERE id = ?")) {
+            stmt.setString(1, "Renamed Tech");
+            stmt.setLong(2, saved.getId());
+            stmt.executeUpdate();
+        } finally {
+            viewConfig.shutdown();
+        }
+
+        assertEquals("Renamed Tech", resourceRepository.findById(saved.getId()).orElseThrow().getName());
+        assertEquals(loadsBefore + 1, resourceRepository.getCacheStatistics().loads());
+        // Writes to tables the cache is not read from leave it alone
+        try (Connection conn = databaseConfig.getDataSource().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE projects SET description = description");
+        }
+        resourceRepository.findById(saved.getId());
+        assertEquals(loadsBefore + 1, resourceRepository.getCacheStatistics().loads());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies and share the cache between repository instances")
+    void testCopiesAndSharing() {
+        ProjectManagerRepository managers = new ProjectManagerRepository(databaseConfig.getDataSource());
+        ProjectManager created = managers.create(new ProjectManager("Cache Manager", "pm@example.com", null, "Ops"));
+
+        ProjectManager first = managers.findByName("Cache Manager").orElseThrow();
+        first.setDepartment("Edited but not saved");
+        assertEquals("Ops", managers.findById(created.getId()).orElseThrow().getDepartment());
+
+        ProjectManagerRepository other = new ProjectManagerRepository(databaseConfig.getDataSource());
+        first.setDepartment("Saved elsewhere");
+        other.update(first);
+
+        assertEquals("Saved elsewhere", managers.findById(created.getId()).orElseThrow().getDepartment());
+    }
+}
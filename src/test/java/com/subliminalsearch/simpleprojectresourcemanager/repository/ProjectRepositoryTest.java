@@ -170,4 +170,23 @@ class ProjectRepositoryTest {
                 LocalDate.of(2025, 8, 5), LocalDate.of(2025, 8, 15)));
         assertEquals(2, projectRepository.count());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGiveEachBatchInsertedProjectItsOwnId() {
+        // Leave a gap below the batch
+        Project first = projectRepository.save(new Project("PROJ-014", "Deleted",
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 10)));
+        projectRepository.delete(first.getId());
+
+        List<Project> batch = List.of(
+                new Project("PROJ-015", "Batch 1", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 10)),
+                new Project("PROJ-016", "Batch 2", LocalDate.of(2025, 8, 5), LocalDate.of(2025, 8, 15)),
+                new Project("PROJ-017", "Batch 3", LocalDate.of(2025, 8, 10), LocalDate.of(2025, 8, 20)));
+        projectRepository.saveAll(batch);
+
+        for (Project saved : batch) {
+            Project stored = projectRepository.findById(saved.getId()).orElseThrow();
+            assertEquals(saved.getProjectId(), stored.getProjectId());
+        }
+    }
+}
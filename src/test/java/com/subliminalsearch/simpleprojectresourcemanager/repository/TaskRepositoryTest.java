@@ -0,0 +1,129 @@
+package com.subliminalsearch.simpleprojectresourcemanager.repository;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.model.Task;
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for loading a project's tasks through TaskRepository
+ */
+@DisplayName("Task Repository Tests")
+public class TaskRepositoryTest {
+
+    private DatabaseConfig databaseConfig;
+    private TaskRepository taskRepository;
+    private Path testDbPath;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        testDbPath = Files.createTempDirectory("test-task-repository-db");
+        databaseConfig = new DatabaseConfig(testDbPath.toString() + "/");
+        taskRepository = new TaskRepository(databaseConfig.getDataSource());
+
+        try (Connection conn = databaseConfig.getDataSource().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO projects (project_id, description, start_date, end_date, status) " +
+                "VALUES ('TASK-REPO-1', 'Task repository test', '2025-06-02', '2025-06-30', 'ACTIVE')", Statement.RETURN_GENERATED_KEYS);
+            try (var rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                projectId = rs.getLong(1);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        databaseConfig.shutdown();
+        Files.deleteIfExists(Paths.get(testDbPath.toString(), "scheduler.db"));
+        Files.deleteIfExists(testDbPath);
+    }
+
+    @Test
+    @DisplayName("Should roll up subtask counts for each parent task")
+    void testSubtaskRollups() {
+        Task parent = taskRepository.create(task("Parent", null));
+        Task other = taskRepository.create(task("Other", null));
+        taskRepository.create(task("Child 1", parent.getId()));
+        Task child2 = taskRepository.create(task("Child 2", parent.getId()));
+        Task child3 = taskRepository.create(task("Child 3", parent.getId()));
+        taskRepository.updateStatus(child2.getId(), Task.TaskStatus.COMPLETED);
+        taskRepository.updateStatus(child3.getId(), Task.TaskStatus.COMPLETED);
+
+        List<Task> tasks = taskRepository.findByProjectId(projectId);
+
+        assertEquals(5, tasks.size());
+        Task loadedParent = find(tasks, parent.getId());
+        assertEquals(3, loadedParent.getSubtaskCount());
+        assertEquals(2, loadedParent.getCompletedSubtaskCount());
+        assertEquals(0, find(tasks, other.getId()).getSubtaskCount());
+        // Top-level tasks sort ahead of subtasks
+        assertNull(tasks.get(0).getParentTaskId());
+        assertNull(tasks.get(1).getParentTaskId());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies of the cached tasks and reload after an update")
+    void testSnapshotCache() {
+        Task created = taskRepository.create(task("Original", null));
+
+        List<Task> first = taskRepository.findByProjectId(projectId);
+        first.get(0).setTitle("Edited but not saved");
+        List<Task> second = taskRepository.findByProjectId(projectId);
+
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("Original", second.get(0).getTitle());
+
+        Task toUpdate = second.get(0);
+        toUpdate.setTitle("Saved");
+        taskRepository.update(toUpdate);
+
+        assertEquals("Saved", taskRepository.findByProjectId(projectId).get(0).getTitle());
+
+        taskRepository.delete(created.getId());
+        assertTrue(taskRepository.findByProjectId(projectId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not cache the empty list of a failed load")
+    void testFailedLoadNotCached() throws SQLException {
+        Task created = taskRepository.create(task("Survivor", null));
+
+        execute("ALTER TABLE tasks RENAME TO tasks_moved");
+        assertTrue(taskRepository.findByProjectId(projectId).isEmpty());
+        execute("ALTER TABLE tasks_moved RENAME TO tasks");
+
+        List<Task> tasks = taskRepository.findByProjectId(projectId);
+        assertEquals(1, tasks.size());
+        assertEquals(created.getId(), tasks.get(0).getId());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = databaseConfig.getDataSource().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    private Task task(String title, Long parentTaskId) {
+        Task task = new Task(title, projectId);
+        task.setParentTaskId(parentTaskId);
+        task.setPlannedStart(LocalDate.of(2025, 6, 2));
+        task.setPlannedEnd(LocalDate.of(2025, 6, 6));
+        return task;
+    }
+
+    private Task find(List<Task> tasks, Long id) {
+        return tasks.stream().filter(t -> t.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,127 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory assignment interval index
+ */
+@DisplayName("Assignment Conflict Index Tests")
+public class AssignmentConflictIndexTest {
+
+    private AssignmentConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AssignmentConflictIndex();
+    }
+
+    @Test
+    @DisplayName("Should find overlapping assignments for a resource")
+    void testFindOverlapping() {
+        index.load(List.of(
+            createAssignment(1L, 1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)),
+            createAssignment(2L, 1L, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 5)),
+            createAssignment(3L, 2L, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 20))
+        ));
+
+        List<Assignment> overlapping = index.findOverlapping(1L, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 16));
+        assertEquals(1, overlapping.size());
+        assertEquals(1L, overlapping.get(0).getId());
+
+        // End dates are inclusive
+        assertTrue(index.hasOverlap(1L, LocalDate.of(2025, 1, 31), LocalDate.of(2025, 1, 31), null));
+        assertFalse(index.hasOverlap(1L, LocalDate.of(2025, 2, 6), LocalDate.of(2025, 2, 10), null));
+        assertFalse(index.hasOverlap(1L, LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 6), 1L));
+        assertTrue(index.findOverlapping(3L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the index current on put and remove")
+    void testIncrementalUpdates() {
+        index.load(new ArrayList<>());
+
+        Assignment assignment = createAssignment(1L, 1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10));
+        index.put(assignment);
+        assertTrue(index.hasOverlap(1L, LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5), null));
+
+        // Moving the assignment to another resource and month replaces the old entry
+        Assignment moved = createAssignment(1L, 2L, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10));
+        index.put(moved);
+        assertEquals(1, index.size());
+        assertFalse(index.hasOverlap(1L, LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5), null));
+        assertTrue(index.hasOverlap(2L, LocalDate.of(2025, 4, 10), LocalDate.of(2025, 4, 20), null));
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertFalse(index.hasOverlap(2L, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10), null));
+    }
+
+    @Test
+    @DisplayName("Should ignore changes before the index is loaded")
+    void testChangesBeforeLoad() {
+        index.put(createAssignment(1L, 1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10)));
+
+        assertFalse(index.isLoaded());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Sweep should match pairwise conflict detection")
+    void testSweepMatchesPairwise() {
+        Random random = new Random(42);
+        List<Assignment> assignments = new ArrayList<>();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (long id = 1; id <= 400; id++) {
+            LocalDate start = base.plusDays(random.nextInt(365));
+            long resourceId = 1 + random.nextInt(20);
+            assignments.add(createAssignment(id, resourceId, start, start.plusDays(random.nextInt(15))));
+        }
+
+        assertEquals(pairwiseConflicts(assignments), AssignmentConflictIndex.findConflicts(assignments));
+
+        // Range-limited detection only considers assignments inside the range
+        LocalDate rangeStart = LocalDate.of(2025, 4, 1);
+        LocalDate rangeEnd = LocalDate.of(2025, 6, 30);
+        List<Assignment> inRange = assignments.stream()
+            .filter(a -> !a.getEndDate().isBefore(rangeStart) && !a.getStartDate().isAfter(rangeEnd))
+            .toList();
+        index.load(assignments);
+        assertEquals(pairwiseConflicts(inRange), index.findConflicts(rangeStart, rangeEnd));
+    }
+
+    // Helper methods
+    private Set<Long> pairwiseConflicts(List<Assignment> assignments) {
+        Set<Long> conflicts = new HashSet<>();
+        for (int i = 0; i < assignments.size(); i++) {
+            for (int j = i + 1; j < assignments.size(); j++) {
+                Assignment a1 = assignments.get(i);
+                Assignment a2 = assignments.get(j);
+                if (a1.getResourceId().equals(a2.getResourceId())
+                        && !a1.getEndDate().isBefore(a2.getStartDate())
+                        && !a2.getEndDate().isBefore(a1.getStartDate())) {
+                    conflicts.add(a1.getId());
+                    conflicts.add(a2.getId());
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private Assignment createAssignment(Long id, Long resourceId, LocalDate start, LocalDate end) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        assignment.setResourceId(resourceId);
+        assignment.setProjectId(1L);
+        assignment.setStartDate(start);
+        assignment.setEndDate(end);
+        return assignment;
+    }
+}
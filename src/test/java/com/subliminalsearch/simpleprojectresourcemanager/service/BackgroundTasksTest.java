@@ -0,0 +1,140 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared background task pools
+ */
+@DisplayName("Background Tasks Tests")
+public class BackgroundTasksTest {
+
+    private BackgroundTasks backgroundTasks;
+
+    @BeforeEach
+    void setUp() {
+        backgroundTasks = new BackgroundTasks(1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backgroundTasks.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should cancel a superseded task with the same key")
+    void testRunLatestCancelsPrevious() throws Exception {
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        backgroundTasks.run(BackgroundTasks.Pool.IO, "blocker", () -> {
+            blockerStarted.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger ran = new AtomicInteger();
+        Future<?> first = backgroundTasks.runLatest(BackgroundTasks.Pool.IO, "preview", () -> ran.addAndGet(1));
+        Future<?> second = backgroundTasks.runLatest(BackgroundTasks.Pool.IO, "preview", () -> ran.addAndGet(10));
+
+        assertTrue(first.isCancelled());
+        assertEquals(1, queued(BackgroundTasks.Pool.IO), "The cancelled task should leave the queue");
+
+        release.countDown();
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(10, ran.get());
+        assertEquals(1, status(BackgroundTasks.Pool.IO).cancelled());
+    }
+
+    @Test
+    @DisplayName("Should let a superseded task that is already running finish without an interrupt")
+    void testRunLatestDoesNotInterrupt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        Future<?> first = backgroundTasks.runLatest(BackgroundTasks.Pool.IO, "preview", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+            finished.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<?> second = backgroundTasks.runLatest(BackgroundTasks.Pool.IO, "preview", () -> { });
+        assertTrue(first.isCancelled());
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, interrupted.get());
+    }
+
+    @Test
+    @DisplayName("Should join a pending task with the same key instead of queuing another")
+    void testRunOnceCoalesces() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable sync = () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+        };
+
+        Future<?> first = backgroundTasks.runOnce(BackgroundTasks.Pool.IO, "sync", sync);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertSame(first, backgroundTasks.runOnce(BackgroundTasks.Pool.IO, "sync", sync));
+        assertEquals("sync", backgroundTasks.getRunningTasks().get(0).name());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        // Once finished, the key is free again
+        backgroundTasks.runOnce(BackgroundTasks.Pool.IO, "sync", sync).get(5, TimeUnit.SECONDS);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should count completed and failed tasks per pool")
+    void testStatusCounts() throws Exception {
+        backgroundTasks.submit(BackgroundTasks.Pool.CPU, "sum", () -> 1 + 1).get(5, TimeUnit.SECONDS);
+        Future<Object> failing = backgroundTasks.submit(BackgroundTasks.Pool.CPU, "broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals("boom", error.getCause().getMessage());
+
+        // The counters and the running list are updated just after the future completes
+        BackgroundTasks.PoolStatus cpu = status(BackgroundTasks.Pool.CPU);
+        for (int i = 0; i < 50 && (cpu.completed() + cpu.failed() < 2 || !backgroundTasks.getRunningTasks().isEmpty()); i++) {
+            Thread.sleep(10);
+            cpu = status(BackgroundTasks.Pool.CPU);
+        }
+        assertEquals(1, cpu.completed());
+        assertEquals(1, cpu.failed());
+        assertEquals(0, status(BackgroundTasks.Pool.IO).completed());
+        assertTrue(backgroundTasks.getRunningTasks().isEmpty());
+    }
+
+    private BackgroundTasks.PoolStatus status(BackgroundTasks.Pool pool) {
+        List<BackgroundTasks.PoolStatus> status = backgroundTasks.getStatus();
+        return status.stream().filter(s -> s.pool() == pool).findFirst().orElseThrow();
+    }
+
+    private int queued(BackgroundTasks.Pool pool) {
+        return status(pool).queued();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Task;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency.DependencyType;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the task dependency graph and its critical path calculation
+ */
+@DisplayName("Dependency Graph Tests")
+public class DependencyGraphTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+
+    @Test
+    @DisplayName("Should find the longest finish-to-start chain as the critical path")
+    void testFinishToStartCriticalPath() {
+        // 1 (3d) -> 2 (5d) -> 4 (2d), and 1 -> 3 (1d) -> 4
+        List<Task> tasks = List.of(task(1L, 0, 3), task(2L, 0, 5), task(3L, 0, 1), task(4L, 0, 2));
+        List<TaskDependency> deps = List.of(dep(1L, 2L), dep(2L, 4L), dep(1L, 3L), dep(3L, 4L));
+
+        DependencyGraph.Schedule schedule = new DependencyGraph(tasks, deps).calculate();
+
+        assertEquals(List.of(1L, 2L, 4L), schedule.getCriticalPath());
+        assertEquals(10, schedule.getProjectDuration());
+        assertEquals(3, schedule.get(3L).getEarlyStart());
+        assertEquals(4, schedule.get(3L).getSlack());
+        assertEquals(START.plusDays(8), schedule.get(4L).getEarlyStartDate());
+        assertEquals(START.plusDays(9), schedule.get(4L).getEarlyFinishDate());
+    }
+
+    @Test
+    @DisplayName("Should apply lag for all four dependency types")
+    void testDependencyTypesWithLag() {
+        List<Task> tasks = List.of(task(1L, 0, 4), task(2L, 0, 2));
+
+        assertEquals(6, earlyStartOfSuccessor(tasks, DependencyType.FINISH_TO_START, 2));
+        assertEquals(1, earlyStartOfSuccessor(tasks, DependencyType.START_TO_START, 1));
+        // Successor finishes 3 days after the predecessor finishes at day 4
+        assertEquals(5, earlyStartOfSuccessor(tasks, DependencyType.FINISH_TO_FINISH, 3));
+        // Successor finishes 5 days after the predecessor starts
+        assertEquals(3, earlyStartOfSuccessor(tasks, DependencyType.START_TO_FINISH, 5));
+    }
+
+    @Test
+    @DisplayName("Should not start a task before its planned start")
+    void testPlannedStartIsLowerBound() {
+        List<Task> tasks = List.of(task(1L, 0, 2), task(2L, 10, 2));
+
+        DependencyGraph.Schedule schedule = new DependencyGraph(tasks, List.of(dep(1L, 2L))).calculate();
+
+        assertEquals(10, schedule.get(2L).getEarlyStart());
+        assertEquals(8, schedule.get(1L).getSlack());
+        assertEquals(List.of(2L), schedule.getCriticalPath());
+    }
+
+    @Test
+    @DisplayName("Should leave cyclic tasks out of the schedule")
+    void testCycleDetection() {
+        List<Task> tasks = List.of(task(1L, 0, 1), task(2L, 0, 1), task(3L, 0, 1), task(4L, 0, 1));
+        List<TaskDependency> deps = List.of(dep(1L, 2L), dep(2L, 3L), dep(3L, 2L), dep(3L, 4L));
+
+        DependencyGraph graph = new DependencyGraph(tasks, deps);
+        DependencyGraph.Schedule schedule = graph.calculate();
+
+        assertTrue(graph.hasCycle());
+        assertEquals(java.util.Set.of(2L, 3L, 4L), graph.getCycleTaskIds());
+        assertNotNull(schedule.get(1L));
+        assertNull(schedule.get(3L));
+    }
+
+    @Test
+    @DisplayName("Should schedule a 5,000 task project quickly")
+    void testLargeProjectPerformance() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        List<TaskDependency> deps = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            tasks.add(task(id, 0, 1 + random.nextInt(10)));
+            // Up to three edges back to earlier tasks keeps the graph acyclic
+            for (int k = 0; k < 3 && id > 1; k++) {
+                long predecessor = 1 + random.nextInt((int) id - 1);
+                deps.add(new TaskDependency(predecessor, id, DependencyType.values()[random.nextInt(4)], random.nextInt(3)));
+            }
+        }
+        // Reverse so the input order is not already topological
+        java.util.Collections.reverse(tasks);
+
+        long start = System.nanoTime();
+        DependencyGraph graph = new DependencyGraph(tasks, deps);
+        DependencyGraph.Schedule schedule = graph.calculate();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(graph.hasCycle());
+        assertEquals(5_000, schedule.getTaskSchedules().size());
+        assertFalse(schedule.getCriticalPath().isEmpty());
+        for (DependencyGraph.TaskSchedule taskSchedule : schedule.getTaskSchedules()) {
+            assertTrue(taskSchedule.getSlack() >= 0);
+        }
+        assertTrue(elapsedMs < 500, "CPM on 5,000 tasks took " + elapsedMs + " ms");
+    }
+
+    private int earlyStartOfSuccessor(List<Task> tasks, DependencyType type, int lag) {
+        TaskDependency dependency = new TaskDependency(1L, 2L, type, lag);
+        return new DependencyGraph(tasks, List.of(dependency)).calculate().get(2L).getEarlyStart();
+    }
+
+    private Task task(Long id, int startOffset, int durationDays) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setPlannedStart(START.plusDays(startOffset));
+        task.setPlannedEnd(START.plusDays(startOffset + durationDays - 1L));
+        return task;
+    }
+
+    private TaskDependency dep(Long predecessorId, Long successorId) {
+        return new TaskDependency(predecessorId, successorId);
+    }
+}
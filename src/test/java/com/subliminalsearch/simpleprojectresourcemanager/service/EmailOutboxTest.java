@@ -0,0 +1,332 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.model.EmailConfiguration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the email outbox, delivering to a fake SMTP server on localhost
+ */
+@DisplayName("Email Outbox Tests")
+public class EmailOutboxTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseConfig databaseConfig;
+    private FakeSmtpServer smtpServer;
+    private MutableClock clock;
+    private EmailOutbox outbox;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        databaseConfig = new DatabaseConfig(tempDir.toString() + "/");
+        smtpServer = new FakeSmtpServer();
+        clock = new MutableClock();
+
+        EmailConfiguration config = new EmailConfiguration();
+        config.setSmtpServer("localhost");
+        config.setSmtpPort(smtpServer.getPort());
+        config.setUsername("tester@example.com");
+        config.setPassword("secret");
+        config.setUseTLS(false);
+        config.setUseSSL(false);
+        config.setUseNTLMAuth(false);
+        config.setEnabled(true);
+        config.setFromAddress("reports@example.com");
+        config.setFromName("Reports");
+        config.setConnectionTimeout(5000);
+
+        outbox = new EmailOutbox(databaseConfig.getDataSource(), () -> config, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtpServer.close();
+        if (databaseConfig != null) {
+            databaseConfig.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver a batch over one authenticated connection")
+    void testBatchUsesOneConnection() throws IOException {
+        File report = tempDir.resolve("report.pdf").toFile();
+        Files.writeString(report.toPath(), "%PDF-1.4 test report");
+
+        outbox.enqueue("alice@example.com", "Report", "Attached", report);
+        outbox.enqueue("bob@example.com", "Report", "Attached", report);
+        EmailOutbox.EnqueueResult third = outbox.enqueue("carol@example.com", "Note", "No attachment", null);
+        clock.advance(Duration.ofMillis(250));
+
+        EmailOutbox.DispatchResult result = outbox.dispatch();
+
+        assertEquals(3, result.sent);
+        assertEquals(0, result.failed);
+        assertEquals(1, result.connections);
+        assertEquals(1, smtpServer.connections.get());
+        assertEquals(1, smtpServer.logins.get());
+        assertEquals(3, smtpServer.messages.size());
+        assertTrue(smtpServer.messages.get(0).contains("report.pdf"));
+
+        EmailOutbox.OutboxMessage sent = outbox.getMessage(third.id()).orElseThrow();
+        assertEquals(EmailOutbox.Status.SENT, sent.status());
+        assertEquals(1, sent.attempts());
+        assertEquals(250L, sent.latencyMillis());
+        assertNotNull(sent.sendMillis());
+
+        // Nothing left to send
+        assertEquals(0, outbox.dispatch().sent);
+        assertEquals(1, smtpServer.connections.get());
+    }
+
+    @Test
+    @DisplayName("Should not queue a message identical to one queued or just sent")
+    void testDeduplicatesIdenticalSends() {
+        EmailOutbox.EnqueueResult first = outbox.enqueue("alice@example.com", "Report", "Attached", null);
+        EmailOutbox.EnqueueResult again = outbox.enqueue("Alice@Example.com ", "Report", "Attached", null);
+        EmailOutbox.EnqueueResult other = outbox.enqueue("alice@example.com", "Report", "Another body", null);
+
+        assertFalse(first.duplicate());
+        assertTrue(again.duplicate());
+        assertEquals(first.id(), again.id());
+        assertFalse(other.duplicate());
+
+        outbox.dispatch();
+        assertEquals(2, smtpServer.messages.size());
+        assertTrue(outbox.enqueue("alice@example.com", "Report", "Attached", null).duplicate(),
+            "A message sent moments ago should not go out again");
+
+        clock.advance(Duration.ofMinutes(11));
+        assertFalse(outbox.enqueue("alice@example.com", "Report", "Attached", null).duplicate());
+    }
+
+    @Test
+    @DisplayName("Should queue a message once when identical copies are queued at the same time")
+    void testConcurrentDuplicatesQueuedOnce() throws Exception {
+        int senders = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<EmailOutbox.EnqueueResult>> results = new ArrayList<>();
+            for (int i = 0; i < senders; i++) {
+                results.add(executor.submit(() -> {
+                    go.await();
+                    return outbox.enqueue("alice@example.com", "Report", "Attached", null);
+                }));
+            }
+            go.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            int queued = 0;
+            for (Future<EmailOutbox.EnqueueResult> result : results) {
+                EmailOutbox.EnqueueResult enqueued = result.get(10, TimeUnit.SECONDS);
+                ids.add(enqueued.id());
+                if (!enqueued.duplicate()) {
+                    queued++;
+                }
+            }
+            assertEquals(1, queued);
+            assertEquals(1, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry a failed message with exponential backoff")
+    void testRetriesWithBackoff() {
+        smtpServer.rejected.add("bounce@example.com");
+        EmailOutbox.EnqueueResult failing = outbox.enqueue("bounce@example.com", "Report", "Attached", null);
+        outbox.enqueue("alice@example.com", "Report", "Attached", null);
+
+        EmailOutbox.DispatchResult first = outbox.dispatch();
+        assertEquals(1, first.sent);
+        assertEquals(1, first.failed);
+        assertEquals(1, first.connections, "A rejected recipient should not drop the connection");
+
+        EmailOutbox.OutboxMessage pending = outbox.getMessage(failing.id()).orElseThrow();
+        assertEquals(EmailOutbox.Status.PENDING, pending.status());
+        assertEquals(1, pending.attempts());
+        assertNotNull(pending.lastError());
+        assertEquals(clock.millis() + 30_000, pending.nextAttemptAt());
+
+        // Not due yet
+        clock.advance(Duration.ofSeconds(20));
+        assertEquals(0, outbox.dispatch().failed);
+
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(1, outbox.dispatch().failed);
+        assertEquals(clock.millis() + 60_000, outbox.getMessage(failing.id()).orElseThrow().nextAttemptAt());
+
+        smtpServer.rejected.clear();
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, outbox.dispatch().sent);
+        EmailOutbox.OutboxMessage sent = outbox.getMessage(failing.id()).orElseThrow();
+        assertEquals(EmailOutbox.Status.SENT, sent.status());
+        assertEquals(3, sent.attempts());
+        assertNull(sent.lastError());
+
+        assertEquals(Duration.ofMinutes(30), EmailOutbox.retryDelay(10));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile long millis = 1_750_000_000_000L;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    /**
+     * Just enough SMTP for Jakarta Mail: EHLO with AUTH, one message per MAIL/RCPT/DATA
+     * sequence, and 550 for recipients listed in {@code rejected}.
+     */
+    private static final class FakeSmtpServer implements Closeable {
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger logins = new AtomicInteger();
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+        private FakeSmtpServer() throws IOException {
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> handle(socket), "fake-smtp-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                reply(out, "220 localhost fake SMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO")) {
+                        reply(out, "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250 8BITMIME");
+                    } else if (command.startsWith("HELO")) {
+                        reply(out, "250 localhost");
+                    } else if (command.startsWith("AUTH LOGIN")) {
+                        String[] parts = line.split(" ");
+                        if (parts.length < 3) {
+                            reply(out, "334 VXNlcm5hbWU6");
+                            in.readLine();
+                        }
+                        reply(out, "334 UGFzc3dvcmQ6");
+                        in.readLine();
+                        logins.incrementAndGet();
+                        reply(out, "235 Authenticated");
+                    } else if (command.startsWith("AUTH PLAIN")) {
+                        if (line.split(" ").length < 3) {
+                            reply(out, "334 ");
+                            in.readLine();
+                        }
+                        logins.incrementAndGet();
+                        reply(out, "235 Authenticated");
+                    } else if (command.startsWith("MAIL FROM")) {
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("RCPT TO")) {
+                        String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                        reply(out, rejected.contains(address) ? "550 No such user" : "250 OK");
+                    } else if (command.equals("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line).append('\n');
+                        }
+                        messages.add(data.toString());
+                        reply(out, "250 Queued");
+                    } else if (command.startsWith("RSET") || command.startsWith("NOOP")) {
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "502 Command not implemented");
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+        }
+
+        private static void reply(Writer out, String response) throws IOException {
+            out.write(response + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import com.subliminalsearch.simpleprojectresourcemanager.model.*;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.*;
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the aggregate executive metrics
+ */
+@DisplayName("Executive Metrics Service Tests")
+public class ExecutiveMetricsServiceTest {
+
+    private final LocalDate today = LocalDate.of(2025, 6, 2);
+
+    private DatabaseConfig databaseConfig;
+    private Path testDbPath;
+    private ResourceRepository resourceRepository;
+    private AssignmentRepository assignmentRepository;
+    private ProjectRepository projectRepository;
+    private SchedulingService schedulingService;
+    private final Map<Long, Project> projects = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDbPath = Files.createTempDirectory("test-executive-metrics-db");
+        databaseConfig = new DatabaseConfig(testDbPath.toString() + "/");
+        resourceRepository = new ResourceRepository(databaseConfig.getDataSource());
+        assignmentRepository = new AssignmentRepository(databaseConfig.getDataSource());
+        // The test schema predates some project columns, so projects are inserted directly and served from a mock
+        projectRepository = mock(ProjectRepository.class);
+        when(projectRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(projects.get(inv.<Long>getArgument(0))));
+        when(projectRepository.existsById(anyLong())).thenAnswer(inv -> projects.containsKey(inv.<Long>getArgument(0)));
+        schedulingService = new SchedulingService(projectRepository, resourceRepository, assignmentRepository,
+            mock(ProjectManagerRepository.class), databaseConfig.getDataSource());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        databaseConfig.shutdown();
+        Files.deleteIfExists(Paths.get(testDbPath.toString(), "scheduler.db"));
+        Files.deleteIfExists(testDbPath);
+    }
+
+    @Test
+    @DisplayName("Should count projects, conflicts and allocation and flag projects at risk")
+    void testComputeMetrics() throws SQLException {
+        // The schema seeds some resources; count ours on top of them
+        ExecutiveMetricsService service = new ExecutiveMetricsService(schedulingService);
+        int seededResources = service.computeMetrics(today).activeResources();
+
+        Project closing = project("EXEC-CLOSING", ProjectStatus.ACTIVE, "2025-06-10");
+        Project conflicted = project("EXEC-CONFLICT", ProjectStatus.ACTIVE, "2025-12-31");
+        Project healthy = project("EXEC-HEALTHY", ProjectStatus.ACTIVE, "2025-12-31");
+        project("EXEC-PLANNED", ProjectStatus.PLANNED, "2025-12-31");
+        project("EXEC-DONE", ProjectStatus.COMPLETED, "2025-05-30");
+
+        Resource busy = resourceRepository.save(new Resource("Busy Tech", "busy@example.com", null));
+        Resource steady = resourceRepository.save(new Resource("Steady Tech", "steady@example.com", null));
+        resourceRepository.save(new Resource("Idle Tech", "idle@example.com", null));
+
+        assignmentRepository.save(new Assignment(conflicted.getId(), busy.getId(), LocalDate.of(2025, 6, 3), LocalDate.of(2025, 6, 6)));
+        assignmentRepository.save(new Assignment(conflicted.getId(), busy.getId(), LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 9)));
+        assignmentRepository.save(new Assignment(healthy.getId(), steady.getId(), LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 20)));
+
+        TaskRepository taskRepository = new TaskRepository(databaseConfig.getDataSource());
+        Task open = new Task("Commissioning", closing.getId());
+        open.setPlannedEnd(LocalDate.of(2025, 6, 9));
+        taskRepository.create(open);
+        Task done = new Task("Site survey", healthy.getId());
+        done.setPlannedEnd(LocalDate.of(2025, 5, 20));
+        taskRepository.updateStatus(taskRepository.create(done).getId(), Task.TaskStatus.COMPLETED);
+
+        // Assignments were saved through the repository, not the service
+        schedulingService.invalidateConflictIndex();
+        ExecutiveMetricsService.ExecutiveMetrics metrics = service.computeMetrics(today);
+
+        assertEquals(3, metrics.activeProjects());
+        assertEquals(5, metrics.totalProjects());
+        assertEquals(1, metrics.projectsByStatus().get(ProjectStatus.PLANNED));
+        assertEquals(2, metrics.conflictedAssignments());
+        assertEquals(1, metrics.conflictedResources());
+        assertEquals(seededResources + 3, metrics.activeResources());
+        assertEquals(2, metrics.allocatedResources());
+
+        List<ExecutiveMetricsService.ProjectRisk> atRisk = metrics.projectsAtRisk();
+        assertEquals(2, atRisk.size());
+        assertEquals(closing.getId(), atRisk.get(0).project().getId());
+        assertEquals(List.of("1 open tasks with 8 days left"), atRisk.get(0).reasons());
+        assertEquals(conflicted.getId(), atRisk.get(1).project().getId());
+    }
+
+    @Test
+    @DisplayName("Should see conflicts written outside the scheduling service once it is told")
+    void testConflictsWrittenElsewhere() throws SQLException {
+        ExecutiveMetricsService service = new ExecutiveMetricsService(schedulingService);
+        Project project = project("EXEC-IMPORTED", ProjectStatus.ACTIVE, "2025-12-31");
+        Resource tech = resourceRepository.save(new Resource("Imported Tech", "imported@example.com", null));
+        schedulingService.createAssignment(project.getId(), tech.getId(), LocalDate.of(2025, 6, 3), LocalDate.of(2025, 6, 6), 0, 0);
+        assertEquals(0, service.computeMetrics(today).conflictedAssignments());
+
+        // A writer with a repository of its own, which has to tell the service
+        AssignmentRepository importer = new AssignmentRepository(databaseConfig.getDataSource());
+        importer.save(new Assignment(project.getId(), tech.getId(), LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 9)));
+        assertEquals(0, service.computeMetrics(today).conflictedAssignments());
+        schedulingService.invalidateConflictIndex();
+
+        assertEquals(2, service.computeMetrics(today).conflictedAssignments());
+    }
+
+    @Test
+    @DisplayName("Should flag delayed, overdue and past-end projects")
+    void testRiskReasons() {
+        Project late = new Project("EXEC-LATE", "Late", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 30));
+        late.setStatus(ProjectStatus.DELAYED);
+
+        assertEquals(List.of("Marked as delayed", "Past its end date", "2 overdue tasks"),
+            ExecutiveMetricsService.riskReasons(late, 3, 2, false, today));
+
+        Project distant = new Project("EXEC-DISTANT", "Distant", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 9, 30));
+        distant.setStatus(ProjectStatus.ACTIVE);
+        assertTrue(ExecutiveMetricsService.riskReasons(distant, 5, 0, false, today).isEmpty());
+    }
+
+    private Project project(String code, ProjectStatus status, String endDate) throws SQLException {
+        Project project = new Project(code, code, LocalDate.of(2025, 5, 1), LocalDate.parse(endDate));
+        project.setStatus(status);
+        try (Connection conn = databaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO projects (project_id, description, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)",
+                 Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, code);
+            stmt.setString(2, code);
+            stmt.setString(3, project.getStartDate().toString());
+            stmt.setString(4, endDate);
+            stmt.setString(5, status.name());
+            stmt.executeUpdate();
+            try (var rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                project.setId(rs.getLong(1));
+            }
+        }
+        projects.put(project.getId(), project);
+        return project;
+    }
+}
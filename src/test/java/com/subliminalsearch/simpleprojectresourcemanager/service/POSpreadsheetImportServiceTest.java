@@ -0,0 +1,124 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.config.DatabaseConfig;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the incremental PO spreadsheet import
+ */
+@DisplayName("PO Spreadsheet Import Service Tests")
+public class POSpreadsheetImportServiceTest {
+
+    private DatabaseConfig databaseConfig;
+    private Path testDbPath;
+    private Path spreadsheet;
+    private POSpreadsheetImportService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDbPath = Files.createTempDirectory("test-po-import-db");
+        databaseConfig = new DatabaseConfig(testDbPath.toString() + "/");
+        spreadsheet = testDbPath.resolve("Purchase Order Log Book.xls");
+        service = new POSpreadsheetImportService(databaseConfig.getDataSource(), spreadsheet);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        databaseConfig.shutdown();
+        Files.deleteIfExists(spreadsheet);
+        Files.deleteIfExists(Paths.get(testDbPath.toString(), "scheduler.db"));
+        Files.deleteIfExists(testDbPath);
+    }
+
+    @Test
+    @DisplayName("Should apply only new, changed and removed rows")
+    void testIncrementalImport() throws IOException {
+        writeSpreadsheet(1_000, new String[][] {
+            {"PO-1001", "Acme Supply", "250"},
+            {"PO-1002", "Bolt Works", "80"},
+            {"PO-1003", "Cable Co", "1200"}
+        });
+        POSpreadsheetImportService.ImportResult first = service.importPurchaseOrders();
+        assertTrue(first.success, first.message);
+        assertEquals(3, first.insertedRows);
+
+        writeSpreadsheet(2_000, new String[][] {
+            {"PO-1001", "Acme Supply", "250"},
+            {"PO-1002", "Bolt Works", "95"},
+            {"PO-1004", "Duct Depot", "40"}
+        });
+        POSpreadsheetImportService.ImportResult second = service.importPurchaseOrders();
+
+        assertTrue(second.success, second.message);
+        assertFalse(second.skipped);
+        assertEquals(3, second.totalRows);
+        assertEquals(1, second.insertedRows);   // PO-1004 took over row 4
+        assertEquals(1, second.updatedRows);    // PO-1002 amount
+        assertEquals(1, second.deletedRows);    // PO-1003
+        assertEquals(1, second.unchangedRows);
+
+        List<POSpreadsheetImportService.PORecord> cached = service.getCachedPurchaseOrders();
+        assertEquals(List.of("PO-1001", "PO-1002", "PO-1004"), cached.stream().map(r -> r.poNumber).toList());
+        assertEquals(95.0, cached.get(1).amount, 0.001);
+    }
+
+    @Test
+    @DisplayName("Should skip unchanged spreadsheets and record each run")
+    void testSkipUnchanged() throws IOException {
+        String[][] rows = {{"PO-2001", "Acme Supply", "10"}};
+        writeSpreadsheet(1_000, rows);
+        assertFalse(service.importPurchaseOrders().skipped);
+
+        // Same size and modification time: not even copied
+        POSpreadsheetImportService.ImportResult sameFile = service.importPurchaseOrders();
+        assertTrue(sameFile.success);
+        assertTrue(sameFile.skipped);
+        assertEquals(1, sameFile.unchangedRows);
+
+        // Saved again with the same content: copied and hashed, but not read
+        writeSpreadsheet(5_000, rows);
+        assertTrue(service.importPurchaseOrders().skipped);
+
+        // Forced: read and compared, nothing written
+        POSpreadsheetImportService.ImportResult forced = service.importPurchaseOrders(true);
+        assertFalse(forced.skipped);
+        assertEquals(1, forced.unchangedRows);
+        assertEquals(0, forced.importedRows);
+
+        List<POSpreadsheetImportService.ImportRun> runs = service.getRecentImportRuns(10);
+        assertEquals(4, runs.size());
+        assertEquals(List.of(false, true, true, false), runs.stream().map(r -> r.skipped).toList());
+        assertEquals(1, runs.get(3).insertedRows);
+        assertNotNull(service.getLastImportTime());
+    }
+
+    private void writeSpreadsheet(long modifiedMillis, String[][] rows) throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook();
+             OutputStream out = Files.newOutputStream(spreadsheet)) {
+            Sheet sheet = workbook.createSheet("PO LogBook");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("PO #");
+            header.createCell(2).setCellValue("Vendor");
+            header.createCell(4).setCellValue("Amount");
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(rows[i][0]);
+                row.createCell(2).setCellValue(rows[i][1]);
+                row.createCell(4).setCellValue(Double.parseDouble(rows[i][2]));
+            }
+            workbook.write(out);
+        }
+        Files.setLastModifiedTime(spreadsheet, FileTime.fromMillis(modifiedMillis));
+    }
+}
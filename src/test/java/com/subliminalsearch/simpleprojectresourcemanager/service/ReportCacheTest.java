@@ -0,0 +1,169 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.repository.DataVersion;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the versioned report cache
+ */
+@DisplayName("Report Cache Tests")
+public class ReportCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheDir;
+    private Path reportTempDir;
+    private final AtomicInteger generated = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheDir = tempDir.resolve("report-cache");
+        reportTempDir = Files.createDirectories(tempDir.resolve("tmp"));
+    }
+
+    @Test
+    @DisplayName("Should reuse a report until the data version changes")
+    void testReuseUntilDataChanges() throws IOException {
+        ReportCache cache = new ReportCache(cacheDir, reportTempDir, 10L * 1024 * 1024);
+
+        ReportCache.Entry first = cache.get("REVENUE_BUDGET", List.of("2025-06-01", "2025-06-30"), () -> generate("revenue_budget_", 2));
+        ReportCache.Entry second = cache.get("REVENUE_BUDGET", List.of("2025-06-01", "2025-06-30"), () -> generate("revenue_budget_", 2));
+
+        assertSame(first, second);
+        assertEquals(1, generated.get());
+        assertEquals(1, second.getHits());
+        assertEquals(2, second.getPageCount());
+        assertTrue(first.getFile().toPath().startsWith(cacheDir));
+        BufferedImage page = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        first.putRenderedPage(1, page);
+        assertSame(page, second.getRenderedPage(1));
+        assertNull(second.getRenderedPage(0));
+
+        // Other parameters are another report
+        cache.get("REVENUE_BUDGET", List.of("2025-07-01", "2025-07-31"), () -> generate("revenue_budget_", 1)).release();
+        assertEquals(2, generated.get());
+
+        first.release();
+        DataVersion.bump();
+        ReportCache.Entry afterWrite = cache.get("REVENUE_BUDGET", List.of("2025-06-01", "2025-06-30"), () -> generate("revenue_budget_", 2));
+        assertNotSame(first, afterWrite);
+        assertEquals(3, generated.get());
+        assertNull(first.getRenderedPage(1));
+        // The hit took a pin of its own
+        assertTrue(first.getFile().exists(), "Superseded report is still held by the second lookup");
+        second.release();
+        assertFalse(first.getFile().exists(), "Superseded report should be deleted");
+    }
+
+    @Test
+    @DisplayName("Should keep reports across writes to the mail queue and import history")
+    void testBookkeepingWritesKeepReports() throws IOException {
+        ReportCache cache = new ReportCache(cacheDir, reportTempDir, 10L * 1024 * 1024);
+
+        ReportCache.Entry first = cache.get("CLIENT_REPORT", List.of(7L), () -> generate("client_report_", 1));
+        DataVersion.written(List.of("email_outbox"), false);
+        DataVersion.written(List.of("po_import_runs", "sharepoint_sync_log"), false);
+        ReportCache.Entry second = cache.get("CLIENT_REPORT", List.of(7L), () -> generate("client_report_", 1));
+        assertSame(first, second);
+
+        DataVersion.written(List.of("email_outbox", "projects"), false);
+        ReportCache.Entry third = cache.get("CLIENT_REPORT", List.of(7L), () -> generate("client_report_", 1));
+        assertNotSame(first, third);
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    @DisplayName("Should keep pinned reports on disk until they are released")
+    void testPinnedReportsKept() throws IOException {
+        long reportSize = generate("probe_", 1).length();
+        ReportCache cache = new ReportCache(cacheDir, reportTempDir, reportSize + reportSize / 2);
+
+        // Comes back pinned for the caller
+        ReportCache.Entry shown = cache.get("PROJECT_PIPELINE", List.of("quarter", true), () -> generate("project_pipeline_", 1));
+        // Over budget, but the shown report is the only one that could go
+        ReportCache.Entry other = cache.get("PROJECT_PIPELINE", List.of("year", true), () -> generate("project_pipeline_", 1));
+        other.release();
+        assertTrue(shown.getFile().exists());
+        assertTrue(other.getFile().exists());
+
+        DataVersion.bump();
+        ReportCache.Entry newer = cache.get("PROJECT_PIPELINE", List.of("quarter", true), () -> generate("project_pipeline_", 1));
+        assertNotSame(shown, newer);
+        assertTrue(shown.getFile().exists(), "Superseded report is still shown");
+        // Its file still counts against the budget, so the unpinned one made room
+        assertFalse(other.getFile().exists());
+
+        shown.release();
+        assertFalse(shown.getFile().exists());
+        assertEquals(1, cache.getStatistics().entries());
+        assertEquals(Files.size(newer.getFile().toPath()), cache.getStatistics().diskBytes());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used reports beyond the disk budget")
+    void testEvictionByDiskBudget() throws IOException {
+        long reportSize = generate("probe_", 1).length();
+        ReportCache cache = new ReportCache(cacheDir, reportTempDir, reportSize * 2 + reportSize / 2);
+
+        ReportCache.Entry a = cache.get("GEOGRAPHIC_DISTRIBUTION", List.of(true, true), () -> generate("geographic_report_", 1));
+        a.release();
+        ReportCache.Entry b = cache.get("GEOGRAPHIC_DISTRIBUTION", List.of(true, false), () -> generate("geographic_report_", 1));
+        b.release();
+        // Touch a, so b is the least recently used
+        cache.get("GEOGRAPHIC_DISTRIBUTION", List.of(true, true), () -> generate("geographic_report_", 1)).release();
+        ReportCache.Entry c = cache.get("GEOGRAPHIC_DISTRIBUTION", List.of(false, false), () -> generate("geographic_report_", 1));
+
+        assertTrue(a.getFile().exists());
+        assertFalse(b.getFile().exists());
+        assertTrue(c.getFile().exists());
+        assertEquals(2, cache.getStatistics().entries());
+        assertEquals(1, cache.getStatistics().evictions());
+    }
+
+    @Test
+    @DisplayName("Should delete report files left behind by earlier runs")
+    void testCleansUpOldFiles() throws IOException {
+        Path leftover = Files.createDirectories(cacheDir.resolve("7")).resolve("old.pdf");
+        Files.writeString(leftover, "stale");
+        Path oldPreview = reportTempDir.resolve("project_pipeline_1700000000000.pdf");
+        Path recentPreview = reportTempDir.resolve("project_pipeline_" + System.currentTimeMillis() + ".pdf");
+        Path unrelated = reportTempDir.resolve("invoice.pdf");
+        for (Path file : List.of(oldPreview, recentPreview, unrelated)) {
+            Files.writeString(file, "pdf");
+        }
+        Files.setLastModifiedTime(oldPreview, FileTime.fromMillis(System.currentTimeMillis() - 86_400_000L));
+        Files.setLastModifiedTime(unrelated, FileTime.fromMillis(System.currentTimeMillis() - 86_400_000L));
+
+        ReportCache cache = new ReportCache(cacheDir, reportTempDir, 10L * 1024 * 1024);
+        assertFalse(Files.exists(leftover));
+
+        cache.get("PROJECT_PIPELINE", List.of("Quarter", true), () -> generate("project_pipeline_", 1));
+        assertFalse(Files.exists(oldPreview));
+        assertTrue(Files.exists(recentPreview), "A report another instance may still be writing should be kept");
+        assertTrue(Files.exists(unrelated));
+    }
+
+    private File generate(String prefix, int pages) throws IOException {
+        File file = reportTempDir.resolve(prefix + generated.incrementAndGet() + "_" + System.nanoTime() + ".pdf").toFile();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,119 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Project;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.AssignmentRepository;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for parallel report rendering and the shared report dataset
+ */
+@DisplayName("Report Renderer Tests")
+public class ReportRendererTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should assemble sections in order whatever order they finish in")
+    void testSectionOrder() throws IOException {
+        List<ReportRenderer.Section> sections = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int sectionNumber = i;
+            sections.add(document -> {
+                // Earlier sections take longer, so they finish last
+                try {
+                    Thread.sleep((6 - sectionNumber) * 20L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int page = 0; page <= sectionNumber % 2; page++) {
+                    PDPage pdPage = new PDPage(PDRectangle.A4);
+                    pdPage.getCOSObject().setString("Section", "section-" + sectionNumber);
+                    document.addPage(pdPage);
+                }
+            });
+        }
+
+        File output = tempDir.resolve("report.pdf").toFile();
+        assertEquals(9, ReportRenderer.render(sections, output));
+
+        try (PDDocument document = Loader.loadPDF(output)) {
+            List<String> order = new ArrayList<>();
+            for (PDPage page : document.getPages()) {
+                order.add(page.getCOSObject().getString("Section"));
+            }
+            assertEquals(List.of("section-0", "section-1", "section-1", "section-2", "section-3", "section-3",
+                "section-4", "section-5", "section-5"), order);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the report when a section fails")
+    void testSectionFailure() {
+        File output = tempDir.resolve("failed.pdf").toFile();
+        IOException error = assertThrows(IOException.class, () -> ReportRenderer.render(List.of(
+            document -> document.addPage(new PDPage()),
+            document -> {
+                throw new IOException("chart missing");
+            }
+        ), output));
+
+        assertEquals("chart missing", error.getMessage());
+        assertFalse(output.exists());
+    }
+
+    @Test
+    @DisplayName("Should build the revenue report from one load of the data")
+    void testRevenueReportLoadsOnce() throws IOException {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        LocalDate end = LocalDate.of(2025, 6, 30);
+        Project inPeriod = project(1L, "REV-IN", "2025-06-10", 50_000.0, 30_000.0);
+        Project outOfPeriod = project(2L, "REV-OUT", "2025-01-10", 10_000.0, 2_000.0);
+
+        SchedulingService schedulingService = mock(SchedulingService.class);
+        AssignmentRepository assignmentRepository = mock(AssignmentRepository.class);
+        when(schedulingService.getAllProjects()).thenReturn(List.of(inPeriod, outOfPeriod));
+        when(schedulingService.getAllResources()).thenReturn(List.of());
+        when(schedulingService.getAssignmentRepository()).thenReturn(assignmentRepository);
+        when(assignmentRepository.findAll()).thenReturn(List.of());
+
+        RevenueReportService service = new RevenueReportService(schedulingService);
+        File report = service.generateReport(start, end);
+
+        try (PDDocument document = Loader.loadPDF(report)) {
+            assertEquals(6, document.getNumberOfPages());
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("1 of 2 projects with financial data"), text);
+            assertTrue(text.contains("REV-IN"));
+            assertFalse(text.contains("REV-OUT"));
+        } finally {
+            report.delete();
+        }
+        verify(schedulingService, times(1)).getAllProjects();
+        assertEquals(6, service.getLastMetrics().pages());
+    }
+
+    private Project project(Long id, String code, String startDate, double revenue, double laborCost) {
+        LocalDate start = LocalDate.parse(startDate);
+        Project project = new Project(code, code, start, start.plusDays(10));
+        project.setId(id);
+        project.setRevenueAmount(revenue);
+        project.setBudgetAmount(revenue * 0.8);
+        project.setLaborCost(laborCost);
+        return project;
+    }
+}
@@ -126,15 +126,15 @@ public class SchedulingServiceSimpleTest {
         LocalDate endDate = LocalDate.of(2025, 1, 20);
         
         // No overlapping assignments
-        when(assignmentRepository.findOverlappingAssignments(resourceId, startDate, endDate))
-            .thenReturn(Collections.emptyList());
+        when(assignmentRepository.findAll()).thenReturn(Collections.emptyList());
         
         // When
         boolean available = schedulingService.isResourceAvailable(resourceId, startDate, endDate);
         
         // Then
         assertTrue(available);
-        verify(assignmentRepository).findOverlappingAssignments(resourceId, startDate, endDate);
+        verify(assignmentRepository).findAll();
+        verify(assignmentRepository, never()).findOverlappingAssignments(anyLong(), any(), any());
     }
     
     @Test
@@ -147,20 +147,20 @@ public class SchedulingServiceSimpleTest {
         
         // Existing assignment that overlaps
         Assignment existingAssignment = new Assignment();
+        existingAssignment.setId(100L);
         existingAssignment.setResourceId(resourceId);
         existingAssignment.setStartDate(LocalDate.of(2025, 1, 10));
         existingAssignment.setEndDate(LocalDate.of(2025, 1, 20));
         existingAssignment.setOverride(false); // Normal assignment, not an override
         
-        when(assignmentRepository.findOverlappingAssignments(resourceId, startDate, endDate))
-            .thenReturn(Arrays.asList(existingAssignment));
+        when(assignmentRepository.findAll()).thenReturn(Arrays.asList(existingAssignment));
         
         // When
         boolean available = schedulingService.isResourceAvailable(resourceId, startDate, endDate);
         
         // Then
         assertFalse(available);
-        verify(assignmentRepository).findOverlappingAssignments(resourceId, startDate, endDate);
+        verify(assignmentRepository, never()).findOverlappingAssignments(anyLong(), any(), any());
     }
     
     @Test
@@ -307,4 +307,46 @@ public class SchedulingServiceSimpleTest {
         verify(assignmentRepository).findByProjectId(projectId);
         verify(projectRepository, never()).delete(projectId);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should auto-assign SHOP blocks with one prefetch and one batch insert")
+    void testAutoAssignShopTimeBatched() {
+        // Given
+        Project shopProject = new Project("SHOP", "Shop Time", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        shopProject.setId(9L);
+        
+        Resource technician = new Resource();
+        technician.setId(1L);
+        technician.setName("John Doe");
+        technician.setActive(true);
+        
+        Resource inactive = new Resource();
+        inactive.setId(2L);
+        inactive.setName("Former Tech");
+        inactive.setActive(false);
+        
+        Assignment existing = new Assignment(5L, 1L, LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5), 0, 0);
+        existing.setId(100L);
+        
+        LocalDate start = LocalDate.of(2025, 3, 3);
+        LocalDate end = LocalDate.of(2025, 3, 14);
+        when(assignmentRepository.findByDateRange(start, end)).thenReturn(List.of(existing));
+        when(assignmentRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        SchedulingService.ShopAutoAssignResult result = schedulingService.autoAssignShopTime(
+            shopProject, start, end, List.of(technician, inactive), false, true, null);
+        
+        // Then: Mon-Tue, Thu-Fri and the whole second week
+        assertEquals(3, result.getAssignmentsCreated());
+        verify(assignmentRepository, times(1)).findByDateRange(start, end);
+        verify(assignmentRepository, never()).findByResourceId(anyLong());
+        verify(assignmentRepository, never()).save(any());
+        
+        SchedulingService.ShopAutoAssignResult.ResourceSummary summary = result.getResourceSummaries().get(0);
+        assertEquals(3, summary.blocksCreated());
+        assertEquals(9, summary.daysAssigned());
+        assertEquals(1, summary.daysUnavailable());
+        assertTrue(result.getResourceSummaries().get(1).skipped());
+    }
+}
@@ -15,6 +15,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -271,4 +272,92 @@ class SchedulingServiceTest {
             schedulingService.deleteProject(project.getId());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGiveEachBatchInsertedAssignmentItsOwnId() {
+        Project project = schedulingService.createProject("PROJ-001", "Test Project",
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+        ResourceType resourceType = new ResourceType("Full-Time Employee", ResourceCategory.INTERNAL);
+        Resource resource = schedulingService.createResource("John Doe", "john@company.com", resourceType);
+        // Leave a gap below the batch
+        Assignment first = schedulingService.createAssignment(project.getId(), resource.getId(),
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2));
+        schedulingService.deleteAssignment(first.getId());
+
+        List<Assignment> batch = List.of(
+                new Assignment(project.getId(), resource.getId(), LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 5)),
+                new Assignment(project.getId(), resource.getId(), LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12)),
+                new Assignment(project.getId(), resource.getId(), LocalDate.of(2025, 8, 18), LocalDate.of(2025, 8, 19)));
+        assignmentRepository.saveAll(batch);
+
+        for (Assignment saved : batch) {
+            Assignment stored = assignmentRepository.findById(saved.getId()).orElseThrow();
+            assertEquals(saved.getStartDate(), stored.getStartDate());
+        }
+    }
+
+    @Test
+    void shouldCreateBatchWithItsNewProjectsReplacingShopDays() {
+        Project shop = schedulingService.createProject("SHOP", "Shop",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        Project existing = schedulingService.createProject("PROJ-001", "Test Project",
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+        ResourceType resourceType = new ResourceType("Full-Time Employee", ResourceCategory.INTERNAL);
+        Resource resource = schedulingService.createResource("John Doe", "john@company.com", resourceType);
+        Assignment shopDay = schedulingService.createAssignment(shop.getId(), resource.getId(),
+                LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 4));
+        schedulingService.createAssignment(existing.getId(), resource.getId(),
+                LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12));
+
+        Project kept = new Project("NEW-001", "Kept", LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 5));
+        Project dropped = new Project("NEW-002", "Dropped", LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12));
+        Assignment keptAssignment = new Assignment(null, resource.getId(), LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 5));
+        Assignment droppedAssignment = new Assignment(null, resource.getId(), LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12));
+        List<Assignment> rejected = new ArrayList<>();
+
+        List<Assignment> created = schedulingService.createAssignments(List.of(keptAssignment, droppedAssignment),
+                a -> a == keptAssignment ? kept : dropped, (a, e) -> rejected.add(a));
+
+        assertEquals(List.of(keptAssignment), created);
+        assertEquals(List.of(droppedAssignment), rejected);
+        assertNotNull(kept.getId());
+        assertEquals(kept.getId(), keptAssignment.getProjectId());
+        assertNull(dropped.getId());
+        assertTrue(projectRepository.findByProjectId("NEW-002").isEmpty());
+        assertTrue(assignmentRepository.findById(shopDay.getId()).isEmpty());
+        List<Assignment> indexed = schedulingService.getConflictingAssignments(resource.getId(),
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+        assertEquals(2, indexed.size());
+        assertTrue(indexed.stream().allMatch(a -> a.getId() > 0));
+    }
+
+    @Test
+    void shouldLeaveEverythingAsItWasWhenTheBatchWriteFails() {
+        Project shop = schedulingService.createProject("SHOP", "Shop",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        ResourceType resourceType = new ResourceType("Full-Time Employee", ResourceCategory.INTERNAL);
+        Resource resource = schedulingService.createResource("John Doe", "john@company.com", resourceType);
+        Assignment shopDay = schedulingService.createAssignment(shop.getId(), resource.getId(),
+                LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 4));
+
+        Project good = new Project("NEW-001", "Good", LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 5));
+        Project other = new Project("NEW-002", "Other", LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12));
+        Assignment goodAssignment = new Assignment(null, resource.getId(), LocalDate.of(2025, 8, 4), LocalDate.of(2025, 8, 5));
+        // Passes the checks, but cannot be inserted, after the projects and the SHOP deletion were written
+        Assignment brokenAssignment = new Assignment(null, resource.getId(), LocalDate.of(2025, 8, 11), LocalDate.of(2025, 8, 12));
+        brokenAssignment.setCreatedAt(null);
+
+        assertThrows(RuntimeException.class, () -> schedulingService.createAssignments(
+                List.of(goodAssignment, brokenAssignment), a -> a == goodAssignment ? good : other, (a, e) -> fail(e)));
+
+        assertNull(good.getId());
+        assertNull(other.getId());
+        assertNull(goodAssignment.getId());
+        assertNull(goodAssignment.getProjectId());
+        assertTrue(projectRepository.findByProjectId("NEW-001").isEmpty());
+        assertTrue(projectRepository.findByProjectId("NEW-002").isEmpty());
+        assertTrue(assignmentRepository.findById(shopDay.getId()).isPresent());
+        assertEquals(List.of(shopDay.getId()), schedulingService.getConflictingAssignments(resource.getId(),
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31)).stream().map(Assignment::getId).toList());
+    }
+}
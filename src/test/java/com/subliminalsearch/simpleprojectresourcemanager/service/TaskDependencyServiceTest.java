@@ -0,0 +1,134 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Task;
+import com.subliminalsearch.simpleprojectresourcemanager.model.TaskDependency;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskDependencyRepository;
+import com.subliminalsearch.simpleprojectresourcemanager.repository.TaskRepository;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for cascading task reschedules using mocks
+ */
+@DisplayName("Task Dependency Service Tests")
+public class TaskDependencyServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 5, 5);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskDependencyRepository dependencyRepository;
+
+    private TaskDependencyService service;
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        service = new TaskDependencyService(taskRepository, dependencyRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (mocks != null) {
+            mocks.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should move each task in a diamond once and write all moves together")
+    void testCascadeDiamond() {
+        // A -> B (3d) -> D, A -> C (6d) -> D; A now ends on day 4
+        Task a = task(1L, 0, 5);
+        Task b = task(2L, 2, 3);
+        Task c = task(3L, 2, 6);
+        Task d = task(4L, 9, 2);
+        stubProject(List.of(a, b, c, d), List.of(dep(1L, 2L), dep(1L, 3L), dep(2L, 4L), dep(3L, 4L)));
+
+        TaskDependencyService.RescheduleChangeSet changeSet = service.cascadeDates(1L);
+
+        Map<Long, TaskDependencyService.TaskDateChange> changes = changeSet.getChanges().stream()
+            .collect(Collectors.toMap(TaskDependencyService.TaskDateChange::taskId, Function.identity()));
+        assertEquals(3, changes.size());
+        assertEquals(START.plusDays(5), changes.get(2L).newStart());
+        assertEquals(START.plusDays(7), changes.get(2L).newEnd());
+        assertEquals(START.plusDays(5), changes.get(3L).newStart());
+        // D waits for the longer branch through C
+        assertEquals(START.plusDays(11), changes.get(4L).newStart());
+        assertEquals(START.plusDays(9), changes.get(4L).oldStart());
+
+        verify(taskRepository, times(1)).findByProjectId(10L);
+        verify(dependencyRepository, times(1)).findByProjectId(10L);
+        verify(taskRepository, times(1)).updatePlannedDates(any());
+        verify(taskRepository, never()).update(any());
+    }
+
+    @Test
+    @DisplayName("Should leave successors alone when their predecessors did not move")
+    void testUnchangedBranchIsNotTouched() {
+        // A -> B is already satisfied, so C behind B stays where it was even though it has slack
+        Task a = task(1L, 0, 2);
+        Task b = task(2L, 2, 2);
+        Task c = task(3L, 10, 1);
+        stubProject(List.of(a, b, c), List.of(dep(1L, 2L), dep(2L, 3L)));
+
+        TaskDependencyService.RescheduleChangeSet changeSet = service.cascadeDates(1L);
+
+        assertTrue(changeSet.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should revert a cascade in one batch")
+    @SuppressWarnings("unchecked")
+    void testRevert() {
+        stubProject(List.of(task(1L, 0, 5), task(2L, 2, 3)), List.of(dep(1L, 2L)));
+        TaskDependencyService.RescheduleChangeSet changeSet = service.cascadeDates(1L);
+        assertEquals(1, changeSet.getChanges().size());
+
+        service.revert(changeSet);
+
+        ArgumentCaptor<Collection<Task>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository, times(2)).updatePlannedDates(captor.capture());
+        List<Task> restored = new ArrayList<>(captor.getAllValues().get(1));
+        assertEquals(1, restored.size());
+        assertEquals(START.plusDays(2), restored.get(0).getPlannedStart());
+        assertEquals(START.plusDays(4), restored.get(0).getPlannedEnd());
+    }
+
+    private void stubProject(List<Task> tasks, List<TaskDependency> dependencies) {
+        when(taskRepository.findById(anyLong())).thenAnswer(invocation -> tasks.stream()
+            .filter(t -> t.getId().equals(invocation.getArgument(0))).findFirst());
+        when(taskRepository.findByProjectId(10L)).thenReturn(tasks);
+        when(dependencyRepository.findByProjectId(10L)).thenReturn(dependencies);
+    }
+
+    private Task task(Long id, int startOffset, int durationDays) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(10L);
+        task.setTitle("Task " + id);
+        task.setPlannedStart(START.plusDays(startOffset));
+        task.setPlannedEnd(START.plusDays(startOffset + durationDays - 1L));
+        return task;
+    }
+
+    private TaskDependency dep(Long predecessorId, Long successorId) {
+        return new TaskDependency(predecessorId, successorId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import com.subliminalsearch.simpleprojectresourcemanager.model.Assignment;
+import com.subliminalsearch.simpleprojectresourcemanager.model.UtilizationSettings;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-resource utilization engine
+ */
+@DisplayName("Utilization Engine Tests")
+public class UtilizationEngineTest {
+
+    private static final Map<Long, String> PROJECT_CODES = Map.of(1L, "CH-PBLD-2025-001", 2L, "SHOP", 3L, "TRAINING", 4L, "PTO");
+
+    // Monday 2 June .. Friday 13 June 2025, with Monday 9 June a holiday
+    private final LocalDate start = LocalDate.of(2025, 6, 2);
+    private final LocalDate end = LocalDate.of(2025, 6, 13);
+
+    private WorkingCalendar calendar;
+    private UtilizationEngine engine;
+    private UtilizationSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new WorkingCalendar();
+        calendar.setHolidays(List.of(LocalDate.of(2025, 6, 9)));
+        engine = new UtilizationEngine(calendar, PROJECT_CODES::get);
+        settings = new UtilizationSettings();
+    }
+
+    @Test
+    @DisplayName("Should split working days by category and apply the utilization settings")
+    void testCategories() {
+        engine.load(List.of(
+            assignment(10L, 1L, "2025-06-02", "2025-06-06"),   // 5 billable days
+            assignment(11L, 2L, "2025-06-09", "2025-06-11"),   // SHOP, holiday skipped: 2 days
+            assignment(12L, 3L, "2025-06-12", "2025-06-12"),   // TRAINING: 1 day
+            assignment(13L, 4L, "2025-06-13", "2025-06-15"),   // PTO, weekend skipped: 1 day
+            assignment(14L, 99L, "2025-06-05", "2025-06-05")   // unknown project counts as billable
+        ));
+
+        UtilizationEngine.Utilization utilization = engine.getUtilization(7L, start, end, settings);
+
+        assertEquals(9, utilization.availableDays());
+        assertEquals(6, utilization.billableDays());
+        assertEquals(2, utilization.shopDays());
+        assertEquals(1, utilization.trainingDays());
+        assertEquals(1, utilization.ptoDays());
+        assertEquals(9, utilization.utilizedDays());
+        assertEquals(100.0, utilization.utilizationPercent(), 0.001);
+
+        settings.setCountShopAsUtilized(false);
+        settings.setCountPtoAsUtilized(true);
+        assertEquals(8, engine.getUtilization(7L, start, end, settings).utilizedDays());
+
+        settings.setCalculationMethod(UtilizationSettings.CalculationMethod.CALENDAR_DAYS);
+        UtilizationEngine.Utilization calendarDays = engine.getUtilization(7L, start, end, settings);
+        assertEquals(12, calendarDays.availableDays());
+        assertEquals(3, calendarDays.shopDays());
+    }
+
+    @Test
+    @DisplayName("Should follow incremental changes and holiday updates")
+    void testIncrementalUpdates() {
+        engine.load(List.of(assignment(10L, 1L, "2025-06-02", "2025-06-06")));
+        assertEquals(5, engine.getUtilization(7L, start, end, settings).billableDays());
+
+        engine.put(assignment(11L, 1L, "2025-06-04", "2025-06-10"));   // overlapping days count twice
+        assertEquals(9, engine.getUtilization(7L, start, end, settings).billableDays());
+
+        engine.put(assignment(10L, 2L, "2025-06-02", "2025-06-03"));   // moved to SHOP and shortened
+        UtilizationEngine.Utilization moved = engine.getUtilization(7L, start, end, settings);
+        assertEquals(4, moved.billableDays());
+        assertEquals(2, moved.shopDays());
+
+        engine.remove(11L);
+        assertEquals(0, engine.getUtilization(7L, start, end, settings).billableDays());
+        assertEquals(0, engine.getUtilization(8L, start, end, settings).totalDays());
+
+        engine.put(assignment(12L, 1L, "2025-06-09", "2025-06-09"));
+        assertEquals(0, engine.getUtilization(7L, start, end, settings).billableDays());
+        calendar.setHolidays(List.of());
+        assertEquals(1, engine.getUtilization(7L, start, end, settings).billableDays());
+    }
+
+    @Test
+    @DisplayName("Should grow the window for ranges far from today")
+    void testWindowGrowth() {
+        engine.load(List.of(assignment(10L, 1L, "2040-01-02", "2040-01-31")));
+
+        UtilizationEngine.Utilization january = engine.getUtilization(7L,
+            LocalDate.of(2040, 1, 1), LocalDate.of(2040, 1, 31), settings);
+
+        assertEquals(22, january.availableDays());
+        assertEquals(22, january.billableDays());
+        assertEquals(0, engine.getUtilization(7L, start, end, settings).billableDays());
+    }
+
+    private Assignment assignment(Long id, Long projectId, String startDate, String endDate) {
+        Assignment assignment = new Assignment(projectId, 7L, LocalDate.parse(startDate), LocalDate.parse(endDate));
+        assignment.setId(id);
+        return assignment;
+    }
+}
@@ -0,0 +1,105 @@
+package com.subliminalsearch.simpleprojectresourcemanager.service;
+
+import org.junit.jupiter.api.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the prefix-sum working day calendar
+ */
+@DisplayName("Working Calendar Tests")
+public class WorkingCalendarTest {
+
+    private WorkingCalendar calendar;
+    private Set<LocalDate> holidays;
+
+    @BeforeEach
+    void setUp() {
+        holidays = new HashSet<>(List.of(
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 7, 4),
+            LocalDate.of(2025, 11, 27),
+            LocalDate.of(2025, 12, 25),
+            LocalDate.of(2025, 12, 27) // Saturday holiday
+        ));
+        calendar = new WorkingCalendar();
+        calendar.setHolidays(holidays);
+    }
+
+    @Test
+    @DisplayName("Should recognise configured holidays")
+    void testIsHoliday() {
+        assertTrue(calendar.isHoliday(LocalDate.of(2025, 7, 4)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2025, 7, 5)));
+        // Outside the initial window
+        assertFalse(calendar.isHoliday(LocalDate.of(2035, 7, 4)));
+    }
+
+    @Test
+    @DisplayName("Should count working days for a simple week")
+    void testCountWorkingDays() {
+        // Mon 2025-06-30 .. Sun 2025-07-06, with Friday July 4th as a holiday
+        LocalDate start = LocalDate.of(2025, 6, 30);
+        LocalDate end = LocalDate.of(2025, 7, 6);
+
+        assertEquals(4, calendar.countWorkingDays(start, end, false, false, false));
+        assertEquals(5, calendar.countWorkingDays(start, end, false, false, true));
+        assertEquals(5, calendar.countWorkingDays(start, end, true, false, false));
+        assertEquals(7, calendar.countWorkingDays(start, end, true, true, true));
+        assertEquals(0, calendar.countWorkingDays(end, start, true, true, true));
+    }
+
+    @Test
+    @DisplayName("Should match a day-by-day count for every flag combination")
+    void testMatchesDayByDay() {
+        Random random = new Random(7);
+        LocalDate base = LocalDate.of(2022, 1, 1);
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = base.plusDays(random.nextInt(6 * 365));
+            LocalDate end = start.plusDays(random.nextInt(400));
+            for (int mask = 0; mask < 8; mask++) {
+                boolean sat = (mask & 1) != 0;
+                boolean sun = (mask & 2) != 0;
+                boolean hol = (mask & 4) != 0;
+                assertEquals(countDayByDay(start, end, sat, sun, hol),
+                    calendar.countWorkingDays(start, end, sat, sun, hol),
+                    "Mismatch for " + start + ".." + end + " mask " + mask);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload holidays from the loader after invalidation")
+    void testInvalidateReloads() {
+        List<LocalDate> source = new ArrayList<>(List.of(LocalDate.of(2025, 3, 3)));
+        WorkingCalendar loaded = new WorkingCalendar();
+        loaded.setHolidayLoader(() -> new ArrayList<>(source));
+
+        assertTrue(loaded.isHoliday(LocalDate.of(2025, 3, 3)));
+        assertFalse(loaded.isHoliday(LocalDate.of(2025, 3, 4)));
+
+        source.add(LocalDate.of(2025, 3, 4));
+        assertFalse(loaded.isHoliday(LocalDate.of(2025, 3, 4)));
+        loaded.invalidate();
+        assertTrue(loaded.isHoliday(LocalDate.of(2025, 3, 4)));
+        assertEquals(3, loaded.countWorkingDays(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 7), false, false, false));
+    }
+
+    // Helper methods
+    private long countDayByDay(LocalDate start, LocalDate end, boolean sat, boolean sun, boolean hol) {
+        long count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY && !sat) continue;
+            if (date.getDayOfWeek() == DayOfWeek.SUNDAY && !sun) continue;
+            if (holidays.contains(date) && !hol) continue;
+            count++;
+        }
+        return count;
+    }
+}
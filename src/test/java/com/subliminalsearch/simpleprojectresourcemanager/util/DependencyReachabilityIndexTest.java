@@ -0,0 +1,59 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory dependency reachability index
+ */
+@DisplayName("Dependency Reachability Index Tests")
+public class DependencyReachabilityIndexTest {
+
+    @Test
+    @DisplayName("Should detect a cycle through a chain of edges")
+    void testCycleThroughChain() {
+        DependencyReachabilityIndex index = new DependencyReachabilityIndex();
+        index.addEdge(1L, 2L);
+        index.addEdge(2L, 3L);
+        index.addEdge(3L, 4L);
+
+        assertTrue(index.canReach(1L, 4L));
+        assertFalse(index.canReach(4L, 1L));
+        assertTrue(index.wouldCreateCycle(4L, 1L));
+        assertTrue(index.wouldCreateCycle(2L, 2L));
+        assertFalse(index.wouldCreateCycle(1L, 4L));
+        assertFalse(index.wouldCreateCycle(5L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should stop reporting a cycle once an edge is removed")
+    void testRemoveEdge() {
+        DependencyReachabilityIndex index = new DependencyReachabilityIndex();
+        index.addEdge(1L, 2L);
+        index.addEdge(2L, 3L);
+        index.addEdge(2L, 3L);
+        assertEquals(2, index.getEdgeCount());
+
+        index.removeEdge(2L, 3L);
+
+        assertEquals(1, index.getEdgeCount());
+        assertFalse(index.wouldCreateCycle(3L, 1L));
+        assertTrue(index.containsNode(3L));
+    }
+
+    @Test
+    @DisplayName("Should answer repeated queries on a large chain")
+    void testLargeChain() {
+        DependencyReachabilityIndex index = new DependencyReachabilityIndex();
+        for (long id = 1; id < 5_000; id++) {
+            index.addEdge(id * 1_000, (id + 1) * 1_000);
+        }
+        index.addNode(-7L);
+
+        assertEquals(5_001, index.getNodeCount());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(index.wouldCreateCycle(5_000_000L, 1_000L));
+            assertFalse(index.wouldCreateCycle(1_000L, -7L));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.subliminalsearch.simpleprojectresourcemanager.util;
+
+import com.subliminalsearch.simpleprojectresourcemanager.util.ScheduleSheetReader.SheetCell;
+import com.subliminalsearch.simpleprojectresourcemanager.util.ScheduleSheetReader.SheetRow;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for reading schedule sheets in streaming and workbook mode
+ */
+@DisplayName("Schedule Sheet Reader Tests")
+public class ScheduleSheetReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File workbookFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workbookFile = tempDir.resolve("schedule.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            workbook.createSheet("Summary").createRow(0).createCell(0).setCellValue("Totals");
+
+            Sheet sheet = workbook.createSheet("Jane Tech");
+            CellStyle monthStyle = workbook.createCellStyle();
+            monthStyle.setDataFormat(workbook.createDataFormat().getFormat("mmmm yyyy"));
+            CellStyle filled = workbook.createCellStyle();
+            filled.setFillForegroundColor(IndexedColors.LIGHT_GREEN.getIndex());
+            filled.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+            Cell month = sheet.createRow(0).createCell(1);
+            month.setCellValue(LocalDate.of(2025, 3, 1));
+            month.setCellStyle(monthStyle);
+
+            Row header = sheet.createRow(1);
+            String[] days = {"Su", "Mo", "Tu", "We", "Th", "Fr", "Sa"};
+            for (int i = 0; i < days.length; i++) {
+                header.createCell(2 + i).setCellValue(days[i]);
+            }
+
+            // Row 3 is left empty; the reader skips it
+            Row pmRow = sheet.createRow(3);
+            pmRow.createCell(1).setCellValue("PM Smith");
+            Cell project = pmRow.createCell(3);
+            project.setCellValue("CH-2025-001 - Pump station");
+            project.setCellStyle(filled);
+            pmRow.createCell(4).setCellStyle(filled);
+            sheet.addMergedRegion(new CellRangeAddress(3, 3, 3, 4));
+            Comment comment = sheet.createDrawingPatriarch().createCellComment(
+                workbook.getCreationHelper().createClientAnchor());
+            comment.setString(workbook.getCreationHelper().createRichTextString("123 Main St, Springfield, IL 62701"));
+            project.setCellComment(comment);
+            pmRow.createCell(6).setCellValue(42.7);
+            pmRow.createCell(7).setCellFormula("6*7");
+            pmRow.createCell(8).setCellValue(true);
+
+            // Streaming mode reads the cached formula result, so cache it as Excel would
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            try (FileOutputStream out = new FileOutputStream(workbookFile)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should read cells, fills, comments and merged regions")
+    void testStreaming() throws IOException {
+        RecordingVisitor visitor = new RecordingVisitor();
+        ScheduleSheetReader.readStreaming(workbookFile, visitor);
+
+        assertEquals(List.of("Summary", "Jane Tech"), visitor.sheetNames);
+        assertEquals(List.of(0, 1, 3), visitor.rows.stream().map(SheetRow::getRowNum).toList());
+        assertEquals("March 2025", visitor.rows.get(0).getValue(1));
+        assertEquals("Mo", visitor.rows.get(1).getValue(3));
+
+        SheetRow pmRow = visitor.rows.get(2);
+        assertEquals(9, pmRow.getLastCellNum());
+        SheetCell project = pmRow.getCell(3);
+        assertEquals("CH-2025-001 - Pump station", project.value());
+        assertTrue(project.filled());
+        assertEquals("123 Main St, Springfield, IL 62701", project.comment());
+        assertFalse(pmRow.getCell(1).filled());
+        assertEquals("42", pmRow.getValue(6));
+        assertEquals("42", pmRow.getValue(7));
+        assertEquals("true", pmRow.getValue(8));
+        assertEquals("", pmRow.getValue(5));
+        assertNull(pmRow.getCell(5));
+
+        assertEquals(1, visitor.mergedRegions.size());
+        assertTrue(visitor.mergedRegions.get(0).isInRange(3, 4));
+    }
+
+    @Test
+    @DisplayName("Should give the same rows in streaming and workbook mode")
+    void testModesAgree() throws IOException {
+        RecordingVisitor streamed = new RecordingVisitor();
+        ScheduleSheetReader.readStreaming(workbookFile, streamed);
+        RecordingVisitor loaded = new RecordingVisitor();
+        ScheduleSheetReader.readWorkbook(workbookFile, loaded);
+
+        assertEquals(streamed.sheetNames, loaded.sheetNames);
+        assertEquals(streamed.rows.size(), loaded.rows.size());
+        for (int i = 0; i < streamed.rows.size(); i++) {
+            SheetRow expected = streamed.rows.get(i);
+            SheetRow actual = loaded.rows.get(i);
+            assertEquals(expected.getRowNum(), actual.getRowNum());
+            assertEquals(expected.getLastCellNum(), actual.getLastCellNum());
+            for (int col = 0; col < expected.getLastCellNum(); col++) {
+                assertEquals(expected.getCell(col), actual.getCell(col), "row " + i + ", column " + col);
+            }
+        }
+        assertEquals(streamed.mergedRegions.get(0).formatAsString(), loaded.mergedRegions.get(0).formatAsString());
+    }
+
+    /**
+     * Skips the Summary sheet like the importer does and keeps everything else
+     */
+    private static class RecordingVisitor implements ScheduleSheetReader.SheetVisitor {
+        private final List<String> sheetNames = new ArrayList<>();
+        private final List<SheetRow> rows = new ArrayList<>();
+        private List<CellRangeAddress> mergedRegions;
+
+        @Override
+        public boolean startSheet(String sheetName, int sheetIndex, int sheetCount) {
+            assertEquals(2, sheetCount);
+            sheetNames.add(sheetName);
+            return !sheetName.equals("Summary");
+        }
+
+        @Override
+        public void row(SheetRow row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void endSheet(List<CellRangeAddress> mergedRegions) {
+            this.mergedRegions = mergedRegions;
+        }
+    }
+}